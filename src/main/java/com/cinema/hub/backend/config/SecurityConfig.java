@@ -44,6 +44,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/admin/**", "/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/staff/**", "/staff/**").hasRole("STAFF")
                         .requestMatchers("/api/payment/webhook").permitAll()
+                        .requestMatchers("/uploads/tickets/**").denyAll()
                         .requestMatchers("/api/profile/**").authenticated()
                         .requestMatchers("/movies/seat-fragment/**",
                                 "/movies/tickets/**",
@@ -7,6 +7,7 @@ public final class ApiEndpoints {
 
     public static final class SeatReservation {
         public static final String SEAT_LAYOUT = "/api/showtimes/{showtimeId}/seats";
+        public static final String SEAT_STREAM = "/api/showtimes/{showtimeId}/seats/stream";
         public static final String HOLD_SEATS = "/api/showtimes/{showtimeId}/holds";
         public static final String CREATE_BOOKING = "/api/bookings";
         public static final String CANCEL_BOOKING = "/api/bookings/{bookingId}/cancel";
@@ -1,6 +1,7 @@
 package com.cinema.hub.backend.controller;
 
 import com.cinema.hub.backend.payment.util.PaymentException;
+import com.cinema.hub.backend.service.exception.SeatConflictException;
 import com.cinema.hub.backend.service.exception.SeatSelectionException;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.http.HttpStatus;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.cinema.hub.backend.util.TimeProvider;
 import java.time.OffsetDateTime;
+import java.util.List;
 
 @RestControllerAdvice
 public class RestExceptionHandler {
@@ -20,6 +22,12 @@ public class RestExceptionHandler {
                 .body(new ApiError(ex.getMessage(), TimeProvider.now()));
     }
 
+    @ExceptionHandler(SeatConflictException.class)
+    public ResponseEntity<SeatConflictError> handleSeatConflict(SeatConflictException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new SeatConflictError(ex.getMessage(), ex.getSeatIds(), TimeProvider.now()));
+    }
+
     @ExceptionHandler(SeatSelectionException.class)
     public ResponseEntity<ApiError> handleSeatSelection(SeatSelectionException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -34,4 +42,7 @@ public class RestExceptionHandler {
 
     public record ApiError(String message, OffsetDateTime timestamp) {
     }
+
+    public record SeatConflictError(String message, List<Integer> seatIds, OffsetDateTime timestamp) {
+    }
 }
@@ -5,12 +5,17 @@ import com.cinema.hub.backend.dto.CreateBookingRequest;
 import com.cinema.hub.backend.dto.CreateBookingResponse;
 import com.cinema.hub.backend.dto.SeatHoldRequest;
 import com.cinema.hub.backend.dto.SeatHoldResponse;
+import com.cinema.hub.backend.dto.SeatMapDeltaResponse;
 import com.cinema.hub.backend.dto.SeatMapItemDto;
+import com.cinema.hub.backend.service.SeatMapStreamService;
 import com.cinema.hub.backend.service.SeatReservationService;
 import com.cinema.hub.backend.service.UserService;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,7 +23,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping
@@ -27,6 +34,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class SeatReservationController {
 
     private final SeatReservationService seatReservationService;
+    private final SeatMapStreamService seatMapStreamService;
     private final UserService userService;
 
     @GetMapping(ApiEndpoints.SeatReservation.SEAT_LAYOUT)
@@ -34,6 +42,21 @@ public class SeatReservationController {
         return seatReservationService.getSeatMap(showtimeId);
     }
 
+    @GetMapping(value = ApiEndpoints.SeatReservation.SEAT_LAYOUT, params = "since")
+    public ResponseEntity<SeatMapDeltaResponse> getSeatMapChanges(@PathVariable int showtimeId,
+                                                                  @RequestParam long since) {
+        SeatMapDeltaResponse changes = seatReservationService.getSeatMapChanges(showtimeId, since);
+        if (changes.getVersion() == since) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(changes);
+    }
+
+    @GetMapping(value = ApiEndpoints.SeatReservation.SEAT_STREAM, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeatMap(@PathVariable int showtimeId) {
+        return seatMapStreamService.subscribe(showtimeId);
+    }
+
     @PostMapping(ApiEndpoints.SeatReservation.HOLD_SEATS)
     public SeatHoldResponse holdSeats(@PathVariable int showtimeId,
                                       @Valid @RequestBody SeatHoldRequest request) {
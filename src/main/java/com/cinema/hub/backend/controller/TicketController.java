@@ -4,8 +4,14 @@ import com.cinema.hub.backend.payment.service.PaymentService;
 import com.cinema.hub.backend.repository.BookingRepository;
 import com.cinema.hub.backend.repository.BookingSeatRepository;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +24,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 @RequiredArgsConstructor
 public class TicketController {
 
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final BookingRepository bookingRepository;
     private final BookingSeatRepository bookingSeatRepository;
     private final PaymentService paymentService;
@@ -35,13 +46,23 @@ public class TicketController {
     }
 
     @GetMapping("/movies/tickets/{bookingCode}/download")
-    public ResponseEntity<byte[]> downloadTicket(@PathVariable String bookingCode) {
+    public ResponseEntity<Resource> downloadTicket(@PathVariable String bookingCode,
+                                                   HttpServletRequest request) throws IOException {
         var booking = bookingRepository.findByBookingCodeWithShowtime(bookingCode)
                 .orElseThrow(() -> new EntityNotFoundException("Booking not found"));
-        byte[] pdf = paymentService.generateTicketPdf(booking.getId());
-        return ResponseEntity.ok()
+        Path pdf = paymentService.getTicketPdfFile(booking.getId());
+        long length = Files.size(pdf);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=ticket-" + bookingCode + ".pdf")
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+                .contentLength(length);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // let the connector copy the file to the socket itself (sendfile) instead of streaming it through us
+            request.setAttribute(SENDFILE_FILENAME, pdf.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return response.build();
+        }
+        return response.body(new FileSystemResource(pdf));
     }
 }
@@ -1,6 +1,10 @@
 package com.cinema.hub.backend.controller.admin;
 
+import com.cinema.hub.backend.dto.admin.analytics.AnalyticsSnapshotDto;
 import com.cinema.hub.backend.dto.admin.analytics.AnalyticsSummaryRangeDto;
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactDimension;
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactFilter;
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactGroupDto;
 import com.cinema.hub.backend.dto.admin.analytics.OrderStatusBreakdownDto;
 import com.cinema.hub.backend.dto.admin.analytics.PayOSTransactionDto;
 import com.cinema.hub.backend.dto.admin.analytics.PaymentMethodBreakdownDto;
@@ -29,6 +33,15 @@ public class AdminAnalyticsController {
         this.adminAnalyticsService = adminAnalyticsService;
     }
 
+    @GetMapping("/snapshot")
+    public ResponseEntity<AnalyticsSnapshotDto> getSnapshot(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(adminAnalyticsService.getSnapshot(from, to));
+    }
+
     @GetMapping("/summary-range")
     public ResponseEntity<AnalyticsSummaryRangeDto> getSummaryRange(
             @RequestParam(required = false)
@@ -65,6 +78,24 @@ public class AdminAnalyticsController {
         return ResponseEntity.ok(adminAnalyticsService.getRevenueTrend(from, to));
     }
 
+    @GetMapping("/slice")
+    public ResponseEntity<List<BookingFactGroupDto>> sliceBookings(
+            @RequestParam(defaultValue = "DAY") BookingFactDimension groupBy,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer showtimeId,
+            @RequestParam(required = false) Integer movieId,
+            @RequestParam(required = false) Integer auditoriumId,
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) String bookingStatus,
+            @RequestParam(required = false) String paymentStatus) {
+        BookingFactFilter filter = new BookingFactFilter(from, to, showtimeId, movieId, auditoriumId,
+                method, bookingStatus, paymentStatus);
+        return ResponseEntity.ok(adminAnalyticsService.sliceBookings(groupBy, filter));
+    }
+
     @GetMapping("/transactions-range")
     public ResponseEntity<Page<PayOSTransactionDto>> getTransactions(
             @RequestParam(required = false)
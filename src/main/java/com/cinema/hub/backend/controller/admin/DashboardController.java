@@ -7,6 +7,7 @@ import com.cinema.hub.backend.dto.admin.dashboard.PageDTO;
 import com.cinema.hub.backend.dto.admin.dashboard.PaymentChannelDTO;
 import com.cinema.hub.backend.dto.admin.dashboard.RevenueByDayDTO;
 import com.cinema.hub.backend.service.DashboardService;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/admin/dashboard")
@@ -68,6 +70,7 @@ public class DashboardController {
     public PageDTO<OrderTableDTO> getOrderTable(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) String method,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String query,
@@ -80,11 +83,11 @@ public class DashboardController {
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paidAtEnd) {
         return dashboardService.getOrderTable(createdAtStart, createdAtEnd, paidAtStart, paidAtEnd,
-                method, status, query, page, size);
+                method, status, query, cursor, page, size);
     }
 
     @GetMapping(value = "/export.xlsx", produces = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-    public ResponseEntity<byte[]> exportOrders(
+    public ResponseEntity<StreamingResponseBody> exportOrders(
             @RequestParam(required = false) String method,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String query,
@@ -96,11 +99,44 @@ public class DashboardController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paidAtStart,
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paidAtEnd) {
-        byte[] content = dashboardService.exportOrders(createdAtStart, createdAtEnd, paidAtStart, paidAtEnd,
-                method, status, query);
+        return export(DashboardService.ExportFormat.XLSX, "dashboard-export.xlsx",
+                MediaType.APPLICATION_OCTET_STREAM,
+                createdAtStart, createdAtEnd, paidAtStart, paidAtEnd, method, status, query);
+    }
+
+    @GetMapping(value = "/export.csv", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportOrdersCsv(
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdAtStart,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdAtEnd,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paidAtStart,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paidAtEnd) {
+        return export(DashboardService.ExportFormat.CSV, "dashboard-export.csv",
+                new MediaType("text", "csv", StandardCharsets.UTF_8),
+                createdAtStart, createdAtEnd, paidAtStart, paidAtEnd, method, status, query);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(DashboardService.ExportFormat format,
+                                                         String filename,
+                                                         MediaType mediaType,
+                                                         LocalDate createdAtStart,
+                                                         LocalDate createdAtEnd,
+                                                         LocalDate paidAtStart,
+                                                         LocalDate paidAtEnd,
+                                                         String method,
+                                                         String status,
+                                                         String query) {
+        StreamingResponseBody body = out -> dashboardService.exportOrders(createdAtStart, createdAtEnd,
+                paidAtStart, paidAtEnd, method, status, query, format, out);
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=dashboard-export.xlsx")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(content);
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(mediaType)
+                .body(body);
     }
 }
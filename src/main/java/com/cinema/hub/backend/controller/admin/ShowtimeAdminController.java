@@ -4,6 +4,7 @@ import com.cinema.hub.backend.dto.common.PageResponse;
 import com.cinema.hub.backend.dto.showtime.ShowtimeGroupedResponse;
 import com.cinema.hub.backend.dto.showtime.ShowtimeRequest;
 import com.cinema.hub.backend.dto.showtime.ShowtimeResponse;
+import com.cinema.hub.backend.dto.showtime.ShowtimeScheduleJobResponse;
 import com.cinema.hub.backend.service.ShowtimeService;
 import com.cinema.hub.backend.util.PaginationUtil;
 import jakarta.validation.Valid;
@@ -40,6 +41,16 @@ public class ShowtimeAdminController {
         return ResponseEntity.ok(showtimeService.create(request));
     }
 
+    @PostMapping("/schedule-jobs")
+    public ResponseEntity<ShowtimeScheduleJobResponse> startScheduleJob(@Valid @RequestBody ShowtimeRequest request) {
+        return ResponseEntity.accepted().body(showtimeService.startScheduleJob(request));
+    }
+
+    @GetMapping("/schedule-jobs/{jobId}")
+    public ResponseEntity<ShowtimeScheduleJobResponse> getScheduleJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(showtimeService.getScheduleJob(jobId));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ShowtimeResponse> update(@PathVariable int id,
                                                    @Valid @RequestBody ShowtimeRequest request) {
@@ -0,0 +1,7 @@
+package com.cinema.hub.backend.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record HoldDeadlineRow(UUID holdToken, OffsetDateTime expiresAt) {
+}
@@ -0,0 +1,12 @@
+package com.cinema.hub.backend.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SeatMapDeltaResponse {
+    private long version;
+    private List<SeatMapItemDto> seats;
+}
@@ -0,0 +1,23 @@
+package com.cinema.hub.backend.dto;
+
+import com.cinema.hub.backend.entity.enums.PaymentStatus;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record SeatStateRow(
+        Integer showtimeSeatId,
+        Integer seatId,
+        String rowLabel,
+        Integer seatNumber,
+        String seatTypeName,
+        BigDecimal effectivePrice,
+        String seatStatus,
+        UUID holdToken,
+        Integer holdUserId,
+        OffsetDateTime holdExpiresAt,
+        Integer bookingId,
+        Integer bookingUserId,
+        PaymentStatus paymentStatus
+) {
+}
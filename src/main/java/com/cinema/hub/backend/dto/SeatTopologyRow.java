@@ -0,0 +1,10 @@
+package com.cinema.hub.backend.dto;
+
+public record SeatTopologyRow(
+        Integer seatId,
+        Integer auditoriumId,
+        String rowLabel,
+        Integer seatNumber,
+        Integer seatTypeId,
+        String seatTypeName) {
+}
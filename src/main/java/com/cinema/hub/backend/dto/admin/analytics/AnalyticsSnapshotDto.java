@@ -0,0 +1,18 @@
+package com.cinema.hub.backend.dto.admin.analytics;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * All analytics panels for one date range, computed from a single rollup read.
+ */
+@Getter
+@Builder
+public class AnalyticsSnapshotDto {
+
+    private final AnalyticsSummaryRangeDto summary;
+    private final List<PaymentMethodBreakdownDto> paymentMethods;
+    private final List<OrderStatusBreakdownDto> statuses;
+    private final List<RevenueTrendPointDto> trend;
+}
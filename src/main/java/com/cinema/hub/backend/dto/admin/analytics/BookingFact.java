@@ -0,0 +1,20 @@
+package com.cinema.hub.backend.dto.admin.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One booking as seen by the analytics fact store: its sale date, where and what was sold, how it stands and for
+ * how much.
+ */
+public record BookingFact(int bookingId,
+                          LocalDate saleDate,
+                          int showtimeId,
+                          int movieId,
+                          int auditoriumId,
+                          String paymentMethod,
+                          String bookingStatus,
+                          String paymentStatus,
+                          BigDecimal amount,
+                          int seats) {
+}
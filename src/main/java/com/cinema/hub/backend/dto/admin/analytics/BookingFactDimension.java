@@ -0,0 +1,14 @@
+package com.cinema.hub.backend.dto.admin.analytics;
+
+/**
+ * Columns the booking fact store can filter and group by.
+ */
+public enum BookingFactDimension {
+    DAY,
+    SHOWTIME,
+    MOVIE,
+    AUDITORIUM,
+    PAYMENT_METHOD,
+    BOOKING_STATUS,
+    PAYMENT_STATUS
+}
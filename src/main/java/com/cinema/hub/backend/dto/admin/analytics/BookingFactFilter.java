@@ -0,0 +1,16 @@
+package com.cinema.hub.backend.dto.admin.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Slice of the booking facts; {@code null} fields do not filter. Dates are inclusive sale dates.
+ */
+public record BookingFactFilter(LocalDate from,
+                                LocalDate to,
+                                Integer showtimeId,
+                                Integer movieId,
+                                Integer auditoriumId,
+                                String paymentMethod,
+                                String bookingStatus,
+                                String paymentStatus) {
+}
@@ -0,0 +1,15 @@
+package com.cinema.hub.backend.dto.admin.analytics;
+
+import java.math.BigDecimal;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class BookingFactGroupDto {
+
+    private final String key;
+    private final long orders;
+    private final long seats;
+    private final BigDecimal amount;
+}
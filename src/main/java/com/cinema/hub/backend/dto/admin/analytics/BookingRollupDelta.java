@@ -0,0 +1,20 @@
+package com.cinema.hub.backend.dto.admin.analytics;
+
+import java.math.BigDecimal;
+
+/**
+ * Signed rollup change contributed by one booking. It names the booking instead of a sale date: the database
+ * derives the date from the stored {@code CreatedAt} exactly as the rebuild does.
+ */
+public record BookingRollupDelta(int bookingId,
+                                 String paymentMethod,
+                                 String bookingStatus,
+                                 String paymentStatus,
+                                 long orderCount,
+                                 BigDecimal amount) {
+
+    public BookingRollupDelta negate() {
+        return new BookingRollupDelta(bookingId, paymentMethod, bookingStatus, paymentStatus, -orderCount,
+                amount.negate());
+    }
+}
@@ -0,0 +1,12 @@
+package com.cinema.hub.backend.dto.admin.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Grain of the daily booking rollup: {@code CAST(Bookings.CreatedAt AS DATE)}, raw payment method and both statuses.
+ */
+public record BookingRollupKey(LocalDate saleDate,
+                               String paymentMethod,
+                               String bookingStatus,
+                               String paymentStatus) {
+}
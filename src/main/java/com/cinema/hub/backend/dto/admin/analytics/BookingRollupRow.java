@@ -0,0 +1,9 @@
+package com.cinema.hub.backend.dto.admin.analytics;
+
+import java.math.BigDecimal;
+
+/**
+ * Order count and summed final amount of one rollup key.
+ */
+public record BookingRollupRow(BookingRollupKey key, long orderCount, BigDecimal amount) {
+}
@@ -0,0 +1,34 @@
+package com.cinema.hub.backend.dto.admin.dashboard;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Dashboard figures of one day. Revenue is counted on {@code COALESCE(PaidAt, CreatedAt)}, orders and seats on
+ * {@code CreatedAt}, like the range queries in {@code DashboardRepository}.
+ */
+public record DailyDashboardMetrics(LocalDate date,
+                                    BigDecimal revenue,
+                                    long orders,
+                                    long paidOrders,
+                                    long unpaidOrders,
+                                    long failedOrders,
+                                    long seatsSold) {
+
+    public static DailyDashboardMetrics empty(LocalDate date) {
+        return new DailyDashboardMetrics(date, BigDecimal.ZERO, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Sum of both days' figures, dated as this one.
+     */
+    public DailyDashboardMetrics plus(DailyDashboardMetrics other) {
+        return new DailyDashboardMetrics(date,
+                revenue.add(other.revenue),
+                orders + other.orders,
+                paidOrders + other.paidOrders,
+                unpaidOrders + other.unpaidOrders,
+                failedOrders + other.failedOrders,
+                seatsSold + other.seatsSold);
+    }
+}
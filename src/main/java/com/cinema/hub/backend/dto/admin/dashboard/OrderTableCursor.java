@@ -0,0 +1,38 @@
+package com.cinema.hub.backend.dto.admin.dashboard;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Seek position in the order table: the last row's {@code COALESCE(PaidAt, CreatedAt)} and BookingId. Travels to the
+ * browser as an opaque URL-safe token.
+ */
+public record OrderTableCursor(Instant sortAt, int bookingId) {
+
+    public String encode() {
+        String raw = sortAt.getEpochSecond() + "." + sortAt.getNano() + "." + bookingId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * The cursor in {@code token}, or {@code null} when it is blank or not one of ours.
+     */
+    public static OrderTableCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.US_ASCII);
+            String[] parts = raw.split("\\.");
+            if (parts.length != 3) {
+                return null;
+            }
+            Instant sortAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new OrderTableCursor(sortAt, Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            return null;
+        }
+    }
+}
@@ -14,17 +14,26 @@ public class PageDTO<T> {
     private int size;
     private long totalElements;
     private int totalPages;
+    /**
+     * Opaque token for the following page, {@code null} on the last page. Only set by keyset-paginated queries.
+     */
+    private String nextCursor;
 
-    private PageDTO(List<T> content, int page, int size, long totalElements, int totalPages) {
+    private PageDTO(List<T> content, int page, int size, long totalElements, int totalPages, String nextCursor) {
         this.content = content;
         this.page = page;
         this.size = size;
         this.totalElements = totalElements;
         this.totalPages = totalPages;
+        this.nextCursor = nextCursor;
     }
 
     public static <T> PageDTO<T> of(List<T> content, int page, int size, long totalElements) {
+        return of(content, page, size, totalElements, null);
+    }
+
+    public static <T> PageDTO<T> of(List<T> content, int page, int size, long totalElements, String nextCursor) {
         int totalPages = size > 0 ? (int) Math.ceil((double) totalElements / (double) size) : 0;
-        return new PageDTO<>(content, page, size, totalElements, totalPages);
+        return new PageDTO<>(content, page, size, totalElements, totalPages, nextCursor);
     }
 }
@@ -0,0 +1,9 @@
+package com.cinema.hub.backend.dto.showtime;
+
+import java.time.LocalDateTime;
+
+public record ShowtimeInterval(
+        Integer id,
+        LocalDateTime startTime,
+        LocalDateTime endTime) {
+}
@@ -0,0 +1,9 @@
+package com.cinema.hub.backend.dto.showtime;
+
+public record ShowtimeScheduleJobResponse(
+        String jobId,
+        String status,
+        int totalShowtimes,
+        int createdShowtimes,
+        String message) {
+}
@@ -0,0 +1,9 @@
+package com.cinema.hub.backend.dto.showtime;
+
+import java.math.BigDecimal;
+
+public record ShowtimeSeatDraft(
+        int showtimeId,
+        int seatId,
+        BigDecimal effectivePrice) {
+}
@@ -1,9 +1,12 @@
 package com.cinema.hub.backend.entity;
 
+import com.cinema.hub.backend.dto.admin.analytics.BookingRollupDelta;
 import com.cinema.hub.backend.entity.enums.BookingStatus;
 import com.cinema.hub.backend.entity.enums.PaymentStatus;
+import com.cinema.hub.backend.service.BookingChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -13,6 +16,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -24,6 +28,7 @@ import java.time.OffsetDateTime;
 
 @Entity
 @Table(name = "Bookings")
+@EntityListeners(BookingChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -85,4 +90,10 @@ public class Booking {
 
     @Column(name = "CancelledAt")
     private OffsetDateTime cancelledAt;
+
+    /**
+     * Rollup contribution as last loaded or flushed, see {@link BookingChangeListener}.
+     */
+    @Transient
+    private BookingRollupDelta rollupSnapshot;
 }
@@ -0,0 +1,64 @@
+package com.cinema.hub.backend.entity;
+
+import com.cinema.hub.backend.entity.enums.WebhookEventStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "PayOSWebhookEvents")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayOSWebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "EventId")
+    private Long id;
+
+    @Column(name = "OrderCode", nullable = false)
+    private String orderCode;
+
+    @Column(name = "Checksum", nullable = false)
+    private String checksum;
+
+    @Column(name = "BookingId")
+    private Integer bookingId;
+
+    @Column(name = "Payload", nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "Status", nullable = false)
+    private WebhookEventStatus status;
+
+    @Column(name = "Attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "NextAttemptAt", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "LastError")
+    private String lastError;
+
+    @Column(name = "ReceivedAt", nullable = false)
+    private OffsetDateTime receivedAt;
+
+    @Column(name = "ProcessedAt")
+    private OffsetDateTime processedAt;
+}
@@ -1,7 +1,9 @@
 package com.cinema.hub.backend.entity;
 
+import com.cinema.hub.backend.service.BookingChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -20,6 +22,7 @@ import java.time.OffsetDateTime;
 
 @Entity
 @Table(name = "PaymentLogs")
+@EntityListeners(BookingChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -48,6 +51,27 @@ public class PaymentLog {
     @Column(name = "Status", nullable = false)
     private String status;
 
+    @Column(name = "OrderCode")
+    private Long orderCode;
+
+    @Column(name = "Email")
+    private String email;
+
+    @Column(name = "ExpiresAt")
+    private OffsetDateTime expiresAt;
+
+    @Column(name = "TransferContent")
+    private String transferContent;
+
+    @Column(name = "QrPayload")
+    private String qrPayload;
+
+    @Column(name = "CheckoutUrl")
+    private String checkoutUrl;
+
+    @Column(name = "PaymentLinkId")
+    private String paymentLinkId;
+
     @Column(name = "RawMessage", columnDefinition = "TEXT")
     private String rawMessage;
 
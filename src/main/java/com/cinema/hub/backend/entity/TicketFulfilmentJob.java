@@ -0,0 +1,62 @@
+package com.cinema.hub.backend.entity;
+
+import com.cinema.hub.backend.entity.enums.TicketFulfilmentStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "TicketFulfilmentJobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketFulfilmentJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "JobId")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "BookingId", nullable = false)
+    private Booking booking;
+
+    @Column(name = "Email", nullable = false)
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "Status", nullable = false)
+    private TicketFulfilmentStatus status;
+
+    @Column(name = "Attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "NextAttemptAt", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "LastError")
+    private String lastError;
+
+    @Column(name = "CreatedAt", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "UpdatedAt", nullable = false)
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.cinema.hub.backend.entity.enums;
+
+public enum TicketFulfilmentStatus {
+    Pending,
+    Processing,
+    Sent,
+    Failed
+}
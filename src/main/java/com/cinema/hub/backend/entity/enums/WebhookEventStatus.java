@@ -0,0 +1,9 @@
+package com.cinema.hub.backend.entity.enums;
+
+public enum WebhookEventStatus {
+    Received,
+    Processing,
+    Processed,
+    Rejected,
+    Failed
+}
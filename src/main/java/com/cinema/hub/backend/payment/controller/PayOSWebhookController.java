@@ -1,7 +1,6 @@
 package com.cinema.hub.backend.payment.controller;
 
-import com.cinema.hub.backend.payment.payos.PayOSWebhookPayload;
-import com.cinema.hub.backend.payment.service.PaymentService;
+import com.cinema.hub.backend.payment.service.PayOSWebhookIngestionService;
 import com.cinema.hub.backend.payment.util.PaymentException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +19,7 @@ import java.util.Map;
 @RequestMapping("/api/payment")
 public class PayOSWebhookController {
 
-    private final PaymentService paymentService;
+    private final PayOSWebhookIngestionService webhookIngestionService;
 
     @PostMapping("/webhook")
     public ResponseEntity<Map<String, Object>> handleWebhook(@RequestBody String payload,
@@ -28,9 +27,8 @@ public class PayOSWebhookController {
                                                              @RequestHeader(value = "x-api-key", required = false) String apiKey,
                                                              @RequestHeader(value = "x-checksum", required = false) String checksum) {
         try {
-            PayOSWebhookPayload webhookPayload = paymentService.verifyPayOSWebhook(payload, clientId, apiKey, checksum);
-            paymentService.completeBooking(webhookPayload, payload);
-            return ResponseEntity.ok(Map.of("success", true));
+            boolean accepted = webhookIngestionService.ingest(payload, clientId, apiKey, checksum);
+            return ResponseEntity.ok(Map.of("success", true, "duplicate", !accepted));
         } catch (PaymentException ex) {
             log.warn("PayOS webhook rejected: {}", ex.getMessage());
             return ResponseEntity.badRequest().body(Map.of(
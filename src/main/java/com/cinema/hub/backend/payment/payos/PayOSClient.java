@@ -1,66 +1,71 @@
 package com.cinema.hub.backend.payment.payos;
 
+import com.cinema.hub.backend.payment.util.PayOSUnavailableException;
 import com.cinema.hub.backend.payment.util.PaymentException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestClientResponseException;
-import org.springframework.web.client.RestTemplate;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+/**
+ * PayOS merchant API over one shared JDK {@link HttpClient}: HTTP/2 where the server offers it, pooled keep-alive
+ * connections otherwise, and a bounded timeout per request. Calls go through a circuit breaker, so while PayOS is
+ * down callers get a {@link PayOSUnavailableException} immediately instead of waiting for the timeout.
+ */
 @Component
 @Slf4j
 public class PayOSClient {
 
     private static final String PAYMENT_REQUEST_PATH = "/v2/payment-requests";
     private static final String PAYMENT_STATUS_PATH = "/v2/payment-requests/%s";
-    private static final String HMAC_SHA256 = "HmacSHA256";
 
     private final PayOSConfig payOSConfig;
-    private final RestTemplate restTemplate;
+    private final PayOSSigner signer;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final PayOSCircuitBreaker circuitBreaker;
 
-    public PayOSClient(PayOSConfig payOSConfig, RestTemplateBuilder restTemplateBuilder) {
+    public PayOSClient(PayOSConfig payOSConfig,
+                       PayOSSigner signer,
+                       ObjectMapper objectMapper,
+                       @Value("${cinema.payos.connect-timeout-ms:3000}") long connectTimeoutMs,
+                       @Value("${cinema.payos.request-timeout-ms:5000}") long requestTimeoutMs,
+                       @Value("${cinema.payos.breaker.failure-threshold:5}") int failureThreshold,
+                       @Value("${cinema.payos.breaker.open-seconds:30}") long openSeconds) {
         this.payOSConfig = payOSConfig;
-        this.restTemplate = restTemplateBuilder
-                .setConnectTimeout(Duration.ofSeconds(5))
-                .setReadTimeout(Duration.ofSeconds(10))
+        this.signer = signer;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
                 .build();
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.circuitBreaker = new PayOSCircuitBreaker(failureThreshold, Duration.ofSeconds(openSeconds));
     }
 
     public PayOSPaymentData createPaymentRequest(PayOSPaymentRequest request) {
-        PayOSCreatePaymentBody payload = buildPayload(request);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("x-client-id", payOSConfig.getClientId());
-        headers.set("x-api-key", payOSConfig.getApiKey());
+        return await(createPaymentRequestAsync(request));
+    }
 
-        HttpEntity<PayOSCreatePaymentBody> entity = new HttpEntity<>(payload, headers);
-        try {
-            ResponseEntity<PayOSCreatePaymentResponse> response = restTemplate.exchange(
-                    payOSConfig.getApiBaseUrl() + PAYMENT_REQUEST_PATH,
-                    HttpMethod.POST,
-                    entity,
-                    PayOSCreatePaymentResponse.class
-            );
-            PayOSCreatePaymentResponse body = response.getBody();
-            if (body == null) {
-                throw new PaymentException("Empty PayOS response");
-            }
+    public CompletableFuture<PayOSPaymentData> createPaymentRequestAsync(PayOSPaymentRequest request) {
+        PayOSCreatePaymentBody payload = buildPayload(request);
+        HttpRequest httpRequest = newRequest(PAYMENT_REQUEST_PATH)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(writeJson(payload)))
+                .build();
+        return send(httpRequest, PayOSCreatePaymentResponse.class, "PayOS API error").thenApply(body -> {
             if (!"00".equals(body.getCode())) {
                 throw new PaymentException("PayOS error: " + body.getDesc());
             }
@@ -68,30 +73,16 @@ public class PayOSClient {
                 throw new PaymentException("PayOS response missing data");
             }
             return body.getData();
-        } catch (RestClientResponseException ex) {
-            log.error("PayOS API error {}", ex.getResponseBodyAsString());
-            throw new PaymentException("PayOS API error: " + ex.getResponseBodyAsString(), ex);
-        } catch (RestClientException ex) {
-            throw new PaymentException("Unable to reach PayOS", ex);
-        }
+        });
     }
 
     public PayOSPaymentStatus getPaymentStatus(long orderCode) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("x-client-id", payOSConfig.getClientId());
-        headers.set("x-api-key", payOSConfig.getApiKey());
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-        try {
-            ResponseEntity<PayOSPaymentStatusResponse> response = restTemplate.exchange(
-                    payOSConfig.getApiBaseUrl() + PAYMENT_STATUS_PATH.formatted(orderCode),
-                    HttpMethod.GET,
-                    entity,
-                    PayOSPaymentStatusResponse.class
-            );
-            PayOSPaymentStatusResponse body = response.getBody();
-            if (body == null) {
-                throw new PaymentException("Empty PayOS status response");
-            }
+        return await(getPaymentStatusAsync(orderCode));
+    }
+
+    public CompletableFuture<PayOSPaymentStatus> getPaymentStatusAsync(long orderCode) {
+        HttpRequest httpRequest = newRequest(PAYMENT_STATUS_PATH.formatted(orderCode)).GET().build();
+        return send(httpRequest, PayOSPaymentStatusResponse.class, "PayOS status API error").thenApply(body -> {
             if (!"00".equals(body.getCode())) {
                 throw new PaymentException("PayOS status error: " + body.getDesc());
             }
@@ -99,11 +90,74 @@ public class PayOSClient {
                 throw new PaymentException("PayOS status response missing data");
             }
             return body.getData();
-        } catch (RestClientResponseException ex) {
-            log.error("PayOS status API error {}", ex.getResponseBodyAsString());
-            throw new PaymentException("PayOS status API error: " + ex.getResponseBodyAsString(), ex);
-        } catch (RestClientException ex) {
-            throw new PaymentException("Unable to fetch PayOS status", ex);
+        });
+    }
+
+    private HttpRequest.Builder newRequest(String path) {
+        return HttpRequest.newBuilder(URI.create(payOSConfig.getApiBaseUrl() + path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .header("x-client-id", payOSConfig.getClientId())
+                .header("x-api-key", payOSConfig.getApiKey());
+    }
+
+    /**
+     * Transport errors, timeouts and 5xx answers count against the breaker; any other answer closes it.
+     */
+    private <T> CompletableFuture<T> send(HttpRequest request, Class<T> responseType, String errorPrefix) {
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new PayOSUnavailableException("PayOS circuit is open"));
+        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        circuitBreaker.recordFailure();
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause()
+                                : error;
+                        throw new PayOSUnavailableException("Unable to reach PayOS", cause);
+                    }
+                    String body = new String(response.body(), StandardCharsets.UTF_8);
+                    if (response.statusCode() >= 500) {
+                        circuitBreaker.recordFailure();
+                        throw new PayOSUnavailableException(errorPrefix + ": HTTP " + response.statusCode());
+                    }
+                    circuitBreaker.recordSuccess();
+                    if (response.statusCode() >= 400) {
+                        log.error("{} {}", errorPrefix, body);
+                        throw new PaymentException(errorPrefix + ": " + body);
+                    }
+                    if (response.body().length == 0) {
+                        throw new PaymentException("Empty PayOS response");
+                    }
+                    return readJson(response.body(), responseType);
+                });
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new PaymentException("PayOS call failed", ex.getCause());
+        }
+    }
+
+    private byte[] writeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException ex) {
+            throw new PaymentException("Unable to serialize PayOS request", ex);
+        }
+    }
+
+    private <T> T readJson(byte[] body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException ex) {
+            throw new PaymentException("Unable to parse PayOS response", ex);
         }
     }
 
@@ -118,32 +172,18 @@ public class PayOSClient {
         return body;
     }
 
+    /**
+     * Signs the fields in PayOS's alphabetical order: amount, cancelUrl, description, orderCode, returnUrl.
+     */
     private String buildSignature(PayOSCreatePaymentBody body) {
-        Map<String, String> values = new TreeMap<>();
-        values.put("amount", String.valueOf(body.getAmount()));
-        values.put("cancelUrl", body.getCancelUrl());
-        values.put("description", body.getDescription());
-        values.put("orderCode", String.valueOf(body.getOrderCode()));
-        values.put("returnUrl", body.getReturnUrl());
-        String data = values.entrySet().stream()
-                .map(entry -> entry.getKey() + "=" + entry.getValue())
-                .collect(Collectors.joining("&"));
-        return hmacSha256(data, payOSConfig.getChecksumKey());
-    }
-
-    private String hmacSha256(String payload, String key) {
-        try {
-            Mac mac = Mac.getInstance(HMAC_SHA256);
-            mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), HMAC_SHA256));
-            byte[] hash = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
-            StringBuilder builder = new StringBuilder(hash.length * 2);
-            for (byte b : hash) {
-                builder.append(String.format("%02x", b));
-            }
-            return builder.toString();
-        } catch (Exception ex) {
-            throw new PaymentException("Unable to generate PayOS signature", ex);
-        }
+        String data = new StringBuilder(256)
+                .append("amount=").append(body.getAmount())
+                .append("&cancelUrl=").append(body.getCancelUrl())
+                .append("&description=").append(body.getDescription())
+                .append("&orderCode=").append(body.getOrderCode())
+                .append("&returnUrl=").append(body.getReturnUrl())
+                .toString();
+        return signer.sign(data);
     }
 
     @Data
@@ -0,0 +1,138 @@
+package com.cinema.hub.backend.payment.payos;
+
+import com.cinema.hub.backend.payment.util.PaymentException;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * HMAC-SHA256 with the PayOS checksum key, shared by outgoing payment requests and webhook verification. Each thread
+ * keeps a {@link Mac} already initialized with the key, digests are hex-encoded through a lookup table and expected
+ * signatures are compared as bytes in constant time.
+ */
+@Component
+public class PayOSSigner {
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ThreadLocal<Mac> macs;
+
+    public PayOSSigner(PayOSConfig payOSConfig) {
+        SecretKeySpec key = new SecretKeySpec(payOSConfig.getChecksumKey().getBytes(StandardCharsets.UTF_8), HMAC_SHA256);
+        Mac prototype = newMac(key);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                return (Mac) prototype.clone();
+            } catch (CloneNotSupportedException ex) {
+                return newMac(key);
+            }
+        });
+    }
+
+    public String sign(String data) {
+        byte[] digest = digest(data);
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[2 * i] = HEX[(digest[i] >> 4) & 0x0f];
+            hex[2 * i + 1] = HEX[digest[i] & 0x0f];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Whether {@code signature} (hex, either case) is the HMAC of {@code data}.
+     */
+    public boolean matches(String data, String signature) {
+        if (signature == null) {
+            return false;
+        }
+        byte[] expected = decodeHex(signature.trim());
+        return expected != null && MessageDigest.isEqual(digest(data), expected);
+    }
+
+    /**
+     * {@code key=value} pairs of the non-blank entries sorted by key and joined with {@code &}, as PayOS signs
+     * webhook data. Numbers are written without trailing zeros or exponent.
+     */
+    public String canonicalize(Map<String, Object> data) {
+        String[] keys = data.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        StringBuilder builder = new StringBuilder(256);
+        for (String key : keys) {
+            Object value = data.get(key);
+            if (value == null) {
+                continue;
+            }
+            int start = builder.length();
+            if (start > 0) {
+                builder.append('&');
+            }
+            builder.append(key).append('=');
+            int valueStart = builder.length();
+            appendValue(builder, value);
+            if (isBlank(builder, valueStart)) {
+                builder.setLength(start);
+            }
+        }
+        return builder.toString();
+    }
+
+    private byte[] digest(String data) {
+        Mac mac = macs.get();
+        mac.reset();
+        return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendValue(StringBuilder builder, Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            builder.append(((Number) value).longValue());
+        } else if (value instanceof Number number) {
+            builder.append(new BigDecimal(number.toString()).stripTrailingZeros().toPlainString());
+        } else {
+            builder.append(value);
+        }
+    }
+
+    private static boolean isBlank(StringBuilder builder, int from) {
+        for (int i = from; i < builder.length(); i++) {
+            if (!Character.isWhitespace(builder.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] decodeHex(String hex) {
+        if (hex.length() % 2 != 0) {
+            return null;
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), 16);
+            int low = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new PaymentException("Unable to initialize PayOS signer", ex);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.cinema.hub.backend.payment.service;
+
+import com.cinema.hub.backend.entity.PayOSWebhookEvent;
+import com.cinema.hub.backend.entity.enums.WebhookEventStatus;
+import com.cinema.hub.backend.payment.payos.PayOSWebhookPayload;
+import com.cinema.hub.backend.payment.payos.PayOSWebhookValidator;
+import com.cinema.hub.backend.payment.util.PayOSUnavailableException;
+import com.cinema.hub.backend.payment.util.PaymentException;
+import com.cinema.hub.backend.repository.PayOSWebhookEventRepository;
+import com.cinema.hub.backend.repository.PaymentLogRepository;
+import com.cinema.hub.backend.util.TimeProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+/**
+ * Ingestion stage for PayOS webhooks. A delivery is checked against its headers, deduplicated by order code and
+ * checksum (recent keys in memory, every key in {@code PayOSWebhookEvents}) and acknowledged right away; new events
+ * are verified and applied by single-threaded lanes keyed by booking, so deliveries for one booking never race
+ * for its row lock and retries from PayOS cost one indexed lookup.
+ */
+@Service
+@Slf4j
+public class PayOSWebhookIngestionService {
+
+    private static final List<WebhookEventStatus> CLAIMABLE_STATUSES =
+            List.of(WebhookEventStatus.Received, WebhookEventStatus.Processing);
+    private static final List<WebhookEventStatus> FINISHED_STATUSES =
+            List.of(WebhookEventStatus.Processed, WebhookEventStatus.Rejected);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final PayOSWebhookEventRepository eventRepository;
+    private final PaymentLogRepository paymentLogRepository;
+    private final PayOSWebhookValidator webhookValidator;
+    private final PaymentService paymentService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor[] lanes;
+    private final Map<DedupeKey, Boolean> recentKeys;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration lease;
+    private final Duration retention;
+
+    public PayOSWebhookIngestionService(PayOSWebhookEventRepository eventRepository,
+                                        PaymentLogRepository paymentLogRepository,
+                                        PayOSWebhookValidator webhookValidator,
+                                        PaymentService paymentService,
+                                        ObjectMapper objectMapper,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${cinema.payos.webhook.lanes:4}") int laneCount,
+                                        @Value("${cinema.payos.webhook.lane-capacity:100}") int laneCapacity,
+                                        @Value("${cinema.payos.webhook.dedupe-cache-size:4096}") int dedupeCacheSize,
+                                        @Value("${cinema.payos.webhook.max-attempts:5}") int maxAttempts,
+                                        @Value("${cinema.payos.webhook.retry-delay-seconds:30}") long retryDelaySeconds,
+                                        @Value("${cinema.payos.webhook.lease-minutes:2}") long leaseMinutes,
+                                        @Value("${cinema.payos.webhook.retention-days:30}") long retentionDays) {
+        this.eventRepository = eventRepository;
+        this.paymentLogRepository = paymentLogRepository;
+        this.webhookValidator = webhookValidator;
+        this.paymentService = paymentService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        ThreadFactory threadFactory = Thread.ofPlatform().name("payos-webhook-", 1).daemon().factory();
+        this.lanes = new ThreadPoolExecutor[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(laneCapacity), threadFactory);
+        }
+        this.recentKeys = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DedupeKey, Boolean> eldest) {
+                return size() > dedupeCacheSize;
+            }
+        };
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = Duration.ofSeconds(retryDelaySeconds);
+        this.lease = Duration.ofMinutes(leaseMinutes);
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * Records a webhook delivery for asynchronous processing. Returns {@code false} when the same delivery was
+     * already recorded. Only header and format problems are reported synchronously as {@link PaymentException}.
+     */
+    public boolean ingest(String rawPayload, String clientId, String apiKey, String checksum) {
+        webhookValidator.validateHeaders(clientId, apiKey, checksum, rawPayload);
+        PayOSWebhookPayload payload = parse(rawPayload);
+        String orderCode = payload.extractOrderCode();
+        if (!StringUtils.hasText(orderCode)) {
+            throw new PaymentException("Webhook missing orderCode");
+        }
+        DedupeKey key = new DedupeKey(orderCode, dedupeChecksum(rawPayload, checksum, payload));
+        if (isRecent(key)) {
+            log.debug("Duplicate PayOS webhook for orderCode={} acknowledged from memory", orderCode);
+            return false;
+        }
+
+        PayOSWebhookEvent event;
+        try {
+            event = transactionTemplate.execute(status -> record(key, rawPayload));
+        } catch (DataIntegrityViolationException ex) {
+            event = null;
+        }
+        remember(key);
+        if (event == null) {
+            log.debug("Duplicate PayOS webhook for orderCode={} acknowledged from the event store", orderCode);
+            return false;
+        }
+        submit(event.getId(), laneKey(event));
+        return true;
+    }
+
+    /**
+     * Picks up events left behind by a full lane, a failed attempt or a node that went away.
+     */
+    @Scheduled(fixedDelayString = "${cinema.payos.webhook.poll-ms:5000}")
+    public void dispatchDueEvents() {
+        int capacity = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            capacity += lane.getQueue().remainingCapacity();
+        }
+        if (capacity == 0) {
+            return;
+        }
+        eventRepository.findDue(CLAIMABLE_STATUSES, TimeProvider.now(), PageRequest.of(0, capacity))
+                .forEach(event -> submit(event.getId(), laneKey(event)));
+    }
+
+    @Scheduled(fixedDelayString = "${cinema.payos.webhook.purge-ms:21600000}")
+    public void purgeFinishedEvents() {
+        OffsetDateTime cutoff = TimeProvider.now().minus(retention);
+        Integer removed = transactionTemplate.execute(status ->
+                eventRepository.deleteFinishedBefore(FINISHED_STATUSES, cutoff));
+        if (removed != null && removed > 0) {
+            log.info("Purged {} PayOS webhook events received before {}", removed, cutoff);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+
+    private PayOSWebhookEvent record(DedupeKey key, String rawPayload) {
+        if (eventRepository.existsByOrderCodeAndChecksum(key.orderCode(), key.checksum())) {
+            return null;
+        }
+        Integer bookingId = paymentLogRepository.findTopByProviderTransactionIdOrderByCreatedAtDesc(key.orderCode())
+                .map(paymentLog -> paymentLog.getBooking().getId())
+                .orElse(null);
+        OffsetDateTime now = TimeProvider.now();
+        return eventRepository.saveAndFlush(PayOSWebhookEvent.builder()
+                .orderCode(key.orderCode())
+                .checksum(key.checksum())
+                .bookingId(bookingId)
+                .payload(rawPayload)
+                .status(WebhookEventStatus.Received)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .receivedAt(now)
+                .build());
+    }
+
+    private void submit(Long eventId, Object laneKey) {
+        ThreadPoolExecutor lane = lanes[Math.floorMod(laneKey.hashCode(), lanes.length)];
+        try {
+            lane.execute(() -> process(eventId));
+        } catch (RejectedExecutionException ex) {
+            log.debug("PayOS webhook lane is full, event {} waits for the next poll", eventId);
+        }
+    }
+
+    private void process(Long eventId) {
+        OffsetDateTime now = TimeProvider.now();
+        Integer claimed = transactionTemplate.execute(status ->
+                eventRepository.claim(eventId, CLAIMABLE_STATUSES, now, now.plus(lease)));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        PayOSWebhookEvent event = eventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return;
+        }
+        try {
+            PayOSWebhookPayload payload = paymentService.verifyWebhookPayload(event.getPayload());
+            paymentService.completeBooking(payload, event.getPayload());
+            finish(eventId, WebhookEventStatus.Processed, null, TimeProvider.now());
+        } catch (PayOSUnavailableException ex) {
+            retryOrFail(event, ex);
+        } catch (PaymentException ex) {
+            log.warn("PayOS webhook rejected for orderCode={}: {}", event.getOrderCode(), ex.getMessage());
+            finish(eventId, WebhookEventStatus.Rejected, ex.getMessage(), TimeProvider.now());
+        } catch (RuntimeException ex) {
+            retryOrFail(event, ex);
+        }
+    }
+
+    private void retryOrFail(PayOSWebhookEvent event, RuntimeException ex) {
+        OffsetDateTime failedAt = TimeProvider.now();
+        if (event.getAttempts() >= maxAttempts) {
+            log.error("Giving up on PayOS webhook for orderCode={} after {} attempts",
+                    event.getOrderCode(), event.getAttempts(), ex);
+            finish(event.getId(), WebhookEventStatus.Failed, ex.getMessage(), failedAt);
+        } else {
+            log.warn("PayOS webhook for orderCode={} failed (attempt {}), retrying: {}",
+                    event.getOrderCode(), event.getAttempts(), ex.getMessage());
+            finish(event.getId(), WebhookEventStatus.Received, ex.getMessage(), failedAt.plus(retryDelay));
+        }
+    }
+
+    private void finish(Long eventId, WebhookEventStatus status, String error, OffsetDateTime nextAttemptAt) {
+        transactionTemplate.executeWithoutResult(tx -> eventRepository.findById(eventId).ifPresent(event -> {
+            event.setStatus(status);
+            event.setNextAttemptAt(nextAttemptAt);
+            event.setLastError(truncate(error));
+            if (status != WebhookEventStatus.Received) {
+                event.setProcessedAt(TimeProvider.now());
+            }
+            eventRepository.save(event);
+        }));
+    }
+
+    private PayOSWebhookPayload parse(String rawPayload) {
+        try {
+            return objectMapper.readValue(rawPayload, PayOSWebhookPayload.class);
+        } catch (IOException ex) {
+            throw new PaymentException("Unable to parse webhook payload", ex);
+        }
+    }
+
+    /**
+     * Deliveries are told apart by the checksum header, then the body signature, then a digest of the body.
+     */
+    private String dedupeChecksum(String rawPayload, String checksumHeader, PayOSWebhookPayload payload) {
+        if (StringUtils.hasText(checksumHeader)) {
+            return checksumHeader.trim().toLowerCase(Locale.ROOT);
+        }
+        if (StringUtils.hasText(payload.getSignature())) {
+            return payload.getSignature().trim().toLowerCase(Locale.ROOT);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawPayload.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private Object laneKey(PayOSWebhookEvent event) {
+        return event.getBookingId() != null ? event.getBookingId() : event.getOrderCode();
+    }
+
+    private boolean isRecent(DedupeKey key) {
+        synchronized (recentKeys) {
+            return recentKeys.get(key) != null;
+        }
+    }
+
+    private void remember(DedupeKey key) {
+        synchronized (recentKeys) {
+            recentKeys.put(key, Boolean.TRUE);
+        }
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record DedupeKey(String orderCode, String checksum) {
+    }
+}
@@ -9,6 +9,7 @@ import com.cinema.hub.backend.repository.BookingRepository;
 import com.cinema.hub.backend.repository.BookingSeatRepository;
 import com.cinema.hub.backend.repository.PaymentLogRepository;
 import com.cinema.hub.backend.service.BookingService;
+import com.cinema.hub.backend.service.UniqueCodeGenerator;
 import com.cinema.hub.backend.payment.payos.PayOSClient;
 import com.cinema.hub.backend.payment.payos.PayOSPaymentData;
 import com.cinema.hub.backend.payment.payos.PayOSPaymentRequest;
@@ -17,10 +18,10 @@ import com.cinema.hub.backend.payment.payos.PayOSWebhookPayload;
 import com.cinema.hub.backend.payment.payos.PayOSWebhookValidator;
 import com.cinema.hub.backend.payment.model.PaymentCheckoutResponse;
 import com.cinema.hub.backend.payment.model.PaymentCreateRequest;
+import com.cinema.hub.backend.payment.util.PayOSUnavailableException;
 import com.cinema.hub.backend.payment.util.PaymentException;
 import com.cinema.hub.backend.payment.vietqr.PaymentQrService;
 import com.cinema.hub.backend.util.TimeProvider;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
@@ -28,23 +29,22 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.file.Path;
 import java.text.Normalizer;
 import java.time.OffsetDateTime;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
@@ -54,49 +54,97 @@ public class PaymentService {
     private static final String BANK_NAME = "MB Bank";
     private static final String ACCOUNT_NUMBER = "0931630902";
     private static final String ACCOUNT_NAME = "DAO NAM HAI";
+    private static final String PROVIDER_PAYOS = "PayOS";
+    private static final String PROVIDER_VIETQR = "VietQR";
 
     private final BookingRepository bookingRepository;
     private final BookingSeatRepository bookingSeatRepository;
     private final PaymentLogRepository paymentLogRepository;
     private final PaymentQrService paymentQrService;
     private final TicketEmailService ticketEmailService;
+    private final TicketFulfilmentService ticketFulfilmentService;
     private final BookingService bookingService;
     private final ObjectMapper objectMapper;
     private final PayOSWebhookValidator webhookValidator;
     private final PayOSClient payOSClient;
+    private final UniqueCodeGenerator uniqueCodeGenerator;
+    private final PlatformTransactionManager transactionManager;
 
     @Value("${app.public-base-url}")
     private String publicBaseUrl;
 
-    @Transactional
+    /**
+     * Creates a payment attempt in three steps so the booking row is only locked while the amount is fixed: the
+     * PayOS call runs between two short transactions. When PayOS is unavailable a local VietQR for the same transfer
+     * content is issued instead; such payments are confirmed by staff rather than by webhook.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentCheckoutResponse createVietQR(PaymentCreateRequest request) {
-        Booking booking = bookingRepository.findByIdForUpdate(request.getBookingId())
-                .orElseThrow(() -> new EntityNotFoundException("Booking not found: " + request.getBookingId()));
-        validateBookingForPayment(booking);
-
-        BigDecimal amount = calculateAmount(booking).setScale(0, RoundingMode.HALF_UP);
-        booking.setFinalAmount(amount);
-        bookingRepository.save(booking);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        PendingPayment pending = transactionTemplate.execute(status -> preparePayment(request.getBookingId()));
 
-        long orderCode = generateOrderCode();
-        String transferContent = buildTransferContent(booking, orderCode);
         PayOSPaymentRequest payOSRequest = PayOSPaymentRequest.builder()
-                .orderCode(orderCode)
-                .amount(amount.longValueExact())
-                .description(transferContent)
-                .returnUrl(buildReturnUrl(booking))
-                .cancelUrl(buildCancelUrl(booking))
+                .orderCode(pending.orderCode())
+                .amount(pending.amount().longValueExact())
+                .description(pending.transferContent())
+                .returnUrl(pending.returnUrl())
+                .cancelUrl(pending.cancelUrl())
                 .build();
-        PayOSPaymentData paymentData = payOSClient.createPaymentRequest(payOSRequest);
+        PayOSPaymentData paymentData;
+        String provider = PROVIDER_PAYOS;
+        try {
+            paymentData = payOSClient.createPaymentRequest(payOSRequest);
+        } catch (PayOSUnavailableException ex) {
+            log.warn("PayOS unavailable for booking {} ({}), issuing a local VietQR", pending.bookingId(), ex.getMessage());
+            paymentData = localPaymentData(pending);
+            provider = PROVIDER_VIETQR;
+        }
 
         String qrBase64 = paymentQrService.renderPayload(paymentData.getQrCode());
         OffsetDateTime expiresAt = paymentData.getExpiredAt();
         if (expiresAt == null) {
             expiresAt = TimeProvider.now().plusMinutes(10);
         }
+        OffsetDateTime logExpiresAt = expiresAt;
+        PayOSPaymentData logData = paymentData;
+        String logProvider = provider;
+        Booking booking = transactionTemplate.execute(status -> {
+            Booking current = bookingRepository.findByIdForUpdate(pending.bookingId())
+                    .orElseThrow(() -> new EntityNotFoundException("Booking not found: " + pending.bookingId()));
+            // the booking was unlocked during the PayOS call
+            validateBookingForPayment(current);
+            if (current.getFinalAmount() == null || current.getFinalAmount().compareTo(pending.amount()) != 0) {
+                throw new PaymentException("Booking amount changed while creating the payment");
+            }
+            persistLog(current, logProvider, pending.amount(), pending.orderCode(), pending.transferContent(),
+                    request.getEmail(), logExpiresAt, logData);
+            return current;
+        });
+        return buildCheckoutResponse(booking, pending.orderCode(), pending.amount(), qrBase64,
+                pending.transferContent(), expiresAt, paymentData);
+    }
 
-        persistLog(booking, amount, orderCode, transferContent, request.getEmail(), expiresAt, qrBase64, paymentData);
-        return buildCheckoutResponse(booking, orderCode, amount, qrBase64, transferContent, expiresAt, paymentData);
+    private PendingPayment preparePayment(Integer bookingId) {
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Booking not found: " + bookingId));
+        validateBookingForPayment(booking);
+
+        BigDecimal amount = calculateAmount(booking).setScale(0, RoundingMode.HALF_UP);
+        booking.setFinalAmount(amount);
+        bookingRepository.save(booking);
+
+        long orderCode = generateOrderCode();
+        return new PendingPayment(booking.getId(), amount, orderCode, buildTransferContent(booking, orderCode),
+                buildReturnUrl(booking), buildCancelUrl(booking));
+    }
+
+    private PayOSPaymentData localPaymentData(PendingPayment pending) {
+        PayOSPaymentData data = new PayOSPaymentData();
+        data.setAmount(pending.amount());
+        data.setDescription(pending.transferContent());
+        data.setOrderCode(pending.orderCode());
+        data.setQrCode(paymentQrService.buildPayload(pending.amount(), pending.transferContent()));
+        return data;
     }
 
     private void validateBookingForPayment(Booking booking) {
@@ -153,32 +201,24 @@ public class PaymentService {
         Booking booking = bookingRepository.findByIdForUpdate(initLog.getBooking().getId())
                 .orElseThrow(() -> new EntityNotFoundException("Booking not found for order " + orderCode));
 
+        if (booking.getPaymentStatus() == PaymentStatus.Paid && "PAID".equalsIgnoreCase(initLog.getStatus())) {
+            log.info("Payment for booking={}, orderCode={} already recorded", booking.getBookingCode(), orderCode);
+            return;
+        }
+
         validateWebhookPayload(payload, booking, Long.parseLong(orderCode));
 
-        String email = resolveEmail(initLog.getRawMessage());
+        String email = StringUtils.hasText(initLog.getEmail())
+                ? initLog.getEmail()
+                : resolveEmail(initLog.getRawMessage());
         bookingService.markBookingPaid(booking, "VietQR");
 
         initLog.setStatus("PAID");
         initLog.setRawMessage(rawPayload);
         paymentLogRepository.save(initLog);
 
-        if (StringUtils.hasText(email) && TransactionSynchronizationManager.isSynchronizationActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    try {
-                        ticketEmailService.sendTicket(booking.getId(), email);
-                    } catch (Exception ex) {
-                        log.error("Unable to send ticket email for booking {}", booking.getBookingCode(), ex);
-                    }
-                }
-            });
-        } else if (StringUtils.hasText(email)) {
-            try {
-                ticketEmailService.sendTicket(booking.getId(), email);
-            } catch (Exception ex) {
-                log.error("Unable to send ticket email for booking {}", booking.getBookingCode(), ex);
-            }
+        if (StringUtils.hasText(email)) {
+            ticketFulfilmentService.enqueue(booking, email);
         }
 
         log.info("Payment success recorded for booking={}, orderCode={}",
@@ -190,6 +230,14 @@ public class PaymentService {
                                                   String apiKey,
                                                   String checksum) {
         webhookValidator.validateHeaders(clientId, apiKey, checksum, rawPayload);
+        return verifyWebhookPayload(rawPayload);
+    }
+
+    /**
+     * Checks the body of a webhook whose headers were already validated at ingestion. Falls back to asking
+     * PayOS for the order status when the body signature does not match.
+     */
+    public PayOSWebhookPayload verifyWebhookPayload(String rawPayload) {
         try {
             PayOSWebhookPayload payload = objectMapper.readValue(rawPayload, PayOSWebhookPayload.class);
             String event = payload.getEvent();
@@ -239,6 +287,11 @@ public class PaymentService {
         return ticketEmailService.generatePdf(bookingId);
     }
 
+    @Transactional(readOnly = true)
+    public Path getTicketPdfFile(Integer bookingId) {
+        return ticketEmailService.getPdfFile(bookingId);
+    }
+
     private void validateWebhookPayload(PayOSWebhookPayload payload, Booking booking, long orderCode) {
         PayOSWebhookPayload.WebhookData data = payload.getData();
         if (data == null) {
@@ -286,51 +339,38 @@ public class PaymentService {
     }
 
     private void persistLog(Booking booking,
+                            String provider,
                             BigDecimal amount,
                             long orderCode,
                             String transferContent,
                             String email,
                             OffsetDateTime expiresAt,
-                            String qrBase64,
                             PayOSPaymentData paymentData) {
-        String raw = serializeRawMessage(email, expiresAt, qrBase64, transferContent, orderCode, paymentData);
         PaymentLog logEntry = PaymentLog.builder()
                 .booking(booking)
-                .provider("PayOS")
+                .provider(provider)
                 .amount(amount)
                 .providerTransactionId(String.valueOf(orderCode))
                 .status("PENDING")
-                .rawMessage(raw)
+                .orderCode(orderCode)
+                .email(email)
+                .expiresAt(expiresAt)
+                .transferContent(transferContent)
+                .qrPayload(paymentData.getQrCode())
+                .checkoutUrl(paymentData.getCheckoutUrl())
+                .paymentLinkId(paymentData.getPaymentLinkId())
                 .createdAt(TimeProvider.now())
                 .build();
         paymentLogRepository.save(logEntry);
     }
 
-    private String serializeRawMessage(String email,
-                                       OffsetDateTime expiresAt,
-                                       String qrPayload,
-                                       String transferContent,
-                                       long orderCode,
-                                       PayOSPaymentData paymentData) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("email", email);
-        payload.put("expiresAt", expiresAt.toString());
-        payload.put("qr", qrPayload);
-        payload.put("transferContent", transferContent);
-        payload.put("orderCode", orderCode);
-        payload.put("reference", UUID.randomUUID().toString());
-        if (paymentData != null) {
-            payload.put("checkoutUrl", paymentData.getCheckoutUrl());
-            payload.put("paymentLinkId", paymentData.getPaymentLinkId());
-        }
-        try {
-            return objectMapper.writeValueAsString(payload);
-        } catch (JsonProcessingException ex) {
-            throw new PaymentException("Unable to serialize payment log payload", ex);
-        }
-    }
-
+    /**
+     * Email of payment attempts recorded before the typed columns existed, which kept it in the raw JSON.
+     */
     private String resolveEmail(String rawPayload) {
+        if (!StringUtils.hasText(rawPayload)) {
+            return null;
+        }
         try {
             Map<?, ?> map = objectMapper.readValue(rawPayload, Map.class);
             Object email = map.get("email");
@@ -342,9 +382,7 @@ public class PaymentService {
     }
 
     private long generateOrderCode() {
-        long timestamp = System.currentTimeMillis();
-        int random = ThreadLocalRandom.current().nextInt(100, 999);
-        return Long.parseLong(String.valueOf(timestamp).substring(4) + random);
+        return uniqueCodeGenerator.nextOrderCode();
     }
 
     private String buildTransferContent(Booking booking, long orderCode) {
@@ -393,4 +431,12 @@ public class PaymentService {
                 .buildAndExpand(booking.getShowtime().getId())
                 .toUriString();
     }
+
+    private record PendingPayment(Integer bookingId,
+                                  BigDecimal amount,
+                                  long orderCode,
+                                  String transferContent,
+                                  String returnUrl,
+                                  String cancelUrl) {
+    }
 }
@@ -7,86 +7,188 @@ import com.cinema.hub.backend.util.AsciiSanitizer;
 import com.cinema.hub.backend.util.CurrencyFormatter;
 import com.cinema.hub.backend.util.SeatTypeLabelResolver;
 import com.cinema.hub.backend.util.TimeProvider;
-import com.google.zxing.BarcodeFormat;
+import com.cinema.hub.backend.payment.vietqr.QrCodeRenderer;
 import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
 import com.openhtmltopdf.outputdevice.helper.BaseRendererBuilder;
+import com.openhtmltopdf.pdfboxout.PDFontSupplier;
 import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 
+/**
+ * Renders ticket PDFs. Font files are read once and parsed into a fixed set of render slots; a slot is taken
+ * for each render, which both bounds the number of concurrent renders and lets parsed fonts be reused
+ * (a parsed font is not safe to share between two documents being written at the same time). A font file that
+ * does not parse is left out, so tickets still render in the default font.
+ */
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class PdfTicketGenerator {
 
     private static final DateTimeFormatter SHOWTIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm - dd/MM/yyyy");
     private static final DateTimeFormatter ISSUED_AT_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final int QR_SIZE = 340;
+    private static final List<FontFace> FONT_FACES = List.of(
+            new FontFace("classpath:fonts/Roboto-Regular.ttf", "Roboto", 400),
+            new FontFace("classpath:fonts/Roboto-Bold.ttf", "Roboto", 700));
 
     private final SpringTemplateEngine templateEngine;
-    private final ResourceLoader resourceLoader;
+    private final QrCodeRenderer qrCodeRenderer;
+    private final List<FontFace> fontFaces;
+    private final BlockingQueue<RenderSlot> renderSlots;
+
+    public PdfTicketGenerator(SpringTemplateEngine templateEngine,
+                              QrCodeRenderer qrCodeRenderer,
+                              ResourceLoader resourceLoader,
+                              @Value("${cinema.ticket-pdf.max-concurrency:0}") int maxConcurrency) {
+        this.templateEngine = templateEngine;
+        this.qrCodeRenderer = qrCodeRenderer;
+        int slotCount = maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+        List<FontFace> faces = new ArrayList<>(FONT_FACES.size());
+        List<byte[]> fontData = new ArrayList<>(FONT_FACES.size());
+        for (FontFace face : FONT_FACES) {
+            byte[] data = readFont(resourceLoader, face.resourcePath());
+            try {
+                new TTFParser().parse(new ByteArrayInputStream(data));
+                faces.add(face);
+                fontData.add(data);
+            } catch (IOException ex) {
+                log.warn("Ticket font {} is not a valid TrueType font, tickets fall back to the default font",
+                        face.resourcePath());
+            }
+        }
+        this.fontFaces = List.copyOf(faces);
+        this.renderSlots = new ArrayBlockingQueue<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            renderSlots.add(new RenderSlot(parseFonts(fontData)));
+        }
+    }
 
     public byte[] generateTicket(Booking booking, List<BookingSeat> seats) {
         try {
-            TicketPdfModel payload = buildPayload(booking, seats);
-            Context context = new Context();
-            context.setVariable("ticket", payload);
-            String html = templateEngine.process("ticket-pdf", context);
-            return renderPdf(html);
+            return renderPdf(renderHtml(booking, seats));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PaymentException("Interrupted while generating ticket PDF", ex);
         } catch (Exception ex) {
             throw new PaymentException("Unable to generate ticket PDF", ex);
         }
     }
 
-    private byte[] renderPdf(String html) throws Exception {
-        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+    /**
+     * Hash of everything printed on the ticket; it changes whenever the rendered PDF would.
+     */
+    public String contentHash(Booking booking, List<BookingSeat> seats) {
+        StringBuilder content = new StringBuilder(256)
+                .append(booking.getBookingCode()).append('\n')
+                .append(booking.getShowtime().getMovie().getTitle()).append('\n')
+                .append(booking.getShowtime().getMovie().getOriginalTitle()).append('\n')
+                .append(booking.getShowtime().getStartTime()).append('\n')
+                .append(booking.getShowtime().getAuditorium().getName()).append('\n')
+                .append(booking.getPaidAt()).append('\n')
+                .append(booking.getFinalAmount()).append('\n')
+                .append(booking.getTotalAmount()).append('\n');
+        buildSeatGroupLines(seats).forEach(line -> content.append(line).append('\n'));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    String renderHtml(Booking booking, List<BookingSeat> seats) throws IOException {
+        Context context = new Context();
+        context.setVariable("ticket", buildPayload(booking, seats));
+        return templateEngine.process("ticket-pdf", context);
+    }
+
+    byte[] renderPdf(String html) throws Exception {
+        RenderSlot slot = renderSlots.take();
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream output = new ByteArrayOutputStream()) {
             PdfRendererBuilder builder = new PdfRendererBuilder();
             builder.useFastMode();
+            builder.usePDDocument(document);
             builder.withHtmlContent(html, null);
-            registerFont(builder, "classpath:fonts/Roboto-Regular.ttf", "Roboto", 400);
-            registerFont(builder, "classpath:fonts/Roboto-Bold.ttf", "Roboto", 700);
+            for (int i = 0; i < fontFaces.size(); i++) {
+                FontFace face = fontFaces.get(i);
+                TrueTypeFont font = slot.fonts().get(i);
+                PDFontSupplier supplier = new PDFontSupplier(loadFont(document, font));
+                builder.useFont(supplier,
+                        face.family(),
+                        face.weight(),
+                        BaseRendererBuilder.FontStyle.NORMAL,
+                        true);
+            }
             builder.toStream(output);
             builder.run();
             return output.toByteArray();
+        } finally {
+            renderSlots.add(slot);
         }
     }
 
-    private void registerFont(PdfRendererBuilder builder,
-                              String resourcePath,
-                              String family,
-                              int weight) {
-        Resource resource = resourceLoader.getResource(resourcePath);
+    private static PDFont loadFont(PDDocument document, TrueTypeFont font) {
         try {
-            byte[] fontBytes = resource.getInputStream().readAllBytes();
-            builder.useFont(() -> new ByteArrayInputStream(fontBytes),
-                    family,
-                    weight,
-                    BaseRendererBuilder.FontStyle.NORMAL,
-                    true);
+            return PDType0Font.load(document, font, true);
         } catch (IOException ex) {
             throw new UncheckedIOException(ex);
         }
     }
 
+    private static byte[] readFont(ResourceLoader resourceLoader, String resourcePath) {
+        Resource resource = resourceLoader.getResource(resourcePath);
+        try (InputStream input = resource.getInputStream()) {
+            return input.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read font " + resourcePath, ex);
+        }
+    }
+
+    private static List<TrueTypeFont> parseFonts(List<byte[]> fontData) {
+        List<TrueTypeFont> fonts = new ArrayList<>(fontData.size());
+        for (byte[] data : fontData) {
+            try {
+                fonts.add(new TTFParser().parse(new ByteArrayInputStream(data)));
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to parse ticket font", ex);
+            }
+        }
+        return List.copyOf(fonts);
+    }
+
     private TicketPdfModel buildPayload(Booking booking, List<BookingSeat> seats) throws IOException {
         String movieTitle = booking.getShowtime().getMovie().getTitle();
         String originalTitle = booking.getShowtime().getMovie().getOriginalTitle();
@@ -121,14 +223,8 @@ public class PdfTicketGenerator {
     }
 
     private String renderQrDataUri(String bookingCode) throws IOException {
-        QRCodeWriter writer = new QRCodeWriter();
         try {
-            BitMatrix bitMatrix = writer.encode("BOOKING:" + bookingCode, BarcodeFormat.QR_CODE, 340, 340);
-            try (ByteArrayOutputStream qrStream = new ByteArrayOutputStream()) {
-                MatrixToImageWriter.writeToStream(bitMatrix, "PNG", qrStream);
-                String base64 = Base64.getEncoder().encodeToString(qrStream.toByteArray());
-                return "data:image/png;base64," + base64;
-            }
+            return qrCodeRenderer.toPngDataUri("BOOKING:" + bookingCode, QR_SIZE);
         } catch (WriterException ex) {
             throw new IOException("Unable to render QR code", ex);
         }
@@ -155,6 +251,12 @@ public class PdfTicketGenerator {
         return AsciiSanitizer.toAscii(value);
     }
 
+    private record FontFace(String resourcePath, String family, int weight) {
+    }
+
+    private record RenderSlot(List<TrueTypeFont> fonts) {
+    }
+
     @lombok.Builder
     private record TicketPdfModel(
             String movieTitle,
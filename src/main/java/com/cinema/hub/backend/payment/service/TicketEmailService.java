@@ -10,6 +10,7 @@ import com.cinema.hub.backend.util.SeatTypeLabelResolver;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.persistence.EntityNotFoundException;
+import java.nio.file.Path;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -33,6 +34,7 @@ public class TicketEmailService {
     private final BookingRepository bookingRepository;
     private final BookingSeatRepository bookingSeatRepository;
     private final PdfTicketGenerator pdfTicketGenerator;
+    private final TicketPdfCache ticketPdfCache;
     private final JavaMailSender mailSender;
 
     @Value("${spring.mail.username}")
@@ -46,7 +48,8 @@ public class TicketEmailService {
             throw new PaymentException("Booking must be paid before sending tickets");
         }
         List<BookingSeat> seats = bookingSeatRepository.findDetailedByBooking(bookingId);
-        byte[] pdfData = pdfTicketGenerator.generateTicket(booking, seats);
+        byte[] pdfData = ticketPdfCache.getBytes(bookingId, pdfTicketGenerator.contentHash(booking, seats),
+                () -> pdfTicketGenerator.generateTicket(booking, seats));
         sendEmailWithAttachment(email, booking, pdfData, seats);
     }
 
@@ -58,7 +61,23 @@ public class TicketEmailService {
             throw new PaymentException("Booking must be paid before downloading tickets");
         }
         List<BookingSeat> seats = bookingSeatRepository.findDetailedByBooking(bookingId);
-        return pdfTicketGenerator.generateTicket(booking, seats);
+        return ticketPdfCache.getBytes(bookingId, pdfTicketGenerator.contentHash(booking, seats),
+                () -> pdfTicketGenerator.generateTicket(booking, seats));
+    }
+
+    /**
+     * Cached ticket PDF on disk, for downloads that stream the file instead of loading it into memory.
+     */
+    @Transactional(readOnly = true)
+    public Path getPdfFile(Integer bookingId) {
+        Booking booking = bookingRepository.findDetailedById(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Booking not found: " + bookingId));
+        if (booking.getPaymentStatus() != PaymentStatus.Paid) {
+            throw new PaymentException("Booking must be paid before downloading tickets");
+        }
+        List<BookingSeat> seats = bookingSeatRepository.findDetailedByBooking(bookingId);
+        return ticketPdfCache.getFile(bookingId, pdfTicketGenerator.contentHash(booking, seats),
+                () -> pdfTicketGenerator.generateTicket(booking, seats));
     }
 
     private void sendEmailWithAttachment(String recipient,
@@ -0,0 +1,172 @@
+package com.cinema.hub.backend.payment.service;
+
+import com.cinema.hub.backend.entity.Booking;
+import com.cinema.hub.backend.entity.TicketFulfilmentJob;
+import com.cinema.hub.backend.entity.enums.TicketFulfilmentStatus;
+import com.cinema.hub.backend.repository.TicketFulfilmentJobRepository;
+import com.cinema.hub.backend.util.TimeProvider;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Outbox for paid-booking fulfilment. Payment confirmation only records a job in its own transaction; a bounded
+ * worker pool renders the ticket PDF and sends the email afterwards, retrying with exponential backoff. Jobs
+ * survive restarts and are picked up again by the poller, so no request thread waits on PDF rendering or SMTP.
+ */
+@Service
+@Slf4j
+public class TicketFulfilmentService {
+
+    private static final List<TicketFulfilmentStatus> CLAIMABLE_STATUSES =
+            List.of(TicketFulfilmentStatus.Pending, TicketFulfilmentStatus.Processing);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final TicketFulfilmentJobRepository jobRepository;
+    private final TicketEmailService ticketEmailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    public TicketFulfilmentService(TicketFulfilmentJobRepository jobRepository,
+                                   TicketEmailService ticketEmailService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${cinema.ticket-fulfilment.workers:4}") int workerCount,
+                                   @Value("${cinema.ticket-fulfilment.queue-capacity:200}") int queueCapacity,
+                                   @Value("${cinema.ticket-fulfilment.max-attempts:6}") int maxAttempts,
+                                   @Value("${cinema.ticket-fulfilment.initial-backoff-seconds:30}") long initialBackoffSeconds,
+                                   @Value("${cinema.ticket-fulfilment.max-backoff-minutes:30}") long maxBackoffMinutes,
+                                   @Value("${cinema.ticket-fulfilment.lease-minutes:5}") long leaseMinutes) {
+        this.jobRepository = jobRepository;
+        this.ticketEmailService = ticketEmailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("ticket-fulfilment-", 1).daemon().factory());
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofMinutes(maxBackoffMinutes);
+        this.lease = Duration.ofMinutes(leaseMinutes);
+    }
+
+    /**
+     * Records a fulfilment job in the caller's transaction. Workers start on it as soon as that transaction commits.
+     */
+    public void enqueue(Booking booking, String email) {
+        OffsetDateTime now = TimeProvider.now();
+        TicketFulfilmentJob job = jobRepository.save(TicketFulfilmentJob.builder()
+                .booking(booking)
+                .email(email)
+                .status(TicketFulfilmentStatus.Pending)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        Long jobId = job.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(jobId);
+                }
+            });
+        } else {
+            submit(jobId);
+        }
+    }
+
+    /**
+     * Picks up jobs that are due for a retry, were left behind by a full queue or by a node that went away.
+     */
+    @Scheduled(fixedDelayString = "${cinema.ticket-fulfilment.poll-ms:5000}")
+    public void dispatchDueJobs() {
+        int capacity = workers.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        jobRepository.findDueIds(CLAIMABLE_STATUSES, TimeProvider.now(), PageRequest.of(0, capacity))
+                .forEach(this::submit);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void submit(Long jobId) {
+        try {
+            workers.execute(() -> process(jobId));
+        } catch (RejectedExecutionException ex) {
+            log.debug("Ticket fulfilment queue is full, job {} waits for the next poll", jobId);
+        }
+    }
+
+    private void process(Long jobId) {
+        OffsetDateTime now = TimeProvider.now();
+        Integer claimed = transactionTemplate.execute(status ->
+                jobRepository.claim(jobId, CLAIMABLE_STATUSES, now, now.plus(lease)));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        TicketFulfilmentJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        Integer bookingId = job.getBooking().getId();
+        try {
+            ticketEmailService.sendTicket(bookingId, job.getEmail());
+            finish(jobId, TicketFulfilmentStatus.Sent, null, TimeProvider.now());
+        } catch (RuntimeException ex) {
+            OffsetDateTime failedAt = TimeProvider.now();
+            if (job.getAttempts() >= maxAttempts) {
+                log.error("Giving up on ticket email for booking {} after {} attempts", bookingId, job.getAttempts(), ex);
+                finish(jobId, TicketFulfilmentStatus.Failed, ex.getMessage(), failedAt);
+            } else {
+                OffsetDateTime retryAt = failedAt.plus(backoff(job.getAttempts()));
+                log.warn("Ticket email for booking {} failed (attempt {}), retrying at {}: {}",
+                        bookingId, job.getAttempts(), retryAt, ex.getMessage());
+                finish(jobId, TicketFulfilmentStatus.Pending, ex.getMessage(), retryAt);
+            }
+        }
+    }
+
+    private void finish(Long jobId, TicketFulfilmentStatus status, String error, OffsetDateTime nextAttemptAt) {
+        transactionTemplate.executeWithoutResult(tx -> jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setNextAttemptAt(nextAttemptAt);
+            job.setLastError(truncate(error));
+            job.setUpdatedAt(TimeProvider.now());
+            jobRepository.save(job);
+        }));
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,250 @@
+package com.cinema.hub.backend.payment.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Rendered ticket PDFs keyed by booking id and a hash of the ticket content. Recently used PDFs stay in a
+ * size-bounded LRU; every PDF is also written under {@code file.upload-dir}/tickets so downloads can be served
+ * straight from disk. A changed seat list produces a new hash, and the stale entries of the booking are dropped.
+ * <p>
+ * The disk tier is bounded too: disk hits refresh a file's modification time, and a periodic trim deletes files
+ * not used for {@code disk-max-age-days}, then the least recently used ones until the directory fits in
+ * {@code disk-max-mb}. A trimmed ticket is simply rendered again on its next download.
+ */
+@Component
+@Slf4j
+public class TicketPdfCache {
+
+    private static final String FILE_SUFFIX = ".pdf";
+
+    private final Path directory;
+    private final long memoryMaxBytes;
+    private final long diskMaxBytes;
+    private final long diskMaxAgeMillis;
+    private final LinkedHashMap<CacheKey, byte[]> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+
+    public TicketPdfCache(@Value("${file.upload-dir:uploads}") String uploadDir,
+                          @Value("${cinema.ticket-pdf-cache.memory-max-mb:32}") long memoryMaxMb,
+                          @Value("${cinema.ticket-pdf-cache.disk-max-mb:512}") long diskMaxMb,
+                          @Value("${cinema.ticket-pdf-cache.disk-max-age-days:30}") long diskMaxAgeDays) {
+        this.directory = Paths.get(uploadDir, "tickets").toAbsolutePath().normalize();
+        this.memoryMaxBytes = memoryMaxMb * 1024 * 1024;
+        this.diskMaxBytes = diskMaxMb * 1024 * 1024;
+        this.diskMaxAgeMillis = TimeUnit.DAYS.toMillis(diskMaxAgeDays);
+    }
+
+    public byte[] getBytes(int bookingId, String contentHash, Supplier<byte[]> renderer) {
+        CacheKey key = new CacheKey(bookingId, contentHash);
+        byte[] cached = memoryGet(key);
+        if (cached != null) {
+            return cached;
+        }
+        Path file = fileFor(key);
+        if (Files.isRegularFile(file)) {
+            try {
+                byte[] bytes = Files.readAllBytes(file);
+                touch(file);
+                memoryPut(key, bytes);
+                return bytes;
+            } catch (IOException ex) {
+                log.warn("Unable to read cached ticket {}: {}", file, ex.getMessage());
+            }
+        }
+        byte[] rendered = renderer.get();
+        memoryPut(key, rendered);
+        try {
+            writeFile(key, rendered);
+        } catch (IOException ex) {
+            log.warn("Unable to write cached ticket for booking {}: {}", bookingId, ex.getMessage());
+        }
+        return rendered;
+    }
+
+    /**
+     * Path of the cached PDF on disk, rendering it first when needed.
+     */
+    public Path getFile(int bookingId, String contentHash, Supplier<byte[]> renderer) {
+        CacheKey key = new CacheKey(bookingId, contentHash);
+        Path file = fileFor(key);
+        if (Files.isRegularFile(file)) {
+            touch(file);
+            return file;
+        }
+        byte[] bytes = memoryGet(key);
+        if (bytes == null) {
+            bytes = renderer.get();
+            memoryPut(key, bytes);
+        }
+        try {
+            writeFile(key, bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to store ticket PDF for booking " + bookingId, ex);
+        }
+        return file;
+    }
+
+    /**
+     * Drops every cached PDF of the booking once the surrounding transaction commits.
+     */
+    public void invalidate(int bookingId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(bookingId, null);
+                }
+            });
+        } else {
+            evict(bookingId, null);
+        }
+    }
+
+    /**
+     * Deletes PDFs unused for longer than the age limit, then the least recently used ones until the directory
+     * fits in the size limit. Returns the number of files deleted.
+     */
+    @Scheduled(fixedDelayString = "${cinema.ticket-pdf-cache.trim-interval-ms:600000}", initialDelay = 60_000)
+    public int trimDisk() {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        List<CachedFile> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path file : stream) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    files.add(new CachedFile(file, attributes.lastModifiedTime().toMillis(), attributes.size()));
+                } catch (IOException ex) {
+                    // removed concurrently
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Unable to list cached tickets in {}: {}", directory, ex.getMessage());
+            return 0;
+        }
+        files.sort(Comparator.comparingLong(CachedFile::lastUsedMillis));
+        long totalBytes = files.stream().mapToLong(CachedFile::size).sum();
+        long cutoff = System.currentTimeMillis() - diskMaxAgeMillis;
+        int deleted = 0;
+        for (CachedFile file : files) {
+            if (file.lastUsedMillis() >= cutoff && totalBytes <= diskMaxBytes) {
+                break;
+            }
+            try {
+                if (Files.deleteIfExists(file.path())) {
+                    deleted++;
+                }
+                totalBytes -= file.size();
+            } catch (IOException ex) {
+                log.warn("Unable to remove cached ticket {}: {}", file.path(), ex.getMessage());
+            }
+        }
+        if (deleted > 0) {
+            log.info("Trimmed {} cached ticket PDFs, {} KB left on disk", deleted, totalBytes / 1024);
+        }
+        return deleted;
+    }
+
+    private void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ex) {
+            // only affects trim order
+        }
+    }
+
+    private void writeFile(CacheKey key, byte[] bytes) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, key.bookingId() + "-", ".tmp");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, fileFor(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        evict(key.bookingId(), key.contentHash());
+    }
+
+    /**
+     * Removes the booking's entries, keeping the one with {@code keepHash} when given.
+     */
+    private void evict(int bookingId, String keepHash) {
+        synchronized (memory) {
+            Iterator<Map.Entry<CacheKey, byte[]>> iterator = memory.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<CacheKey, byte[]> entry = iterator.next();
+                if (entry.getKey().bookingId() == bookingId && !entry.getKey().contentHash().equals(keepHash)) {
+                    memoryBytes -= entry.getValue().length;
+                    iterator.remove();
+                }
+            }
+        }
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Path keep = keepHash != null ? fileFor(new CacheKey(bookingId, keepHash)) : null;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, bookingId + "-*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                if (!file.equals(keep)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Unable to remove cached tickets of booking {}: {}", bookingId, ex.getMessage());
+        }
+    }
+
+    private byte[] memoryGet(CacheKey key) {
+        synchronized (memory) {
+            return memory.get(key);
+        }
+    }
+
+    private void memoryPut(CacheKey key, byte[] bytes) {
+        if (bytes.length > memoryMaxBytes) {
+            return;
+        }
+        synchronized (memory) {
+            byte[] previous = memory.put(key, bytes);
+            memoryBytes += bytes.length - (previous != null ? previous.length : 0);
+            Iterator<byte[]> eldest = memory.values().iterator();
+            while (memoryBytes > memoryMaxBytes && eldest.hasNext()) {
+                memoryBytes -= eldest.next().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private Path fileFor(CacheKey key) {
+        return directory.resolve(key.bookingId() + "-" + key.contentHash() + FILE_SUFFIX);
+    }
+
+    private record CacheKey(int bookingId, String contentHash) {
+    }
+
+    private record CachedFile(Path path, long lastUsedMillis, long size) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.cinema.hub.backend.payment.util;
+
+/**
+ * PayOS could not be reached, answered with a server error or is short-circuited by the client's breaker.
+ */
+public class PayOSUnavailableException extends PaymentException {
+
+    public PayOSUnavailableException(String message) {
+        super(message);
+    }
+
+    public PayOSUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
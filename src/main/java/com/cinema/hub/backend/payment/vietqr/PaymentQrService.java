@@ -1,25 +1,18 @@
 package com.cinema.hub.backend.payment.vietqr;
 
 import com.cinema.hub.backend.payment.util.PaymentException;
-import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.Normalizer;
-import java.util.Base64;
 import java.util.Locale;
 
 @Component
+@RequiredArgsConstructor
 public class PaymentQrService {
 
     private static final String AID = "A000000727";
@@ -32,12 +25,20 @@ public class PaymentQrService {
     private static final String SERVICE_CODE = "QRIBFTTA";
     private static final int QR_SIZE = 600;
 
+    private final QrCodeRenderer qrCodeRenderer;
+
     public String generateVietQR(BigDecimal amount, String content) {
+        return toBase64Png(buildPayload(amount, content));
+    }
+
+    /**
+     * EMV payload of a VietQR transfer to the cinema's account, for callers that keep the payload.
+     */
+    public String buildPayload(BigDecimal amount, String content) {
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new PaymentException("Invalid amount");
         }
-        String payload = buildEmvQr(amount, content);
-        return toBase64Png(payload);
+        return buildEmvQr(amount, content);
     }
 
     public String renderPayload(String payload) {
@@ -109,13 +110,8 @@ public class PaymentQrService {
 
     private String toBase64Png(String payload) {
         try {
-            QRCodeWriter writer = new QRCodeWriter();
-            BitMatrix matrix = writer.encode(payload, BarcodeFormat.QR_CODE, QR_SIZE, QR_SIZE);
-            BufferedImage img = MatrixToImageWriter.toBufferedImage(matrix);
-            ByteArrayOutputStream os = new ByteArrayOutputStream();
-            ImageIO.write(img, "png", os);
-            return "data:image/png;base64," + Base64.getEncoder().encodeToString(os.toByteArray());
-        } catch (WriterException | IOException e) {
+            return qrCodeRenderer.toPngDataUri(payload, QR_SIZE);
+        } catch (WriterException e) {
             throw new PaymentException("QR generation failed", e);
         }
     }
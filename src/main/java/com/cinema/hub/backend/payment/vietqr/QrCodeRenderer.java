@@ -0,0 +1,215 @@
+package com.cinema.hub.backend.payment.vietqr;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes QR codes straight from the ZXing module matrix to a 1-bit grayscale PNG, without an AWT image or
+ * ImageIO. Work buffers come from a small bounded pool, so virtual threads do not each pin a set of buffers and a
+ * native deflater; rendered data URIs are cached by payload and size.
+ */
+@Component
+public class QrCodeRenderer {
+
+    private static final int QUIET_ZONE = 4;
+    private static final String DATA_URI_PREFIX = "data:image/png;base64,";
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] IHDR = "IHDR".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IDAT = "IDAT".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IEND = "IEND".getBytes(StandardCharsets.US_ASCII);
+
+    private final Map<CacheKey, String> cache;
+    private final BlockingQueue<Buffers> pool;
+
+    public QrCodeRenderer(@Value("${cinema.qr.cache-size:256}") int cacheSize,
+                          @Value("${cinema.qr.buffer-pool-size:4}") int bufferPoolSize) {
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, bufferPoolSize));
+        this.cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public String toPngDataUri(String payload, int size) throws WriterException {
+        CacheKey key = new CacheKey(payload, size);
+        synchronized (cache) {
+            String cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String dataUri = DATA_URI_PREFIX + Base64.getEncoder().encodeToString(toPng(payload, size));
+        synchronized (cache) {
+            cache.put(key, dataUri);
+        }
+        return dataUri;
+    }
+
+    /**
+     * PNG of the payload scaled by a whole number of pixels per module to at most {@code size} pixels
+     * (never below one pixel per module), with the standard four-module quiet zone.
+     */
+    public byte[] toPng(String payload, int size) throws WriterException {
+        ByteMatrix modules = Encoder.encode(payload, ErrorCorrectionLevel.L).getMatrix();
+        int dimension = modules.getWidth() + 2 * QUIET_ZONE;
+        int scale = Math.max(1, size / dimension);
+        int width = dimension * scale;
+        int rowLength = 1 + (width + 7) / 8;
+
+        Buffers buffers = acquire();
+        try {
+            return toPng(modules, dimension, scale, width, rowLength, buffers);
+        } finally {
+            release(buffers);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        Buffers buffers;
+        while ((buffers = pool.poll()) != null) {
+            buffers.deflater.end();
+        }
+    }
+
+    private Buffers acquire() {
+        Buffers buffers = pool.poll();
+        return buffers != null ? buffers : new Buffers();
+    }
+
+    private void release(Buffers buffers) {
+        if (!pool.offer(buffers)) {
+            buffers.deflater.end();
+        }
+    }
+
+    private static byte[] toPng(ByteMatrix modules,
+                                int dimension,
+                                int scale,
+                                int width,
+                                int rowLength,
+                                Buffers buffers) {
+        byte[] row = buffers.row(rowLength);
+        ExposedByteArrayOutputStream raw = buffers.raw;
+        raw.reset();
+        for (int y = 0; y < dimension; y++) {
+            Arrays.fill(row, 0, rowLength, (byte) 0);
+            int moduleY = y - QUIET_ZONE;
+            for (int x = 0; x < width; x++) {
+                int moduleX = x / scale - QUIET_ZONE;
+                boolean dark = moduleY >= 0 && moduleY < modules.getHeight()
+                        && moduleX >= 0 && moduleX < modules.getWidth()
+                        && modules.get(moduleX, moduleY) == 1;
+                if (!dark) {
+                    row[1 + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                }
+            }
+            for (int repeat = 0; repeat < scale; repeat++) {
+                raw.write(row, 0, rowLength);
+            }
+        }
+
+        ExposedByteArrayOutputStream compressed = buffers.compressed;
+        compressed.reset();
+        Deflater deflater = buffers.deflater;
+        deflater.reset();
+        deflater.setInput(raw.buffer(), 0, raw.size());
+        deflater.finish();
+        while (!deflater.finished()) {
+            int length = deflater.deflate(buffers.chunk);
+            compressed.write(buffers.chunk, 0, length);
+        }
+
+        ExposedByteArrayOutputStream png = buffers.png;
+        png.reset();
+        png.write(PNG_SIGNATURE, 0, PNG_SIGNATURE.length);
+        byte[] header = buffers.header;
+        writeInt(header, 0, width);
+        writeInt(header, 4, width);
+        header[8] = 1;  // bit depth
+        header[9] = 0;  // grayscale
+        header[10] = 0; // deflate
+        header[11] = 0; // filter method 0, every row uses filter type None
+        header[12] = 0; // no interlace
+        writeChunk(buffers, png, IHDR, header, 13);
+        writeChunk(buffers, png, IDAT, compressed.buffer(), compressed.size());
+        writeChunk(buffers, png, IEND, header, 0);
+        return png.toByteArray();
+    }
+
+    private static void writeChunk(Buffers buffers,
+                                   ExposedByteArrayOutputStream out,
+                                   byte[] type,
+                                   byte[] data,
+                                   int length) {
+        byte[] word = buffers.word;
+        writeInt(word, 0, length);
+        out.write(word, 0, 4);
+        out.write(type, 0, type.length);
+        out.write(data, 0, length);
+        CRC32 crc = buffers.crc;
+        crc.reset();
+        crc.update(type);
+        crc.update(data, 0, length);
+        writeInt(word, 0, (int) crc.getValue());
+        out.write(word, 0, 4);
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    private record CacheKey(String payload, int size) {
+    }
+
+    private static final class Buffers {
+
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        private final CRC32 crc = new CRC32();
+        private final ExposedByteArrayOutputStream raw = new ExposedByteArrayOutputStream(64 * 1024);
+        private final ExposedByteArrayOutputStream compressed = new ExposedByteArrayOutputStream(4096);
+        private final ExposedByteArrayOutputStream png = new ExposedByteArrayOutputStream(4096);
+        private final byte[] chunk = new byte[4096];
+        private final byte[] header = new byte[13];
+        private final byte[] word = new byte[4];
+        private byte[] row = new byte[128];
+
+        private byte[] row(int length) {
+            if (row.length < length) {
+                row = new byte[length];
+            }
+            return row;
+        }
+    }
+
+    private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+        private ExposedByteArrayOutputStream(int size) {
+            super(size);
+        }
+
+        private byte[] buffer() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.cinema.hub.backend.repository;
+
+import com.cinema.hub.backend.dto.admin.analytics.BookingFact;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads bookings, joined to their showtime and seat count, in the shape of the analytics fact store.
+ */
+@Repository
+public class BookingFactRepository {
+
+    private static final int FETCH_SIZE = 2000;
+    private static final int BATCH_SIZE = 500;
+
+    private static final String FACT_SELECT = """
+        SELECT b.BookingId,
+               CAST(b.CreatedAt AS DATE) AS SaleDate,
+               b.ShowtimeId,
+               s.MovieId,
+               s.AuditoriumId,
+               COALESCE(b.PaymentMethod, N'') AS PaymentMethod,
+               b.BookingStatus,
+               b.PaymentStatus,
+               b.FinalAmount,
+               (SELECT COUNT(*) FROM BookingSeats bs WHERE bs.BookingId = b.BookingId) AS Seats
+        FROM Bookings b
+        JOIN Showtimes s ON s.ShowtimeId = b.ShowtimeId
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingFactRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Feeds every booking to {@code consumer} in BookingId order from a forward-only cursor.
+     */
+    public void streamAll(Consumer<BookingFact> consumer) {
+        String sql = FACT_SELECT + " ORDER BY b.BookingId";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapFact(rs)));
+    }
+
+    /**
+     * Current facts of the given bookings; deleted bookings are absent.
+     */
+    public List<BookingFact> findByBookingIds(Collection<Integer> bookingIds) {
+        List<Integer> ids = List.copyOf(bookingIds);
+        List<BookingFact> facts = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+            facts.addAll(jdbcTemplate.query(FACT_SELECT + " WHERE b.BookingId IN (" + placeholders + ")",
+                    (rs, rowNum) -> mapFact(rs), batch.toArray()));
+        }
+        return facts;
+    }
+
+    private BookingFact mapFact(ResultSet rs) throws SQLException {
+        return new BookingFact(rs.getInt("BookingId"),
+                rs.getObject("SaleDate", LocalDate.class),
+                rs.getInt("ShowtimeId"),
+                rs.getInt("MovieId"),
+                rs.getInt("AuditoriumId"),
+                rs.getString("PaymentMethod"),
+                rs.getString("BookingStatus"),
+                rs.getString("PaymentStatus"),
+                rs.getBigDecimal("FinalAmount"),
+                rs.getInt("Seats"));
+    }
+}
@@ -0,0 +1,112 @@
+package com.cinema.hub.backend.repository;
+
+import com.cinema.hub.backend.dto.admin.analytics.BookingRollupDelta;
+import com.cinema.hub.backend.dto.admin.analytics.BookingRollupKey;
+import com.cinema.hub.backend.dto.admin.analytics.BookingRollupRow;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Daily booking rollup ({@code BookingDailyRollups}) backing the admin analytics.
+ */
+@Repository
+public class BookingRollupRepository {
+
+    // six parameters per delta, under SQL Server's 2100 parameter limit
+    private static final int MAX_DELTAS_PER_STATEMENT = 300;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<BookingRollupRow> findBetween(LocalDate from, LocalDate to) {
+        String sql = """
+            SELECT SaleDate, PaymentMethod, BookingStatus, PaymentStatus, OrderCount, Amount
+            FROM BookingDailyRollups
+            WHERE SaleDate BETWEEN ? AND ?
+              AND OrderCount <> 0
+            ORDER BY SaleDate
+        """;
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new BookingRollupRow(
+                new BookingRollupKey(rs.getDate("SaleDate").toLocalDate(),
+                        rs.getString("PaymentMethod"),
+                        rs.getString("BookingStatus"),
+                        rs.getString("PaymentStatus")),
+                rs.getLong("OrderCount"),
+                rs.getBigDecimal("Amount")), Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Adds the signed deltas to their rows, creating missing rows. The sale date of each delta is
+     * {@code CAST(CreatedAt AS DATE)} of its booking, as in {@link #rebuild()}; deltas of bookings that no longer
+     * exist are dropped.
+     */
+    public void applyDeltas(List<BookingRollupDelta> deltas) {
+        for (int from = 0; from < deltas.size(); from += MAX_DELTAS_PER_STATEMENT) {
+            applyChunk(deltas.subList(from, Math.min(deltas.size(), from + MAX_DELTAS_PER_STATEMENT)));
+        }
+    }
+
+    private void applyChunk(List<BookingRollupDelta> deltas) {
+        String sql = """
+            MERGE BookingDailyRollups WITH (HOLDLOCK) AS t
+            USING (SELECT CAST(b.CreatedAt AS DATE) AS SaleDate, v.PaymentMethod, v.BookingStatus, v.PaymentStatus,
+                          SUM(v.OrderCount) AS OrderCount, SUM(v.Amount) AS Amount
+                   FROM (VALUES %s) AS v(BookingId, PaymentMethod, BookingStatus, PaymentStatus, OrderCount, Amount)
+                   JOIN Bookings b ON b.BookingId = v.BookingId
+                   GROUP BY CAST(b.CreatedAt AS DATE), v.PaymentMethod, v.BookingStatus, v.PaymentStatus
+                   HAVING SUM(v.OrderCount) <> 0 OR SUM(v.Amount) <> 0) AS d
+               ON t.SaleDate = d.SaleDate
+              AND t.PaymentMethod = d.PaymentMethod
+              AND t.BookingStatus = d.BookingStatus
+              AND t.PaymentStatus = d.PaymentStatus
+            WHEN MATCHED THEN
+                UPDATE SET OrderCount = t.OrderCount + d.OrderCount, Amount = t.Amount + d.Amount
+            WHEN NOT MATCHED THEN
+                INSERT (SaleDate, PaymentMethod, BookingStatus, PaymentStatus, OrderCount, Amount)
+                VALUES (d.SaleDate, d.PaymentMethod, d.BookingStatus, d.PaymentStatus, d.OrderCount, d.Amount);
+        """.formatted(String.join(", ", Collections.nCopies(deltas.size(), "(?, ?, ?, ?, ?, ?)")));
+        Object[] args = new Object[deltas.size() * 6];
+        int i = 0;
+        for (BookingRollupDelta delta : deltas) {
+            args[i++] = delta.bookingId();
+            args[i++] = delta.paymentMethod();
+            args[i++] = delta.bookingStatus();
+            args[i++] = delta.paymentStatus();
+            args[i++] = delta.orderCount();
+            args[i++] = delta.amount();
+        }
+        jdbcTemplate.update(sql, args);
+    }
+
+    /**
+     * Recomputes every row from Bookings. Must run inside a transaction.
+     */
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM BookingDailyRollups WITH (TABLOCKX)");
+        String sql = """
+            INSERT INTO BookingDailyRollups (SaleDate, PaymentMethod, BookingStatus, PaymentStatus, OrderCount, Amount)
+            SELECT CAST(b.CreatedAt AS DATE),
+                   COALESCE(b.PaymentMethod, N''),
+                   b.BookingStatus,
+                   b.PaymentStatus,
+                   COUNT(*),
+                   COALESCE(SUM(b.FinalAmount), 0)
+            FROM Bookings b
+            GROUP BY CAST(b.CreatedAt AS DATE), COALESCE(b.PaymentMethod, N''), b.BookingStatus, b.PaymentStatus
+        """;
+        return jdbcTemplate.update(sql);
+    }
+
+    public boolean isEmpty() {
+        Integer any = jdbcTemplate.queryForObject(
+                "SELECT CASE WHEN EXISTS (SELECT 1 FROM BookingDailyRollups) THEN 1 ELSE 0 END", Integer.class);
+        return any == null || any == 0;
+    }
+}
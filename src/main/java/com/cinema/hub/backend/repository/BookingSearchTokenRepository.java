@@ -0,0 +1,77 @@
+package com.cinema.hub.backend.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Search tokens ({@code BookingSearchTokens}) behind the admin order search: booking code, customer email and phone
+ * from Bookings, order code and provider transaction id from PaymentLogs. Tokens are lower-cased and phones lose their
+ * separators, matching {@link com.cinema.hub.backend.util.SearchTokenNormalizer}.
+ */
+@Repository
+public class BookingSearchTokenRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String TOKEN_SOURCE = """
+        SELECT DISTINCT s.BookingId, LEFT(s.Token, 255) AS Token
+        FROM (
+            SELECT b.BookingId, v.Token
+            FROM Bookings b
+            CROSS APPLY (VALUES
+                (LOWER(LTRIM(RTRIM(b.BookingCode)))),
+                (LOWER(LTRIM(RTRIM(b.CustomerEmail)))),
+                (REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(b.CustomerPhone,
+                    N' ', N''), N'-', N''), N'.', N''), N'+', N''), N'(', N''), N')', N''), CHAR(9), N''))
+            ) v(Token)
+            UNION ALL
+            SELECT p.BookingId, v.Token
+            FROM PaymentLogs p
+            CROSS APPLY (VALUES
+                (CAST(p.OrderCode AS NVARCHAR(20))),
+                (LOWER(LTRIM(RTRIM(p.ProviderTransactionId))))
+            ) v(Token)
+        ) s
+        WHERE s.Token IS NOT NULL AND s.Token <> N''
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingSearchTokenRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replaces the tokens of the given bookings with ones derived from their current rows; bookings that no longer
+     * exist simply lose their tokens.
+     */
+    public void refresh(Collection<Integer> bookingIds) {
+        List<Integer> ids = List.copyOf(bookingIds);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+            Object[] params = batch.toArray();
+            jdbcTemplate.update("DELETE FROM BookingSearchTokens WHERE BookingId IN (" + placeholders + ")", params);
+            jdbcTemplate.update("INSERT INTO BookingSearchTokens (BookingId, Token) SELECT t.BookingId, t.Token FROM ("
+                    + TOKEN_SOURCE + ") t WHERE t.BookingId IN (" + placeholders + ")", params);
+        }
+    }
+
+    /**
+     * Recomputes every token. Must run inside a transaction.
+     */
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM BookingSearchTokens WITH (TABLOCKX)");
+        return jdbcTemplate.update("INSERT INTO BookingSearchTokens (BookingId, Token) SELECT t.BookingId, t.Token FROM ("
+                + TOKEN_SOURCE + ") t");
+    }
+
+    public boolean isEmpty() {
+        Integer any = jdbcTemplate.queryForObject(
+                "SELECT CASE WHEN EXISTS (SELECT 1 FROM BookingSearchTokens) THEN 1 ELSE 0 END", Integer.class);
+        return any == null || any == 0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.cinema.hub.backend.repository;
+
+import com.cinema.hub.backend.dto.showtime.ShowtimeSeatDraft;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Multi-row writes for tables with IDENTITY keys, where Hibernate cannot batch and issues one INSERT per row.
+ */
+@Repository
+public class BulkWriteRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BulkWriteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Links the showtime seats to the booking at their effective price, in one statement.
+     */
+    public int insertBookingSeats(int bookingId, Collection<Integer> showtimeSeatIds) {
+        if (showtimeSeatIds == null || showtimeSeatIds.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(showtimeSeatIds.size(), "?"));
+        String sql = """
+            INSERT INTO BookingSeats (BookingId, ShowtimeSeatId, UnitPrice, DiscountAmount, FinalPrice)
+            SELECT ?, ss.ShowtimeSeatId, ss.EffectivePrice, 0, ss.EffectivePrice
+            FROM ShowtimeSeats ss
+            WHERE ss.ShowtimeSeatId IN (%s)
+        """.formatted(placeholders);
+        List<Object> params = new ArrayList<>(showtimeSeatIds.size() + 1);
+        params.add(bookingId);
+        params.addAll(showtimeSeatIds);
+        return jdbcTemplate.update(sql, params.toArray());
+    }
+
+    /**
+     * Issues one ticket per booking seat of the booking, in one statement. Codes follow
+     * {@code TKT-<bookingCode>-<seatId>} and QR data {@code BOOKING:<bookingCode>;SEAT:<row><number>}.
+     */
+    public int insertTickets(int bookingId, String bookingCode, OffsetDateTime issuedAt) {
+        String sql = """
+            INSERT INTO Tickets (BookingSeatId, TicketCode, QRCodeData, IssuedAt)
+            SELECT bs.BookingSeatId,
+                   CONCAT(N'TKT-', ?, N'-', s.SeatId),
+                   CONCAT(N'BOOKING:', ?, N';SEAT:', s.RowLabel, s.SeatNumber),
+                   ?
+            FROM BookingSeats bs
+            JOIN ShowtimeSeats ss ON ss.ShowtimeSeatId = bs.ShowtimeSeatId
+            JOIN Seats s ON s.SeatId = ss.SeatId
+            WHERE bs.BookingId = ?
+        """;
+        return jdbcTemplate.update(sql, bookingCode, bookingCode, toTimestamp(issuedAt), bookingId);
+    }
+
+    /**
+     * Materializes showtime seat snapshots with batched inserts.
+     */
+    public int insertShowtimeSeats(List<ShowtimeSeatDraft> drafts, String status) {
+        if (drafts == null || drafts.isEmpty()) {
+            return 0;
+        }
+        String sql = """
+            INSERT INTO ShowtimeSeats (ShowtimeId, SeatId, EffectivePrice, Status)
+            VALUES (?, ?, ?, ?)
+        """;
+        jdbcTemplate.batchUpdate(sql, drafts, BATCH_SIZE, (ps, draft) -> {
+            ps.setInt(1, draft.showtimeId());
+            ps.setInt(2, draft.seatId());
+            ps.setBigDecimal(3, draft.effectivePrice());
+            ps.setString(4, status);
+        });
+        return drafts.size();
+    }
+
+    private Timestamp toTimestamp(OffsetDateTime time) {
+        return time != null ? Timestamp.from(time.toInstant()) : null;
+    }
+}
@@ -1,25 +1,30 @@
 package com.cinema.hub.backend.repository;
 
+import com.cinema.hub.backend.dto.admin.dashboard.DailyDashboardMetrics;
 import com.cinema.hub.backend.dto.admin.dashboard.OrderStatusDTO;
+import com.cinema.hub.backend.dto.admin.dashboard.OrderTableCursor;
 import com.cinema.hub.backend.dto.admin.dashboard.OrderTableDTO;
-import com.cinema.hub.backend.dto.admin.dashboard.PageDTO;
 import com.cinema.hub.backend.dto.admin.dashboard.PaymentChannelDTO;
 import com.cinema.hub.backend.dto.admin.dashboard.RevenueByDayDTO;
+import com.cinema.hub.backend.util.SearchTokenNormalizer;
 import com.cinema.hub.backend.util.TimeProvider;
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.math.RoundingMode;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
@@ -31,6 +36,15 @@ public class DashboardRepository {
     private static final String STATUS_UNPAID = "UNPAID";
     private static final String STATUS_PAID = "PAID";
     private static final String STATUS_FAILED = "FAILED";
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final String LATEST_PAYMENT_APPLY = """
+            OUTER APPLY (
+                SELECT TOP 1 p.Provider, p.ProviderTransactionId, p.TransferContent
+                FROM PaymentLogs p
+                WHERE p.BookingId = b.BookingId
+                ORDER BY p.CreatedAt DESC
+            ) pl
+        """;
 
     private final JdbcTemplate jdbcTemplate;
 
@@ -38,70 +52,57 @@ public class DashboardRepository {
         this.jdbcTemplate = jdbcTemplate;
     }
 
-    public BigDecimal getRevenueBetween(OffsetDateTime start, OffsetDateTime end) {
-        String sql = """
-            SELECT COALESCE(SUM(b.FinalAmount), 0)
-            FROM Bookings b
-            WHERE b.PaymentStatus = 'Paid'
-              AND COALESCE(b.PaidAt, b.CreatedAt) >= ?
-              AND COALESCE(b.PaidAt, b.CreatedAt) < ?
-        """;
-        return jdbcTemplate.queryForObject(sql, BigDecimal.class, toTimestamp(start), toTimestamp(end));
-    }
-
-    public long countOrdersBetween(OffsetDateTime start, OffsetDateTime end) {
+    /**
+     * Per-day figures for {@code [start, end)}; days without bookings are absent.
+     */
+    public List<DailyDashboardMetrics> getDailyMetrics(OffsetDateTime start, OffsetDateTime end) {
         String sql = """
-            SELECT COUNT(*)
-            FROM Bookings b
-            WHERE b.CreatedAt >= ?
-              AND b.CreatedAt < ?
+            WITH Created AS (
+                SELECT CAST(b.CreatedAt AS DATE) AS MetricDate,
+                       COUNT(*) AS Orders,
+                       SUM(CASE WHEN UPPER(b.PaymentStatus) = 'PAID' THEN 1 ELSE 0 END) AS PaidOrders,
+                       SUM(CASE WHEN UPPER(b.PaymentStatus) = 'UNPAID' THEN 1 ELSE 0 END) AS UnpaidOrders,
+                       SUM(CASE WHEN UPPER(b.PaymentStatus) = 'FAILED' THEN 1 ELSE 0 END) AS FailedOrders,
+                       COALESCE(SUM(seatInfo.SeatCount), 0) AS SeatsSold
+                FROM Bookings b
+                OUTER APPLY (
+                    SELECT COUNT(*) AS SeatCount
+                    FROM BookingSeats bs
+                    WHERE bs.BookingId = b.BookingId
+                      AND UPPER(b.PaymentStatus) = 'PAID'
+                ) seatInfo
+                WHERE b.CreatedAt >= ?
+                  AND b.CreatedAt < ?
+                GROUP BY CAST(b.CreatedAt AS DATE)
+            ), Revenue AS (
+                SELECT CAST(b.SortAt AS DATE) AS MetricDate,
+                       SUM(b.FinalAmount) AS Revenue
+                FROM Bookings b
+                WHERE b.PaymentStatus = 'Paid'
+                  AND b.SortAt >= ?
+                  AND b.SortAt < ?
+                GROUP BY CAST(b.SortAt AS DATE)
+            )
+            SELECT COALESCE(c.MetricDate, r.MetricDate) AS MetricDate,
+                   COALESCE(r.Revenue, 0) AS Revenue,
+                   COALESCE(c.Orders, 0) AS Orders,
+                   COALESCE(c.PaidOrders, 0) AS PaidOrders,
+                   COALESCE(c.UnpaidOrders, 0) AS UnpaidOrders,
+                   COALESCE(c.FailedOrders, 0) AS FailedOrders,
+                   COALESCE(c.SeatsSold, 0) AS SeatsSold
+            FROM Created c
+            FULL OUTER JOIN Revenue r ON r.MetricDate = c.MetricDate
         """;
-        Long value = jdbcTemplate.queryForObject(sql, Long.class, toTimestamp(start), toTimestamp(end));
-        return value != null ? value : 0L;
-    }
-
-    public long countOrdersByStatuses(OffsetDateTime start, OffsetDateTime end, List<String> statuses) {
-        if (statuses == null || statuses.isEmpty()) {
-            return 0L;
-        }
-        List<String> normalized = statuses.stream()
-                .filter(StringUtils::hasText)
-                .map(status -> status.trim().toUpperCase(Locale.ROOT))
-                .toList();
-        if (normalized.isEmpty()) {
-            return 0L;
-        }
-        String placeholders = String.join(",", Collections.nCopies(normalized.size(), "?"));
-        String sql = """
-            SELECT COUNT(*)
-            FROM Bookings b
-            WHERE b.CreatedAt >= ?
-              AND b.CreatedAt < ?
-              AND UPPER(b.PaymentStatus) IN (%s)
-        """.formatted(placeholders);
-        List<Object> params = new ArrayList<>();
-        params.add(toTimestamp(start));
-        params.add(toTimestamp(end));
-        params.addAll(normalized);
-        Long value = jdbcTemplate.queryForObject(sql, params.toArray(), Long.class);
-        return value != null ? value : 0L;
-    }
-
-    public long countSeatsSold(OffsetDateTime start, OffsetDateTime end) {
-        String sql = """
-            SELECT COALESCE(SUM(seatInfo.SeatCount), 0)
-            FROM Bookings b
-            OUTER APPLY (
-                SELECT COUNT(*) AS SeatCount
-                FROM BookingSeats bs
-                WHERE bs.BookingId = b.BookingId
-            ) seatInfo
-            WHERE b.CreatedAt >= ?
-              AND b.CreatedAt < ?
-              AND UPPER(b.PaymentStatus) = 'PAID'
-        """;
-        Long value = jdbcTemplate.queryForObject(sql, Long.class, toTimestamp(start), toTimestamp(end));
-        return value != null ? value : 0L;
+        Timestamp from = toTimestamp(start);
+        Timestamp to = toTimestamp(end);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new DailyDashboardMetrics(
+                rs.getObject("MetricDate", LocalDate.class),
+                rs.getBigDecimal("Revenue"),
+                rs.getLong("Orders"),
+                rs.getLong("PaidOrders"),
+                rs.getLong("UnpaidOrders"),
+                rs.getLong("FailedOrders"),
+                rs.getLong("SeatsSold")), from, to, from, to);
     }
 
     public List<RevenueByDayDTO> getRevenueByDay(OffsetDateTime start, OffsetDateTime end) {
@@ -201,41 +202,83 @@ public class DashboardRepository {
         return rows;
     }
 
-    public PageDTO<OrderTableDTO> getOrderTable(OffsetDateTime createdStart,
-                                                OffsetDateTime createdEnd,
-                                                OffsetDateTime paidStart,
-                                                OffsetDateTime paidEnd,
-                                                String paymentMethod,
-                                                String paymentStatus,
-                                                String query,
-                                                int page,
-                                                int size) {
+    /**
+     * Up to {@code limit} orders following {@code after} in {@code (SortAt, BookingId)} descending order, where
+     * {@code SortAt} is the persisted {@code COALESCE(PaidAt, CreatedAt)}. With a cursor every page is a seek on
+     * {@code IX_Bookings_SortAt}, however deep; without one the first {@code offset} rows are skipped.
+     */
+    public List<OrderTableDTO> getOrderTable(OffsetDateTime createdStart,
+                                             OffsetDateTime createdEnd,
+                                             OffsetDateTime paidStart,
+                                             OffsetDateTime paidEnd,
+                                             String paymentMethod,
+                                             String paymentStatus,
+                                             String query,
+                                             OrderTableCursor after,
+                                             int offset,
+                                             int limit) {
+        QueryParts queryParts = buildOrderTableFilters(createdStart, createdEnd, paidStart, paidEnd,
+                paymentMethod, paymentStatus, query);
+        StringBuilder sql = new StringBuilder(orderTableBaseSelect()).append(queryParts.whereClause());
+        List<Object> params = new ArrayList<>(queryParts.params());
+        if (after != null) {
+            Timestamp sortAt = Timestamp.from(after.sortAt());
+            sql.append(" AND (b.SortAt < ? OR (b.SortAt = ? AND b.BookingId < ?))");
+            params.add(sortAt);
+            params.add(sortAt);
+            params.add(after.bookingId());
+            offset = 0;
+        }
+        sql.append(" ORDER BY b.SortAt DESC, b.BookingId DESC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+        params.add(offset);
+        params.add(limit);
+        return jdbcTemplate.query(sql.toString(), params.toArray(), orderTableMapper());
+    }
+
+    /**
+     * Number of orders matching the filters. Joins PaymentLogs only when filtering by payment method.
+     */
+    public long countOrderTable(OffsetDateTime createdStart,
+                                OffsetDateTime createdEnd,
+                                OffsetDateTime paidStart,
+                                OffsetDateTime paidEnd,
+                                String paymentMethod,
+                                String paymentStatus,
+                                String query) {
         QueryParts queryParts = buildOrderTableFilters(createdStart, createdEnd, paidStart, paidEnd,
                 paymentMethod, paymentStatus, query);
-        String baseSelect = orderTableBaseSelect() + queryParts.whereClause();
-        String dataSql = baseSelect + " ORDER BY COALESCE(b.PaidAt, b.CreatedAt) DESC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
-        List<Object> dataParams = new ArrayList<>(queryParts.params());
-        dataParams.add(page * size);
-        dataParams.add(size);
-        List<OrderTableDTO> rows = jdbcTemplate.query(dataSql, dataParams.toArray(), orderTableMapper());
-        String countSql = "SELECT COUNT(*) FROM (" + baseSelect + ") AS CountQuery";
-        Long total = jdbcTemplate.queryForObject(countSql, queryParts.params().toArray(), Long.class);
-        long totalElements = total != null ? total : 0L;
-        return PageDTO.of(rows, page, size, totalElements);
+        String sql = "SELECT COUNT(*) FROM Bookings b"
+                + (StringUtils.hasText(paymentMethod) ? LATEST_PAYMENT_APPLY : "")
+                + queryParts.whereClause();
+        Long total = jdbcTemplate.queryForObject(sql, queryParts.params().toArray(), Long.class);
+        return total != null ? total : 0L;
     }
 
-    public List<OrderTableDTO> getOrderTableForExport(OffsetDateTime createdStart,
-                                                      OffsetDateTime createdEnd,
-                                                      OffsetDateTime paidStart,
-                                                      OffsetDateTime paidEnd,
-                                                      String paymentMethod,
-                                                      String paymentStatus,
-                                                      String query) {
+    /**
+     * Feeds every matching order to {@code consumer} from a forward-only, read-only cursor, so the export never holds
+     * more than one fetch of rows.
+     */
+    public void streamOrderTableForExport(OffsetDateTime createdStart,
+                                          OffsetDateTime createdEnd,
+                                          OffsetDateTime paidStart,
+                                          OffsetDateTime paidEnd,
+                                          String paymentMethod,
+                                          String paymentStatus,
+                                          String query,
+                                          Consumer<OrderTableDTO> consumer) {
         QueryParts queryParts = buildOrderTableFilters(createdStart, createdEnd, paidStart, paidEnd,
                 paymentMethod, paymentStatus, query);
         String sql = orderTableBaseSelect() + queryParts.whereClause()
-                + " ORDER BY COALESCE(b.PaidAt, b.CreatedAt) DESC";
-        return jdbcTemplate.query(sql, queryParts.params().toArray(), orderTableMapper());
+                + " ORDER BY b.SortAt DESC, b.BookingId DESC";
+        RowMapper<OrderTableDTO> mapper = orderTableMapper();
+        int[] rowNum = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            new ArgumentPreparedStatementSetter(queryParts.params().toArray()).setValues(statement);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapper.mapRow(rs, rowNum[0]++)));
     }
 
     private String orderTableBaseSelect() {
@@ -255,15 +298,10 @@ public class DashboardRepository {
                    b.CustomerPhone,
                    pl.Provider AS Provider,
                    pl.ProviderTransactionId AS ProviderTransactionId,
-                   pl.RawMessage AS RawMessage,
+                   pl.TransferContent AS TransferContent,
                    seatInfo.SeatCount AS SeatCount
             FROM Bookings b
-            OUTER APPLY (
-                SELECT TOP 1 p.Provider, p.ProviderTransactionId, p.RawMessage
-                FROM PaymentLogs p
-                WHERE p.BookingId = b.BookingId
-                ORDER BY p.CreatedAt DESC
-            ) pl
+        """ + LATEST_PAYMENT_APPLY + """
             OUTER APPLY (
                 SELECT COUNT(*) AS SeatCount
                 FROM BookingSeats bs
@@ -305,30 +343,11 @@ public class DashboardRepository {
             where.append(" AND LOWER(b.PaymentStatus) = ?");
             params.add(paymentStatus.trim().toLowerCase(Locale.ROOT));
         }
-        if (StringUtils.hasText(query)) {
-            String like = "%" + query.trim().toLowerCase(Locale.ROOT) + "%";
-            where.append("""
-                    AND (
-                        LOWER(b.BookingCode) LIKE ?
-                        OR LOWER(COALESCE(NULLIF(pl.ProviderTransactionId, ''), '')) LIKE ?
-                        OR LOWER(COALESCE(NULLIF(pl.Provider, ''), '')) LIKE ?
-                        OR LOWER(COALESCE(b.PaymentStatus, '')) LIKE ?
-                        OR LOWER(COALESCE(b.CustomerEmail, '')) LIKE ?
-                        OR LOWER(COALESCE(b.CustomerPhone, '')) LIKE ?
-                        OR LOWER(COALESCE(b.PaymentMethod, '')) LIKE ?
-                        OR CAST(b.UserId AS NVARCHAR(50)) LIKE ?
-                        OR CAST(b.CreatedByStaffId AS NVARCHAR(50)) LIKE ?
-                    )
-                    """);
-            params.add(like);
-            params.add(like);
-            params.add(like);
-            params.add(like);
-            params.add(like);
-            params.add(like);
-            params.add(like);
-            params.add(like);
-            params.add(like);
+        String token = SearchTokenNormalizer.normalize(query);
+        if (token != null) {
+            where.append(" AND b.BookingId IN (SELECT t.BookingId FROM BookingSearchTokens t")
+                    .append(" WHERE t.Token LIKE ? ESCAPE '\\')");
+            params.add(SearchTokenNormalizer.prefixPattern(token));
         }
         return new QueryParts(where.toString(), params);
     }
@@ -341,13 +360,13 @@ public class DashboardRepository {
             String provider = rs.getString("Provider");
             String method = rs.getString("PaymentMethod");
             String paymentChannel = StringUtils.hasText(provider) ? provider : method;
-            String rawMessage = rs.getString("RawMessage");
+            String transferContent = rs.getString("TransferContent");
             int seats = rs.getInt("SeatCount");
             if (rs.wasNull()) {
                 seats = 0;
             }
-            String description = StringUtils.hasText(rawMessage)
-                    ? rawMessage
+            String description = StringUtils.hasText(transferContent)
+                    ? transferContent
                     : "Thanh toan don " + bookingCode;
             String detail = "Showtime #" + rs.getInt("ShowtimeId");
             if (seats > 0) {
@@ -0,0 +1,56 @@
+package com.cinema.hub.backend.repository;
+
+import com.cinema.hub.backend.entity.PayOSWebhookEvent;
+import com.cinema.hub.backend.entity.enums.WebhookEventStatus;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PayOSWebhookEventRepository extends JpaRepository<PayOSWebhookEvent, Long> {
+
+    boolean existsByOrderCodeAndChecksum(String orderCode, String checksum);
+
+    @Query("""
+        select e from PayOSWebhookEvent e
+        where e.status in :statuses
+          and e.nextAttemptAt <= :now
+        order by e.nextAttemptAt
+        """)
+    List<PayOSWebhookEvent> findDue(@Param("statuses") Collection<WebhookEventStatus> statuses,
+                                    @Param("now") OffsetDateTime now,
+                                    Pageable pageable);
+
+    /**
+     * Takes the event for one attempt. Returns 0 when another worker or node already holds it.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        update PayOSWebhookEvent e
+        set e.status = com.cinema.hub.backend.entity.enums.WebhookEventStatus.Processing,
+            e.attempts = e.attempts + 1,
+            e.nextAttemptAt = :leaseUntil
+        where e.id = :id
+          and e.status in :statuses
+          and e.nextAttemptAt <= :now
+        """)
+    int claim(@Param("id") Long id,
+              @Param("statuses") Collection<WebhookEventStatus> statuses,
+              @Param("now") OffsetDateTime now,
+              @Param("leaseUntil") OffsetDateTime leaseUntil);
+
+    @Modifying
+    @Query("""
+        delete from PayOSWebhookEvent e
+        where e.status in :statuses
+          and e.receivedAt < :cutoff
+        """)
+    int deleteFinishedBefore(@Param("statuses") Collection<WebhookEventStatus> statuses,
+                             @Param("cutoff") OffsetDateTime cutoff);
+}
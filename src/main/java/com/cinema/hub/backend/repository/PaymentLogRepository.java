@@ -11,6 +11,8 @@ public interface PaymentLogRepository extends JpaRepository<PaymentLog, Long> {
 
     Optional<PaymentLog> findTopByProviderTransactionIdOrderByCreatedAtDesc(String providerTransactionId);
 
+    Optional<PaymentLog> findTopByBooking_IdOrderByCreatedAtDesc(Integer bookingId);
+
     @Query("""
         select pl from PaymentLog pl
         where pl.booking.id = :bookingId
@@ -0,0 +1,86 @@
+package com.cinema.hub.backend.repository;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class SeatHoldJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SeatHoldJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Releases {@code releasedTokens}, expires {@code expiredTokens} and then inserts a Held row for every requested
+     * showtime seat that has no active hold and no live booking, all in one batch and one round trip. Returns the
+     * showtime seat ids that were actually held; the rest conflicted.
+     */
+    public List<Integer> placeHolds(UUID token,
+                                    Integer userId,
+                                    OffsetDateTime createdAt,
+                                    OffsetDateTime expiresAt,
+                                    Collection<Integer> showtimeSeatIds,
+                                    Collection<UUID> releasedTokens,
+                                    Collection<UUID> expiredTokens) {
+        if (showtimeSeatIds == null || showtimeSeatIds.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder("SET NOCOUNT ON;\n");
+        List<Object> params = new ArrayList<>(showtimeSeatIds.size() + releasedTokens.size()
+                + expiredTokens.size() + 4);
+        appendStatusUpdate(sql, params, "Released", releasedTokens);
+        appendStatusUpdate(sql, params, "Expired", expiredTokens);
+        sql.append("""
+            INSERT INTO SeatHolds (ShowtimeSeatId, HoldToken, UserId, CreatedAt, ExpiresAt, Status)
+            OUTPUT inserted.ShowtimeSeatId
+            SELECT ss.ShowtimeSeatId, ?, ?, ?, ?, N'Held'
+            FROM ShowtimeSeats ss
+            WHERE ss.ShowtimeSeatId IN (%s)
+              AND NOT EXISTS (
+                  SELECT 1 FROM SeatHolds sh WITH (UPDLOCK, HOLDLOCK)
+                  WHERE sh.ShowtimeSeatId = ss.ShowtimeSeatId
+                    AND sh.Status = N'Held'
+              )
+              AND NOT EXISTS (
+                  SELECT 1 FROM BookingSeats bs WITH (UPDLOCK, HOLDLOCK)
+                  JOIN Bookings b ON b.BookingId = bs.BookingId
+                  WHERE bs.ShowtimeSeatId = ss.ShowtimeSeatId
+                    AND b.BookingStatus <> N'Cancelled'
+              );
+        """.formatted(placeholders(showtimeSeatIds.size())));
+        params.add(token.toString());
+        params.add(userId);
+        params.add(toTimestamp(createdAt));
+        params.add(toTimestamp(expiresAt));
+        params.addAll(showtimeSeatIds);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> rs.getInt(1), params.toArray());
+    }
+
+    private void appendStatusUpdate(StringBuilder sql, List<Object> params, String status, Collection<UUID> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            return;
+        }
+        sql.append("UPDATE SeatHolds SET Status = N'").append(status)
+                .append("' WHERE Status = N'Held' AND HoldToken IN (")
+                .append(placeholders(tokens.size()))
+                .append(");\n");
+        tokens.forEach(token -> params.add(token.toString()));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private Timestamp toTimestamp(OffsetDateTime time) {
+        return time != null ? Timestamp.from(time.toInstant()) : null;
+    }
+}
@@ -1,7 +1,7 @@
 package com.cinema.hub.backend.repository;
 
+import com.cinema.hub.backend.dto.HoldDeadlineRow;
 import com.cinema.hub.backend.entity.SeatHold;
-import com.cinema.hub.backend.entity.enums.SeatHoldStatus;
 import jakarta.persistence.LockModeType;
 import java.time.OffsetDateTime;
 import java.util.Collection;
@@ -49,14 +49,18 @@ public interface SeatHoldRepository extends JpaRepository<SeatHold, Integer> {
     @Query("""
         update SeatHold sh
         set sh.status = com.cinema.hub.backend.entity.enums.SeatHoldStatus.Expired
-        where sh.status = com.cinema.hub.backend.entity.enums.SeatHoldStatus.Held
-          and sh.expiresAt < :now
+        where sh.holdToken in :tokens
+          and sh.status = com.cinema.hub.backend.entity.enums.SeatHoldStatus.Held
     """)
-    int expireStaleHolds(@Param("now") OffsetDateTime now);
+    int expireByTokens(@Param("tokens") Collection<UUID> tokens);
 
-    default int deleteExpiredHolds(SeatHoldStatus status, OffsetDateTime cutoff) {
-        return expireStaleHolds(cutoff);
-    }
+    @Query("""
+        select new com.cinema.hub.backend.dto.HoldDeadlineRow(sh.holdToken, max(sh.expiresAt))
+        from SeatHold sh
+        where sh.status = com.cinema.hub.backend.entity.enums.SeatHoldStatus.Held
+        group by sh.holdToken
+    """)
+    List<HoldDeadlineRow> findHeldDeadlines();
 
     @Modifying(clearAutomatically = true)
     @Query("""
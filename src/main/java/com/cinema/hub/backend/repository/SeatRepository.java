@@ -1,5 +1,6 @@
 package com.cinema.hub.backend.repository;
 
+import com.cinema.hub.backend.dto.SeatTopologyRow;
 import com.cinema.hub.backend.entity.Seat;
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +17,24 @@ public interface SeatRepository extends JpaRepository<Seat, Integer> {
 
     void deleteByAuditorium_Id(Integer auditoriumId);
 
+    @Query("""
+        select new com.cinema.hub.backend.dto.SeatTopologyRow(
+            s.id, s.auditorium.id, s.rowLabel, s.seatNumber, s.seatType.id, s.seatType.name)
+        from Seat s
+    """)
+    List<SeatTopologyRow> findTopologyRows();
+
+    @Query("""
+        select new com.cinema.hub.backend.dto.SeatTopologyRow(
+            s.id, s.auditorium.id, s.rowLabel, s.seatNumber, s.seatType.id, s.seatType.name)
+        from Seat s
+        where s.auditorium.id = :auditoriumId
+    """)
+    List<SeatTopologyRow> findTopologyRowsByAuditoriumId(@Param("auditoriumId") Integer auditoriumId);
+
+    @Query("select s.auditorium.id from Seat s where s.id = :seatId")
+    Optional<Integer> findAuditoriumIdBySeatId(@Param("seatId") Integer seatId);
+
     long countByAuditorium_Id(Integer auditoriumId);
 
     @Query("""
@@ -1,5 +1,6 @@
 package com.cinema.hub.backend.repository;
 
+import com.cinema.hub.backend.dto.showtime.ShowtimeInterval;
 import com.cinema.hub.backend.entity.Showtime;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,6 +27,19 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, Integer>, Jp
                                       @Param("endTime") LocalDateTime endTime,
                                       @Param("excludeId") Integer excludeId);
 
+    @Query("""
+            select new com.cinema.hub.backend.dto.showtime.ShowtimeInterval(s.id, s.startTime, s.endTime)
+            from Showtime s
+            where s.auditorium.id = :auditoriumId
+              and s.active = true
+              and s.startTime < :to
+              and s.endTime > :from
+            order by s.startTime
+            """)
+    List<ShowtimeInterval> findActiveIntervals(@Param("auditoriumId") Integer auditoriumId,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
+
     List<Showtime> findByMovie_IdAndActiveTrueAndStartTimeBetweenOrderByStartTimeAsc(Integer movieId,
                                                                                      LocalDateTime start,
                                                                                      LocalDateTime end);
@@ -1,5 +1,6 @@
 package com.cinema.hub.backend.repository;
 
+import com.cinema.hub.backend.dto.SeatStateRow;
 import com.cinema.hub.backend.dto.SeatStatusRow;
 import com.cinema.hub.backend.entity.ShowtimeSeat;
 import jakarta.persistence.LockModeType;
@@ -45,6 +46,32 @@ public interface ShowtimeSeatRepository extends JpaRepository<ShowtimeSeat, Inte
     """)
     List<SeatStatusRow> fetchSeatStatusRows(@Param("showtimeId") int showtimeId, @Param("now") OffsetDateTime now);
 
+    @Query("""
+        select new com.cinema.hub.backend.dto.SeatStateRow(
+            ss.id,
+            seat.id,
+            seat.rowLabel,
+            seat.seatNumber,
+            seat.seatType.name,
+            ss.effectivePrice,
+            ss.status,
+            sh.holdToken,
+            sh.user.id,
+            sh.expiresAt,
+            b.id,
+            b.user.id,
+            b.paymentStatus
+        )
+        from ShowtimeSeat ss
+        join ss.seat seat
+        left join SeatHold sh on sh.showtimeSeat = ss
+            and sh.status = com.cinema.hub.backend.entity.enums.SeatHoldStatus.Held
+        left join BookingSeat bs on bs.showtimeSeat = ss
+        left join bs.booking b on b.bookingStatus <> com.cinema.hub.backend.entity.enums.BookingStatus.Cancelled
+        where ss.showtime.id = :showtimeId
+    """)
+    List<SeatStateRow> fetchSeatStateRows(@Param("showtimeId") int showtimeId);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("""
         select ss from ShowtimeSeat ss
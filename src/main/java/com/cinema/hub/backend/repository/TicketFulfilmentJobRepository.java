@@ -0,0 +1,46 @@
+package com.cinema.hub.backend.repository;
+
+import com.cinema.hub.backend.entity.TicketFulfilmentJob;
+import com.cinema.hub.backend.entity.enums.TicketFulfilmentStatus;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TicketFulfilmentJobRepository extends JpaRepository<TicketFulfilmentJob, Long> {
+
+    @Query("""
+        select j.id from TicketFulfilmentJob j
+        where j.status in :statuses
+          and j.nextAttemptAt <= :now
+        order by j.nextAttemptAt
+        """)
+    List<Long> findDueIds(@Param("statuses") Collection<TicketFulfilmentStatus> statuses,
+                          @Param("now") OffsetDateTime now,
+                          Pageable pageable);
+
+    /**
+     * Takes the job for one attempt. Returns 0 when another worker or node already holds it.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        update TicketFulfilmentJob j
+        set j.status = com.cinema.hub.backend.entity.enums.TicketFulfilmentStatus.Processing,
+            j.attempts = j.attempts + 1,
+            j.nextAttemptAt = :leaseUntil,
+            j.updatedAt = :now
+        where j.id = :id
+          and j.status in :statuses
+          and j.nextAttemptAt <= :now
+        """)
+    int claim(@Param("id") Long id,
+              @Param("statuses") Collection<TicketFulfilmentStatus> statuses,
+              @Param("now") OffsetDateTime now,
+              @Param("leaseUntil") OffsetDateTime leaseUntil);
+}
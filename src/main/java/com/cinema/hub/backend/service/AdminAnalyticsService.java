@@ -1,6 +1,11 @@
 package com.cinema.hub.backend.service;
 
+import com.cinema.hub.backend.dto.admin.analytics.AnalyticsSnapshotDto;
 import com.cinema.hub.backend.dto.admin.analytics.AnalyticsSummaryRangeDto;
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactDimension;
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactFilter;
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactGroupDto;
+import com.cinema.hub.backend.dto.admin.analytics.BookingRollupRow;
 import com.cinema.hub.backend.dto.admin.analytics.OrderStatusBreakdownDto;
 import com.cinema.hub.backend.dto.admin.analytics.PayOSTransactionDto;
 import com.cinema.hub.backend.dto.admin.analytics.PaymentMethodBreakdownDto;
@@ -10,6 +15,7 @@ import com.cinema.hub.backend.entity.enums.BookingStatus;
 import com.cinema.hub.backend.entity.enums.PaymentStatus;
 import com.cinema.hub.backend.repository.BookingRepository;
 import com.cinema.hub.backend.util.TimeProvider;
+import jakarta.annotation.PreDestroy;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
@@ -22,8 +28,13 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -31,7 +42,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 @Service
-@RequiredArgsConstructor
 public class AdminAnalyticsService {
 
     private static final String PAYMENT_UNKNOWN = "Unknown";
@@ -39,21 +49,143 @@ public class AdminAnalyticsService {
     private static final String PAYMENT_CASH = "Cash";
     private static final String PAYMENT_BANK = "Bank Transfer";
     private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    private static final String PAID = PaymentStatus.Paid.name();
+    private static final String FAILED = PaymentStatus.Failed.name();
+    private static final String CANCELLED = BookingStatus.Cancelled.name();
 
     private final BookingRepository bookingRepository;
+    private final BookingRollupService bookingRollupService;
+    private final BookingFactService bookingFactService;
+    private final ExecutorService executor;
+    private final long snapshotTtlNanos;
+    private final Map<SnapshotKey, Memo> snapshots;
+
+    public AdminAnalyticsService(BookingRepository bookingRepository,
+                                 BookingRollupService bookingRollupService,
+                                 BookingFactService bookingFactService,
+                                 @Value("${cinema.analytics.snapshot-ttl-seconds:60}") long snapshotTtlSeconds,
+                                 @Value("${cinema.analytics.snapshot-cache-size:64}") int snapshotCacheSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingRollupService = bookingRollupService;
+        this.bookingFactService = bookingFactService;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("analytics-", 1).factory());
+        this.snapshotTtlNanos = TimeUnit.SECONDS.toNanos(snapshotTtlSeconds);
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SnapshotKey, Memo> eldest) {
+                return size() > snapshotCacheSize;
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Summary, payment method, status and trend panels for one range. The record bounds and the rollup rows are
+     * read concurrently (the rows wait for the bounds only when {@code from} or {@code to} is open) and every panel
+     * is folded from that one read. Results are shared per {@code (from, to)} until the rollup changes or
+     * {@code snapshot-ttl-seconds} pass, and concurrent callers of the same range wait for the same computation.
+     */
+    public AnalyticsSnapshotDto getSnapshot(LocalDate from, LocalDate to) {
+        SnapshotKey key = new SnapshotKey(from, to);
+        long version = bookingRollupService.version();
+        long now = System.nanoTime();
+        CompletableFuture<AnalyticsSnapshotDto> future;
+        synchronized (snapshots) {
+            Memo memo = snapshots.get(key);
+            if (memo == null
+                    || memo.version() != version
+                    || now - memo.createdAt() >= snapshotTtlNanos
+                    || memo.future().isCompletedExceptionally()) {
+                memo = new Memo(computeSnapshot(from, to), version, now);
+                snapshots.put(key, memo);
+            }
+            future = memo.future();
+        }
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
     public AnalyticsSummaryRangeDto getSummaryRange(LocalDate from, LocalDate to) {
-        OffsetDateTime earliestRecord = bookingRepository.findEarliestCreatedAt();
-        OffsetDateTime latestRecord = bookingRepository.findLatestCreatedAt();
-        DateRange currentRange = resolveRange(from, to, earliestRecord, latestRecord);
-        DateRange previousRange = currentRange.previous();
+        return getSnapshot(from, to).getSummary();
+    }
 
-        List<Booking> currentBookings = bookingRepository
-                .findByCreatedAtBetween(currentRange.start(), currentRange.end());
-        List<Booking> previousBookings = bookingRepository
-                .findByCreatedAtBetween(previousRange.start(), previousRange.end());
+    public List<PaymentMethodBreakdownDto> getPaymentMethodBreakdown(LocalDate from, LocalDate to) {
+        return getSnapshot(from, to).getPaymentMethods();
+    }
+
+    public List<OrderStatusBreakdownDto> getStatusBreakdown(LocalDate from, LocalDate to) {
+        return getSnapshot(from, to).getStatuses();
+    }
 
-        SummaryMetrics currentMetrics = computeSummaryMetrics(currentBookings);
-        SummaryMetrics previousMetrics = computeSummaryMetrics(previousBookings);
+    public List<RevenueTrendPointDto> getRevenueTrend(LocalDate from, LocalDate to) {
+        return getSnapshot(from, to).getTrend();
+    }
+
+    /**
+     * Bookings matching {@code filter} grouped by one dimension, answered from the in-memory fact store.
+     */
+    public List<BookingFactGroupDto> sliceBookings(BookingFactDimension groupBy, BookingFactFilter filter) {
+        return bookingFactService.aggregate(filter, groupBy);
+    }
+
+    public Page<PayOSTransactionDto> getPayOsTransactions(LocalDate from,
+                                                          LocalDate to,
+                                                          Pageable pageable) {
+        DateRange range = from != null && to != null
+                ? resolveRange(from, to, null, null)
+                : resolveRange(from, to,
+                        bookingRepository.findEarliestCreatedAt(),
+                        bookingRepository.findLatestCreatedAt());
+        Page<Booking> page = bookingRepository
+                .findByCreatedAtBetween(range.start(), range.end(), pageable);
+
+        List<PayOSTransactionDto> dtos = page.getContent().stream()
+                .map(this::mapBookingToTransaction)
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(dtos, pageable, page.getTotalElements());
+    }
+
+    private CompletableFuture<AnalyticsSnapshotDto> computeSnapshot(LocalDate from, LocalDate to) {
+        CompletableFuture<OffsetDateTime> earliest =
+                CompletableFuture.supplyAsync(bookingRepository::findEarliestCreatedAt, executor);
+        CompletableFuture<OffsetDateTime> latest =
+                CompletableFuture.supplyAsync(bookingRepository::findLatestCreatedAt, executor);
+        CompletableFuture<DateRange> range = from != null && to != null
+                ? CompletableFuture.completedFuture(resolveRange(from, to, null, null))
+                : earliest.thenCombine(latest, (first, last) -> resolveRange(from, to, first, last));
+        CompletableFuture<List<BookingRollupRow>> rows = range.thenApplyAsync(current ->
+                bookingRollupService.findBetween(current.previous().startDate(), current.endDate()), executor);
+        return CompletableFuture.allOf(earliest, latest, rows).thenApply(ignored -> {
+            DateRange current = range.join();
+            List<BookingRollupRow> rollup = rows.join();
+            return AnalyticsSnapshotDto.builder()
+                    .summary(buildSummary(current, rollup, earliest.join(), latest.join()))
+                    .paymentMethods(buildPaymentMethodBreakdown(current, rollup))
+                    .statuses(buildStatusBreakdown(current, rollup))
+                    .trend(buildRevenueTrend(current, rollup))
+                    .build();
+        });
+    }
+
+    private AnalyticsSummaryRangeDto buildSummary(DateRange currentRange,
+                                                  List<BookingRollupRow> rows,
+                                                  OffsetDateTime earliestRecord,
+                                                  OffsetDateTime latestRecord) {
+        DateRange previousRange = currentRange.previous();
+
+        SummaryMetrics currentMetrics = computeSummaryMetrics(rows, currentRange);
+        SummaryMetrics previousMetrics = computeSummaryMetrics(rows, previousRange);
 
         Map<String, BigDecimal> revenueByMethod = sortRevenueMap(currentMetrics.revenueByPaymentMethod());
 
@@ -75,23 +207,18 @@ public class AdminAnalyticsService {
                 .build();
     }
 
-    public List<PaymentMethodBreakdownDto> getPaymentMethodBreakdown(LocalDate from, LocalDate to) {
-        DateRange range = resolveRange(from, to,
-                bookingRepository.findEarliestCreatedAt(),
-                bookingRepository.findLatestCreatedAt());
-        List<Booking> bookings = bookingRepository.findByCreatedAtBetween(range.start(), range.end());
+    private List<PaymentMethodBreakdownDto> buildPaymentMethodBreakdown(DateRange range, List<BookingRollupRow> rows) {
         Map<String, PaymentMethodAccumulator> aggregates = new LinkedHashMap<>();
         BigDecimal totalRevenue = BigDecimal.ZERO;
 
-        for (Booking booking : bookings) {
-            if (booking.getPaymentStatus() != PaymentStatus.Paid) {
+        for (BookingRollupRow row : rows) {
+            if (!range.contains(row.key().saleDate()) || !PAID.equals(row.key().paymentStatus())) {
                 continue;
             }
-            BigDecimal amount = safeAmount(booking);
-            totalRevenue = totalRevenue.add(amount);
-            String method = normalizePaymentMethod(booking.getPaymentMethod());
+            totalRevenue = totalRevenue.add(row.amount());
+            String method = normalizePaymentMethod(row.key().paymentMethod());
             PaymentMethodAccumulator accumulator = aggregates.computeIfAbsent(method, key -> new PaymentMethodAccumulator());
-            accumulator.increment(amount);
+            accumulator.add(row.orderCount(), row.amount());
         }
 
         final BigDecimal totalRevenueFinal = totalRevenue;
@@ -113,27 +240,24 @@ public class AdminAnalyticsService {
                 .collect(Collectors.toCollection(LinkedList::new));
     }
 
-    public List<OrderStatusBreakdownDto> getStatusBreakdown(LocalDate from, LocalDate to) {
-        DateRange range = resolveRange(from, to,
-                bookingRepository.findEarliestCreatedAt(),
-                bookingRepository.findLatestCreatedAt());
-        List<Booking> bookings = bookingRepository.findByCreatedAtBetween(range.start(), range.end());
+    private List<OrderStatusBreakdownDto> buildStatusBreakdown(DateRange range, List<BookingRollupRow> rows) {
         Map<String, OrderStatusAccumulator> aggregates = new LinkedHashMap<>();
-        long totalOrders = bookings.size();
-
-        for (Booking booking : bookings) {
-            String bookingStatus = booking.getBookingStatus() != null
-                    ? booking.getBookingStatus().name()
-                    : BookingStatus.Pending.name();
-            String paymentStatus = booking.getPaymentStatus() != null
-                    ? booking.getPaymentStatus().name()
-                    : PaymentStatus.Unpaid.name();
+        long totalOrders = 0;
+
+        for (BookingRollupRow row : rows) {
+            if (!range.contains(row.key().saleDate())) {
+                continue;
+            }
+            String bookingStatus = row.key().bookingStatus();
+            String paymentStatus = row.key().paymentStatus();
             String key = bookingStatus + "|" + paymentStatus;
             OrderStatusAccumulator accumulator = aggregates.computeIfAbsent(key,
                     k -> new OrderStatusAccumulator(bookingStatus, paymentStatus));
-            accumulator.increment(safeAmount(booking));
+            accumulator.add(row.orderCount(), row.amount());
+            totalOrders += row.orderCount();
         }
 
+        final long totalOrdersFinal = totalOrders;
         BigDecimal totalOrdersBigDecimal = totalOrders > 0
                 ? BigDecimal.valueOf(totalOrders)
                 : BigDecimal.ONE;
@@ -145,7 +269,7 @@ public class AdminAnalyticsService {
                         .paymentStatus(acc.getPaymentStatus())
                         .count(acc.getCount())
                         .revenue(acc.getRevenue())
-                        .percentage(totalOrders > 0
+                        .percentage(totalOrdersFinal > 0
                                 ? BigDecimal.valueOf(acc.getCount())
                                         .multiply(ONE_HUNDRED)
                                         .divide(totalOrdersBigDecimal, 2, RoundingMode.HALF_UP)
@@ -154,12 +278,7 @@ public class AdminAnalyticsService {
                 .collect(Collectors.toList());
     }
 
-    public List<RevenueTrendPointDto> getRevenueTrend(LocalDate from, LocalDate to) {
-        DateRange range = resolveRange(from, to,
-                bookingRepository.findEarliestCreatedAt(),
-                bookingRepository.findLatestCreatedAt());
-        List<Booking> bookings = bookingRepository.findByCreatedAtBetween(range.start(), range.end());
-
+    private List<RevenueTrendPointDto> buildRevenueTrend(DateRange range, List<BookingRollupRow> rows) {
         Map<LocalDate, TrendAccumulator> dailyMap = new LinkedHashMap<>();
         LocalDate cursor = range.startDate();
         while (!cursor.isAfter(range.endDate())) {
@@ -167,22 +286,20 @@ public class AdminAnalyticsService {
             cursor = cursor.plusDays(1);
         }
 
-        for (Booking booking : bookings) {
-            LocalDate bookingDate = toLocalDate(booking.getCreatedAt());
-            TrendAccumulator accumulator = dailyMap.get(bookingDate);
-            if (accumulator == null) {
-                accumulator = new TrendAccumulator(bookingDate);
-                dailyMap.put(bookingDate, accumulator);
+        for (BookingRollupRow row : rows) {
+            LocalDate saleDate = row.key().saleDate();
+            if (!range.contains(saleDate)) {
+                continue;
             }
-            PaymentStatus paymentStatus = booking.getPaymentStatus();
-            BookingStatus bookingStatus = booking.getBookingStatus();
-            if (paymentStatus == PaymentStatus.Paid) {
-                accumulator.addPaid(safeAmount(booking));
-            } else if (paymentStatus == PaymentStatus.Failed) {
-                accumulator.incrementFailed();
+            TrendAccumulator accumulator = dailyMap.computeIfAbsent(saleDate, TrendAccumulator::new);
+            String paymentStatus = row.key().paymentStatus();
+            if (PAID.equals(paymentStatus)) {
+                accumulator.addPaid(row.orderCount(), row.amount());
+            } else if (FAILED.equals(paymentStatus)) {
+                accumulator.addFailed(row.orderCount());
             }
-            if (bookingStatus == BookingStatus.Cancelled) {
-                accumulator.incrementCancelled();
+            if (CANCELLED.equals(row.key().bookingStatus())) {
+                accumulator.addCancelled(row.orderCount());
             }
         }
 
@@ -197,22 +314,6 @@ public class AdminAnalyticsService {
                 .collect(Collectors.toList());
     }
 
-    public Page<PayOSTransactionDto> getPayOsTransactions(LocalDate from,
-                                                          LocalDate to,
-                                                          Pageable pageable) {
-        DateRange range = resolveRange(from, to,
-                bookingRepository.findEarliestCreatedAt(),
-                bookingRepository.findLatestCreatedAt());
-        Page<Booking> page = bookingRepository
-                .findByCreatedAtBetween(range.start(), range.end(), pageable);
-
-        List<PayOSTransactionDto> dtos = page.getContent().stream()
-                .map(this::mapBookingToTransaction)
-                .collect(Collectors.toList());
-
-        return new PageImpl<>(dtos, pageable, page.getTotalElements());
-    }
-
     private PayOSTransactionDto mapBookingToTransaction(Booking booking) {
         PaymentStatus paymentStatus = booking.getPaymentStatus();
         return PayOSTransactionDto.builder()
@@ -234,33 +335,36 @@ public class AdminAnalyticsService {
                 safeAmount(booking));
     }
 
-    private SummaryMetrics computeSummaryMetrics(List<Booking> bookings) {
+    private SummaryMetrics computeSummaryMetrics(List<BookingRollupRow> rows, DateRange range) {
         BigDecimal totalRevenue = BigDecimal.ZERO;
+        long totalOrders = 0;
         long paidOrders = 0;
         long failedOrders = 0;
         long cancelledOrders = 0;
         Map<String, BigDecimal> revenueByPaymentMethod = new LinkedHashMap<>();
 
-        for (Booking booking : bookings) {
-            PaymentStatus paymentStatus = booking.getPaymentStatus();
-            BookingStatus bookingStatus = booking.getBookingStatus();
-            BigDecimal amount = safeAmount(booking);
-
-            if (paymentStatus == PaymentStatus.Paid) {
-                paidOrders++;
-                totalRevenue = totalRevenue.add(amount);
-                String method = normalizePaymentMethod(booking.getPaymentMethod());
-                revenueByPaymentMethod.merge(method, amount, BigDecimal::add);
-            } else if (paymentStatus == PaymentStatus.Failed) {
-                failedOrders++;
+        for (BookingRollupRow row : rows) {
+            if (!range.contains(row.key().saleDate())) {
+                continue;
+            }
+            String paymentStatus = row.key().paymentStatus();
+            totalOrders += row.orderCount();
+
+            if (PAID.equals(paymentStatus)) {
+                paidOrders += row.orderCount();
+                totalRevenue = totalRevenue.add(row.amount());
+                String method = normalizePaymentMethod(row.key().paymentMethod());
+                revenueByPaymentMethod.merge(method, row.amount(), BigDecimal::add);
+            } else if (FAILED.equals(paymentStatus)) {
+                failedOrders += row.orderCount();
             }
-            if (bookingStatus == BookingStatus.Cancelled) {
-                cancelledOrders++;
+            if (CANCELLED.equals(row.key().bookingStatus())) {
+                cancelledOrders += row.orderCount();
             }
         }
 
         return new SummaryMetrics(totalRevenue,
-                bookings.size(),
+                totalOrders,
                 paidOrders,
                 failedOrders,
                 cancelledOrders,
@@ -355,6 +459,10 @@ public class AdminAnalyticsService {
                              LocalDate startDate,
                              LocalDate endDate) {
 
+        private boolean contains(LocalDate date) {
+            return !date.isBefore(startDate) && !date.isAfter(endDate);
+        }
+
         private DateRange previous() {
             long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
             days = Math.max(days, 1);
@@ -368,6 +476,12 @@ public class AdminAnalyticsService {
         }
     }
 
+    private record SnapshotKey(LocalDate from, LocalDate to) {
+    }
+
+    private record Memo(CompletableFuture<AnalyticsSnapshotDto> future, long version, long createdAt) {
+    }
+
     private static class SummaryMetrics {
         private final BigDecimal totalRevenue;
         private final long totalOrders;
@@ -419,8 +533,8 @@ public class AdminAnalyticsService {
         private long count;
         private BigDecimal totalAmount = BigDecimal.ZERO;
 
-        void increment(BigDecimal amount) {
-            this.count++;
+        void add(long orders, BigDecimal amount) {
+            this.count += orders;
             this.totalAmount = this.totalAmount.add(amount);
         }
 
@@ -444,8 +558,8 @@ public class AdminAnalyticsService {
             this.paymentStatus = paymentStatus;
         }
 
-        void increment(BigDecimal amount) {
-            this.count++;
+        void add(long orders, BigDecimal amount) {
+            this.count += orders;
             this.revenue = this.revenue.add(amount);
         }
 
@@ -477,17 +591,17 @@ public class AdminAnalyticsService {
             this.date = date;
         }
 
-        void addPaid(BigDecimal amount) {
+        void addPaid(long orders, BigDecimal amount) {
             this.paidRevenue = this.paidRevenue.add(amount);
-            this.paidCount++;
+            this.paidCount += orders;
         }
 
-        void incrementFailed() {
-            this.failedCount++;
+        void addFailed(long orders) {
+            this.failedCount += orders;
         }
 
-        void incrementCancelled() {
-            this.cancelledCount++;
+        void addCancelled(long orders) {
+            this.cancelledCount += orders;
         }
 
         LocalDate getDate() {
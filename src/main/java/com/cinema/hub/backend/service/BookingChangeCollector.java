@@ -0,0 +1,135 @@
+package com.cinema.hub.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Collects the booking changes of a transaction and, once it commits, hands them to every
+ * {@link BookingChangeConsumer} on a single background thread, so request threads never wait for read model
+ * refreshes. Batches that queue up while the consumers are busy are merged and applied together. Rolled back
+ * transactions contribute nothing.
+ */
+@Component
+@Slf4j
+public class BookingChangeCollector {
+
+    private final ObjectProvider<BookingChangeConsumer> consumerProvider;
+    private final int maxQueued;
+    private final Queue<BookingChanges> queued = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ExecutorService dispatcher =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("booking-changes").daemon().factory());
+    private volatile List<BookingChangeConsumer> consumers;
+
+    // consumers are looked up on first use: they depend on the EntityManagerFactory that instantiates our listener
+    public BookingChangeCollector(ObjectProvider<BookingChangeConsumer> consumerProvider,
+                                  @Value("${cinema.booking-changes.max-queued:10000}") int maxQueued) {
+        this.consumerProvider = consumerProvider;
+        this.maxQueued = maxQueued;
+    }
+
+    public void record(Consumer<BookingChanges> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            BookingChanges changes = new BookingChanges();
+            change.accept(changes);
+            submit(changes);
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        change.accept(pending.changes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Waits until every batch submitted so far has been applied.
+     */
+    void awaitIdle() throws InterruptedException, ExecutionException {
+        dispatcher.submit(() -> { }).get();
+    }
+
+    private void submit(BookingChanges changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (queuedCount.incrementAndGet() > maxQueued) {
+            queuedCount.decrementAndGet();
+            log.warn("Booking change queue is full, dropping changes to bookings {}", changes.touchedBookingIds());
+            return;
+        }
+        queued.add(changes);
+        if (drainScheduled.compareAndSet(false, true)) {
+            dispatcher.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        BookingChanges merged = new BookingChanges();
+        BookingChanges next;
+        while ((next = queued.poll()) != null) {
+            queuedCount.decrementAndGet();
+            merged.addAll(next);
+        }
+        if (merged.isEmpty()) {
+            return;
+        }
+        for (BookingChangeConsumer consumer : consumers()) {
+            try {
+                consumer.onBookingsChanged(merged);
+            } catch (RuntimeException ex) {
+                log.warn("{} could not apply changes to bookings {}, its next rebuild will correct them: {}",
+                        ClassUtils.getUserClass(consumer).getSimpleName(), merged.touchedBookingIds(),
+                        ex.getMessage());
+            }
+        }
+    }
+
+    private List<BookingChangeConsumer> consumers() {
+        List<BookingChangeConsumer> resolved = consumers;
+        if (resolved == null) {
+            resolved = consumerProvider.orderedStream().toList();
+            consumers = resolved;
+        }
+        return resolved;
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final BookingChanges changes = new BookingChanges();
+
+        @Override
+        public void afterCommit() {
+            submit(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BookingChangeCollector.this);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.cinema.hub.backend.service;
+
+/**
+ * A read model kept in step with Bookings by {@link BookingChangeCollector}. Called on the collector's thread after
+ * the writes commit; a consumer that throws keeps its drift until its next rebuild.
+ */
+public interface BookingChangeConsumer {
+
+    void onBookingsChanged(BookingChanges changes);
+}
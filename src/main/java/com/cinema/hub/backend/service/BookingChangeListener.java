@@ -0,0 +1,62 @@
+package com.cinema.hub.backend.service;
+
+import com.cinema.hub.backend.dto.admin.analytics.BookingRollupDelta;
+import com.cinema.hub.backend.entity.Booking;
+import com.cinema.hub.backend.entity.PaymentLog;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records every written Booking and PaymentLog with {@link BookingChangeCollector}. The rollup state seen at load
+ * time is kept on the booking, so an update contributes the difference between the loaded and the flushed state.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingChangeListener {
+
+    private final BookingChangeCollector collector;
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (entity instanceof Booking booking) {
+            booking.setRollupSnapshot(BookingRollupService.snapshot(booking));
+        }
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(Object entity) {
+        if (entity instanceof Booking booking) {
+            recordBooking(booking, BookingRollupService.snapshot(booking));
+        } else {
+            recordPayment(entity);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Booking booking) {
+            recordBooking(booking, null);
+        } else {
+            recordPayment(entity);
+        }
+    }
+
+    private void recordBooking(Booking booking, BookingRollupDelta after) {
+        BookingRollupDelta before = booking.getRollupSnapshot();
+        booking.setRollupSnapshot(after);
+        collector.record(changes -> changes.bookingWritten(booking.getId(), before, after,
+                DashboardMetricsService.affectedDays(booking)));
+    }
+
+    private void recordPayment(Object entity) {
+        if (entity instanceof PaymentLog paymentLog && paymentLog.getBooking() != null) {
+            Integer bookingId = paymentLog.getBooking().getId();
+            collector.record(changes -> changes.paymentWritten(bookingId));
+        }
+    }
+}
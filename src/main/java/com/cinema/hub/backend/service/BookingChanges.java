@@ -0,0 +1,83 @@
+package com.cinema.hub.backend.service;
+
+import com.cinema.hub.backend.dto.admin.analytics.BookingRollupDelta;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Everything a batch of committed Booking and PaymentLog writes means to the derived read models.
+ */
+public final class BookingChanges {
+
+    private final Set<Integer> bookingIds = new TreeSet<>();
+    private final Set<Integer> paymentBookingIds = new TreeSet<>();
+    private final List<BookingRollupDelta> rollupDeltas = new ArrayList<>();
+    private final Set<LocalDate> dashboardDays = new TreeSet<>();
+
+    void bookingWritten(Integer bookingId,
+                        BookingRollupDelta before,
+                        BookingRollupDelta after,
+                        Set<LocalDate> days) {
+        if (bookingId != null) {
+            bookingIds.add(bookingId);
+        }
+        if (before == null || !before.equals(after)) {
+            if (before != null) {
+                rollupDeltas.add(before.negate());
+            }
+            if (after != null) {
+                rollupDeltas.add(after);
+            }
+        }
+        dashboardDays.addAll(days);
+    }
+
+    void paymentWritten(Integer bookingId) {
+        if (bookingId != null) {
+            paymentBookingIds.add(bookingId);
+        }
+    }
+
+    void addAll(BookingChanges other) {
+        bookingIds.addAll(other.bookingIds);
+        paymentBookingIds.addAll(other.paymentBookingIds);
+        rollupDeltas.addAll(other.rollupDeltas);
+        dashboardDays.addAll(other.dashboardDays);
+    }
+
+    boolean isEmpty() {
+        return bookingIds.isEmpty() && paymentBookingIds.isEmpty() && rollupDeltas.isEmpty()
+                && dashboardDays.isEmpty();
+    }
+
+    /**
+     * Bookings whose own row was inserted, updated or deleted.
+     */
+    public Set<Integer> bookingIds() {
+        return Collections.unmodifiableSet(bookingIds);
+    }
+
+    /**
+     * Bookings whose row or any of whose payment logs was written.
+     */
+    public Set<Integer> touchedBookingIds() {
+        Set<Integer> touched = new TreeSet<>(bookingIds);
+        touched.addAll(paymentBookingIds);
+        return touched;
+    }
+
+    /**
+     * Signed rollup deltas in write order; a booking's earlier state appears negated.
+     */
+    public List<BookingRollupDelta> rollupDeltas() {
+        return Collections.unmodifiableList(rollupDeltas);
+    }
+
+    public Set<LocalDate> dashboardDays() {
+        return Collections.unmodifiableSet(dashboardDays);
+    }
+}
@@ -0,0 +1,104 @@
+package com.cinema.hub.backend.service;
+
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactDimension;
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactFilter;
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactGroupDto;
+import com.cinema.hub.backend.repository.BookingFactRepository;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Holds every booking in a {@link BookingFactStore} so ad-hoc analytics slices are answered from memory. Written
+ * bookings are re-read once their transaction commits; the nightly rebuild compacts away retracted rows.
+ */
+@Service
+@Slf4j
+public class BookingFactService implements BookingChangeConsumer {
+
+    private final BookingFactRepository factRepository;
+    private volatile BookingFactStore store = new BookingFactStore();
+    // bookings refreshed while a rebuild streams; re-read once the new store is swapped in
+    private Set<Integer> changedDuringRebuild;
+
+    public BookingFactService(BookingFactRepository factRepository) {
+        this.factRepository = factRepository;
+    }
+
+    @Override
+    public void onBookingsChanged(BookingChanges changes) {
+        if (!changes.bookingIds().isEmpty()) {
+            refresh(changes.bookingIds());
+        }
+    }
+
+    /**
+     * Orders, seats and amount per value of {@code groupBy} over the bookings matching {@code filter}.
+     */
+    public List<BookingFactGroupDto> aggregate(BookingFactFilter filter, BookingFactDimension groupBy) {
+        BookingFactStore current = store;
+        return current.aggregate(filter, groupBy).stream()
+                .map(group -> BookingFactGroupDto.builder()
+                        .key(current.label(groupBy, group.key()))
+                        .orders(group.orders())
+                        .seats(group.seats())
+                        .amount(BookingFactStore.fromMinorUnits(group.amount()))
+                        .build())
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${cinema.analytics.facts.rebuild-cron:0 0 4 * * *}", zone = "Asia/Ho_Chi_Minh")
+    public void rebuild() {
+        long started = System.nanoTime();
+        synchronized (this) {
+            changedDuringRebuild = new TreeSet<>();
+        }
+        BookingFactStore rebuilt = new BookingFactStore();
+        try {
+            factRepository.streamAll(rebuilt::add);
+            rebuilt.publish();
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+            throw ex;
+        }
+        Set<Integer> changed;
+        synchronized (this) {
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            store = rebuilt;
+        }
+        if (!changed.isEmpty()) {
+            refresh(changed);
+        }
+        log.info("Loaded booking facts: {} bookings, {} rows in {} ms",
+                rebuilt.liveBookings(), rebuilt.rows(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void refresh(Set<Integer> bookingIds) {
+        BookingFactStore target = store;
+        target.apply(bookingIds, factRepository.findByBookingIds(bookingIds));
+        boolean swapped;
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.addAll(bookingIds);
+            }
+            swapped = target != store;
+        }
+        if (swapped) {
+            // a rebuild swapped the store in after we picked the old one
+            store.apply(bookingIds, factRepository.findByBookingIds(bookingIds));
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.cinema.hub.backend.service;
+
+import com.cinema.hub.backend.dto.admin.analytics.BookingFact;
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactDimension;
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactFilter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Append-only columnar copy of the booking facts, one primitive array per column. A changed booking is never updated
+ * in place: its previous row is appended again with negated weight, seats and amount, then its new row, so every
+ * aggregate is a plain sum over rows. String columns are dictionary-encoded and amounts are kept in minor units.
+ * <p>
+ * Writes are serialized on the store. Readers work on the {@link Columns} view published after each write, so
+ * queries never lock and never see a half-written row: arrays are only replaced, never shrunk, and rows past the
+ * published size are invisible.
+ */
+final class BookingFactStore {
+
+    private static final int DIMENSIONS = BookingFactDimension.values().length;
+    private static final int DAY = BookingFactDimension.DAY.ordinal();
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_DENSE_GROUPS = 1 << 22;
+
+    private final Dictionary[] dictionaries = new Dictionary[DIMENSIONS];
+    private final int[][] dims = new int[DIMENSIONS][INITIAL_CAPACITY];
+    private int[] weights = new int[INITIAL_CAPACITY];
+    private int[] seats = new int[INITIAL_CAPACITY];
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    private int size;
+    private int liveBookings;
+    // BookingId -> 1 + row of its current positive row, 0 when the booking has none
+    private int[] liveRows = new int[INITIAL_CAPACITY];
+    private volatile Columns columns = new Columns(dims.clone(), weights, seats, amounts, 0);
+
+    BookingFactStore() {
+        dictionaries[BookingFactDimension.PAYMENT_METHOD.ordinal()] = new Dictionary();
+        dictionaries[BookingFactDimension.BOOKING_STATUS.ordinal()] = new Dictionary();
+        dictionaries[BookingFactDimension.PAYMENT_STATUS.ordinal()] = new Dictionary();
+    }
+
+    /**
+     * Adds or replaces the booking's row without publishing it; used for bulk loads followed by {@link #publish()}.
+     */
+    synchronized void add(BookingFact fact) {
+        int[] values = encode(fact);
+        long amount = toMinorUnits(fact.amount());
+        int previous = liveRow(fact.bookingId());
+        if (previous >= 0) {
+            if (sameRow(previous, values, amount, fact.seats())) {
+                return;
+            }
+            retractRow(previous);
+        } else {
+            liveBookings++;
+        }
+        int row = appendRow(values, 1, fact.seats(), amount);
+        setLiveRow(fact.bookingId(), row);
+    }
+
+    /**
+     * Brings the given bookings up to date with {@code facts}; ids without a fact are retracted.
+     */
+    synchronized void apply(Collection<Integer> bookingIds, List<BookingFact> facts) {
+        Set<Integer> present = new HashSet<>();
+        for (BookingFact fact : facts) {
+            add(fact);
+            present.add(fact.bookingId());
+        }
+        for (Integer bookingId : bookingIds) {
+            int previous = present.contains(bookingId) ? -1 : liveRow(bookingId);
+            if (previous >= 0) {
+                retractRow(previous);
+                setLiveRow(bookingId, -1);
+                liveBookings--;
+            }
+        }
+        publish();
+    }
+
+    synchronized void publish() {
+        columns = new Columns(dims.clone(), weights, seats, amounts, size);
+    }
+
+    int rows() {
+        return columns.size();
+    }
+
+    synchronized int liveBookings() {
+        return liveBookings;
+    }
+
+    /**
+     * Sums of orders, seats and minor-unit amount per value of {@code groupBy} over the rows matching
+     * {@code filter}, ordered by key. Groups that net to zero are left out.
+     */
+    List<Group> aggregate(BookingFactFilter filter, BookingFactDimension groupBy) {
+        Columns view = columns;
+        int[] selection = new int[view.size()];
+        int selected = select(view, filter, selection);
+        if (selected == 0) {
+            return List.of();
+        }
+        int[] keys = view.dims()[groupBy.ordinal()];
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < selected; i++) {
+            int key = keys[selection[i]];
+            min = Math.min(min, key);
+            max = Math.max(max, key);
+        }
+        long span = (long) max - min + 1;
+        return span <= MAX_DENSE_GROUPS
+                ? aggregateDense(view, selection, selected, keys, min, (int) span)
+                : aggregateSparse(view, selection, selected, keys);
+    }
+
+    /**
+     * Display value of a group key: ISO date for days, the original text for dictionary columns, the id otherwise.
+     */
+    String label(BookingFactDimension dimension, int key) {
+        if (dimension == BookingFactDimension.DAY) {
+            return LocalDate.ofEpochDay(key).toString();
+        }
+        Dictionary dictionary = dictionaries[dimension.ordinal()];
+        return dictionary != null ? dictionary.label(key) : String.valueOf(key);
+    }
+
+    static BigDecimal fromMinorUnits(long amount) {
+        return BigDecimal.valueOf(amount, 2);
+    }
+
+    private int select(Columns view, BookingFactFilter filter, int[] selection) {
+        int[] days = view.dims()[DAY];
+        int from = filter.from() != null ? (int) filter.from().toEpochDay() : Integer.MIN_VALUE;
+        int to = filter.to() != null ? (int) filter.to().toEpochDay() : Integer.MAX_VALUE;
+        int selected = 0;
+        for (int row = 0; row < view.size(); row++) {
+            selection[selected] = row;
+            selected += (days[row] >= from & days[row] <= to) ? 1 : 0;
+        }
+        selected = refine(view, BookingFactDimension.SHOWTIME, filter.showtimeId(), selection, selected);
+        selected = refine(view, BookingFactDimension.MOVIE, filter.movieId(), selection, selected);
+        selected = refine(view, BookingFactDimension.AUDITORIUM, filter.auditoriumId(), selection, selected);
+        selected = refine(view, BookingFactDimension.PAYMENT_METHOD, filter.paymentMethod(), selection, selected);
+        selected = refine(view, BookingFactDimension.BOOKING_STATUS, filter.bookingStatus(), selection, selected);
+        return refine(view, BookingFactDimension.PAYMENT_STATUS, filter.paymentStatus(), selection, selected);
+    }
+
+    private int refine(Columns view, BookingFactDimension dimension, String label, int[] selection, int selected) {
+        if (label == null || selected == 0) {
+            return selected;
+        }
+        int code = dictionaries[dimension.ordinal()].find(label);
+        return code < 0 ? 0 : refine(view, dimension, Integer.valueOf(code), selection, selected);
+    }
+
+    private int refine(Columns view, BookingFactDimension dimension, Integer value, int[] selection, int selected) {
+        if (value == null || selected == 0) {
+            return selected;
+        }
+        int[] column = view.dims()[dimension.ordinal()];
+        int wanted = value;
+        int kept = 0;
+        for (int i = 0; i < selected; i++) {
+            int row = selection[i];
+            selection[kept] = row;
+            kept += column[row] == wanted ? 1 : 0;
+        }
+        return kept;
+    }
+
+    private List<Group> aggregateDense(Columns view, int[] selection, int selected, int[] keys, int min, int span) {
+        long[] orders = new long[span];
+        long[] seatTotals = new long[span];
+        long[] amountTotals = new long[span];
+        int[] rowWeights = view.weights();
+        int[] rowSeats = view.seats();
+        long[] rowAmounts = view.amounts();
+        for (int i = 0; i < selected; i++) {
+            int row = selection[i];
+            int slot = keys[row] - min;
+            orders[slot] += rowWeights[row];
+            seatTotals[slot] += rowSeats[row];
+            amountTotals[slot] += rowAmounts[row];
+        }
+        List<Group> groups = new ArrayList<>();
+        for (int slot = 0; slot < span; slot++) {
+            if (orders[slot] != 0 || seatTotals[slot] != 0 || amountTotals[slot] != 0) {
+                groups.add(new Group(slot + min, orders[slot], seatTotals[slot], amountTotals[slot]));
+            }
+        }
+        return groups;
+    }
+
+    private List<Group> aggregateSparse(Columns view, int[] selection, int selected, int[] keys) {
+        Map<Integer, long[]> totals = new TreeMap<>();
+        for (int i = 0; i < selected; i++) {
+            int row = selection[i];
+            long[] sums = totals.computeIfAbsent(keys[row], key -> new long[3]);
+            sums[0] += view.weights()[row];
+            sums[1] += view.seats()[row];
+            sums[2] += view.amounts()[row];
+        }
+        List<Group> groups = new ArrayList<>(totals.size());
+        totals.forEach((key, sums) -> {
+            if (sums[0] != 0 || sums[1] != 0 || sums[2] != 0) {
+                groups.add(new Group(key, sums[0], sums[1], sums[2]));
+            }
+        });
+        return groups;
+    }
+
+    private int[] encode(BookingFact fact) {
+        int[] values = new int[DIMENSIONS];
+        values[DAY] = (int) fact.saleDate().toEpochDay();
+        values[BookingFactDimension.SHOWTIME.ordinal()] = fact.showtimeId();
+        values[BookingFactDimension.MOVIE.ordinal()] = fact.movieId();
+        values[BookingFactDimension.AUDITORIUM.ordinal()] = fact.auditoriumId();
+        values[BookingFactDimension.PAYMENT_METHOD.ordinal()] =
+                dictionaries[BookingFactDimension.PAYMENT_METHOD.ordinal()].encode(fact.paymentMethod());
+        values[BookingFactDimension.BOOKING_STATUS.ordinal()] =
+                dictionaries[BookingFactDimension.BOOKING_STATUS.ordinal()].encode(fact.bookingStatus());
+        values[BookingFactDimension.PAYMENT_STATUS.ordinal()] =
+                dictionaries[BookingFactDimension.PAYMENT_STATUS.ordinal()].encode(fact.paymentStatus());
+        return values;
+    }
+
+    private boolean sameRow(int row, int[] values, long amount, int seatCount) {
+        for (int d = 0; d < DIMENSIONS; d++) {
+            if (dims[d][row] != values[d]) {
+                return false;
+            }
+        }
+        return amounts[row] == amount && seats[row] == seatCount;
+    }
+
+    private void retractRow(int row) {
+        int[] values = new int[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            values[d] = dims[d][row];
+        }
+        appendRow(values, -weights[row], -seats[row], -amounts[row]);
+    }
+
+    private int appendRow(int[] values, int weight, int seatCount, long amount) {
+        if (size == weights.length) {
+            int capacity = weights.length * 2;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                dims[d] = Arrays.copyOf(dims[d], capacity);
+            }
+            weights = Arrays.copyOf(weights, capacity);
+            seats = Arrays.copyOf(seats, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+        }
+        int row = size++;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            dims[d][row] = values[d];
+        }
+        weights[row] = weight;
+        seats[row] = seatCount;
+        amounts[row] = amount;
+        return row;
+    }
+
+    private int liveRow(int bookingId) {
+        return bookingId >= 0 && bookingId < liveRows.length ? liveRows[bookingId] - 1 : -1;
+    }
+
+    private void setLiveRow(int bookingId, int row) {
+        if (bookingId >= liveRows.length) {
+            liveRows = Arrays.copyOf(liveRows, Math.max(bookingId + 1, liveRows.length * 2));
+        }
+        liveRows[bookingId] = row + 1;
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue() : 0L;
+    }
+
+    record Group(int key, long orders, long seats, long amount) {
+    }
+
+    private record Columns(int[][] dims, int[] weights, int[] seats, long[] amounts, int size) {
+    }
+
+    /**
+     * Code per distinct text. Labels are published before their code, so a reader that finds a code can always
+     * resolve it.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+        private final List<String> labels = new CopyOnWriteArrayList<>();
+
+        int encode(String label) {
+            String key = label != null ? label : "";
+            Integer code = codes.get(key);
+            if (code == null) {
+                code = labels.size();
+                labels.add(key);
+                codes.put(key, code);
+            }
+            return code;
+        }
+
+        int find(String label) {
+            Integer code = codes.get(label);
+            return code != null ? code : -1;
+        }
+
+        String label(int code) {
+            return code >= 0 && code < labels.size() ? labels.get(code) : "";
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.cinema.hub.backend.service;
+
+import com.cinema.hub.backend.dto.admin.analytics.BookingRollupDelta;
+import com.cinema.hub.backend.dto.admin.analytics.BookingRollupRow;
+import com.cinema.hub.backend.entity.Booking;
+import com.cinema.hub.backend.entity.enums.BookingStatus;
+import com.cinema.hub.backend.entity.enums.PaymentStatus;
+import com.cinema.hub.backend.repository.BookingRollupRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps {@code BookingDailyRollups} in step with Bookings. Every booking insert, update or delete becomes a pair of
+ * signed deltas; deltas are summed per batch and written in one short transaction after commit, so the hot rollup
+ * rows are never locked for the length of a booking flow. Deltas carry the booking id rather than a date, so the
+ * incremental path and the rebuild both take the sale date from the stored {@code CreatedAt} in SQL. The nightly
+ * rebuild also covers SQL run outside the application.
+ */
+@Service
+@Slf4j
+public class BookingRollupService implements BookingChangeConsumer {
+
+    private final BookingRollupRepository rollupRepository;
+    private final TransactionTemplate writeTemplate;
+    private final AtomicLong version = new AtomicLong();
+
+    public BookingRollupService(BookingRollupRepository rollupRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * The booking's contribution to the rollup: one order of its final amount under its current method and statuses.
+     */
+    public static BookingRollupDelta snapshot(Booking booking) {
+        if (booking.getId() == null) {
+            return null;
+        }
+        BigDecimal amount = booking.getFinalAmount() != null ? booking.getFinalAmount() : BigDecimal.ZERO;
+        return new BookingRollupDelta(booking.getId(),
+                booking.getPaymentMethod() != null ? booking.getPaymentMethod() : "",
+                (booking.getBookingStatus() != null ? booking.getBookingStatus() : BookingStatus.Pending).name(),
+                (booking.getPaymentStatus() != null ? booking.getPaymentStatus() : PaymentStatus.Unpaid).name(),
+                1, amount);
+    }
+
+    @Override
+    public void onBookingsChanged(BookingChanges changes) {
+        Map<DeltaKey, BookingRollupDelta> summed = new LinkedHashMap<>();
+        for (BookingRollupDelta delta : changes.rollupDeltas()) {
+            DeltaKey key = new DeltaKey(delta.bookingId(), delta.paymentMethod(), delta.bookingStatus(),
+                    delta.paymentStatus());
+            summed.merge(key, delta, (left, right) -> new BookingRollupDelta(left.bookingId(), left.paymentMethod(),
+                    left.bookingStatus(), left.paymentStatus(), left.orderCount() + right.orderCount(),
+                    left.amount().add(right.amount())));
+        }
+        List<BookingRollupDelta> deltas = new ArrayList<>(summed.size());
+        for (BookingRollupDelta delta : summed.values()) {
+            if (delta.orderCount() != 0 || delta.amount().signum() != 0) {
+                deltas.add(delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        deltas.sort(Comparator.comparingInt(BookingRollupDelta::bookingId));
+        writeTemplate.executeWithoutResult(status -> rollupRepository.applyDeltas(deltas));
+        version.incrementAndGet();
+    }
+
+    /**
+     * Incremented whenever rollup rows change, so readers can tell whether results derived from them are current.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    public List<BookingRollupRow> findBetween(LocalDate from, LocalDate to) {
+        return rollupRepository.findBetween(from, to);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (rollupRepository.isEmpty()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${cinema.analytics.rollup.rebuild-cron:0 30 3 * * *}", zone = "Asia/Ho_Chi_Minh")
+    public void rebuild() {
+        long started = System.nanoTime();
+        Integer rows = writeTemplate.execute(status -> rollupRepository.rebuild());
+        version.incrementAndGet();
+        log.info("Rebuilt booking rollup: {} rows in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private record DeltaKey(int bookingId, String paymentMethod, String bookingStatus, String paymentStatus) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.cinema.hub.backend.service;
+
+import com.cinema.hub.backend.repository.BookingSearchTokenRepository;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps {@code BookingSearchTokens} in step with Bookings and PaymentLogs. Bookings touched in a transaction are
+ * re-tokenized from their committed rows in one short transaction after commit.
+ */
+@Service
+@Slf4j
+public class BookingSearchIndexService implements BookingChangeConsumer {
+
+    private final BookingSearchTokenRepository tokenRepository;
+    private final TransactionTemplate writeTemplate;
+
+    public BookingSearchIndexService(BookingSearchTokenRepository tokenRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.tokenRepository = tokenRepository;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void onBookingsChanged(BookingChanges changes) {
+        Set<Integer> bookingIds = changes.touchedBookingIds();
+        if (!bookingIds.isEmpty()) {
+            writeTemplate.executeWithoutResult(status -> tokenRepository.refresh(bookingIds));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (tokenRepository.isEmpty()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${cinema.dashboard.search-index.rebuild-cron:0 45 3 * * *}", zone = "Asia/Ho_Chi_Minh")
+    public void rebuild() {
+        long started = System.nanoTime();
+        Integer rows = writeTemplate.execute(status -> tokenRepository.rebuild());
+        log.info("Rebuilt booking search tokens: {} rows in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -11,6 +11,7 @@ import com.cinema.hub.backend.entity.enums.BookingStatus;
 import com.cinema.hub.backend.entity.enums.PaymentStatus;
 import com.cinema.hub.backend.repository.BookingRepository;
 import com.cinema.hub.backend.repository.BookingSeatRepository;
+import com.cinema.hub.backend.service.seat.SeatStateEngine;
 import com.cinema.hub.backend.web.view.BookingConfirmationView;
 import com.cinema.hub.backend.web.view.BookingHistoryView;
 import jakarta.persistence.EntityNotFoundException;
@@ -35,6 +36,7 @@ public class BookingService {
     private final SeatReservationService seatReservationService;
     private final BookingRepository bookingRepository;
     private final BookingSeatRepository bookingSeatRepository;
+    private final SeatStateEngine seatStateEngine;
 
     @Transactional
     public BookingConfirmationView createBooking(UserAccount user,
@@ -159,7 +161,9 @@ public class BookingService {
         booking.setBookingStatus(BookingStatus.Confirmed);
         booking.setPaymentMethod(normalized);
         booking.setPaidAt(TimeProvider.now());
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        seatStateEngine.onBookingPaid(saved.getShowtime().getId(), saved.getId());
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,160 @@
+package com.cinema.hub.backend.service;
+
+import com.cinema.hub.backend.dto.admin.dashboard.DailyDashboardMetrics;
+import com.cinema.hub.backend.entity.Booking;
+import com.cinema.hub.backend.repository.DashboardRepository;
+import com.cinema.hub.backend.util.TimeProvider;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory per-day dashboard figures; every summary period is summed from its days. A day loaded after it ended is
+ * kept until a booking on it changes. Today (or a day loaded before midnight) is reloaded after booking changes and
+ * at most every {@code today-ttl-seconds}, which also picks up writes from other instances.
+ */
+@Service
+public class DashboardMetricsService implements BookingChangeConsumer {
+
+    private static final ZoneId ZONE_ID = TimeProvider.VN_ZONE_ID;
+    private static final int MAX_TRACKED_INVALIDATIONS = 1024;
+
+    private final DashboardRepository dashboardRepository;
+    private final long todayTtlMillis;
+    private final Map<LocalDate, CachedDay> days;
+    private final Map<LocalDate, Long> invalidations;
+    private long epoch;
+
+    public DashboardMetricsService(DashboardRepository dashboardRepository,
+                                   @Value("${cinema.dashboard.metrics.today-ttl-seconds:300}") long todayTtlSeconds,
+                                   @Value("${cinema.dashboard.metrics.max-days:4000}") int maxDays) {
+        this.dashboardRepository = dashboardRepository;
+        this.todayTtlMillis = todayTtlSeconds * 1000;
+        this.days = new LinkedHashMap<>(512, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, CachedDay> eldest) {
+                return size() > maxDays;
+            }
+        };
+        this.invalidations = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, Long> eldest) {
+                return size() > MAX_TRACKED_INVALIDATIONS;
+            }
+        };
+    }
+
+    /**
+     * Figures summed over the days in {@code [from, toExclusive)}. Days after today count as empty.
+     */
+    public DailyDashboardMetrics between(LocalDate from, LocalDate toExclusive) {
+        LocalDate tomorrow = TimeProvider.now().toLocalDate().plusDays(1);
+        LocalDate last = toExclusive.isAfter(tomorrow) ? tomorrow : toExclusive;
+        Instant now = Instant.now();
+        Map<LocalDate, DailyDashboardMetrics> found = new HashMap<>();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        long loadEpoch;
+        synchronized (days) {
+            loadEpoch = epoch;
+            for (LocalDate day = from; day.isBefore(last); day = day.plusDays(1)) {
+                CachedDay cached = days.get(day);
+                if (cached != null && isFresh(cached, now)) {
+                    found.put(day, cached.metrics());
+                } else {
+                    firstMissing = firstMissing == null ? day : firstMissing;
+                    lastMissing = day;
+                }
+            }
+        }
+        if (firstMissing != null) {
+            load(firstMissing, lastMissing.plusDays(1), loadEpoch, found);
+        }
+        DailyDashboardMetrics total = DailyDashboardMetrics.empty(from);
+        for (DailyDashboardMetrics day : found.values()) {
+            total = total.plus(day);
+        }
+        return total;
+    }
+
+    /**
+     * The days {@code booking} counts towards.
+     */
+    public static Set<LocalDate> affectedDays(Booking booking) {
+        Set<LocalDate> affected = new TreeSet<>();
+        if (booking.getCreatedAt() != null) {
+            affected.add(localDate(booking.getCreatedAt()));
+        }
+        if (booking.getPaidAt() != null) {
+            affected.add(localDate(booking.getPaidAt()));
+        }
+        return affected;
+    }
+
+    @Override
+    public void onBookingsChanged(BookingChanges changes) {
+        if (!changes.dashboardDays().isEmpty()) {
+            invalidate(changes.dashboardDays());
+        }
+    }
+
+    public void invalidate(Set<LocalDate> affected) {
+        synchronized (days) {
+            epoch++;
+            for (LocalDate day : affected) {
+                days.remove(day);
+                invalidations.put(day, epoch);
+            }
+        }
+    }
+
+    private void load(LocalDate from,
+                      LocalDate toExclusive,
+                      long loadEpoch,
+                      Map<LocalDate, DailyDashboardMetrics> found) {
+        Instant loadedAt = Instant.now();
+        Map<LocalDate, DailyDashboardMetrics> loaded = new HashMap<>();
+        for (DailyDashboardMetrics day
+                : dashboardRepository.getDailyMetrics(startOfDay(from), startOfDay(toExclusive))) {
+            loaded.put(day.date(), day);
+        }
+        synchronized (days) {
+            for (LocalDate day = from; day.isBefore(toExclusive); day = day.plusDays(1)) {
+                if (found.containsKey(day)) {
+                    continue;
+                }
+                DailyDashboardMetrics metrics = loaded.getOrDefault(day, DailyDashboardMetrics.empty(day));
+                found.put(day, metrics);
+                // a booking on this day committed while we were reading: serve it once, do not keep it
+                if (invalidations.getOrDefault(day, Long.MIN_VALUE) <= loadEpoch) {
+                    days.put(day, new CachedDay(metrics, loadedAt));
+                }
+            }
+        }
+    }
+
+    private boolean isFresh(CachedDay cached, Instant now) {
+        Instant dayEnd = cached.metrics().date().plusDays(1).atStartOfDay(ZONE_ID).toInstant();
+        return !cached.loadedAt().isBefore(dayEnd)
+                || now.toEpochMilli() - cached.loadedAt().toEpochMilli() < todayTtlMillis;
+    }
+
+    private static OffsetDateTime startOfDay(LocalDate day) {
+        return day.atStartOfDay(ZONE_ID).toOffsetDateTime();
+    }
+
+    private static LocalDate localDate(OffsetDateTime time) {
+        return time.atZoneSameInstant(ZONE_ID).toLocalDate();
+    }
+
+    private record CachedDay(DailyDashboardMetrics metrics, Instant loadedAt) {
+    }
+}
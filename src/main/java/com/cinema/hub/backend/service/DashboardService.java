@@ -1,17 +1,24 @@
 package com.cinema.hub.backend.service;
 
+import com.cinema.hub.backend.dto.admin.dashboard.DailyDashboardMetrics;
 import com.cinema.hub.backend.dto.admin.dashboard.DashboardSummaryDTO;
 import com.cinema.hub.backend.dto.admin.dashboard.OrderStatusDTO;
+import com.cinema.hub.backend.dto.admin.dashboard.OrderTableCursor;
 import com.cinema.hub.backend.dto.admin.dashboard.OrderTableDTO;
 import com.cinema.hub.backend.dto.admin.dashboard.PageDTO;
 import com.cinema.hub.backend.dto.admin.dashboard.PaymentChannelDTO;
 import com.cinema.hub.backend.dto.admin.dashboard.RevenueByDayDTO;
 import com.cinema.hub.backend.repository.DashboardRepository;
 import com.cinema.hub.backend.util.TimeProvider;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
@@ -22,11 +29,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
-import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -35,11 +43,43 @@ public class DashboardService {
 
     private static final ZoneId ZONE_ID = TimeProvider.VN_ZONE_ID;
     private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    private static final int EXPORT_WINDOW_ROWS = 200;
+    private static final String[] EXPORT_TITLES = {
+            "Ma don hang",
+            "Ma thanh toan",
+            "Ngay tao",
+            "Chi tiet",
+            "Tao boi",
+            "Email nguoi mua",
+            "So dien thoai",
+            "Tien thanh toan",
+            "Trang thai"
+    };
+    private static final int[] EXPORT_COLUMN_WIDTHS = {16, 22, 34, 26, 14, 30, 16, 16, 12};
+
+    public enum ExportFormat {
+        XLSX,
+        CSV
+    }
 
     private final DashboardRepository dashboardRepository;
-
-    public DashboardService(DashboardRepository dashboardRepository) {
+    private final DashboardMetricsService metricsService;
+    private final Map<OrderCountKey, CachedCount> orderCounts;
+    private final long orderCountTtlNanos;
+
+    public DashboardService(DashboardRepository dashboardRepository,
+                            DashboardMetricsService metricsService,
+                            @Value("${cinema.dashboard.order-count-ttl-seconds:60}") long orderCountTtlSeconds,
+                            @Value("${cinema.dashboard.order-count-cache-size:256}") int orderCountCacheSize) {
         this.dashboardRepository = dashboardRepository;
+        this.metricsService = metricsService;
+        this.orderCountTtlNanos = TimeUnit.SECONDS.toNanos(orderCountTtlSeconds);
+        this.orderCounts = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<OrderCountKey, CachedCount> eldest) {
+                return size() > orderCountCacheSize;
+            }
+        };
     }
 
     public DashboardSummaryDTO getSummary(LocalDate startDate, LocalDate endDate) {
@@ -53,23 +93,21 @@ public class DashboardService {
         DateRange lastMonthRange = dateRangeForLastMonth(now);
         DateRange lastYearRange = dateRangeForLastYear(now);
 
-        BigDecimal revenueToday = dashboardRepository.getRevenueBetween(todayRange.start(), todayRange.end());
-        BigDecimal revenueYesterday = dashboardRepository.getRevenueBetween(yesterdayRange.start(), yesterdayRange.end());
-        BigDecimal revenueThisWeek = dashboardRepository.getRevenueBetween(weekRange.start(), weekRange.end());
-        BigDecimal revenueThisMonth = dashboardRepository.getRevenueBetween(monthRange.start(), monthRange.end());
-        BigDecimal revenueThisYear = dashboardRepository.getRevenueBetween(yearRange.start(), yearRange.end());
-        BigDecimal revenueLastMonth = dashboardRepository.getRevenueBetween(lastMonthRange.start(), lastMonthRange.end());
-        BigDecimal revenueLastYear = dashboardRepository.getRevenueBetween(lastYearRange.start(), lastYearRange.end());
-        BigDecimal revenueSelected = dashboardRepository.getRevenueBetween(selectedRange.start(), selectedRange.end());
-
-        long totalOrders = dashboardRepository.countOrdersBetween(selectedRange.start(), selectedRange.end());
-        long completedOrders = dashboardRepository.countOrdersByStatuses(selectedRange.start(), selectedRange.end(),
-                List.of("PAID"));
-        long pendingOrders = dashboardRepository.countOrdersByStatuses(selectedRange.start(), selectedRange.end(),
-                List.of("UNPAID"));
-        long failedOrders = dashboardRepository.countOrdersByStatuses(selectedRange.start(), selectedRange.end(),
-                List.of("FAILED"));
-        long seatsSold = dashboardRepository.countSeatsSold(selectedRange.start(), selectedRange.end());
+        BigDecimal revenueToday = metrics(todayRange).revenue();
+        BigDecimal revenueYesterday = metrics(yesterdayRange).revenue();
+        BigDecimal revenueThisWeek = metrics(weekRange).revenue();
+        BigDecimal revenueThisMonth = metrics(monthRange).revenue();
+        BigDecimal revenueThisYear = metrics(yearRange).revenue();
+        BigDecimal revenueLastMonth = metrics(lastMonthRange).revenue();
+        BigDecimal revenueLastYear = metrics(lastYearRange).revenue();
+        DailyDashboardMetrics selected = metrics(selectedRange);
+        BigDecimal revenueSelected = selected.revenue();
+
+        long totalOrders = selected.orders();
+        long completedOrders = selected.paidOrders();
+        long pendingOrders = selected.unpaidOrders();
+        long failedOrders = selected.failedOrders();
+        long seatsSold = selected.seatsSold();
 
         BigDecimal paymentRate = totalOrders > 0
                 ? BigDecimal.valueOf(completedOrders)
@@ -135,6 +173,11 @@ public class DashboardService {
         return dashboardRepository.getOrderStatusBreakdown(range.start(), range.end());
     }
 
+    /**
+     * One page of the order table. Pages after the first are addressed by the {@code cursor} returned with the
+     * previous page; {@code page} is then only echoed back. The total is counted at most once per
+     * {@code order-count-ttl-seconds} for the same filters, so it can trail recent orders.
+     */
     public PageDTO<OrderTableDTO> getOrderTable(LocalDate createdStart,
                                                 LocalDate createdEnd,
                                                 LocalDate paidStart,
@@ -142,6 +185,7 @@ public class DashboardService {
                                                 String paymentMethod,
                                                 String paymentStatus,
                                                 String search,
+                                                String cursor,
                                                 int page,
                                                 int size) {
         int safePage = Math.max(page, 0);
@@ -150,78 +194,84 @@ public class DashboardService {
         OffsetDateTime createdTo = toEndOfDay(createdEnd);
         OffsetDateTime paidFrom = toStartOfDay(paidStart);
         OffsetDateTime paidTo = toEndOfDay(paidEnd);
-        return dashboardRepository.getOrderTable(createdFrom, createdTo, paidFrom, paidTo,
-                sanitize(paymentMethod), sanitize(paymentStatus), sanitize(search), safePage, safeSize);
+        String method = sanitize(paymentMethod);
+        String status = sanitize(paymentStatus);
+        String query = sanitize(search);
+        OrderTableCursor after = OrderTableCursor.decode(cursor);
+        List<OrderTableDTO> rows = dashboardRepository.getOrderTable(createdFrom, createdTo, paidFrom, paidTo,
+                method, status, query, after, safePage * safeSize, safeSize + 1);
+        String nextCursor = null;
+        if (rows.size() > safeSize) {
+            rows = new ArrayList<>(rows.subList(0, safeSize));
+            OrderTableDTO last = rows.get(safeSize - 1);
+            OffsetDateTime sortAt = last.getPaidAt() != null ? last.getPaidAt() : last.getCreatedAt();
+            nextCursor = new OrderTableCursor(sortAt.toInstant(), last.getBookingId()).encode();
+        }
+        OrderCountKey countKey = new OrderCountKey(createdFrom, createdTo, paidFrom, paidTo, method, status, query);
+        long total = countOrders(countKey);
+        long seen = (long) safePage * safeSize + rows.size() + (nextCursor != null ? 1 : 0);
+        return PageDTO.of(rows, safePage, safeSize, Math.max(total, seen), nextCursor);
     }
 
-    public byte[] exportOrders(LocalDate createdStart,
-                               LocalDate createdEnd,
-                               LocalDate paidStart,
-                               LocalDate paidEnd,
-                               String paymentMethod,
-                               String paymentStatus,
-                               String search) {
+    private long countOrders(OrderCountKey key) {
+        long now = System.nanoTime();
+        synchronized (orderCounts) {
+            CachedCount cached = orderCounts.get(key);
+            if (cached != null && now - cached.countedAt() < orderCountTtlNanos) {
+                return cached.count();
+            }
+        }
+        long count = dashboardRepository.countOrderTable(key.createdFrom(), key.createdTo(), key.paidFrom(),
+                key.paidTo(), key.method(), key.status(), key.query());
+        synchronized (orderCounts) {
+            orderCounts.put(key, new CachedCount(count, now));
+        }
+        return count;
+    }
+
+    /**
+     * Writes the matching orders to {@code out} as they are read from the database. Workbook rows are flushed to a
+     * compressed temp file every {@value #EXPORT_WINDOW_ROWS} rows and columns have fixed widths, so memory use does
+     * not depend on the number of orders.
+     */
+    public void exportOrders(LocalDate createdStart,
+                             LocalDate createdEnd,
+                             LocalDate paidStart,
+                             LocalDate paidEnd,
+                             String paymentMethod,
+                             String paymentStatus,
+                             String search,
+                             ExportFormat format,
+                             OutputStream out) throws IOException {
         OffsetDateTime createdFrom = toStartOfDay(createdStart);
         OffsetDateTime createdTo = toEndOfDay(createdEnd);
         OffsetDateTime paidFrom = toStartOfDay(paidStart);
         OffsetDateTime paidTo = toEndOfDay(paidEnd);
-        List<OrderTableDTO> rows = dashboardRepository.getOrderTableForExport(createdFrom, createdTo, paidFrom, paidTo,
-                sanitize(paymentMethod), sanitize(paymentStatus), sanitize(search));
-        return buildExcel(rows);
-    }
-
-    private byte[] buildExcel(List<OrderTableDTO> rows) {
-        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Dashboard");
-            createHeader(sheet);
-            int rowIndex = 1;
-            for (OrderTableDTO dto : rows) {
-                Row row = sheet.createRow(rowIndex++);
-                writeCell(row, 0, dto.getBookingCode());
-                writeCell(row, 1, dto.getAccountNumber());
-                writeCell(row, 2, dto.getCreatedAt() != null ? dto.getCreatedAt().toString() : "");
-                writeCell(row, 3, dto.getDetail());
-                String createdBy = dto.getCreatedByStaffId() != null
-                        ? "Staff #" + dto.getCreatedByStaffId()
-                        : dto.getUserId() != null ? "User #" + dto.getUserId() : "";
-                writeCell(row, 4, createdBy);
-                writeCell(row, 5, dto.getCustomerEmail());
-                writeCell(row, 6, dto.getCustomerPhone());
-                writeCell(row, 7, dto.getFinalAmount() != null ? dto.getFinalAmount().toPlainString() : "0");
-                writeCell(row, 8, dto.getPaymentStatus());
-            }
-            for (int i = 0; i <= 8; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
-        } catch (IOException ex) {
-            throw new IllegalStateException("Cannot build dashboard Excel export", ex);
+        ExportWriter writer = format == ExportFormat.CSV ? new CsvExportWriter(out) : new ExcelExportWriter(out);
+        try (writer) {
+            writer.writeRow(EXPORT_TITLES);
+            dashboardRepository.streamOrderTableForExport(createdFrom, createdTo, paidFrom, paidTo,
+                    sanitize(paymentMethod), sanitize(paymentStatus), sanitize(search),
+                    dto -> writer.writeRow(exportValues(dto)));
+            writer.finish();
         }
     }
 
-    private void createHeader(Sheet sheet) {
-        Row header = sheet.createRow(0);
-        String[] titles = {
-                "Ma don hang",
-                "Ma thanh toan",
-                "Ngay tao",
-                "Chi tiet",
-                "Tao boi",
-                "Email nguoi mua",
-                "So dien thoai",
-                "Tien thanh toan",
-                "Trang thai"
+    private String[] exportValues(OrderTableDTO dto) {
+        String createdBy = dto.getCreatedByStaffId() != null
+                ? "Staff #" + dto.getCreatedByStaffId()
+                : dto.getUserId() != null ? "User #" + dto.getUserId() : "";
+        return new String[] {
+                dto.getBookingCode(),
+                dto.getAccountNumber(),
+                dto.getCreatedAt() != null ? dto.getCreatedAt().toString() : "",
+                dto.getDetail(),
+                createdBy,
+                dto.getCustomerEmail(),
+                dto.getCustomerPhone(),
+                dto.getFinalAmount() != null ? dto.getFinalAmount().toPlainString() : "0",
+                dto.getPaymentStatus()
         };
-        for (int i = 0; i < titles.length; i++) {
-            writeCell(header, i, titles[i]);
-        }
-    }
-
-    private void writeCell(Row row, int index, String value) {
-        Cell cell = row.createCell(index);
-        cell.setCellValue(value != null ? value : "");
     }
 
     private OffsetDateTime toStartOfDay(LocalDate date) {
@@ -242,6 +292,10 @@ public class DashboardService {
         return StringUtils.hasText(value) ? value.trim().toLowerCase() : null;
     }
 
+    private DailyDashboardMetrics metrics(DateRange range) {
+        return metricsService.between(range.start().toLocalDate(), range.end().toLocalDate());
+    }
+
     private DateRange resolveRange(LocalDate startDate, LocalDate endDate, OffsetDateTime now) {
         LocalDate fallback = now.toLocalDate();
         LocalDate safeStart = Objects.requireNonNullElse(startDate, Objects.requireNonNullElse(endDate, fallback));
@@ -316,8 +370,119 @@ public class DashboardService {
                 end.atStartOfDay(ZONE_ID).toOffsetDateTime());
     }
 
+    private record OrderCountKey(OffsetDateTime createdFrom,
+                                 OffsetDateTime createdTo,
+                                 OffsetDateTime paidFrom,
+                                 OffsetDateTime paidTo,
+                                 String method,
+                                 String status,
+                                 String query) {
+    }
+
+    private record CachedCount(long count, long countedAt) {
+    }
+
     private record DateRange(OffsetDateTime start, OffsetDateTime end) {
     }
-}
 
+    private interface ExportWriter extends AutoCloseable {
+
+        void writeRow(String[] values);
+
+        void finish() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class ExcelExportWriter implements ExportWriter {
 
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook;
+        private final Sheet sheet;
+        private int rowIndex;
+
+        ExcelExportWriter(OutputStream out) {
+            this.out = out;
+            this.workbook = new SXSSFWorkbook(EXPORT_WINDOW_ROWS);
+            this.workbook.setCompressTempFiles(true);
+            this.sheet = workbook.createSheet("Dashboard");
+            for (int i = 0; i < EXPORT_COLUMN_WIDTHS.length; i++) {
+                sheet.setColumnWidth(i, EXPORT_COLUMN_WIDTHS[i] * 256);
+            }
+        }
+
+        @Override
+        public void writeRow(String[] values) {
+            Row row = sheet.createRow(rowIndex++);
+            for (int i = 0; i < values.length; i++) {
+                row.createCell(i).setCellValue(values[i] != null ? values[i] : "");
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            workbook.write(out);
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV in UTF-8 with a byte order mark, so Excel shows Vietnamese text correctly.
+     */
+    private static final class CsvExportWriter implements ExportWriter {
+
+        private final Writer writer;
+
+        CsvExportWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            this.writer.write('\uFEFF');
+        }
+
+        @Override
+        public void writeRow(String[] values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writeField(values[i]);
+                }
+                writer.write("\r\n");
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.cinema.hub.backend.service;
+
+import com.cinema.hub.backend.dto.SeatMapDeltaResponse;
+import com.cinema.hub.backend.service.seat.SeatMapChangedEvent;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes seat map changes to browsers over Server-Sent Events. Each showtime has one channel: a change is
+ * turned into a single delta on the dispatcher thread and the same payload is queued for every subscriber,
+ * so the cost of a change does not grow with the number of open pages. Idle emitters hold no request thread.
+ * <p>
+ * Writes happen on a separate bounded sender pool, one drain at a time per subscriber so events stay in order.
+ * A subscriber whose queue overflows or whose write stalls past {@code send-timeout-ms} is dropped; it cannot
+ * hold up the dispatcher, the heartbeat or other subscribers.
+ */
+@Service
+@Slf4j
+public class SeatMapStreamService {
+
+    private static final String SEATS_EVENT = "seats";
+
+    private final SeatReservationService seatReservationService;
+    private final Map<Integer, ShowtimeChannel> channels = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService sender;
+    private final long emitterTimeoutMs;
+    private final long coalesceMs;
+    private final long sendTimeoutNanos;
+    private final int maxPendingEvents;
+
+    public SeatMapStreamService(SeatReservationService seatReservationService,
+                                @Value("${cinema.seat-stream.timeout-minutes:30}") long timeoutMinutes,
+                                @Value("${cinema.seat-stream.coalesce-ms:100}") long coalesceMs,
+                                @Value("${cinema.seat-stream.heartbeat-seconds:20}") long heartbeatSeconds,
+                                @Value("${cinema.seat-stream.sender-threads:8}") int senderThreads,
+                                @Value("${cinema.seat-stream.send-timeout-ms:5000}") long sendTimeoutMs,
+                                @Value("${cinema.seat-stream.max-pending-events:32}") int maxPendingEvents) {
+        this.seatReservationService = seatReservationService;
+        this.emitterTimeoutMs = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.coalesceMs = coalesceMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.maxPendingEvents = maxPendingEvents;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("seat-map-stream").daemon().factory());
+        this.sender = Executors.newFixedThreadPool(senderThreads,
+                Thread.ofPlatform().name("seat-map-send-", 1).daemon().factory());
+        this.dispatcher.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Opens a stream for the showtime. The first event carries the full seat map, later events only changes.
+     */
+    public SseEmitter subscribe(int showtimeId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        ShowtimeChannel channel = channels.compute(showtimeId, (id, existing) ->
+                existing != null ? existing : new ShowtimeChannel(id));
+        Subscriber subscriber = new Subscriber(channel, emitter);
+        channel.joining.add(subscriber);
+        emitter.onCompletion(subscriber::detach);
+        emitter.onTimeout(subscriber::detach);
+        emitter.onError(ex -> subscriber.detach());
+        scheduleFlush(channel);
+        return emitter;
+    }
+
+    @EventListener
+    public void onSeatMapChanged(SeatMapChangedEvent event) {
+        ShowtimeChannel channel = channels.get(event.showtimeId());
+        if (channel != null) {
+            scheduleFlush(channel);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        sender.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.close(null)));
+        channels.clear();
+    }
+
+    private void scheduleFlush(ShowtimeChannel channel) {
+        if (channel.flushScheduled.compareAndSet(false, true)) {
+            dispatcher.schedule(() -> flush(channel), coalesceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(ShowtimeChannel channel) {
+        channel.flushScheduled.set(false);
+        List<Subscriber> joining = new ArrayList<>();
+        for (Subscriber subscriber; (subscriber = channel.joining.poll()) != null; ) {
+            joining.add(subscriber);
+        }
+        try {
+            if (!channel.subscribers.isEmpty()) {
+                SeatMapDeltaResponse changes = seatReservationService.getSeatMapChanges(
+                        channel.showtimeId, channel.version);
+                if (changes.getVersion() != channel.version) {
+                    channel.subscribers.forEach(subscriber -> subscriber.enqueue(changes));
+                    channel.version = changes.getVersion();
+                }
+            }
+            if (!joining.isEmpty()) {
+                SeatMapDeltaResponse fullMap = seatReservationService.getSeatMapChanges(channel.showtimeId, 0L);
+                if (channel.subscribers.isEmpty()) {
+                    channel.version = fullMap.getVersion();
+                }
+                for (Subscriber subscriber : joining) {
+                    if (!subscriber.closed) {
+                        channel.subscribers.add(subscriber);
+                        subscriber.enqueue(fullMap);
+                    }
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Closing seat map stream for showtime {}: {}", channel.showtimeId, ex.getMessage());
+            joining.forEach(subscriber -> subscriber.close(ex));
+            channel.subscribers.forEach(subscriber -> subscriber.close(ex));
+        }
+        channels.computeIfPresent(channel.showtimeId, (id, existing) ->
+                existing == channel && channel.subscribers.isEmpty() && channel.joining.isEmpty() ? null : existing);
+    }
+
+    private void heartbeat() {
+        long now = System.nanoTime();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> {
+            if (subscriber.isStalled(now)) {
+                log.debug("Dropping stalled seat map subscriber of showtime {}", channel.showtimeId);
+                subscriber.close(null);
+            } else {
+                subscriber.enqueue(null);
+            }
+        }));
+    }
+
+    private static final class ShowtimeChannel {
+
+        private final int showtimeId;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final Queue<Subscriber> joining = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private long version;
+
+        private ShowtimeChannel(int showtimeId) {
+            this.showtimeId = showtimeId;
+        }
+    }
+
+    /**
+     * One browser's emitter with its own ordered outbox; empty entries are heartbeats.
+     */
+    private final class Subscriber {
+
+        private final ShowtimeChannel channel;
+        private final SseEmitter emitter;
+        private final Queue<Optional<SeatMapDeltaResponse>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long sendStartedAt;
+        private volatile boolean closed;
+
+        private Subscriber(ShowtimeChannel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SeatMapDeltaResponse payload) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                log.debug("Dropping seat map subscriber of showtime {}: {} events behind",
+                        channel.showtimeId, maxPendingEvents);
+                close(null);
+                return;
+            }
+            pending.add(Optional.ofNullable(payload));
+            scheduleDrain();
+        }
+
+        boolean isStalled(long now) {
+            long started = sendStartedAt;
+            return started != 0 && now - started > sendTimeoutNanos;
+        }
+
+        void detach() {
+            closed = true;
+            channel.subscribers.remove(this);
+            channel.joining.remove(this);
+            pending.clear();
+        }
+
+        void close(Throwable error) {
+            if (closed) {
+                return;
+            }
+            detach();
+            try {
+                if (error != null) {
+                    emitter.completeWithError(error);
+                } else {
+                    emitter.complete();
+                }
+            } catch (RuntimeException ignored) {
+                // the response is already gone
+            }
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                draining.set(false);
+                close(null);
+            }
+        }
+
+        private void drain() {
+            try {
+                for (Optional<SeatMapDeltaResponse> next; !closed && (next = pending.poll()) != null; ) {
+                    pendingCount.decrementAndGet();
+                    sendStartedAt = System.nanoTime();
+                    try {
+                        emitter.send(next.isPresent() ? seatsEvent(next.get()) : SseEmitter.event().comment("ping"));
+                    } catch (IOException | RuntimeException ex) {
+                        detach();
+                    } finally {
+                        sendStartedAt = 0;
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private SseEmitter.SseEventBuilder seatsEvent(SeatMapDeltaResponse payload) {
+            return SseEmitter.event()
+                    .name(SEATS_EVENT)
+                    .id(Long.toString(payload.getVersion()))
+                    .data(payload);
+        }
+    }
+}
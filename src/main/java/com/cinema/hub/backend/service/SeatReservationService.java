@@ -7,36 +7,42 @@ import com.cinema.hub.backend.config.DeadlockRetryable;
 import com.cinema.hub.backend.dto.SeatHoldRequest;
 import com.cinema.hub.backend.dto.SeatHoldResponse;
 import com.cinema.hub.backend.dto.SeatMapItemDto;
-import com.cinema.hub.backend.dto.SeatStatusRow;
-import com.cinema.hub.backend.dto.SeatBookingBlock;
+import com.cinema.hub.backend.dto.SeatMapDeltaResponse;
 import com.cinema.hub.backend.entity.Booking;
 import com.cinema.hub.backend.entity.BookingSeat;
-import com.cinema.hub.backend.entity.Seat;
 import com.cinema.hub.backend.entity.SeatHold;
-import com.cinema.hub.backend.entity.Ticket;
 import com.cinema.hub.backend.entity.UserAccount;
-import com.cinema.hub.backend.entity.ShowtimeSeat;
 import com.cinema.hub.backend.entity.enums.BookingStatus;
 import com.cinema.hub.backend.entity.enums.PaymentStatus;
-import com.cinema.hub.backend.entity.enums.SeatHoldStatus;
 import com.cinema.hub.backend.entity.enums.ShowtimeSeatStatus;
+import com.cinema.hub.backend.payment.service.TicketPdfCache;
 import com.cinema.hub.backend.repository.BookingRepository;
 import com.cinema.hub.backend.repository.BookingSeatRepository;
+import com.cinema.hub.backend.repository.BulkWriteRepository;
+import com.cinema.hub.backend.repository.SeatHoldJdbcRepository;
 import com.cinema.hub.backend.repository.SeatHoldRepository;
-import com.cinema.hub.backend.repository.SeatRepository;
-import com.cinema.hub.backend.repository.ShowtimeRepository;
 import com.cinema.hub.backend.repository.ShowtimeSeatRepository;
 import com.cinema.hub.backend.repository.TicketRepository;
 import com.cinema.hub.backend.repository.UserAccountRepository;
+import com.cinema.hub.backend.service.exception.SeatConflictException;
 import com.cinema.hub.backend.service.exception.SeatSelectionException;
+import com.cinema.hub.backend.service.seat.AuditoriumSeatTopology;
+import com.cinema.hub.backend.service.seat.HoldExpiryWheel;
+import com.cinema.hub.backend.service.seat.SeatClaim;
+import com.cinema.hub.backend.service.seat.SeatMapSnapshot;
+import com.cinema.hub.backend.service.seat.SeatSnapshot;
+import com.cinema.hub.backend.service.seat.SeatStateEngine;
+import com.cinema.hub.backend.service.seat.SeatTopologyIndex;
 import com.cinema.hub.backend.util.TimeProvider;
 import com.cinema.hub.backend.util.PaymentMethodNormalizer;
 import com.cinema.hub.backend.web.view.CheckoutPageView;
 import com.cinema.hub.backend.web.view.SeatSelectionItemView;
 import com.cinema.hub.backend.web.view.SeatSelectionShowtimeView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
@@ -45,38 +51,84 @@ import org.springframework.util.StringUtils;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class SeatReservationService {
 
+    private static final int HOLD_EXPIRY_BATCH_SIZE = 500;
+
     private final ShowtimeSeatRepository showtimeSeatRepository;
-    private final ShowtimeRepository showtimeRepository;
     private final SeatHoldRepository seatHoldRepository;
+    private final SeatHoldJdbcRepository seatHoldJdbcRepository;
     private final BookingSeatRepository bookingSeatRepository;
     private final BookingRepository bookingRepository;
     private final TicketRepository ticketRepository;
     private final UserAccountRepository userAccountRepository;
-    private final SeatRepository seatRepository;
+    private final SeatTopologyIndex seatTopologyIndex;
+    private final UniqueCodeGenerator uniqueCodeGenerator;
+    private final BulkWriteRepository bulkWriteRepository;
+    private final SeatStateEngine seatStateEngine;
+    private final HoldExpiryWheel holdExpiryWheel;
+    private final TicketPdfCache ticketPdfCache;
+    private final Timer holdTimer;
+
+    public SeatReservationService(ShowtimeSeatRepository showtimeSeatRepository,
+                                  SeatHoldRepository seatHoldRepository,
+                                  SeatHoldJdbcRepository seatHoldJdbcRepository,
+                                  BookingSeatRepository bookingSeatRepository,
+                                  BookingRepository bookingRepository,
+                                  TicketRepository ticketRepository,
+                                  UserAccountRepository userAccountRepository,
+                                  SeatTopologyIndex seatTopologyIndex,
+                                  UniqueCodeGenerator uniqueCodeGenerator,
+                                  BulkWriteRepository bulkWriteRepository,
+                                  SeatStateEngine seatStateEngine,
+                                  HoldExpiryWheel holdExpiryWheel,
+                                  TicketPdfCache ticketPdfCache,
+                                  MeterRegistry meterRegistry) {
+        this.showtimeSeatRepository = showtimeSeatRepository;
+        this.seatHoldRepository = seatHoldRepository;
+        this.seatHoldJdbcRepository = seatHoldJdbcRepository;
+        this.bookingSeatRepository = bookingSeatRepository;
+        this.bookingRepository = bookingRepository;
+        this.ticketRepository = ticketRepository;
+        this.userAccountRepository = userAccountRepository;
+        this.seatTopologyIndex = seatTopologyIndex;
+        this.uniqueCodeGenerator = uniqueCodeGenerator;
+        this.bulkWriteRepository = bulkWriteRepository;
+        this.seatStateEngine = seatStateEngine;
+        this.holdExpiryWheel = holdExpiryWheel;
+        this.ticketPdfCache = ticketPdfCache;
+        this.holdTimer = Timer.builder("cinema.seat.hold")
+                .description("Hold placement, from in-memory claim to the guarded insert")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
 
     @Transactional(readOnly = true)
     public List<SeatMapItemDto> getSeatMap(int showtimeId) {
-        showtimeRepository.findById(showtimeId)
-                .orElseThrow(() -> new EntityNotFoundException("Showtime not found: " + showtimeId));
-        OffsetDateTime now = TimeProvider.now();
-        List<SeatStatusRow> rows = showtimeSeatRepository.fetchSeatStatusRows(showtimeId, now);
+        return getSeatMapChanges(showtimeId, 0L).getSeats();
+    }
+
+    /**
+     * Seats whose status changed after {@code since}, served from the in-memory seat state.
+     */
+    @Transactional(readOnly = true)
+    public SeatMapDeltaResponse getSeatMapChanges(int showtimeId, long since) {
+        SeatMapSnapshot snapshot = seatStateEngine.snapshot(showtimeId, since);
         Set<Integer> disabledSeatIds = loadDisabledSeatIds();
-        return rows.stream()
-                .map(row -> toSeatMapItem(row, disabledSeatIds))
+        List<SeatMapItemDto> seats = snapshot.seats().stream()
+                .map(seat -> toSeatMapItem(seat, disabledSeatIds))
                 .toList();
+        return new SeatMapDeltaResponse(snapshot.version(), seats);
     }
 
     @Transactional(readOnly = true)
@@ -168,17 +220,14 @@ public class SeatReservationService {
         Set<Integer> expandedSeatIds = expandSeatIdsForCouples(uniqueSeatIds);
         OffsetDateTime now = TimeProvider.now();
 
-        if (StringUtils.hasText(request.getPreviousHoldToken())) {
-            releaseHoldToken(parseHoldToken(request.getPreviousHoldToken()));
-        }
-
-        List<SeatHold> newHolds = prepareSeatHolds(request.getShowtimeId(), expandedSeatIds, request.getUserId(), now);
-
-        seatHoldRepository.saveAll(newHolds);
+        UUID previousToken = StringUtils.hasText(request.getPreviousHoldToken())
+                ? parseHoldToken(request.getPreviousHoldToken())
+                : null;
 
-        UUID token = newHolds.get(0).getHoldToken();
-        OffsetDateTime expiresAt = newHolds.get(0).getExpiresAt();
-        return new SeatHoldResponse(token.toString(), expiresAt);
+        SeatClaim claim = holdTimer.record(() -> placeSeatHolds(request.getShowtimeId(), expandedSeatIds,
+                request.getUserId(), previousToken, now));
+        holdExpiryWheel.schedule(claim.token(), claim.expiresAt());
+        return new SeatHoldResponse(claim.token().toString(), claim.expiresAt());
     }
 
     @DeadlockRetryable
@@ -204,11 +253,15 @@ public class SeatReservationService {
         Booking booking = buildBookingFromHolds(holds, bookingUser, createdByStaff, request.getPaymentMethod(), now);
         booking = bookingRepository.save(booking);
 
-        List<BookingSeat> bookingSeats = persistBookingSeats(booking, holds);
-        persistTickets(booking, bookingSeats, now);
+        removeCancelledSeatLinks(holds);
+        persistBookingSeats(booking, holds);
+        persistTickets(booking, now);
+        seatStateEngine.onBookingCreated(booking.getShowtime().getId(), token, booking.getId(),
+                bookingUser != null ? bookingUser.getId() : null,
+                booking.getPaymentStatus() == PaymentStatus.Paid);
         releaseHoldToken(token);
         if (holdOwner != null && holdOwner.getId() != null) {
-            seatHoldRepository.releaseByUserId(holdOwner.getId());
+            releaseHoldsForUser(holdOwner.getId());
         }
 
         return new CreateBookingResponse(booking.getId(), booking.getBookingCode());
@@ -237,14 +290,32 @@ public class SeatReservationService {
 
         ticketRepository.deleteByBookingSeat_Booking_Id(bookingId);
         bookingSeatRepository.deleteByBookingId(bookingId);
+        seatStateEngine.onBookingCancelled(booking.getShowtime().getId(), bookingId);
+        ticketPdfCache.invalidate(bookingId);
 
         return new CancelBookingResponse(booking.getId(), booking.getBookingStatus(), booking.getPaymentStatus(), refundTriggered);
     }
 
+    /**
+     * Expires the given hold tokens in batched updates; tokens already released or booked are left untouched.
+     */
     @Transactional
-    public int expireSeatHolds() {
-        OffsetDateTime now = TimeProvider.now();
-        return seatHoldRepository.expireStaleHolds(now);
+    public int expireHolds(Collection<UUID> tokens) {
+        if (CollectionUtils.isEmpty(tokens)) {
+            return 0;
+        }
+        List<UUID> pending = new ArrayList<>(tokens);
+        int expired = 0;
+        for (int from = 0; from < pending.size(); from += HOLD_EXPIRY_BATCH_SIZE) {
+            List<UUID> batch = pending.subList(from, Math.min(from + HOLD_EXPIRY_BATCH_SIZE, pending.size()));
+            expired += seatHoldRepository.expireByTokens(batch);
+        }
+        seatStateEngine.onHoldsExpired(pending);
+        return expired;
+    }
+
+    public int purgeSeatStates() {
+        return seatStateEngine.purgeExpired(TimeProvider.now());
     }
 
     @Transactional
@@ -253,6 +324,7 @@ public class SeatReservationService {
             return;
         }
         seatHoldRepository.releaseByUserId(userId);
+        seatStateEngine.onUserHoldsReleased(userId);
     }
 
     @Transactional
@@ -261,100 +333,57 @@ public class SeatReservationService {
         releaseHoldToken(token);
     }
 
-    private List<SeatHold> prepareSeatHolds(int showtimeId,
-                                            Set<Integer> seatIds,
-                                            Integer userId,
-                                            OffsetDateTime now) {
+    private SeatClaim placeSeatHolds(int showtimeId,
+                                     Set<Integer> seatIds,
+                                     Integer userId,
+                                     UUID previousToken,
+                                     OffsetDateTime now) {
         if (seatIds.isEmpty()) {
             throw new SeatSelectionException("Seat list cannot be empty");
         }
 
-        List<com.cinema.hub.backend.entity.ShowtimeSeat> lockedSeats =
-                showtimeSeatRepository.lockSeatsForHold(showtimeId, seatIds);
-
-        if (lockedSeats.size() != seatIds.size()) {
-            throw new SeatSelectionException("One or more seats do not belong to the showtime");
-        }
-
         Set<Integer> disabledSeatIds = loadDisabledSeatIds();
-        ensureSeatsEnabled(lockedSeats, disabledSeatIds);
-
-        Set<Integer> showtimeSeatIds = lockedSeats.stream()
-                .map(com.cinema.hub.backend.entity.ShowtimeSeat::getId)
-                .collect(Collectors.toSet());
-
-        ticketRepository.deleteCancelledTicketsByShowtimeSeatIds(showtimeSeatIds);
-        bookingSeatRepository.deleteCancelledSeatsByShowtimeSeatIds(showtimeSeatIds);
+        ensureSeatsEnabled(seatIds, disabledSeatIds);
 
-        detectActiveHolds(showtimeSeatIds, now, userId);
-        detectActiveBookings(showtimeSeatIds, userId);
-
-        UserAccount user = userId != null ? loadUser(userId) : null;
-
-        UUID token = UUID.randomUUID();
-        OffsetDateTime expiresAt = now.plusMinutes(10);
-        List<SeatHold> holds = new ArrayList<>();
-        for (com.cinema.hub.backend.entity.ShowtimeSeat seat : lockedSeats) {
-            String status = seat.getStatus();
-            if (status != null && !"AVAILABLE".equalsIgnoreCase(status)) {
-                throw new SeatSelectionException("Seat " + seat.getSeat().getId() + " is not sellable");
-            }
-            holds.add(SeatHold.builder()
-                    .showtimeSeat(seat)
-                    .holdToken(token)
-                    .user(user)
-                    .createdAt(now)
-                    .expiresAt(expiresAt)
-                    .status(SeatHoldStatus.Held)
-                    .build());
-        }
-        return holds;
-    }
-
-    private void detectActiveBookings(Set<Integer> showtimeSeatIds, Integer userId) {
-        if (showtimeSeatIds.isEmpty()) {
-            return;
+        SeatClaim claim = seatStateEngine.claim(showtimeId, seatIds, userId, now, now.plusMinutes(10));
+        if (!claim.releasableBookingIds().isEmpty()) {
+            // cancelling goes through the Booking entity so its listeners run; rare, and it must be flushed
+            // before the guarded insert sees the freed seats
+            cancelUserBookings(claim.releasableBookingIds());
+            seatHoldRepository.flush();
         }
-        List<SeatBookingBlock> blockingBookings = bookingSeatRepository.findBlockingBookings(showtimeSeatIds);
-        if (blockingBookings.isEmpty()) {
-            return;
+        Set<UUID> releasedTokens = new HashSet<>(claim.supersededTokens());
+        if (previousToken != null) {
+            releasedTokens.add(previousToken);
+            seatStateEngine.onHoldReleased(previousToken);
         }
-        Set<Integer> releasable = new HashSet<>();
-        Set<Integer> blockingSeatIds = new HashSet<>();
-        for (com.cinema.hub.backend.dto.SeatBookingBlock block : blockingBookings) {
-            if (block.paymentStatus() == PaymentStatus.Paid) {
-                blockingSeatIds.add(block.seatId());
-                continue;
-            }
-            if (userId != null && block.bookingUserId() != null && block.bookingUserId().equals(userId)) {
-                releasable.add(block.bookingId());
-                continue;
+
+        List<Integer> placed;
+        try {
+            placed = seatHoldJdbcRepository.placeHolds(claim.token(), userId, now,
+                    claim.expiresAt(), claim.showtimeSeatIds(), releasedTokens, claim.expiredTokens());
+        } catch (DataIntegrityViolationException ex) {
+            throw new SeatConflictException(claim.seatIds());
+        }
+        if (placed.size() != claim.showtimeSeatIds().size()) {
+            Set<Integer> placedIds = new HashSet<>(placed);
+            List<Integer> conflicts = new ArrayList<>();
+            for (int i = 0; i < claim.showtimeSeatIds().size(); i++) {
+                if (!placedIds.contains(claim.showtimeSeatIds().get(i))) {
+                    conflicts.add(claim.seatIds().get(i));
+                }
             }
-            blockingSeatIds.add(block.seatId());
-        }
-        if (!releasable.isEmpty()) {
-            cancelUserBookings(releasable);
-        }
-        if (!blockingSeatIds.isEmpty()) {
-            throw new SeatSelectionException("Seat already held");
+            throw new SeatConflictException(conflicts);
         }
+        return claim;
     }
 
-    private void detectActiveHolds(Set<Integer> showtimeSeatIds, OffsetDateTime now, Integer userId) {
-        List<SeatHold> activeHolds = seatHoldRepository.findActiveHoldsBySeatIds(showtimeSeatIds, now);
-        if (activeHolds.isEmpty()) {
-            return;
-        }
-        Set<UUID> releasableTokens = new HashSet<>();
-        for (SeatHold hold : activeHolds) {
-            Integer holderId = hold.getUser() != null ? hold.getUser().getId() : null;
-            if (holderId != null && userId != null && holderId.equals(userId)) {
-                releasableTokens.add(hold.getHoldToken());
-                continue;
-            }
-            throw new SeatSelectionException("Seat already held");
-        }
-        releasableTokens.forEach(seatHoldRepository::releaseByToken);
+    private void removeCancelledSeatLinks(List<SeatHold> holds) {
+        Set<Integer> showtimeSeatIds = holds.stream()
+                .map(hold -> hold.getShowtimeSeat().getId())
+                .collect(Collectors.toSet());
+        ticketRepository.deleteCancelledTicketsByShowtimeSeatIds(showtimeSeatIds);
+        bookingSeatRepository.deleteCancelledSeatsByShowtimeSeatIds(showtimeSeatIds);
     }
 
     private void validateHoldOwnership(List<SeatHold> holds, Integer userId) {
@@ -399,36 +428,16 @@ public class SeatReservationService {
                 .build();
     }
 
-    private List<BookingSeat> persistBookingSeats(Booking booking, List<SeatHold> holds) {
-        List<BookingSeat> bookingSeats = new ArrayList<>();
-        for (SeatHold hold : holds) {
-            bookingSeats.add(BookingSeat.builder()
-                    .booking(booking)
-                    .showtimeSeat(hold.getShowtimeSeat())
-                    .unitPrice(hold.getShowtimeSeat().getEffectivePrice())
-                    .discountAmount(BigDecimal.ZERO)
-                    .finalPrice(hold.getShowtimeSeat().getEffectivePrice())
-                    .seatTag(null)
-                    .appliedPromotionCode(null)
-                    .appliedPromotionNote(null)
-                    .build());
-        }
-        return bookingSeatRepository.saveAll(bookingSeats);
+    private void persistBookingSeats(Booking booking, List<SeatHold> holds) {
+        List<Integer> showtimeSeatIds = holds.stream()
+                .map(hold -> hold.getShowtimeSeat().getId())
+                .toList();
+        bookingRepository.flush();
+        bulkWriteRepository.insertBookingSeats(booking.getId(), showtimeSeatIds);
     }
 
-    private void persistTickets(Booking booking, List<BookingSeat> bookingSeats, OffsetDateTime now) {
-        List<Ticket> tickets = new ArrayList<>();
-        for (BookingSeat bookingSeat : bookingSeats) {
-            String ticketCode = "TKT-" + booking.getBookingCode() + "-" + bookingSeat.getShowtimeSeat().getSeat().getId();
-            tickets.add(Ticket.builder()
-                    .bookingSeat(bookingSeat)
-                    .ticketCode(ticketCode)
-                    .qrCodeData("BOOKING:" + booking.getBookingCode() + ";SEAT:" +
-                            bookingSeat.getShowtimeSeat().getSeat().getRowLabel() + bookingSeat.getShowtimeSeat().getSeat().getSeatNumber())
-                    .issuedAt(now)
-                    .build());
-        }
-        ticketRepository.saveAll(tickets);
+    private void persistTickets(Booking booking, OffsetDateTime now) {
+        bulkWriteRepository.insertTickets(booking.getId(), booking.getBookingCode(), now);
     }
 
     private SeatSelectionItemView toSeatSelectionItem(SeatHold hold) {
@@ -440,100 +449,62 @@ public class SeatReservationService {
                 .build();
     }
 
-    private SeatMapItemDto toSeatMapItem(SeatStatusRow row, Set<Integer> disabledSeatIds) {
-        String status = resolveSeatStatus(row, disabledSeatIds);
+    private SeatMapItemDto toSeatMapItem(SeatSnapshot seat, Set<Integer> disabledSeatIds) {
+        String status = disabledSeatIds.contains(seat.seatId()) ? "DISABLED" : seat.status();
         boolean selectable = "AVAILABLE".equals(status);
-        String seatLabel = row.rowLabel() + row.seatNumber();
-        Integer ownerId = row.holdUserId() != null ? row.holdUserId() : row.bookingUserId();
+        String seatLabel = seat.rowLabel() + seat.seatNumber();
         return SeatMapItemDto.builder()
-                .seatId(row.seatId())
-                .rowLabel(row.rowLabel())
-                .seatNumber(row.seatNumber())
+                .seatId(seat.seatId())
+                .rowLabel(seat.rowLabel())
+                .seatNumber(seat.seatNumber())
                 .seatLabel(seatLabel)
-                .seatType(row.seatTypeName())
-                .coupleGroupId(resolveCoupleGroupId(row))
-                .price(row.effectivePrice())
+                .seatType(seat.seatType())
+                .coupleGroupId(resolveCoupleGroupId(seat))
+                .price(seat.price())
                 .status(status)
                 .selectable(selectable)
-                .holdUserId(ownerId)
+                .holdUserId(seat.ownerUserId())
                 .build();
     }
 
-    private String resolveCoupleGroupId(SeatStatusRow row) {
-        if (row.coupleGroupId() != null && !row.coupleGroupId().isBlank()) {
-            return row.coupleGroupId();
-        }
-        if ("Couple".equalsIgnoreCase(row.seatTypeName())
-                && row.rowLabel() != null
-                && row.seatNumber() != null) {
-            int baseSeatNumber = row.seatNumber() % 2 == 0 ? row.seatNumber() - 1 : row.seatNumber();
-            return row.rowLabel() + "-" + baseSeatNumber;
+    private String resolveCoupleGroupId(SeatSnapshot seat) {
+        if ("Couple".equalsIgnoreCase(seat.seatType())
+                && seat.rowLabel() != null
+                && seat.seatNumber() != null) {
+            int baseSeatNumber = seat.seatNumber() % 2 == 0 ? seat.seatNumber() - 1 : seat.seatNumber();
+            return seat.rowLabel() + "-" + baseSeatNumber;
         }
         return null;
     }
 
-    private String resolveSeatStatus(SeatStatusRow row, Set<Integer> disabledSeatIds) {
-        if (disabledSeatIds.contains(row.seatId())) {
-            return "DISABLED";
-        }
-        if (row.holdStatus() != null) {
-            return "HELD";
-        }
-        if (row.bookingStatus() != null) {
-            return row.paymentStatus() == PaymentStatus.Paid ? "SOLD" : "HELD";
-        }
-        return "AVAILABLE".equalsIgnoreCase(row.seatStatus()) ? "AVAILABLE" : "DISABLED";
-    }
-
     private Set<Integer> expandSeatIdsForCouples(Set<Integer> requestedSeatIds) {
         if (requestedSeatIds.isEmpty()) {
             return requestedSeatIds;
         }
-        List<Seat> seats = seatRepository.findAllById(requestedSeatIds);
-        if (seats.size() != requestedSeatIds.size()) {
-            throw new SeatSelectionException("One or more seats do not exist");
-        }
         Set<Integer> expandedIds = new HashSet<>(requestedSeatIds);
-        Set<String> processedGroups = new HashSet<>();
-        for (Seat seat : seats) {
-            if (!isCoupleSeat(seat)) {
-                continue;
+        for (Integer seatId : requestedSeatIds) {
+            AuditoriumSeatTopology topology = seatId != null ? seatTopologyIndex.forSeat(seatId) : null;
+            if (topology == null) {
+                throw new SeatSelectionException("One or more seats do not exist");
             }
-            String groupId = seat.getResolvedCoupleGroupId();
-            if (groupId == null || !processedGroups.add(groupId)) {
-                continue;
+            int partnerSeatId = topology.partnerOf(seatId);
+            if (partnerSeatId != AuditoriumSeatTopology.NO_PARTNER) {
+                expandedIds.add(partnerSeatId);
             }
-            Integer auditoriumId = seat.getAuditorium() != null ? seat.getAuditorium().getId() : null;
-            if (auditoriumId == null || seat.getSeatNumber() == null || seat.getRowLabel() == null) {
-                continue;
-            }
-            int baseSeatNumber = seat.getSeatNumber() % 2 == 0 ? seat.getSeatNumber() - 1 : seat.getSeatNumber();
-            seatRepository.findByAuditorium_IdAndRowLabelIgnoreCaseAndSeatNumber(
-                            auditoriumId, seat.getRowLabel(), baseSeatNumber)
-                    .ifPresent(partner -> expandedIds.add(partner.getId()));
-            seatRepository.findByAuditorium_IdAndRowLabelIgnoreCaseAndSeatNumber(
-                            auditoriumId, seat.getRowLabel(), baseSeatNumber + 1)
-                    .ifPresent(partner -> expandedIds.add(partner.getId()));
         }
         return expandedIds;
     }
 
-    private boolean isCoupleSeat(Seat seat) {
-        return seat.getSeatType() != null
-                && seat.getSeatType().getName() != null
-                && "Couple".equalsIgnoreCase(seat.getSeatType().getName());
-    }
-
     private Set<Integer> loadDisabledSeatIds() {
         return Set.of();
     }
 
-    private void ensureSeatsEnabled(List<ShowtimeSeat> seats, Set<Integer> disabledSeatIds) {
+    private void ensureSeatsEnabled(Set<Integer> seatIds, Set<Integer> disabledSeatIds) {
         if (disabledSeatIds.isEmpty()) {
             return;
         }
-        for (ShowtimeSeat showtimeSeat : seats) {
-            if (disabledSeatIds.contains(showtimeSeat.getSeat().getId())) {
+        for (Integer seatId : seatIds) {
+            if (disabledSeatIds.contains(seatId)) {
                 throw new SeatSelectionException("Seat disabled for this format");
             }
         }
@@ -560,14 +531,11 @@ public class SeatReservationService {
 
     private void releaseHoldToken(UUID token) {
         seatHoldRepository.releaseByToken(token);
+        seatStateEngine.onHoldReleased(token);
     }
 
     private String generateBookingCode() {
-        String code;
-        do {
-            code = "BK-" + ThreadLocalRandom.current().nextInt(100000, 999999);
-        } while (bookingRepository.existsByBookingCode(code));
-        return code;
+        return uniqueCodeGenerator.nextBookingCode();
     }
 
     private void cancelUserBookings(Set<Integer> bookingIds) {
@@ -587,6 +555,7 @@ public class SeatReservationService {
                 bookingRepository.save(booking);
                 ticketRepository.deleteByBookingSeat_Booking_Id(bookingId);
                 bookingSeatRepository.deleteByBookingId(bookingId);
+                seatStateEngine.onBookingCancelled(booking.getShowtime().getId(), bookingId);
                 log.info("Released pending booking {} for user {}", booking.getBookingCode(),
                         booking.getUser() != null ? booking.getUser().getId() : null);
             });
@@ -4,6 +4,7 @@ import com.cinema.hub.backend.dto.common.PageResponse;
 import com.cinema.hub.backend.dto.showtime.ShowtimeGroupedResponse;
 import com.cinema.hub.backend.dto.showtime.ShowtimeRequest;
 import com.cinema.hub.backend.dto.showtime.ShowtimeResponse;
+import com.cinema.hub.backend.dto.showtime.ShowtimeScheduleJobResponse;
 import com.cinema.hub.backend.web.view.SeatSelectionShowtimeView;
 import java.time.LocalDate;
 import java.util.List;
@@ -13,6 +14,10 @@ public interface ShowtimeService {
 
     List<ShowtimeResponse> create(ShowtimeRequest request);
 
+    ShowtimeScheduleJobResponse startScheduleJob(ShowtimeRequest request);
+
+    ShowtimeScheduleJobResponse getScheduleJob(String jobId);
+
     ShowtimeResponse update(int id, ShowtimeRequest request);
 
     ShowtimeResponse get(int id);
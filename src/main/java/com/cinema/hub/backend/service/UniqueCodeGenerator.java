@@ -0,0 +1,81 @@
+package com.cinema.hub.backend.service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collision-free identifiers without a database round trip: 41 bits of milliseconds since 2024-01-01,
+ * 5 bits of node id and 7 bits of per-millisecond sequence. The result fits in 53 bits, which keeps it a
+ * valid PayOS order code, and is rendered in Crockford base32 for booking codes.
+ */
+@Component
+public class UniqueCodeGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 5;
+    static final int SEQUENCE_BITS = 7;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    // (elapsed millis << SEQUENCE_BITS) | sequence of the last issued id
+    private final AtomicLong lastState = new AtomicLong();
+
+    @Autowired
+    public UniqueCodeGenerator(@Value("${cinema.code-generator.node-id:0}") int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    UniqueCodeGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("cinema.code-generator.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = lastState.get();
+            long elapsed = Math.max(0, clock.getAsLong() - EPOCH_MILLIS);
+            long lastElapsed = last >>> SEQUENCE_BITS;
+            long next;
+            if (elapsed > lastElapsed) {
+                next = elapsed << SEQUENCE_BITS;
+            } else {
+                // same millisecond or clock moved backwards: keep counting on the last timestamp
+                next = last + 1;
+            }
+            if (lastState.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & SEQUENCE_MASK;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    public String nextBookingCode() {
+        return "BK-" + toCrockford(nextId());
+    }
+
+    public long nextOrderCode() {
+        return nextId();
+    }
+
+    static String toCrockford(long value) {
+        char[] buffer = new char[13];
+        int index = buffer.length;
+        do {
+            buffer[--index] = CROCKFORD[(int) (value & 31)];
+            value >>>= 5;
+        } while (value != 0);
+        return new String(buffer, index, buffer.length - index);
+    }
+}
@@ -0,0 +1,17 @@
+package com.cinema.hub.backend.service.exception;
+
+import java.util.List;
+
+public class SeatConflictException extends SeatSelectionException {
+
+    private final List<Integer> seatIds;
+
+    public SeatConflictException(List<Integer> seatIds) {
+        super("Seat already held");
+        this.seatIds = List.copyOf(seatIds);
+    }
+
+    public List<Integer> getSeatIds() {
+        return seatIds;
+    }
+}
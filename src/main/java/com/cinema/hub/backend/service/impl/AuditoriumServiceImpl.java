@@ -13,6 +13,7 @@ import com.cinema.hub.backend.repository.BookingRepository;
 import com.cinema.hub.backend.repository.SeatRepository;
 import com.cinema.hub.backend.repository.ShowtimeRepository;
 import com.cinema.hub.backend.service.AuditoriumService;
+import com.cinema.hub.backend.service.seat.SeatTopologyIndex;
 import com.cinema.hub.backend.specification.AuditoriumSpecifications;
 import com.cinema.hub.backend.util.TimeProvider;
 import com.cinema.hub.backend.util.SeatLayoutCalculator;
@@ -45,6 +46,7 @@ public class AuditoriumServiceImpl implements AuditoriumService {
     private final SeatRepository seatRepository;
     private final ShowtimeRepository showtimeRepository;
     private final BookingRepository bookingRepository;
+    private final SeatTopologyIndex seatTopologyIndex;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -53,12 +55,14 @@ public class AuditoriumServiceImpl implements AuditoriumService {
                                  AuditoriumMapper auditoriumMapper,
                                  SeatRepository seatRepository,
                                  ShowtimeRepository showtimeRepository,
-                                 BookingRepository bookingRepository) {
+                                 BookingRepository bookingRepository,
+                                 SeatTopologyIndex seatTopologyIndex) {
         this.auditoriumRepository = auditoriumRepository;
         this.auditoriumMapper = auditoriumMapper;
         this.seatRepository = seatRepository;
         this.showtimeRepository = showtimeRepository;
         this.bookingRepository = bookingRepository;
+        this.seatTopologyIndex = seatTopologyIndex;
     }
 
     @Override
@@ -121,6 +125,7 @@ public class AuditoriumServiceImpl implements AuditoriumService {
         try {
             seatRepository.deleteByAuditorium_Id(id);
             auditoriumRepository.delete(auditorium);
+            seatTopologyIndex.invalidate(id);
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.CONFLICT,
                     "Không thể xóa phòng chiếu đang được sử dụng.");
@@ -167,6 +172,7 @@ public class AuditoriumServiceImpl implements AuditoriumService {
         Integer rows = auditorium.getNumberOfRows();
         Integer columns = auditorium.getNumberOfColumns();
         if (rows == null || rows <= 0 || columns == null || columns <= 0) {
+            seatTopologyIndex.invalidate(auditorium.getId());
             return;
         }
 
@@ -204,6 +210,7 @@ public class AuditoriumServiceImpl implements AuditoriumService {
             }
         }
         seatRepository.saveAll(seats);
+        seatTopologyIndex.register(auditorium.getId(), seats);
     }
 
     private SeatType resolveSeatTypeForRow(int rowIndex,
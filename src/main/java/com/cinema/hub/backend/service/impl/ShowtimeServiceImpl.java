@@ -3,24 +3,28 @@ package com.cinema.hub.backend.service.impl;
 import com.cinema.hub.backend.dto.common.PageResponse;
 import com.cinema.hub.backend.dto.showtime.ShowtimeDayGroupResponse;
 import com.cinema.hub.backend.dto.showtime.ShowtimeGroupedResponse;
+import com.cinema.hub.backend.dto.showtime.ShowtimeInterval;
 import com.cinema.hub.backend.dto.showtime.ShowtimeOccurrenceResponse;
 import com.cinema.hub.backend.dto.showtime.ShowtimeRequest;
 import com.cinema.hub.backend.dto.showtime.ShowtimeResponse;
+import com.cinema.hub.backend.dto.showtime.ShowtimeScheduleJobResponse;
+import com.cinema.hub.backend.dto.showtime.ShowtimeSeatDraft;
 import com.cinema.hub.backend.entity.Auditorium;
 import com.cinema.hub.backend.entity.Movie;
 import com.cinema.hub.backend.entity.Seat;
 import com.cinema.hub.backend.entity.Showtime;
-import com.cinema.hub.backend.entity.ShowtimeSeat;
 import com.cinema.hub.backend.entity.enums.BookingStatus;
 import com.cinema.hub.backend.mapper.ShowtimeMapper;
 import com.cinema.hub.backend.repository.AuditoriumRepository;
 import com.cinema.hub.backend.repository.BookingRepository;
+import com.cinema.hub.backend.repository.BulkWriteRepository;
 import com.cinema.hub.backend.repository.MovieRepository;
 import com.cinema.hub.backend.repository.SeatRepository;
 import com.cinema.hub.backend.repository.SeatHoldRepository;
 import com.cinema.hub.backend.repository.ShowtimeRepository;
 import com.cinema.hub.backend.repository.ShowtimeSeatRepository;
 import com.cinema.hub.backend.service.ShowtimeService;
+import com.cinema.hub.backend.service.seat.SeatStateEngine;
 import com.cinema.hub.backend.specification.ShowtimeSpecifications;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -34,26 +38,42 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
 import com.cinema.hub.backend.web.view.SeatSelectionShowtimeView;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional
 public class ShowtimeServiceImpl implements ShowtimeService {
 
     private static final String DEFAULT_SEAT_STATUS = "Available";
+    private static final String SHOWTIME_CONFLICT_MESSAGE =
+            "PhÃ²ng chiáº¿u Ä‘Ã£ cÃ³ suáº¥t chiáº¿u khÃ¡c trong khoáº£ng thá»i gian nÃ y.";
     private static final int DEFAULT_CLEANUP_MINUTES = 15;
     private static final BigDecimal WEEKDAY_MORNING_PRICE = new BigDecimal("2000");
     private static final BigDecimal WEEKDAY_AFTERNOON_PRICE = new BigDecimal("2000");
@@ -65,39 +85,62 @@ public class ShowtimeServiceImpl implements ShowtimeService {
     private static final BigDecimal WEEKEND_LATE_PRICE = new BigDecimal("2000");
     private static final DateTimeFormatter TIME_LABEL_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
     private static final DateTimeFormatter DATE_LABEL_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final String SCHEDULE_JOB_RUNNING = "RUNNING";
+    private static final String SCHEDULE_JOB_COMPLETED = "COMPLETED";
+    private static final String SCHEDULE_JOB_FAILED = "FAILED";
+    private static final long SCHEDULE_JOB_RETENTION_MS = TimeUnit.HOURS.toMillis(1);
 
     private final ShowtimeRepository showtimeRepository;
     private final MovieRepository movieRepository;
     private final AuditoriumRepository auditoriumRepository;
     private final SeatRepository seatRepository;
     private final ShowtimeSeatRepository showtimeSeatRepository;
+    private final BulkWriteRepository bulkWriteRepository;
     private final SeatHoldRepository seatHoldRepository;
     private final BookingRepository bookingRepository;
     private final ShowtimeMapper showtimeMapper;
+    private final SeatStateEngine seatStateEngine;
+    private final PlatformTransactionManager transactionManager;
+    private final Map<String, ScheduleJob> scheduleJobs = new ConcurrentHashMap<>();
+    private final ExecutorService scheduleExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("showtime-schedule").daemon().factory());
+
+    @Value("${cinema.showtime.schedule-chunk-size:14}")
+    private int scheduleChunkSize;
+
     private static final EnumSet<BookingStatus> PROTECTED_BOOKING_STATUSES =
             EnumSet.of(BookingStatus.Pending, BookingStatus.Confirmed);
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<ShowtimeResponse> create(ShowtimeRequest request) {
-        Movie movie = requireMovie(request.getMovieId());
-        Auditorium auditorium = requireAuditorium(request.getAuditoriumId());
-        List<ScheduleSlot> slots = buildScheduleSlots(movie, request);
-        slots.forEach(slot -> enforceNoConflict(auditorium.getId(), slot.start(), slot.end(), null));
+        return materializeSchedule(planSchedule(request), created -> { });
+    }
 
-        List<ShowtimeResponse> responses = new ArrayList<>();
-        for (ScheduleSlot slot : slots) {
-            Showtime showtime = new Showtime();
-            showtime.setMovie(movie);
-            showtime.setAuditorium(auditorium);
-            showtime.setStartTime(slot.start());
-            showtime.setEndTime(slot.end());
-            showtime.setBasePrice(determineBasePrice(slot.start()));
-            showtime.setActive(Boolean.TRUE.equals(request.getActive()));
-            Showtime saved = showtimeRepository.save(showtime);
-            generateShowtimeSeats(saved);
-            responses.add(showtimeMapper.toResponse(saved));
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ShowtimeScheduleJobResponse startScheduleJob(ShowtimeRequest request) {
+        SchedulePlan plan = planSchedule(request);
+        purgeFinishedScheduleJobs();
+        ScheduleJob job = new ScheduleJob(UUID.randomUUID().toString(), plan.slots().size());
+        scheduleJobs.put(job.id, job);
+        scheduleExecutor.execute(() -> runScheduleJob(job, plan));
+        return job.toResponse();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ShowtimeScheduleJobResponse getScheduleJob(String jobId) {
+        ScheduleJob job = scheduleJobs.get(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Schedule job not found: " + jobId);
         }
-        return responses;
+        return job.toResponse();
+    }
+
+    @PreDestroy
+    public void shutdownScheduleExecutor() {
+        scheduleExecutor.shutdownNow();
     }
 
     @Override
@@ -138,6 +181,7 @@ public class ShowtimeServiceImpl implements ShowtimeService {
         seatHoldRepository.deleteByShowtimeId(showtime.getId());
         showtimeSeatRepository.deleteByShowtime_Id(showtime.getId());
         showtimeRepository.delete(showtime);
+        seatStateEngine.onShowtimeChanged(id);
     }
 
     @Override
@@ -365,28 +409,109 @@ public class ShowtimeServiceImpl implements ShowtimeService {
                                    Integer excludeId) {
         boolean conflict = showtimeRepository.existsConflictingShowtime(auditoriumId, start, end, excludeId);
         if (conflict) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT,
-                    "PhÃ²ng chiáº¿u Ä‘Ã£ cÃ³ suáº¥t chiáº¿u khÃ¡c trong khoáº£ng thá»i gian nÃ y.");
+            throw new ResponseStatusException(HttpStatus.CONFLICT, SHOWTIME_CONFLICT_MESSAGE);
+        }
+    }
+
+    /**
+     * Checks a whole batch of slots against the auditorium's active showtimes fetched with a single query.
+     */
+    private void enforceNoConflicts(Integer auditoriumId, List<ScheduleSlot> slots) {
+        LocalDateTime from = slots.stream().map(ScheduleSlot::start).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = slots.stream().map(ScheduleSlot::end).max(Comparator.naturalOrder()).orElseThrow();
+        // start time -> latest end time among showtimes starting at or before it
+        TreeMap<LocalDateTime, LocalDateTime> reachByStart = new TreeMap<>();
+        LocalDateTime reach = null;
+        for (ShowtimeInterval interval : showtimeRepository.findActiveIntervals(auditoriumId, from, to)) {
+            if (reach == null || interval.endTime().isAfter(reach)) {
+                reach = interval.endTime();
+            }
+            reachByStart.put(interval.startTime(), reach);
+        }
+        for (ScheduleSlot slot : slots) {
+            Map.Entry<LocalDateTime, LocalDateTime> before = reachByStart.lowerEntry(slot.end());
+            if (before != null && before.getValue().isAfter(slot.start())) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, SHOWTIME_CONFLICT_MESSAGE);
+            }
         }
     }
 
-    private void generateShowtimeSeats(Showtime showtime) {
-        List<Seat> seats = seatRepository
-                .findByAuditorium_IdAndActiveTrueOrderByRowLabelAscSeatNumberAsc(showtime.getAuditorium().getId());
-        if (seats.isEmpty()) {
-            return;
+    private SchedulePlan planSchedule(ShowtimeRequest request) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            Movie movie = requireMovie(request.getMovieId());
+            Auditorium auditorium = requireAuditorium(request.getAuditoriumId());
+            List<ScheduleSlot> slots = buildScheduleSlots(movie, request);
+            enforceNoConflicts(auditorium.getId(), slots);
+            Map<Integer, BigDecimal> seatMultipliers = new LinkedHashMap<>();
+            for (Seat seat : seatRepository
+                    .findByAuditorium_IdAndActiveTrueOrderByRowLabelAscSeatNumberAsc(auditorium.getId())) {
+                seatMultipliers.put(seat.getId(),
+                        seat.getSeatType() != null ? seat.getSeatType().getPriceMultiplier() : null);
+            }
+            return new SchedulePlan(movie.getId(), auditorium.getId(), Boolean.TRUE.equals(request.getActive()),
+                    slots, seatMultipliers);
+        });
+    }
+
+    /**
+     * Writes the planned showtimes in chunks, each chunk in its own transaction, so a long repeat range never
+     * holds locks for the whole run. Chunks committed before a failure stay in place.
+     */
+    private List<ShowtimeResponse> materializeSchedule(SchedulePlan plan, IntConsumer onProgress) {
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        List<ScheduleSlot> slots = plan.slots();
+        int chunkSize = Math.max(1, scheduleChunkSize);
+        List<ShowtimeResponse> responses = new ArrayList<>(slots.size());
+        for (int from = 0; from < slots.size(); from += chunkSize) {
+            List<ScheduleSlot> chunk = slots.subList(from, Math.min(from + chunkSize, slots.size()));
+            responses.addAll(chunkTransaction.execute(status -> createShowtimes(plan, chunk)));
+            onProgress.accept(responses.size());
         }
-        BigDecimal basePrice = showtime.getBasePrice();
-        List<ShowtimeSeat> seatSnapshots = seats.stream()
-                .map(seat -> ShowtimeSeat.builder()
-                        .showtime(showtime)
-                        .seat(seat)
-                        .effectivePrice(calculateSeatPrice(basePrice,
-                                seat.getSeatType() != null ? seat.getSeatType().getPriceMultiplier() : null))
-                        .status(DEFAULT_SEAT_STATUS)
-                        .build())
-                .toList();
-        showtimeSeatRepository.saveAll(seatSnapshots);
+        return responses;
+    }
+
+    private List<ShowtimeResponse> createShowtimes(SchedulePlan plan, List<ScheduleSlot> chunk) {
+        enforceNoConflicts(plan.auditoriumId(), chunk);
+        Movie movie = movieRepository.getReferenceById(plan.movieId());
+        Auditorium auditorium = auditoriumRepository.getReferenceById(plan.auditoriumId());
+        List<Showtime> showtimes = new ArrayList<>(chunk.size());
+        for (ScheduleSlot slot : chunk) {
+            Showtime showtime = new Showtime();
+            showtime.setMovie(movie);
+            showtime.setAuditorium(auditorium);
+            showtime.setStartTime(slot.start());
+            showtime.setEndTime(slot.end());
+            showtime.setBasePrice(determineBasePrice(slot.start()));
+            showtime.setActive(plan.active());
+            showtimes.add(showtime);
+        }
+        List<Showtime> saved = showtimeRepository.saveAll(showtimes);
+        List<ShowtimeSeatDraft> drafts = new ArrayList<>(saved.size() * plan.seatMultipliers().size());
+        for (Showtime showtime : saved) {
+            BigDecimal basePrice = showtime.getBasePrice();
+            plan.seatMultipliers().forEach((seatId, multiplier) -> drafts.add(
+                    new ShowtimeSeatDraft(showtime.getId(), seatId, calculateSeatPrice(basePrice, multiplier))));
+        }
+        bulkWriteRepository.insertShowtimeSeats(drafts, DEFAULT_SEAT_STATUS);
+        return saved.stream().map(showtimeMapper::toResponse).toList();
+    }
+
+    private void runScheduleJob(ScheduleJob job, SchedulePlan plan) {
+        try {
+            materializeSchedule(plan, created -> job.created = created);
+            job.finish(SCHEDULE_JOB_COMPLETED, null);
+        } catch (RuntimeException ex) {
+            log.warn("Showtime schedule job {} failed after {} of {} showtimes", job.id, job.created, job.total, ex);
+            String reason = ex instanceof ResponseStatusException rse ? rse.getReason() : ex.getMessage();
+            job.finish(SCHEDULE_JOB_FAILED, reason);
+        }
+    }
+
+    private void purgeFinishedScheduleJobs() {
+        long cutoff = System.currentTimeMillis() - SCHEDULE_JOB_RETENTION_MS;
+        scheduleJobs.values().removeIf(job -> job.finishedAt > 0 && job.finishedAt < cutoff);
     }
 
     private BigDecimal calculateSeatPrice(BigDecimal basePrice, BigDecimal multiplier) {
@@ -537,5 +662,37 @@ public class ShowtimeServiceImpl implements ShowtimeService {
 
     private record ScheduleSlot(LocalDateTime start, LocalDateTime end) {
     }
+
+    private record SchedulePlan(Integer movieId,
+                                Integer auditoriumId,
+                                boolean active,
+                                List<ScheduleSlot> slots,
+                                Map<Integer, BigDecimal> seatMultipliers) {
+    }
+
+    private static final class ScheduleJob {
+
+        private final String id;
+        private final int total;
+        private volatile int created;
+        private volatile String status = SCHEDULE_JOB_RUNNING;
+        private volatile String message;
+        private volatile long finishedAt;
+
+        private ScheduleJob(String id, int total) {
+            this.id = id;
+            this.total = total;
+        }
+
+        private void finish(String status, String message) {
+            this.message = message;
+            this.status = status;
+            this.finishedAt = System.currentTimeMillis();
+        }
+
+        private ShowtimeScheduleJobResponse toResponse() {
+            return new ShowtimeScheduleJobResponse(id, status, total, created, message);
+        }
+    }
 }
 
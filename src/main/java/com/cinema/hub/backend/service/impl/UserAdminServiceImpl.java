@@ -7,6 +7,7 @@ import com.cinema.hub.backend.entity.Role;
 import com.cinema.hub.backend.entity.UserAccount;
 import com.cinema.hub.backend.repository.RoleRepository;
 import com.cinema.hub.backend.repository.SeatHoldRepository;
+import com.cinema.hub.backend.service.seat.SeatStateEngine;
 import com.cinema.hub.backend.repository.UserAccountRepository;
 import com.cinema.hub.backend.service.UserAdminService;
 import com.cinema.hub.backend.specification.UserAccountSpecifications;
@@ -31,15 +32,18 @@ public class UserAdminServiceImpl implements UserAdminService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final SeatHoldRepository seatHoldRepository;
+    private final SeatStateEngine seatStateEngine;
 
     public UserAdminServiceImpl(UserAccountRepository userAccountRepository,
                                 RoleRepository roleRepository,
                                 PasswordEncoder passwordEncoder,
-                                SeatHoldRepository seatHoldRepository) {
+                                SeatHoldRepository seatHoldRepository,
+                                SeatStateEngine seatStateEngine) {
         this.userAccountRepository = userAccountRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.seatHoldRepository = seatHoldRepository;
+        this.seatStateEngine = seatStateEngine;
     }
 
     @Override
@@ -118,6 +122,7 @@ public class UserAdminServiceImpl implements UserAdminService {
         UserAccount user = getEntity(id);
         ensureActiveAdminRemains(user, false, user.getRole());
         seatHoldRepository.deleteByUser_Id(user.getId());
+        seatStateEngine.onUserHoldsReleased(user.getId());
         userAccountRepository.delete(user);
     }
 
@@ -1,6 +1,11 @@
 package com.cinema.hub.backend.service.job;
 
 import com.cinema.hub.backend.service.SeatReservationService;
+import com.cinema.hub.backend.service.seat.HoldExpiryWheel;
+import com.cinema.hub.backend.util.TimeProvider;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,12 +17,27 @@ import org.springframework.stereotype.Component;
 public class SeatHoldCleanupJob {
 
     private final SeatReservationService seatReservationService;
+    private final HoldExpiryWheel holdExpiryWheel;
 
-    @Scheduled(cron = "0 * * * * ?")
+    @Scheduled(fixedDelayString = "${cinema.seat-hold.expiry-tick-ms:500}")
     public void releaseExpiredHolds() {
-        int released = seatReservationService.expireSeatHolds();
-        if (released > 0) {
-            log.info("Released {} expired seat holds", released);
+        Map<UUID, OffsetDateTime> due = holdExpiryWheel.pollDue(TimeProvider.now());
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            int released = seatReservationService.expireHolds(due.keySet());
+            if (released > 0) {
+                log.info("Released {} expired seat holds", released);
+            }
+        } catch (RuntimeException ex) {
+            holdExpiryWheel.scheduleAll(due);
+            log.warn("Unable to expire {} seat hold tokens, retrying next tick: {}", due.size(), ex.getMessage());
         }
     }
+
+    @Scheduled(cron = "0 * * * * ?")
+    public void purgeSeatStates() {
+        seatReservationService.purgeSeatStates();
+    }
 }
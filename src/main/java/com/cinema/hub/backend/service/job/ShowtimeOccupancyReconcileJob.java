@@ -0,0 +1,25 @@
+package com.cinema.hub.backend.service.job;
+
+import com.cinema.hub.backend.service.staff.StaffShowtimeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShowtimeOccupancyReconcileJob {
+
+    private final StaffShowtimeService staffShowtimeService;
+
+    @Scheduled(fixedDelayString = "${cinema.seat-state.occupancy-reconcile-ms:60000}",
+            initialDelayString = "${cinema.seat-state.occupancy-reconcile-ms:60000}")
+    public void reconcileOccupancy() {
+        try {
+            staffShowtimeService.reconcileOccupancy();
+        } catch (RuntimeException ex) {
+            log.warn("Unable to reconcile showtime seat counters: {}", ex.getMessage());
+        }
+    }
+}
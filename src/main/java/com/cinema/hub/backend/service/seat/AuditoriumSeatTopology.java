@@ -0,0 +1,121 @@
+package com.cinema.hub.backend.service.seat;
+
+import com.cinema.hub.backend.dto.SeatTopologyRow;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable seat layout of one auditorium: row, number, type and couple partner per seat, kept in primitive
+ * arrays indexed by the position of the seat id in the sorted {@link #seatIds} array.
+ */
+public final class AuditoriumSeatTopology {
+
+    public static final int NO_PARTNER = 0;
+
+    private final int auditoriumId;
+    private final int[] seatIds;
+    private final String[] rowLabels;
+    private final int[] rowIndexes;
+    private final int[] seatNumbers;
+    private final int[] seatTypeIds;
+    private final boolean[] coupleSeats;
+    private final int[] partnerSeatIds;
+
+    private AuditoriumSeatTopology(int auditoriumId, List<SeatTopologyRow> rows) {
+        List<SeatTopologyRow> sorted = rows.stream()
+                .sorted(Comparator.comparing(SeatTopologyRow::seatId))
+                .toList();
+        int size = sorted.size();
+        this.auditoriumId = auditoriumId;
+        this.seatIds = new int[size];
+        this.rowIndexes = new int[size];
+        this.seatNumbers = new int[size];
+        this.seatTypeIds = new int[size];
+        this.coupleSeats = new boolean[size];
+        this.partnerSeatIds = new int[size];
+
+        Map<String, Integer> rowIndexByLabel = new HashMap<>();
+        Map<Long, Integer> positionByCoordinate = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            SeatTopologyRow row = sorted.get(i);
+            String label = row.rowLabel() != null ? row.rowLabel().toUpperCase(Locale.ROOT) : "";
+            seatIds[i] = row.seatId();
+            rowIndexes[i] = rowIndexByLabel.computeIfAbsent(label, key -> rowIndexByLabel.size());
+            seatNumbers[i] = row.seatNumber() != null ? row.seatNumber() : 0;
+            seatTypeIds[i] = row.seatTypeId() != null ? row.seatTypeId() : 0;
+            coupleSeats[i] = "Couple".equalsIgnoreCase(row.seatTypeName());
+            positionByCoordinate.put(coordinate(rowIndexes[i], seatNumbers[i]), i);
+        }
+        this.rowLabels = new String[rowIndexByLabel.size()];
+        rowIndexByLabel.forEach((label, index) -> rowLabels[index] = label);
+
+        for (int i = 0; i < size; i++) {
+            if (!coupleSeats[i] || seatNumbers[i] <= 0) {
+                continue;
+            }
+            int partnerNumber = seatNumbers[i] % 2 == 0 ? seatNumbers[i] - 1 : seatNumbers[i] + 1;
+            Integer partner = positionByCoordinate.get(coordinate(rowIndexes[i], partnerNumber));
+            partnerSeatIds[i] = partner != null && coupleSeats[partner] ? seatIds[partner] : NO_PARTNER;
+        }
+    }
+
+    static AuditoriumSeatTopology of(int auditoriumId, List<SeatTopologyRow> rows) {
+        return new AuditoriumSeatTopology(auditoriumId, rows);
+    }
+
+    public int auditoriumId() {
+        return auditoriumId;
+    }
+
+    public int size() {
+        return seatIds.length;
+    }
+
+    public boolean contains(int seatId) {
+        return positionOf(seatId) >= 0;
+    }
+
+    public boolean isCouple(int seatId) {
+        int position = positionOf(seatId);
+        return position >= 0 && coupleSeats[position];
+    }
+
+    /**
+     * The other seat of a couple pair, or {@link #NO_PARTNER}.
+     */
+    public int partnerOf(int seatId) {
+        int position = positionOf(seatId);
+        return position >= 0 ? partnerSeatIds[position] : NO_PARTNER;
+    }
+
+    public String rowLabelOf(int seatId) {
+        int position = positionOf(seatId);
+        return position >= 0 ? rowLabels[rowIndexes[position]] : null;
+    }
+
+    public int seatNumberOf(int seatId) {
+        int position = positionOf(seatId);
+        return position >= 0 ? seatNumbers[position] : 0;
+    }
+
+    public int seatTypeIdOf(int seatId) {
+        int position = positionOf(seatId);
+        return position >= 0 ? seatTypeIds[position] : 0;
+    }
+
+    int[] seatIds() {
+        return seatIds.clone();
+    }
+
+    private int positionOf(int seatId) {
+        return Arrays.binarySearch(seatIds, seatId);
+    }
+
+    private static long coordinate(int rowIndex, int seatNumber) {
+        return ((long) rowIndex << 32) | (seatNumber & 0xffffffffL);
+    }
+}
@@ -0,0 +1,20 @@
+package com.cinema.hub.backend.service.seat;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+record HoldClaim(int id,
+                 UUID token,
+                 int showtimeId,
+                 Integer userId,
+                 OffsetDateTime expiresAt,
+                 int[] slots) {
+
+    boolean isExpired(OffsetDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    boolean isOwnedBy(Integer candidateUserId) {
+        return userId != null && userId.equals(candidateUserId);
+    }
+}
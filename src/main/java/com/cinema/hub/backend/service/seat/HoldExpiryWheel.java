@@ -0,0 +1,100 @@
+package com.cinema.hub.backend.service.seat;
+
+import com.cinema.hub.backend.dto.HoldDeadlineRow;
+import com.cinema.hub.backend.repository.SeatHoldRepository;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pending hold deadlines bucketed by tick, so each tick only touches the tokens that are due instead of
+ * scanning the SeatHolds table. Deadlines are rebuilt from the held rows when the application starts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HoldExpiryWheel {
+
+    private final SeatHoldRepository seatHoldRepository;
+
+    private final TreeMap<Long, Set<UUID>> buckets = new TreeMap<>();
+    private final Map<UUID, OffsetDateTime> deadlines = new HashMap<>();
+
+    @Value("${cinema.seat-hold.expiry-tick-ms:500}")
+    private long tickMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        try {
+            List<HoldDeadlineRow> pending = seatHoldRepository.findHeldDeadlines();
+            pending.forEach(row -> schedule(row.holdToken(), row.expiresAt()));
+            log.info("Hold expiry wheel loaded {} pending hold tokens", pending.size());
+        } catch (RuntimeException ex) {
+            log.warn("Unable to load pending hold deadlines: {}", ex.getMessage());
+        }
+    }
+
+    public synchronized void schedule(UUID token, OffsetDateTime expiresAt) {
+        if (token == null || expiresAt == null) {
+            return;
+        }
+        cancel(token);
+        deadlines.put(token, expiresAt);
+        buckets.computeIfAbsent(tickOf(expiresAt), tick -> new HashSet<>()).add(token);
+    }
+
+    public synchronized void scheduleAll(Map<UUID, OffsetDateTime> pending) {
+        pending.forEach(this::schedule);
+    }
+
+    public synchronized void cancel(UUID token) {
+        OffsetDateTime expiresAt = deadlines.remove(token);
+        if (expiresAt == null) {
+            return;
+        }
+        long tick = tickOf(expiresAt);
+        Set<UUID> bucket = buckets.get(tick);
+        if (bucket != null && bucket.remove(token) && bucket.isEmpty()) {
+            buckets.remove(tick);
+        }
+    }
+
+    /**
+     * Removes and returns every token whose deadline tick has passed, with its deadline.
+     */
+    public synchronized Map<UUID, OffsetDateTime> pollDue(OffsetDateTime now) {
+        Map<UUID, OffsetDateTime> due = new LinkedHashMap<>();
+        Iterator<Set<UUID>> iterator = buckets.headMap(now.toInstant().toEpochMilli() / tickMillis, true)
+                .values()
+                .iterator();
+        while (iterator.hasNext()) {
+            for (UUID token : iterator.next()) {
+                due.put(token, deadlines.remove(token));
+            }
+            iterator.remove();
+        }
+        return due;
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    private long tickOf(OffsetDateTime expiresAt) {
+        long millis = expiresAt.toInstant().toEpochMilli();
+        return Math.floorDiv(millis + tickMillis - 1, tickMillis);
+    }
+}
@@ -0,0 +1,18 @@
+package com.cinema.hub.backend.service.seat;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Outcome of a successful in-memory seat claim that still has to be written through to the database.
+ */
+public record SeatClaim(UUID token,
+                        OffsetDateTime expiresAt,
+                        List<Integer> seatIds,
+                        List<Integer> showtimeSeatIds,
+                        Set<UUID> supersededTokens,
+                        Set<UUID> expiredTokens,
+                        Set<Integer> releasableBookingIds) {
+}
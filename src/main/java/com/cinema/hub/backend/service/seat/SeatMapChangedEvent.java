@@ -0,0 +1,7 @@
+package com.cinema.hub.backend.service.seat;
+
+/**
+ * Published by {@link SeatStateEngine} whenever the in-memory seat map of a showtime changes.
+ */
+public record SeatMapChangedEvent(int showtimeId) {
+}
@@ -0,0 +1,13 @@
+package com.cinema.hub.backend.service.seat;
+
+import java.util.List;
+
+/**
+ * Seats of a showtime that changed after a given version, together with the version they are current as of.
+ */
+public record SeatMapSnapshot(long version, List<SeatSnapshot> seats) {
+
+    public boolean isUnchangedSince(long since) {
+        return version == since;
+    }
+}
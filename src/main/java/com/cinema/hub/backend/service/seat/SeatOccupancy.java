@@ -0,0 +1,12 @@
+package com.cinema.hub.backend.service.seat;
+
+/**
+ * Seat counters of a showtime. Sold seats belong to non-cancelled bookings, paid or not; held seats are under a
+ * hold claim.
+ */
+public record SeatOccupancy(int totalSeats, int sellableSeats, int soldSeats, int heldSeats) {
+
+    public boolean sameCounts(SeatOccupancy other) {
+        return soldSeats == other.soldSeats && heldSeats == other.heldSeats;
+    }
+}
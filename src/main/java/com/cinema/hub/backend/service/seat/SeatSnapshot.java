@@ -0,0 +1,12 @@
+package com.cinema.hub.backend.service.seat;
+
+import java.math.BigDecimal;
+
+public record SeatSnapshot(int seatId,
+                           String rowLabel,
+                           Integer seatNumber,
+                           String seatType,
+                           BigDecimal price,
+                           String status,
+                           Integer ownerUserId) {
+}
@@ -0,0 +1,525 @@
+package com.cinema.hub.backend.service.seat;
+
+import com.cinema.hub.backend.dto.SeatStateRow;
+import com.cinema.hub.backend.entity.Showtime;
+import com.cinema.hub.backend.entity.enums.PaymentStatus;
+import com.cinema.hub.backend.repository.ShowtimeRepository;
+import com.cinema.hub.backend.repository.ShowtimeSeatRepository;
+import com.cinema.hub.backend.service.exception.SeatConflictException;
+import com.cinema.hub.backend.service.exception.SeatSelectionException;
+import com.cinema.hub.backend.util.TimeProvider;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Authoritative in-process seat state per showtime. Hold conflicts are decided with CAS on the seat slots
+ * before anything is written, so losing requests never reach SQL Server. The database remains the durable
+ * record: a showtime is rebuilt from it on first use and whenever a write-through transaction rolls back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatStateEngine {
+
+    private final ShowtimeSeatRepository showtimeSeatRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Integer, ShowtimeSeatState> states = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<ShowtimeSeatState>> loads = new ConcurrentHashMap<>();
+    private final Map<UUID, HoldClaim> claimsByToken = new ConcurrentHashMap<>();
+    private final AtomicInteger claimSequence = new AtomicInteger();
+    private final AtomicLong versionSequence = new AtomicLong(System.currentTimeMillis());
+    private final Set<Integer> occupancyMismatches = ConcurrentHashMap.newKeySet();
+
+    @Value("${cinema.seat-state.warmup-hours:24}")
+    private long warmupHours;
+
+    @Value("${cinema.seat-state.idle-eviction-minutes:120}")
+    private long idleEvictionMinutes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime from = TimeProvider.now().toLocalDateTime();
+        try {
+            List<Showtime> upcoming = showtimeRepository
+                    .findByActiveTrueAndStartTimeBetweenOrderByStartTimeAsc(from, from.plusHours(warmupHours));
+            upcoming.forEach(showtime -> stateFor(showtime.getId()));
+            log.info("Seat state engine warmed up with {} showtimes", upcoming.size());
+        } catch (RuntimeException ex) {
+            log.warn("Unable to warm up seat state engine: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Claims all requested seats for a new hold token or none of them. Seats held or booked (unpaid) by the same
+     * user are taken over and reported so the caller can release them in the database.
+     */
+    public SeatClaim claim(int showtimeId,
+                           Collection<Integer> seatIds,
+                           Integer userId,
+                           OffsetDateTime now,
+                           OffsetDateTime expiresAt) {
+        ShowtimeSeatState state = stateFor(showtimeId);
+        int[] slots = new int[seatIds.size()];
+        int index = 0;
+        for (Integer seatId : seatIds) {
+            int slot = seatId != null ? state.slotOf(seatId) : -1;
+            if (slot < 0) {
+                throw new SeatSelectionException("One or more seats do not belong to the showtime");
+            }
+            if (!state.isSellable(slot)) {
+                throw new SeatSelectionException("Seat " + seatId + " is not sellable");
+            }
+            slots[index++] = slot;
+        }
+
+        HoldClaim claim = new HoldClaim(claimSequence.incrementAndGet(), UUID.randomUUID(),
+                showtimeId, userId, expiresAt, slots);
+        state.putHold(claim);
+
+        int[] previous = new int[slots.length];
+        Set<UUID> supersededTokens = new HashSet<>();
+        Set<UUID> expiredTokens = new HashSet<>();
+        Set<Integer> releasableBookingIds = new HashSet<>();
+        for (int i = 0; i < slots.length; i++) {
+            int slot = slots[i];
+            while (true) {
+                int current = state.get(slot);
+                HoldClaim heldBy = current > 0 ? state.hold(current) : null;
+                SlotOwner owner = classify(state, current, heldBy, userId, now);
+                if (owner == SlotOwner.OTHER) {
+                    rollback(state, slots, previous, i, claim.id());
+                    state.removeHold(claim.id());
+                    List<Integer> conflicts = conflictingSeatIds(state, slots, userId, now);
+                    throw new SeatConflictException(conflicts.isEmpty() ? List.of(state.seatIdAt(slot)) : conflicts);
+                }
+                if (state.compareAndSet(slot, current, claim.id())) {
+                    previous[i] = current;
+                    switch (owner) {
+                        case OWN_HOLD -> supersededTokens.add(heldBy.token());
+                        case EXPIRED_HOLD -> expiredTokens.add(heldBy.token());
+                        case OWN_BOOKING -> releasableBookingIds.add(-current);
+                        default -> {
+                        }
+                    }
+                    break;
+                }
+            }
+        }
+
+        claimsByToken.put(claim.token(), claim);
+        evictOnRollback(showtimeId);
+        afterCommit(() -> publishChange(showtimeId));
+        supersededTokens.forEach(this::release);
+        expiredTokens.forEach(this::release);
+
+        List<Integer> claimedSeatIds = new ArrayList<>(slots.length);
+        List<Integer> showtimeSeatIds = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            claimedSeatIds.add(state.seatIdAt(slot));
+            showtimeSeatIds.add(state.showtimeSeatIdAt(slot));
+        }
+        return new SeatClaim(claim.token(), expiresAt, claimedSeatIds, showtimeSeatIds,
+                supersededTokens, expiredTokens, releasableBookingIds);
+    }
+
+    /**
+     * Seats of the showtime that changed after {@code since}; {@code 0} returns the full map.
+     */
+    public SeatMapSnapshot snapshot(int showtimeId, long since) {
+        return stateFor(showtimeId).snapshot(since, TimeProvider.now());
+    }
+
+    /**
+     * Seat counters of the showtime, loading its state when it is not in memory yet.
+     */
+    public SeatOccupancy occupancy(int showtimeId) {
+        return stateFor(showtimeId).occupancy();
+    }
+
+    /**
+     * Seat counters of those showtimes whose state is already in memory; the others are left out.
+     */
+    public Map<Integer, SeatOccupancy> loadedOccupancy(Collection<Integer> showtimeIds) {
+        Map<Integer, SeatOccupancy> occupancy = new HashMap<>();
+        for (Integer showtimeId : showtimeIds) {
+            ShowtimeSeatState state = showtimeId != null ? states.get(showtimeId) : null;
+            if (state != null) {
+                occupancy.put(showtimeId, state.occupancy());
+            }
+        }
+        return occupancy;
+    }
+
+    public Set<Integer> loadedShowtimeIds() {
+        return Set.copyOf(states.keySet());
+    }
+
+    /**
+     * Compares the in-memory counters with {@code expected}, read from the database; showtimes missing from it
+     * count as empty. Writes in flight make single mismatches normal, so a showtime is reloaded only when it
+     * disagrees on two consecutive calls. Returns the number of showtimes reloaded.
+     */
+    public int reconcileOccupancy(Collection<Integer> showtimeIds, Map<Integer, SeatOccupancy> expected) {
+        int reloaded = 0;
+        for (Integer showtimeId : showtimeIds) {
+            ShowtimeSeatState state = states.get(showtimeId);
+            if (state == null) {
+                occupancyMismatches.remove(showtimeId);
+                continue;
+            }
+            SeatOccupancy actual = state.occupancy();
+            SeatOccupancy stored = expected.getOrDefault(showtimeId,
+                    new SeatOccupancy(actual.totalSeats(), actual.sellableSeats(), 0, 0));
+            if (actual.sameCounts(stored)) {
+                occupancyMismatches.remove(showtimeId);
+            } else if (!occupancyMismatches.add(showtimeId)) {
+                occupancyMismatches.remove(showtimeId);
+                log.warn("Seat counters of showtime {} drifted (memory {}, database {}), reloading",
+                        showtimeId, actual, stored);
+                invalidate(showtimeId);
+                reloaded++;
+            }
+        }
+        occupancyMismatches.retainAll(states.keySet());
+        return reloaded;
+    }
+
+    public void onHoldReleased(UUID token) {
+        afterCommit(() -> release(token));
+    }
+
+    public void onHoldsExpired(Collection<UUID> tokens) {
+        afterCommit(() -> tokens.forEach(this::release));
+    }
+
+    public void onUserHoldsReleased(Integer userId) {
+        if (userId == null) {
+            return;
+        }
+        afterCommit(() -> claimsByToken.values().stream()
+                .filter(claim -> claim.isOwnedBy(userId))
+                .map(HoldClaim::token)
+                .toList()
+                .forEach(this::release));
+    }
+
+    public void onBookingCreated(int showtimeId, UUID token, int bookingId, Integer bookingUserId, boolean paid) {
+        afterCommit(() -> {
+            HoldClaim claim = claimsByToken.remove(token);
+            ShowtimeSeatState state = states.get(showtimeId);
+            if (state == null) {
+                return;
+            }
+            if (claim == null) {
+                invalidate(showtimeId);
+                return;
+            }
+            state.putBooking(bookingId, new ShowtimeSeatState.BookingOwner(bookingUserId, paid));
+            for (int slot : claim.slots()) {
+                if (!state.compareAndSet(slot, claim.id(), -bookingId)) {
+                    invalidate(showtimeId);
+                    return;
+                }
+            }
+            state.removeHold(claim.id());
+            publishChange(showtimeId);
+        });
+    }
+
+    public void onBookingPaid(int showtimeId, int bookingId) {
+        afterCommit(() -> {
+            ShowtimeSeatState state = states.get(showtimeId);
+            if (state != null) {
+                state.markBookingPaid(bookingId);
+                publishChange(showtimeId);
+            }
+        });
+    }
+
+    public void onBookingCancelled(int showtimeId, int bookingId) {
+        afterCommit(() -> {
+            ShowtimeSeatState state = states.get(showtimeId);
+            if (state != null) {
+                state.removeBooking(bookingId);
+                publishChange(showtimeId);
+            }
+        });
+    }
+
+    public void onShowtimeChanged(int showtimeId) {
+        afterCommit(() -> invalidate(showtimeId));
+    }
+
+    /**
+     * Drops expired hold claims and evicts showtimes that have been idle without live holds.
+     */
+    public int purgeExpired(OffsetDateTime now) {
+        List<UUID> expired = claimsByToken.values().stream()
+                .filter(claim -> claim.isExpired(now))
+                .map(HoldClaim::token)
+                .toList();
+        expired.forEach(this::release);
+
+        long idleCutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(idleEvictionMinutes);
+        states.values().stream()
+                .filter(state -> state.lastAccessMillis() < idleCutoff && state.holds().isEmpty())
+                .map(ShowtimeSeatState::showtimeId)
+                .toList()
+                .forEach(this::evict);
+        return expired.size();
+    }
+
+    public void invalidate(int showtimeId) {
+        if (evict(showtimeId)) {
+            publishChange(showtimeId);
+        }
+    }
+
+    private boolean evict(int showtimeId) {
+        ShowtimeSeatState state = states.remove(showtimeId);
+        if (state == null) {
+            return false;
+        }
+        for (HoldClaim claim : state.holds()) {
+            claimsByToken.remove(claim.token(), claim);
+        }
+        return true;
+    }
+
+    private ShowtimeSeatState stateFor(int showtimeId) {
+        ShowtimeSeatState state = states.get(showtimeId);
+        if (state == null) {
+            state = loadOnce(showtimeId);
+        }
+        state.touch();
+        return state;
+    }
+
+    /**
+     * Loads a showtime outside the state map, so the query never blocks a map bin. Concurrent callers for the same
+     * showtime wait for the first caller's load instead of querying again.
+     */
+    private ShowtimeSeatState loadOnce(int showtimeId) {
+        CompletableFuture<ShowtimeSeatState> loading = new CompletableFuture<>();
+        CompletableFuture<ShowtimeSeatState> pending = loads.putIfAbsent(showtimeId, loading);
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+        try {
+            ShowtimeSeatState state = states.get(showtimeId);
+            if (state == null) {
+                ShowtimeSeatState loaded = load(showtimeId);
+                state = states.putIfAbsent(showtimeId, loaded);
+                if (state == null) {
+                    state = loaded;
+                    loaded.holds().forEach(claim -> claimsByToken.put(claim.token(), claim));
+                }
+            }
+            loading.complete(state);
+            return state;
+        } catch (RuntimeException ex) {
+            loading.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loads.remove(showtimeId, loading);
+        }
+    }
+
+    private ShowtimeSeatState load(int showtimeId) {
+        List<SeatStateRow> rows = showtimeSeatRepository.fetchSeatStateRows(showtimeId);
+        if (rows.isEmpty() && !showtimeRepository.existsById(showtimeId)) {
+            throw new EntityNotFoundException("Showtime not found: " + showtimeId);
+        }
+        Map<Integer, SeatStateRow> bySeat = new TreeMap<>();
+        for (SeatStateRow row : rows) {
+            SeatStateRow existing = bySeat.get(row.seatId());
+            if (existing == null || (existing.bookingId() == null && row.bookingId() != null)) {
+                bySeat.put(row.seatId(), row);
+            }
+        }
+        List<SeatStateRow> ordered = new ArrayList<>(bySeat.values());
+        ShowtimeSeatState.SeatDescriptor[] descriptors = ordered.stream()
+                .map(row -> new ShowtimeSeatState.SeatDescriptor(
+                        row.seatId(),
+                        row.showtimeSeatId(),
+                        row.rowLabel(),
+                        row.seatNumber(),
+                        row.seatTypeName(),
+                        row.effectivePrice(),
+                        "AVAILABLE".equalsIgnoreCase(row.seatStatus())))
+                .toArray(ShowtimeSeatState.SeatDescriptor[]::new);
+        int[] displayOrder = IntStream.range(0, descriptors.length)
+                .boxed()
+                .sorted(Comparator.comparing((Integer slot) -> descriptors[slot].rowLabel(),
+                                Comparator.nullsLast(Comparator.<String>naturalOrder()))
+                        .thenComparing(slot -> descriptors[slot].seatNumber(),
+                                Comparator.nullsLast(Comparator.<Integer>naturalOrder())))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        ShowtimeSeatState state = new ShowtimeSeatState(showtimeId, descriptors, displayOrder, versionSequence);
+
+        Map<UUID, List<SeatStateRow>> holdsByToken = new HashMap<>();
+        for (SeatStateRow row : ordered) {
+            int slot = state.slotOf(row.seatId());
+            if (row.bookingId() != null) {
+                state.putBooking(row.bookingId(), new ShowtimeSeatState.BookingOwner(
+                        row.bookingUserId(), row.paymentStatus() == PaymentStatus.Paid));
+                state.set(slot, -row.bookingId());
+            } else if (row.holdToken() != null) {
+                holdsByToken.computeIfAbsent(row.holdToken(), token -> new ArrayList<>()).add(row);
+            }
+        }
+        holdsByToken.forEach((token, holdRows) -> {
+            int[] slots = holdRows.stream().mapToInt(row -> state.slotOf(row.seatId())).toArray();
+            SeatStateRow first = holdRows.get(0);
+            HoldClaim claim = new HoldClaim(claimSequence.incrementAndGet(), token, showtimeId,
+                    first.holdUserId(), first.holdExpiresAt(), slots);
+            state.putHold(claim);
+            for (int slot : slots) {
+                state.set(slot, claim.id());
+            }
+        });
+        log.debug("Loaded seat state for showtime {} ({} seats, {} holds)",
+                showtimeId, descriptors.length, holdsByToken.size());
+        return state;
+    }
+
+    private SlotOwner classify(ShowtimeSeatState state,
+                               int current,
+                               HoldClaim hold,
+                               Integer userId,
+                               OffsetDateTime now) {
+        if (current == ShowtimeSeatState.FREE) {
+            return SlotOwner.NONE;
+        }
+        if (current > 0) {
+            if (hold == null) {
+                return SlotOwner.NONE;
+            }
+            if (hold.isExpired(now)) {
+                return SlotOwner.EXPIRED_HOLD;
+            }
+            return hold.isOwnedBy(userId) ? SlotOwner.OWN_HOLD : SlotOwner.OTHER;
+        }
+        ShowtimeSeatState.BookingOwner booking = state.booking(-current);
+        if (booking == null) {
+            return SlotOwner.NONE;
+        }
+        if (!booking.paid() && userId != null && userId.equals(booking.userId())) {
+            return SlotOwner.OWN_BOOKING;
+        }
+        return SlotOwner.OTHER;
+    }
+
+    private List<Integer> conflictingSeatIds(ShowtimeSeatState state,
+                                             int[] slots,
+                                             Integer userId,
+                                             OffsetDateTime now) {
+        List<Integer> conflicts = new ArrayList<>();
+        for (int slot : slots) {
+            int current = state.get(slot);
+            HoldClaim heldBy = current > 0 ? state.hold(current) : null;
+            if (classify(state, current, heldBy, userId, now) == SlotOwner.OTHER) {
+                conflicts.add(state.seatIdAt(slot));
+            }
+        }
+        return conflicts;
+    }
+
+    private void rollback(ShowtimeSeatState state, int[] slots, int[] previous, int acquired, int claimId) {
+        for (int i = 0; i < acquired; i++) {
+            state.compareAndSet(slots[i], claimId, previous[i]);
+        }
+    }
+
+    private void release(UUID token) {
+        HoldClaim claim = claimsByToken.remove(token);
+        if (claim == null) {
+            return;
+        }
+        ShowtimeSeatState state = states.get(claim.showtimeId());
+        if (state == null) {
+            return;
+        }
+        for (int slot : claim.slots()) {
+            state.compareAndSet(slot, claim.id(), ShowtimeSeatState.FREE);
+        }
+        state.removeHold(claim.id());
+        publishChange(claim.showtimeId());
+    }
+
+    private void publishChange(int showtimeId) {
+        eventPublisher.publishEvent(new SeatMapChangedEvent(showtimeId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void evictOnRollback(int showtimeId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    invalidate(showtimeId);
+                }
+            }
+        });
+    }
+
+    private enum SlotOwner {
+        NONE,
+        EXPIRED_HOLD,
+        OWN_HOLD,
+        OWN_BOOKING,
+        OTHER
+    }
+}
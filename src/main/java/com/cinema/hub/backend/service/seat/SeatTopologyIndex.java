@@ -0,0 +1,121 @@
+package com.cinema.hub.backend.service.seat;
+
+import com.cinema.hub.backend.dto.SeatTopologyRow;
+import com.cinema.hub.backend.entity.Seat;
+import com.cinema.hub.backend.repository.SeatRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Seat topology of every auditorium, loaded once and replaced whenever {@code AuditoriumServiceImpl}
+ * regenerates or removes a layout. Lookups by seat id need no database access.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatTopologyIndex {
+
+    private final SeatRepository seatRepository;
+
+    private final Map<Integer, AuditoriumSeatTopology> topologies = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> auditoriumBySeat = new ConcurrentHashMap<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    /**
+     * Topology of the auditorium the seat belongs to, or {@code null} when the seat does not exist.
+     */
+    public AuditoriumSeatTopology forSeat(int seatId) {
+        ensureLoaded();
+        Integer auditoriumId = auditoriumBySeat.get(seatId);
+        if (auditoriumId == null) {
+            auditoriumId = seatRepository.findAuditoriumIdBySeatId(seatId).orElse(null);
+            if (auditoriumId == null) {
+                return null;
+            }
+            reload(auditoriumId);
+        }
+        return topologies.get(auditoriumId);
+    }
+
+    public void register(int auditoriumId, List<Seat> seats) {
+        List<SeatTopologyRow> rows = seats.stream()
+                .map(seat -> new SeatTopologyRow(
+                        seat.getId(),
+                        auditoriumId,
+                        seat.getRowLabel(),
+                        seat.getSeatNumber(),
+                        seat.getSeatType() != null ? seat.getSeatType().getId() : null,
+                        seat.getSeatType() != null ? seat.getSeatType().getName() : null))
+                .toList();
+        afterCommit(() -> put(AuditoriumSeatTopology.of(auditoriumId, rows)));
+    }
+
+    public void invalidate(int auditoriumId) {
+        afterCommit(() -> remove(auditoriumId));
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        // a lock rather than synchronized: the load queries the database and must not pin a virtual thread
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            Map<Integer, List<SeatTopologyRow>> byAuditorium = seatRepository.findTopologyRows().stream()
+                    .collect(Collectors.groupingBy(SeatTopologyRow::auditoriumId));
+            byAuditorium.forEach((auditoriumId, rows) -> put(AuditoriumSeatTopology.of(auditoriumId, rows)));
+            loaded = true;
+            log.info("Seat topology index loaded for {} auditoriums", byAuditorium.size());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void reload(int auditoriumId) {
+        List<SeatTopologyRow> rows = seatRepository.findTopologyRowsByAuditoriumId(auditoriumId);
+        put(AuditoriumSeatTopology.of(auditoriumId, rows));
+    }
+
+    private synchronized void put(AuditoriumSeatTopology topology) {
+        remove(topology.auditoriumId());
+        topologies.put(topology.auditoriumId(), topology);
+        for (int seatId : topology.seatIds()) {
+            auditoriumBySeat.put(seatId, topology.auditoriumId());
+        }
+    }
+
+    private synchronized void remove(int auditoriumId) {
+        AuditoriumSeatTopology previous = topologies.remove(auditoriumId);
+        if (previous == null) {
+            return;
+        }
+        for (int seatId : previous.seatIds()) {
+            auditoriumBySeat.remove(seatId, auditoriumId);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
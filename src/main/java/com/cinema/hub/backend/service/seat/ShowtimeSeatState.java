@@ -0,0 +1,256 @@
+package com.cinema.hub.backend.service.seat;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Seat slots of a single showtime. A slot is {@code 0} when free, a positive hold claim id when held
+ * and a negated booking id when it belongs to a non-cancelled booking. Every slot change is stamped with
+ * a version drawn from the engine-wide sequence so readers can ask for the seats changed since a version.
+ * Held and booked slots are counted on every transition, so occupancy is read without scanning the slots.
+ */
+final class ShowtimeSeatState {
+
+    static final int FREE = 0;
+
+    private final int showtimeId;
+    private final int[] seatIds;
+    private final SeatDescriptor[] descriptors;
+    private final int[] displayOrder;
+    private final AtomicIntegerArray slots;
+    private final long[] slotVersions;
+    private final AtomicLong versionSequence;
+    private final ReentrantLock versionLock = new ReentrantLock();
+    private final Map<Integer, HoldClaim> holds = new ConcurrentHashMap<>();
+    private final Map<Integer, BookingOwner> bookings = new ConcurrentHashMap<>();
+    private final AtomicInteger heldSlots = new AtomicInteger();
+    private final AtomicInteger bookedSlots = new AtomicInteger();
+    private final int sellableSlots;
+    private long version;
+    private volatile long lastAccessMillis = System.currentTimeMillis();
+
+    ShowtimeSeatState(int showtimeId,
+                      SeatDescriptor[] descriptors,
+                      int[] displayOrder,
+                      AtomicLong versionSequence) {
+        this.showtimeId = showtimeId;
+        this.descriptors = descriptors;
+        this.displayOrder = displayOrder;
+        this.versionSequence = versionSequence;
+        this.seatIds = new int[descriptors.length];
+        int sellable = 0;
+        for (int slot = 0; slot < descriptors.length; slot++) {
+            seatIds[slot] = descriptors[slot].seatId();
+            sellable += descriptors[slot].sellable() ? 1 : 0;
+        }
+        this.sellableSlots = sellable;
+        this.slots = new AtomicIntegerArray(descriptors.length);
+        this.slotVersions = new long[descriptors.length];
+        this.version = versionSequence.incrementAndGet();
+        Arrays.fill(slotVersions, version);
+    }
+
+    int showtimeId() {
+        return showtimeId;
+    }
+
+    int size() {
+        return seatIds.length;
+    }
+
+    int slotOf(int seatId) {
+        int index = Arrays.binarySearch(seatIds, seatId);
+        return index >= 0 ? index : -1;
+    }
+
+    int seatIdAt(int slot) {
+        return seatIds[slot];
+    }
+
+    int showtimeSeatIdAt(int slot) {
+        return descriptors[slot].showtimeSeatId();
+    }
+
+    boolean isSellable(int slot) {
+        return descriptors[slot].sellable();
+    }
+
+    int get(int slot) {
+        return slots.get(slot);
+    }
+
+    /**
+     * Initial assignment while the state is being built; not visible to other threads yet.
+     */
+    void set(int slot, int value) {
+        count(slots.getAndSet(slot, value), value);
+    }
+
+    boolean compareAndSet(int slot, int expected, int value) {
+        if (!slots.compareAndSet(slot, expected, value)) {
+            return false;
+        }
+        if (expected != value) {
+            count(expected, value);
+            markChanged(slot);
+        }
+        return true;
+    }
+
+    SeatOccupancy occupancy() {
+        return new SeatOccupancy(seatIds.length, sellableSlots, bookedSlots.get(), heldSlots.get());
+    }
+
+    HoldClaim hold(int claimId) {
+        return holds.get(claimId);
+    }
+
+    void putHold(HoldClaim claim) {
+        holds.put(claim.id(), claim);
+    }
+
+    void removeHold(int claimId) {
+        holds.remove(claimId);
+    }
+
+    Collection<HoldClaim> holds() {
+        return holds.values();
+    }
+
+    BookingOwner booking(int bookingId) {
+        return bookings.get(bookingId);
+    }
+
+    void putBooking(int bookingId, BookingOwner owner) {
+        bookings.put(bookingId, owner);
+    }
+
+    void markBookingPaid(int bookingId) {
+        if (bookings.computeIfPresent(bookingId, (id, owner) -> new BookingOwner(owner.userId(), true)) == null) {
+            return;
+        }
+        int marker = -bookingId;
+        for (int slot = 0; slot < seatIds.length; slot++) {
+            if (slots.get(slot) == marker) {
+                markChanged(slot);
+            }
+        }
+    }
+
+    void removeBooking(int bookingId) {
+        bookings.remove(bookingId);
+        int marker = -bookingId;
+        for (int slot = 0; slot < seatIds.length; slot++) {
+            compareAndSet(slot, marker, FREE);
+        }
+    }
+
+    /**
+     * Seats changed after {@code since}, in row/number order. Asking with a version older than the state itself
+     * (or {@code 0}) returns the full map.
+     */
+    SeatMapSnapshot snapshot(long since, OffsetDateTime now) {
+        long current;
+        long[] versions;
+        versionLock.lock();
+        try {
+            current = version;
+            versions = slotVersions.clone();
+        } finally {
+            versionLock.unlock();
+        }
+        if (current == since) {
+            return new SeatMapSnapshot(current, List.of());
+        }
+        List<SeatSnapshot> seats = new ArrayList<>();
+        for (int slot : displayOrder) {
+            if (versions[slot] > since || since > current) {
+                seats.add(describe(slot, now));
+            }
+        }
+        return new SeatMapSnapshot(current, seats);
+    }
+
+    void touch() {
+        lastAccessMillis = System.currentTimeMillis();
+    }
+
+    long lastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    private SeatSnapshot describe(int slot, OffsetDateTime now) {
+        SeatDescriptor descriptor = descriptors[slot];
+        String status;
+        Integer ownerUserId = null;
+        int value = slots.get(slot);
+        if (!descriptor.sellable()) {
+            status = "DISABLED";
+        } else if (value > 0) {
+            HoldClaim claim = holds.get(value);
+            if (claim == null || claim.isExpired(now)) {
+                status = "AVAILABLE";
+            } else {
+                status = "HELD";
+                ownerUserId = claim.userId();
+            }
+        } else if (value < 0) {
+            BookingOwner owner = bookings.get(-value);
+            if (owner == null) {
+                status = "AVAILABLE";
+            } else {
+                status = owner.paid() ? "SOLD" : "HELD";
+                ownerUserId = owner.userId();
+            }
+        } else {
+            status = "AVAILABLE";
+        }
+        return new SeatSnapshot(descriptor.seatId(), descriptor.rowLabel(), descriptor.seatNumber(),
+                descriptor.seatType(), descriptor.price(), status, ownerUserId);
+    }
+
+    private void count(int previous, int current) {
+        if (previous > 0) {
+            heldSlots.decrementAndGet();
+        } else if (previous < 0) {
+            bookedSlots.decrementAndGet();
+        }
+        if (current > 0) {
+            heldSlots.incrementAndGet();
+        } else if (current < 0) {
+            bookedSlots.incrementAndGet();
+        }
+    }
+
+    private void markChanged(int slot) {
+        versionLock.lock();
+        try {
+            version = versionSequence.incrementAndGet();
+            slotVersions[slot] = version;
+        } finally {
+            versionLock.unlock();
+        }
+    }
+
+    record SeatDescriptor(int seatId,
+                          int showtimeSeatId,
+                          String rowLabel,
+                          Integer seatNumber,
+                          String seatType,
+                          BigDecimal price,
+                          boolean sellable) {
+    }
+
+    record BookingOwner(Integer userId, boolean paid) {
+    }
+}
@@ -7,27 +7,32 @@ import com.cinema.hub.backend.dto.staff.StaffBookingSummaryDto;
 import com.cinema.hub.backend.dto.staff.WalkInBookingRequest;
 import com.cinema.hub.backend.entity.Booking;
 import com.cinema.hub.backend.entity.BookingSeat;
+import com.cinema.hub.backend.entity.PaymentLog;
 import com.cinema.hub.backend.entity.Ticket;
 import com.cinema.hub.backend.entity.UserAccount;
 import com.cinema.hub.backend.entity.enums.BookingStatus;
 import com.cinema.hub.backend.entity.enums.PaymentStatus;
 import com.cinema.hub.backend.payment.service.TicketEmailService;
+import com.cinema.hub.backend.payment.service.TicketFulfilmentService;
+import com.cinema.hub.backend.payment.vietqr.PaymentQrService;
 import com.cinema.hub.backend.repository.BookingRepository;
 import com.cinema.hub.backend.repository.BookingSeatRepository;
 import com.cinema.hub.backend.repository.PaymentLogRepository;
 import com.cinema.hub.backend.repository.TicketRepository;
 import com.cinema.hub.backend.repository.staff.StaffTicketRepository;
-import com.cinema.hub.backend.entity.PaymentLog;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.cinema.hub.backend.service.BookingService;
 import com.cinema.hub.backend.service.exception.StaffOperationException;
+import com.cinema.hub.backend.service.seat.SeatStateEngine;
 import com.cinema.hub.backend.util.TimeProvider;
 import com.cinema.hub.backend.util.PaymentMethodNormalizer;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.OffsetDateTime;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -47,14 +52,19 @@ import org.springframework.util.StringUtils;
 @Slf4j
 public class StaffBookingService {
 
+    private static final String PNG_DATA_URI_PREFIX = "data:image/png;base64,";
+
     private final BookingService bookingService;
     private final BookingRepository bookingRepository;
     private final BookingSeatRepository bookingSeatRepository;
     private final TicketRepository ticketRepository;
     private final StaffTicketRepository staffTicketRepository;
     private final TicketEmailService ticketEmailService;
+    private final TicketFulfilmentService ticketFulfilmentService;
     private final PaymentLogRepository paymentLogRepository;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PaymentQrService paymentQrService;
+    private final SeatStateEngine seatStateEngine;
+    private final ObjectMapper objectMapper;
 
     @Transactional(readOnly = true)
     public StaffBookingSummaryDto getBookingByCode(String bookingCode) {
@@ -67,25 +77,28 @@ public class StaffBookingService {
     @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
     public Optional<Map<String, Object>> getPaymentInfoForBooking(Integer bookingId) {
         try {
-            List<PaymentLog> logs = paymentLogRepository.findByBooking_IdOrderByCreatedAtDesc(bookingId);
-            if (logs.isEmpty()) {
-                return Optional.empty();
-            }
-            PaymentLog latestLog = logs.get(0);
-            if (latestLog.getRawMessage() == null) {
-                return Optional.empty();
-            }
-            try {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> paymentInfo = (Map<String, Object>) objectMapper.readValue(latestLog.getRawMessage(), Map.class);
-                paymentInfo.put("orderCode", latestLog.getProviderTransactionId());
+            return paymentLogRepository.findTopByBooking_IdOrderByCreatedAtDesc(bookingId).map(latestLog -> {
+                Map<String, Object> legacy = legacyPaymentInfo(latestLog);
+                Map<String, Object> paymentInfo = new HashMap<>();
+                paymentInfo.put("orderCode", latestLog.getOrderCode() != null
+                        ? latestLog.getOrderCode()
+                        : latestLog.getProviderTransactionId());
                 paymentInfo.put("amount", latestLog.getAmount());
                 paymentInfo.put("status", latestLog.getStatus());
-                return Optional.of(paymentInfo);
-            } catch (Exception ex) {
-                log.warn("Unable to parse payment log for booking {}: {}", bookingId, ex.getMessage());
-                return Optional.empty();
-            }
+                paymentInfo.put("email", latestLog.getEmail() != null ? latestLog.getEmail() : legacy.get("email"));
+                paymentInfo.put("transferContent", latestLog.getTransferContent() != null
+                        ? latestLog.getTransferContent()
+                        : legacy.get("transferContent"));
+                paymentInfo.put("expiresAt", latestLog.getExpiresAt() != null
+                        ? latestLog.getExpiresAt()
+                        : parseLegacyExpiry(legacy.get("expiresAt")));
+                if (StringUtils.hasText(latestLog.getQrPayload())) {
+                    paymentInfo.put("qr", paymentQrService.renderPayload(latestLog.getQrPayload()));
+                } else if (legacy.get("qr") instanceof String legacyQr && StringUtils.hasText(legacyQr)) {
+                    paymentInfo.put("qr", legacyQr.startsWith("data:") ? legacyQr : PNG_DATA_URI_PREFIX + legacyQr);
+                }
+                return paymentInfo;
+            });
         } catch (Exception ex) {
             log.warn("Unable to retrieve payment log for booking {}: {}", bookingId, ex.getMessage());
             return Optional.empty();
@@ -102,27 +115,18 @@ public class StaffBookingService {
         }
         
         Map<String, Object> info = paymentInfo.get();
-        String qrBase64 = (String) info.get("qr");
-        if (qrBase64 == null) {
+        String qrDataUrl = (String) info.get("qr");
+        if (qrDataUrl == null) {
             throw new StaffOperationException("Chưa có mã QR cho đơn này");
         }
         
-        OffsetDateTime expiresAt = null;
-        if (info.get("expiresAt") != null) {
-            try {
-                expiresAt = OffsetDateTime.parse(info.get("expiresAt").toString());
-            } catch (Exception ex) {
-                log.warn("Unable to parse expiresAt: {}", ex.getMessage());
-            }
-        }
-        
         return StaffBookingQrDto.builder()
                 .bookingId(booking.getBookingId())
                 .bookingCode(booking.getBookingCode())
-                .qrImageUrl("data:image/png;base64," + qrBase64)
+                .qrImageUrl(qrDataUrl)
                 .amount((BigDecimal) info.get("amount"))
                 .transferContent((String) info.get("transferContent"))
-                .expiresAt(expiresAt)
+                .expiresAt((OffsetDateTime) info.get("expiresAt"))
                 .build();
     }
 
@@ -193,25 +197,11 @@ public class StaffBookingService {
             throw new StaffOperationException("Hình thức thanh toán chưa được chọn");
         }
         Booking updated = bookingService.markBookingPaid(booking, booking.getPaymentMethod());
-        byte[] pdfBytes = null;
-        try {
-            pdfBytes = ticketEmailService.generatePdf(updated.getId());
-        } catch (RuntimeException ex) {
-            log.warn("Unable to generate ticket PDF for booking {}: {}", updated.getBookingCode(), ex.getMessage());
-        }
         String email = updated.getCustomerEmail();
         if (StringUtils.hasText(email)) {
-            try {
-                ticketEmailService.sendTicket(updated.getId(), email);
-            } catch (RuntimeException ex) {
-                log.warn("Unable to send ticket email for booking {}: {}", updated.getBookingCode(), ex.getMessage());
-            }
-        }
-        StaffBookingSummaryDto summary = buildSummary(updated, false);
-        if (pdfBytes != null && pdfBytes.length > 0) {
-            summary.setTicketPdfBase64(Base64.getEncoder().encodeToString(pdfBytes));
+            ticketFulfilmentService.enqueue(updated, email);
         }
-        return summary;
+        return buildSummary(updated, false);
     }
 
     @DeadlockRetryable
@@ -229,6 +219,7 @@ public class StaffBookingService {
         bookingRepository.save(booking);
         ticketRepository.deleteByBookingSeat_Booking_Id(bookingId);
         bookingSeatRepository.deleteByBookingId(bookingId);
+        seatStateEngine.onBookingCancelled(booking.getShowtime().getId(), bookingId);
         return buildSummary(booking, false);
     }
 
@@ -410,6 +401,35 @@ public class StaffBookingService {
         return false;
     }
 
+    /**
+     * Payment logs written before the typed columns existed keep email, expiry, transfer content and the rendered
+     * QR image in the RawMessage JSON; their order code is the ProviderTransactionId.
+     */
+    private Map<String, Object> legacyPaymentInfo(PaymentLog paymentLog) {
+        if (StringUtils.hasText(paymentLog.getQrPayload()) || !StringUtils.hasText(paymentLog.getRawMessage())) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(paymentLog.getRawMessage(), new TypeReference<Map<String, Object>>() {
+            });
+        } catch (Exception ex) {
+            log.warn("Unable to parse legacy payment log {}: {}", paymentLog.getId(), ex.getMessage());
+            return Map.of();
+        }
+    }
+
+    private OffsetDateTime parseLegacyExpiry(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value.toString());
+        } catch (Exception ex) {
+            log.warn("Unable to parse expiresAt: {}", ex.getMessage());
+            return null;
+        }
+    }
+
     private String normalizeEmail(String email) {
         if (email == null) {
             return null;
@@ -1,6 +1,5 @@
 package com.cinema.hub.backend.service.staff;
 
-import com.cinema.hub.backend.dto.SeatMapItemDto;
 import com.cinema.hub.backend.dto.staff.StaffShowtimeFilterDto;
 import com.cinema.hub.backend.dto.staff.StaffShowtimeOptionDto;
 import com.cinema.hub.backend.dto.staff.StaffShowtimeSummaryDto;
@@ -8,7 +7,8 @@ import com.cinema.hub.backend.entity.Showtime;
 import com.cinema.hub.backend.repository.ShowtimeRepository;
 import com.cinema.hub.backend.repository.staff.ShowtimeOccupancyView;
 import com.cinema.hub.backend.repository.staff.StaffShowtimeSeatRepository;
-import com.cinema.hub.backend.service.SeatReservationService;
+import com.cinema.hub.backend.service.seat.SeatOccupancy;
+import com.cinema.hub.backend.service.seat.SeatStateEngine;
 import com.cinema.hub.backend.util.TimeProvider;
 import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
@@ -16,12 +16,14 @@ import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -29,11 +31,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class StaffShowtimeService {
 
     private final ShowtimeRepository showtimeRepository;
     private final StaffShowtimeSeatRepository staffShowtimeSeatRepository;
-    private final SeatReservationService seatReservationService;
+    private final SeatStateEngine seatStateEngine;
 
     @Transactional(readOnly = true)
     public List<StaffShowtimeSummaryDto> getShowtimes(StaffShowtimeFilterDto filter) {
@@ -52,13 +55,27 @@ public class StaffShowtimeService {
     public StaffShowtimeSummaryDto getShowtime(Integer showtimeId) {
         Showtime showtime = showtimeRepository.findByIdWithDetails(showtimeId)
                 .orElseThrow(() -> new EntityNotFoundException("Showtime not found: " + showtimeId));
-        List<SeatMapItemDto> seatMap = seatReservationService.getSeatMap(showtimeId);
-        long sellable = seatMap.stream().filter(item -> !"DISABLED".equalsIgnoreCase(item.getStatus())).count();
-        long held = seatMap.stream().filter(item -> "HELD".equalsIgnoreCase(item.getStatus())).count();
-        long available = seatMap.stream().filter(item -> "AVAILABLE".equalsIgnoreCase(item.getStatus())).count();
-        long sold = sellable - held - available;
-        ShowtimeOccupancyView fallback = new ShowtimeOccupancyView(showtimeId, seatMap.size(), sellable, sold, held);
-        return mapToSummary(showtime, fallback);
+        return mapToSummary(showtime, toView(showtimeId, seatStateEngine.occupancy(showtimeId)));
+    }
+
+    /**
+     * Checks the in-memory seat counters of every loaded showtime against the database.
+     */
+    @Transactional(readOnly = true)
+    public void reconcileOccupancy() {
+        List<Integer> ids = List.copyOf(seatStateEngine.loadedShowtimeIds());
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Integer, SeatOccupancy> stored = new HashMap<>();
+        for (ShowtimeOccupancyView row : staffShowtimeSeatRepository.calculateOccupancy(ids, TimeProvider.now())) {
+            stored.put(row.showtimeId(), new SeatOccupancy((int) row.totalSeats(), (int) row.sellableSeats(),
+                    (int) row.soldSeats(), (int) row.heldSeats()));
+        }
+        int reloaded = seatStateEngine.reconcileOccupancy(ids, stored);
+        if (reloaded > 0) {
+            log.info("Reloaded seat state of {} showtimes after occupancy reconciliation", reloaded);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -128,12 +145,30 @@ public class StaffShowtimeService {
         if (ids.isEmpty()) {
             return Collections.emptyMap();
         }
+        Map<Integer, ShowtimeOccupancyView> occupancy = new HashMap<>();
+        seatStateEngine.loadedOccupancy(ids).forEach((id, counters) -> occupancy.put(id, toView(id, counters)));
+        List<Integer> missing = ids.stream()
+                .filter(id -> !occupancy.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            // showtimes outside the seat engine's warm window (mostly past ones) are counted in the database
+            occupancy.putAll(queryOccupancy(missing));
+        }
+        return occupancy;
+    }
+
+    private Map<Integer, ShowtimeOccupancyView> queryOccupancy(List<Integer> showtimeIds) {
         OffsetDateTime now = TimeProvider.now();
-        List<ShowtimeOccupancyView> rows = staffShowtimeSeatRepository.calculateOccupancy(ids, now);
+        List<ShowtimeOccupancyView> rows = staffShowtimeSeatRepository.calculateOccupancy(showtimeIds, now);
         return rows.stream()
                 .collect(Collectors.toMap(ShowtimeOccupancyView::showtimeId, Function.identity()));
     }
 
+    private ShowtimeOccupancyView toView(Integer showtimeId, SeatOccupancy occupancy) {
+        return new ShowtimeOccupancyView(showtimeId, occupancy.totalSeats(), occupancy.sellableSeats(),
+                occupancy.soldSeats(), occupancy.heldSeats());
+    }
+
     private StaffShowtimeSummaryDto mapToSummary(Showtime showtime, ShowtimeOccupancyView occupancy) {
         long totalSeats = occupancy != null ? occupancy.totalSeats() : 0;
         long sellableSeats = occupancy != null ? occupancy.sellableSeats() : totalSeats;
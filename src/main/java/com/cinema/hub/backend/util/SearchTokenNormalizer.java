@@ -0,0 +1,50 @@
+package com.cinema.hub.backend.util;
+
+import java.util.Locale;
+import org.springframework.util.StringUtils;
+
+/**
+ * Query side of {@code BookingSearchTokens}: turns what an admin typed into the form tokens are stored in, so a
+ * {@code LIKE 'prefix%'} seek on the token index finds it. Must stay in step with the token SQL in
+ * {@code BookingSearchTokenRepository}.
+ */
+public final class SearchTokenNormalizer {
+
+    public static final int MAX_TOKEN_LENGTH = 255;
+
+    private SearchTokenNormalizer() {
+    }
+
+    /**
+     * Lower-cased, trimmed query; phone-like input ({@code +84 912-345.678}) loses its separators. Returns
+     * {@code null} for blank input.
+     */
+    public static String normalize(String raw) {
+        if (!StringUtils.hasText(raw)) {
+            return null;
+        }
+        String token = raw.trim().toLowerCase(Locale.ROOT);
+        if (token.matches("[0-9+().\\s-]+")) {
+            token = token.replaceAll("[+().\\s-]", "");
+        }
+        if (token.isEmpty()) {
+            return null;
+        }
+        return token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token;
+    }
+
+    /**
+     * {@code LIKE} pattern matching every token that starts with {@code token}, to be used with {@code ESCAPE '\'}.
+     */
+    public static String prefixPattern(String token) {
+        StringBuilder pattern = new StringBuilder(token.length() + 2);
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '\\' || c == '%' || c == '_' || c == '[') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
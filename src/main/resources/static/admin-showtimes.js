@@ -15,12 +15,16 @@ const showtimeApi = {
     grouped: "/api/admin/showtimes/grouped",
     detail: (id) => `/api/admin/showtimes/${id}`,
     create: "/api/admin/showtimes",
+    scheduleJobs: "/api/admin/showtimes/schedule-jobs",
+    scheduleJob: (jobId) => `/api/admin/showtimes/schedule-jobs/${encodeURIComponent(jobId)}`,
     update: (id) => `/api/admin/showtimes/${id}`,
     delete: (id) => `/api/admin/showtimes/${id}`,
     toggleActive: (id, active) => `/api/admin/showtimes/${id}/active?active=${active}`,
     auditoriums: "/api/admin/showtime-options/auditoriums"
 };
 
+const SCHEDULE_JOB_POLL_MS = 700;
+
 const showtimeDataBus = window.AdminDataBus || {
     dispatch: () => {},
     subscribe: () => () => {}
@@ -1022,7 +1026,7 @@ async function submitShowtimeForm(event) {
     }
     setSubmittingState(true, submitBtn);
 
-    const url = currentId ? showtimeApi.update(currentId) : showtimeApi.create;
+    const url = currentId ? showtimeApi.update(currentId) : showtimeApi.scheduleJobs;
     const method = currentId ? "PUT" : "POST";
 
     try {
@@ -1035,6 +1039,9 @@ async function submitShowtimeForm(event) {
             const error = await response.json().catch(() => ({}));
             throw new Error(error.message || "Không thể lưu suất chiếu.");
         }
+        if (!currentId) {
+            await waitForScheduleJob(await response.json(), submitBtn);
+        }
         showSuccessToast("Lưu thành công!");
         showtimeDataBus.dispatch("showtimes");
         resetShowtimeForm();
@@ -1048,6 +1055,34 @@ async function submitShowtimeForm(event) {
     }
 }
 
+async function waitForScheduleJob(job, button) {
+    let current = job;
+    while (current && current.status === "RUNNING") {
+        updateScheduleProgress(current, button);
+        await new Promise((resolve) => setTimeout(resolve, SCHEDULE_JOB_POLL_MS));
+        const response = await fetch(showtimeApi.scheduleJob(current.jobId));
+        if (!response.ok) {
+            const error = await response.json().catch(() => ({}));
+            throw new Error(error.message || "Không thể lấy tiến độ tạo suất chiếu.");
+        }
+        current = await response.json();
+    }
+    if (current?.status === "FAILED") {
+        if (current.createdShowtimes > 0) {
+            showtimeDataBus.dispatch("showtimes");
+            fetchShowtimes();
+        }
+        const created = `Đã tạo ${current.createdShowtimes}/${current.totalShowtimes} suất chiếu.`;
+        throw new Error(`${current.message || "Không thể lưu suất chiếu."} ${created}`);
+    }
+}
+
+function updateScheduleProgress(job, button) {
+    if (!button || !job.totalShowtimes) return;
+    button.innerHTML = `<span class="spinner-border spinner-border-sm me-2" role="status" aria-hidden="true"></span>`
+        + `Đang tạo ${job.createdShowtimes}/${job.totalShowtimes}...`;
+}
+
 function buildShowtimePayload() {
     const startDateValue = document.getElementById("showtimeStartDate")?.value || "";
     const startTimeValue = document.getElementById("showtimeStartTime")?.value || "";
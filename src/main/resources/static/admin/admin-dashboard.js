@@ -4,7 +4,8 @@
         revenue: "/api/admin/dashboard/revenue-range",
         status: "/api/admin/dashboard/order-status-chart",
         table: "/api/admin/dashboard/order-table",
-        export: "/api/admin/dashboard/export.xlsx"
+        export: "/api/admin/dashboard/export.xlsx",
+        exportCsv: "/api/admin/dashboard/export.csv"
     };
 
     const SELECTORS = {
@@ -50,6 +51,8 @@
         page: 0,
         size: 10,
         totalPages: 0,
+        // cursors[i] fetches page i; filled from each page's nextCursor
+        cursors: [null],
         charts: {
             status: null,
             revenue: null
@@ -131,7 +134,7 @@
         });
         document.getElementById("applyFiltersBtn")?.addEventListener("click", () => {
             readFiltersFromForm();
-            state.page = 0;
+            resetPaging();
             loadTable();
         });
         document.getElementById("resetFiltersBtn")?.addEventListener("click", () => {
@@ -142,7 +145,7 @@
                 createdStart: "",
                 createdEnd: ""
             };
-            state.page = 0;
+            resetPaging();
             loadTable();
         });
     }
@@ -155,8 +158,7 @@
             }
         });
         document.querySelector(SELECTORS.paginationNext)?.addEventListener("click", () => {
-            const totalPages = state.totalPages || 0;
-            if (totalPages === 0 || state.page + 1 >= totalPages) {
+            if (!state.cursors[state.page + 1]) {
                 return;
             }
             state.page += 1;
@@ -164,12 +166,21 @@
         });
     }
 
+    function resetPaging() {
+        state.page = 0;
+        state.cursors = [null];
+    }
+
     function bindExport() {
         document.getElementById("exportButton")?.addEventListener("click", () => {
             const params = buildTableParams();
             const url = `${API.export}?${params.toString()}`;
             window.open(url, "_blank");
         });
+        document.getElementById("exportCsvButton")?.addEventListener("click", () => {
+            const params = buildTableParams();
+            window.open(`${API.exportCsv}?${params.toString()}`, "_blank");
+        });
     }
 
     function toggleCustomSection(show) {
@@ -239,6 +250,10 @@
         const params = buildTableParams();
         params.set("page", state.page);
         params.set("size", state.size);
+        const cursor = state.cursors[state.page];
+        if (cursor) {
+            params.set("cursor", cursor);
+        }
         const response = await fetchJson(`${API.table}?${params.toString()}`);
         if (!response) {
             return;
@@ -435,17 +450,18 @@
         const page = pageDto.page ?? 0;
         const size = pageDto.size ?? state.size;
         const start = totalElements === 0 ? 0 : (page * size) + 1;
-        const end = Math.min((page + 1) * size, totalElements);
+        const end = Math.min((page * size) + (pageDto.content?.length ?? 0), totalElements);
         setText(SELECTORS.paginationInfo, `${page + 1} / ${Math.max(totalPages, 1)}`);
         setText(SELECTORS.recordStats, `Hiển thị ${start}-${end} / ${totalElements}`);
         state.totalPages = totalPages;
+        state.cursors.length = page + 1;
+        if (pageDto.nextCursor) {
+            state.cursors[page + 1] = pageDto.nextCursor;
+        }
         const prevBtn = document.querySelector(SELECTORS.paginationPrev);
         const nextBtn = document.querySelector(SELECTORS.paginationNext);
         prevBtn?.classList.toggle("disabled", page <= 0);
-        nextBtn?.classList.toggle("disabled", page + 1 >= totalPages);
-        if (page + 1 >= totalPages && state.page >= totalPages && totalPages > 0) {
-            state.page = totalPages - 1;
-        }
+        nextBtn?.classList.toggle("disabled", !pageDto.nextCursor);
     }
 
     function computeRange(rangeKey) {
@@ -133,12 +133,15 @@
         const maxSelection = rawMaxSelection ? Number(rawMaxSelection) : 0;
         const hasSelectionLimit = Number.isFinite(maxSelection) && maxSelection > 0;
         const seatMapEndpoint = seatLayout.dataset.seatMapEndpoint || null;
+        const seatStreamEndpoint = seatLayout.dataset.seatStreamEndpoint || null;
         const showtimeId = Number(seatLayout.dataset.showtimeId || showtimeIdInput?.value || 0);
         const statusClasses = ['seat--available', 'seat--held', 'seat--sold', 'seat--disabled'];
         const typeClasses = ['seat--type-standard', 'seat--type-vip', 'seat--type-couple'];
         const SEAT_MAP_REFRESH_INTERVAL = 3000;
 
         let seatMapIntervalId = null;
+        let seatMapVersion = 0;
+        let seatStream = null;
         let seatTimerIntervalId = null;
         let holdToken = holdTokenInput?.value || null;
         let navigatingToCheckout = false;
@@ -241,50 +244,63 @@
             }
         };
 
+        const applySeatChanges = (changes) => {
+            seatMapVersion = changes.version;
+            (changes.seats || []).forEach((seat) => {
+                const button = seatButtons.find((btn) => Number(btn.dataset.seatId) === Number(seat.seatId));
+                if (!button) {
+                    return;
+                }
+                const status = (seat.status || 'DISABLED').toUpperCase();
+                const normalizedType = normalizeSeatType(seat.seatType);
+                if (seat.holdUserId != null) {
+                    button.dataset.holdUser = seat.holdUserId;
+                } else {
+                    delete button.dataset.holdUser;
+                }
+                applySeatStatus(button, status, seat.selectable, seat.holdUserId ?? null);
+                applySeatTypeClass(button, normalizedType);
+                if (seat.coupleGroupId) {
+                    button.dataset.coupleGroup = seat.coupleGroupId;
+                } else {
+                    delete button.dataset.coupleGroup;
+                }
+                if (seat.price) {
+                    button.dataset.price = seat.price;
+                }
+                if (seat.seatLabel) {
+                    button.dataset.seatLabel = seat.seatLabel;
+                }
+                if (selection.has(button.dataset.seatId)) {
+                    const entry = selection.get(button.dataset.seatId);
+                    if (seat.price) {
+                        entry.price = Number(seat.price) || 0;
+                    }
+                    if (seat.seatLabel) {
+                        entry.label = seat.seatLabel;
+                    }
+                    entry.type = normalizedType;
+                }
+            });
+            updateSelectionUI();
+        };
+
         const refreshSeatMap = () => {
             if (!seatMapEndpoint) {
                 return;
             }
-            fetch(seatMapEndpoint)
-                .then((response) => (response.ok ? response.json() : Promise.reject()))
-                .then((seatMap) => {
-                    seatMap.forEach((seat) => {
-                        const button = seatButtons.find((btn) => Number(btn.dataset.seatId) === Number(seat.seatId));
-                        if (!button) {
-                            return;
-                        }
-                        const status = (seat.status || 'DISABLED').toUpperCase();
-                        const normalizedType = normalizeSeatType(seat.seatType);
-                        if (seat.holdUserId != null) {
-                            button.dataset.holdUser = seat.holdUserId;
-                        } else {
-                            delete button.dataset.holdUser;
-                        }
-                        applySeatStatus(button, status, seat.selectable, seat.holdUserId ?? null);
-                        applySeatTypeClass(button, normalizedType);
-                        if (seat.coupleGroupId) {
-                            button.dataset.coupleGroup = seat.coupleGroupId;
-                        } else {
-                            delete button.dataset.coupleGroup;
-                        }
-                        if (seat.price) {
-                            button.dataset.price = seat.price;
-                        }
-                        if (seat.seatLabel) {
-                            button.dataset.seatLabel = seat.seatLabel;
-                        }
-                        if (selection.has(button.dataset.seatId)) {
-                            const entry = selection.get(button.dataset.seatId);
-                            if (seat.price) {
-                                entry.price = Number(seat.price) || 0;
-                            }
-                            if (seat.seatLabel) {
-                                entry.label = seat.seatLabel;
-                            }
-                            entry.type = normalizedType;
-                        }
-                    });
-                    updateSelectionUI();
+            const separator = seatMapEndpoint.includes('?') ? '&' : '?';
+            fetch(`${seatMapEndpoint}${separator}since=${seatMapVersion}`)
+                .then((response) => {
+                    if (response.status === 304) {
+                        return null;
+                    }
+                    return response.ok ? response.json() : Promise.reject();
+                })
+                .then((changes) => {
+                    if (changes) {
+                        applySeatChanges(changes);
+                    }
                 })
                 .catch(() => {
                     // ignore refresh errors
@@ -305,6 +321,35 @@
             }
         };
 
+        const openSeatStream = () => {
+            if (!seatStreamEndpoint || typeof window.EventSource !== 'function') {
+                startSeatMapRefresh();
+                return;
+            }
+            seatStream = new EventSource(seatStreamEndpoint);
+            seatStream.addEventListener('seats', (event) => {
+                try {
+                    applySeatChanges(JSON.parse(event.data));
+                } catch (e) {
+                    // ignore malformed events
+                }
+            });
+            seatStream.addEventListener('open', () => {
+                stopSeatMapRefresh();
+            });
+            seatStream.addEventListener('error', () => {
+                // the browser reconnects on its own; poll until the stream is back
+                startSeatMapRefresh();
+            });
+        };
+
+        const closeSeatStream = () => {
+            if (seatStream) {
+                seatStream.close();
+                seatStream = null;
+            }
+        };
+
         const parseSeatIds = () => {
             if (!seatIdsInput || !seatIdsInput.value) {
                 return [];
@@ -692,7 +737,7 @@
             });
             updateSelectionUI();
             refreshSeatMap();
-            startSeatMapRefresh();
+            openSeatStream();
         };
 
         hydrateFromMarkup();
@@ -707,6 +752,7 @@
         }
 
         window.addEventListener('pagehide', releaseOnUnload);
+        window.addEventListener('pagehide', closeSeatStream);
         window.addEventListener('beforeunload', releaseOnUnload);
         document.getElementById('logoutForm')?.addEventListener('submit', () => {
             releaseHold(true, true);
@@ -0,0 +1,280 @@
+package com.cinema.hub.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.cinema.hub.backend.CinemaBackendApplication;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Throughput and latency of the seat-map, hold and booking endpoints with Tomcat on platform threads and on virtual
+ * threads. The application is started twice on a random port, with {@code spring.threads.virtual.enabled} (what
+ * {@code VIRTUAL_THREADS_ENABLED} sets) off and then on. Each time, closed-loop HTTP clients with their own logged-in
+ * user repeat: read the seat map, hold one free seat, book it, cancel the booking. Needs the SQL Server of the other
+ * benchmarks and a showtime that has not started:
+ * <pre>
+ * mvn test -Dtest=SeatReservationLoadTests -Dcinema.benchmark.jdbc-url=jdbc:sqlserver://... \
+ *     -Dcinema.benchmark.username=sa -Dcinema.benchmark.password=... -Dcinema.benchmark.showtime-id=42
+ * </pre>
+ * {@code -Dcinema.benchmark.clients} (default 32) and {@code -Dcinema.benchmark.duration-seconds} (default 30) size
+ * the run. The load-test users are registered on first use and kept; their bookings are cancelled.
+ */
+@EnabledIfSystemProperty(named = "cinema.benchmark.jdbc-url", matches = ".+")
+@EnabledIfSystemProperty(named = "cinema.benchmark.showtime-id", matches = "\\d+")
+class SeatReservationLoadTests {
+
+	private static final Logger log = LoggerFactory.getLogger(SeatReservationLoadTests.class);
+	private static final ObjectMapper JSON = new ObjectMapper().findAndRegisterModules();
+	private static final String PASSWORD = "LoadTest#2026";
+	private static final Duration WARMUP = Duration.ofSeconds(10);
+
+	private final int showtimeId = Integer.getInteger("cinema.benchmark.showtime-id");
+	private final int clients = Integer.getInteger("cinema.benchmark.clients", 32);
+	private final Duration duration = Duration.ofSeconds(Integer.getInteger("cinema.benchmark.duration-seconds", 30));
+
+	@Test
+	void compareVirtualAndPlatformThreads() throws Exception {
+		Map<Endpoint, Stats> platform = runAgainstApplication(false);
+		Map<Endpoint, Stats> virtual = runAgainstApplication(true);
+
+		StringBuilder report = new StringBuilder();
+		for (Endpoint endpoint : Endpoint.values()) {
+			report.append("\n  ").append(endpoint.label).append(": platform ").append(platform.get(endpoint))
+					.append(" | virtual ").append(virtual.get(endpoint));
+		}
+		log.info("Seat reservation load, {} clients for {}s on showtime {}:{}", clients, duration.toSeconds(),
+				showtimeId, report);
+	}
+
+	private Map<Endpoint, Stats> runAgainstApplication(boolean virtualThreads) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CinemaBackendApplication.class)
+				.properties(
+						"server.port=0",
+						"spring.threads.virtual.enabled=" + virtualThreads,
+						"spring.datasource.url=" + System.getProperty("cinema.benchmark.jdbc-url"),
+						"spring.datasource.username=" + System.getProperty("cinema.benchmark.username", "sa"),
+						"spring.datasource.password=" + System.getProperty("cinema.benchmark.password", ""))
+				.run()) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			return drive(URI.create("http://localhost:" + port));
+		}
+	}
+
+	private Map<Endpoint, Stats> drive(URI baseUri) throws Exception {
+		List<Client> loggedIn = new ArrayList<>();
+		for (int i = 0; i < clients; i++) {
+			loggedIn.add(new Client(baseUri, i));
+		}
+		long measureFrom = System.nanoTime() + WARMUP.toNanos();
+		long deadline = measureFrom + duration.toNanos();
+		ExecutorService executor = Executors.newFixedThreadPool(clients);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (Client client : loggedIn) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					client.loop(measureFrom, deadline);
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+		for (Endpoint endpoint : Endpoint.values()) {
+			List<Long> samples = new ArrayList<>();
+			int errors = 0;
+			for (Client client : loggedIn) {
+				samples.addAll(client.samples.get(endpoint));
+				errors += client.errors.get(endpoint)[0];
+			}
+			stats.put(endpoint, Stats.of(samples, errors, duration));
+		}
+		return stats;
+	}
+
+	private enum Endpoint {
+		SEAT_MAP("GET seat map"),
+		HOLD("POST hold"),
+		BOOKING("POST booking");
+
+		private final String label;
+
+		Endpoint(String label) {
+			this.label = label;
+		}
+	}
+
+	private record Stats(int requests, double perSecond, long p50Micros, long p99Micros, int errors) {
+
+		static Stats of(List<Long> samples, int errors, Duration window) {
+			long[] sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+			if (sorted.length == 0) {
+				return new Stats(0, 0, 0, 0, errors);
+			}
+			return new Stats(sorted.length, sorted.length * 1_000d / window.toMillis(),
+					percentile(sorted, 0.50), percentile(sorted, 0.99), errors);
+		}
+
+		@Override
+		public String toString() {
+			return "%.1f req/s, p50=%dus p99=%dus, %d errors".formatted(perSecond, p50Micros, p99Micros, errors);
+		}
+	}
+
+	/**
+	 * One simulated customer with its own session. It only picks seats whose id falls in its own residue class, so
+	 * clients do not compete for seats and every failed hold is an error rather than a lost race.
+	 */
+	private final class Client {
+
+		private final HttpClient http = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.cookieHandler(new CookieManager())
+				.build();
+		private final URI baseUri;
+		private final int index;
+		private final Map<Endpoint, List<Long>> samples = new EnumMap<>(Endpoint.class);
+		private final Map<Endpoint, int[]> errors = new EnumMap<>(Endpoint.class);
+
+		Client(URI baseUri, int index) throws Exception {
+			this.baseUri = baseUri;
+			this.index = index;
+			for (Endpoint endpoint : Endpoint.values()) {
+				samples.put(endpoint, new ArrayList<>());
+				errors.put(endpoint, new int[1]);
+			}
+			logIn();
+		}
+
+		void loop(long measureFrom, long deadline) throws Exception {
+			while (System.nanoTime() < deadline) {
+				boolean measured = System.nanoTime() >= measureFrom;
+				HttpResponse<String> seatMap = timed(Endpoint.SEAT_MAP, measured,
+						get("/api/showtimes/" + showtimeId + "/seats"));
+				if (seatMap == null) {
+					continue;
+				}
+				Integer seatId = pickSeat(seatMap.body());
+				if (seatId == null) {
+					continue;
+				}
+				HttpResponse<String> hold = timed(Endpoint.HOLD, measured,
+						post("/api/showtimes/" + showtimeId + "/holds",
+								Map.of("showtimeId", showtimeId, "seatIds", List.of(seatId))));
+				if (hold == null) {
+					continue;
+				}
+				String holdToken = (String) JSON.readValue(hold.body(), Map.class).get("holdToken");
+				HttpResponse<String> booking = timed(Endpoint.BOOKING, measured,
+						post("/api/bookings", Map.of("holdToken", holdToken)));
+				if (booking == null) {
+					send(HttpRequest.newBuilder(uri("/api/showtimes/" + showtimeId + "/holds/" + holdToken))
+							.DELETE().build());
+					continue;
+				}
+				Object bookingId = JSON.readValue(booking.body(), Map.class).get("bookingId");
+				send(post("/api/bookings/" + bookingId + "/cancel", Map.of()));
+			}
+		}
+
+		private Integer pickSeat(String seatMapBody) throws Exception {
+			List<Map<String, Object>> seats = JSON.readValue(seatMapBody, new TypeReference<>() {
+			});
+			for (Map<String, Object> seat : seats) {
+				int seatId = ((Number) seat.get("seatId")).intValue();
+				if (Boolean.TRUE.equals(seat.get("selectable")) && seat.get("coupleGroupId") == null
+						&& seatId % clients == index) {
+					return seatId;
+				}
+			}
+			return null;
+		}
+
+		private void logIn() throws Exception {
+			String email = "loadtest-" + index + "@cinemahub.test";
+			HttpResponse<String> login = send(post("/api/auth/login", Map.of("email", email, "password", PASSWORD)));
+			if (login.statusCode() == 200) {
+				return;
+			}
+			HttpResponse<String> register = send(post("/api/auth/register", Map.of(
+					"fullName", "Load Test " + index,
+					"email", email,
+					"phone", "099%07d".formatted(index),
+					"password", PASSWORD,
+					"confirmPassword", PASSWORD)));
+			assertFalse(register.statusCode() >= 300, () -> "could not register " + email + ": " + register.body());
+			login = send(post("/api/auth/login", Map.of("email", email, "password", PASSWORD)));
+			assertFalse(login.statusCode() != 200, "could not log in " + email);
+		}
+
+		/**
+		 * Sends the request and records its latency when measured; returns null for a non-2xx response.
+		 */
+		private HttpResponse<String> timed(Endpoint endpoint, boolean measured, HttpRequest request)
+				throws Exception {
+			long started = System.nanoTime();
+			HttpResponse<String> response = send(request);
+			long micros = (System.nanoTime() - started) / 1_000;
+			boolean ok = response.statusCode() / 100 == 2;
+			if (measured) {
+				samples.get(endpoint).add(micros);
+				if (!ok) {
+					errors.get(endpoint)[0]++;
+				}
+			}
+			return ok ? response : null;
+		}
+
+		private HttpResponse<String> send(HttpRequest request) throws Exception {
+			return http.send(request, HttpResponse.BodyHandlers.ofString());
+		}
+
+		private HttpRequest get(String path) {
+			return HttpRequest.newBuilder(uri(path)).GET().build();
+		}
+
+		private HttpRequest post(String path, Object body) throws Exception {
+			return HttpRequest.newBuilder(uri(path))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)))
+					.build();
+		}
+
+		private URI uri(String path) {
+			return baseUri.resolve(path);
+		}
+	}
+
+	private static long percentile(long[] sorted, double quantile) {
+		int index = (int) Math.ceil(quantile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+	}
+}
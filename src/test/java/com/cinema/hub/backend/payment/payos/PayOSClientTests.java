@@ -0,0 +1,154 @@
+package com.cinema.hub.backend.payment.payos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cinema.hub.backend.payment.util.PayOSUnavailableException;
+import com.cinema.hub.backend.payment.util.PaymentException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PayOSClientTests {
+
+	private static final int FAILURE_THRESHOLD = 2;
+	private static final long OPEN_MILLIS = 1_000;
+
+	private PayOSStubServer stub;
+	private PayOSClient client;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		stub = new PayOSStubServer();
+		client = newClient(stub, 300);
+	}
+
+	@AfterEach
+	void tearDown() {
+		stub.close();
+	}
+
+	@Test
+	void createsPaymentRequest() {
+		PayOSPaymentData data = client.createPaymentRequest(request(1001));
+
+		assertEquals(1001, data.getOrderCode());
+		assertEquals(0, data.getAmount().compareTo(BigDecimal.valueOf(90_000)));
+		assertNotNull(data.getQrCode());
+		assertNotNull(data.getExpiredAt());
+		assertEquals("PAID", client.getPaymentStatus(1001).getStatus());
+	}
+
+	@Test
+	void breakerOpensAfterConsecutiveFailuresAndFailsFast() {
+		stub.setFailureRate(1);
+		for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+			assertThrows(PayOSUnavailableException.class, () -> client.createPaymentRequest(request(1002)));
+		}
+		int reached = stub.requestCount();
+
+		PayOSUnavailableException refused = assertThrows(PayOSUnavailableException.class,
+				() -> client.createPaymentRequest(request(1002)));
+
+		assertEquals("PayOS circuit is open", refused.getMessage());
+		assertEquals(reached, stub.requestCount());
+	}
+
+	@Test
+	void halfOpenTrialClosesBreakerWhenPayOSRecovers() throws InterruptedException {
+		stub.setFailureRate(1);
+		for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+			assertThrows(PayOSUnavailableException.class, () -> client.createPaymentRequest(request(1003)));
+		}
+		stub.setFailureRate(0);
+		assertThrows(PayOSUnavailableException.class, () -> client.createPaymentRequest(request(1003)));
+
+		Thread.sleep(OPEN_MILLIS + 100);
+
+		assertEquals(1003, client.createPaymentRequest(request(1003)).getOrderCode());
+		assertEquals(1004, client.createPaymentRequest(request(1004)).getOrderCode());
+	}
+
+	@Test
+	void failedHalfOpenTrialReopensBreaker() throws InterruptedException {
+		stub.setFailureRate(1);
+		for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+			assertThrows(PayOSUnavailableException.class, () -> client.createPaymentRequest(request(1005)));
+		}
+		Thread.sleep(OPEN_MILLIS + 100);
+
+		int before = stub.requestCount();
+		assertThrows(PayOSUnavailableException.class, () -> client.createPaymentRequest(request(1005)));
+		assertEquals(before + 1, stub.requestCount());
+
+		stub.setFailureRate(0);
+		PayOSUnavailableException refused = assertThrows(PayOSUnavailableException.class,
+				() -> client.createPaymentRequest(request(1005)));
+		assertEquals("PayOS circuit is open", refused.getMessage());
+		assertEquals(before + 1, stub.requestCount());
+	}
+
+	@Test
+	void slowAnswerTimesOutAndCountsAsFailure() {
+		stub.setLatencyMs(1_000);
+		long started = System.nanoTime();
+
+		PayOSUnavailableException timedOut = assertThrows(PayOSUnavailableException.class,
+				() -> client.createPaymentRequest(request(1006)));
+
+		assertTrue((System.nanoTime() - started) / 1_000_000 < 900, "request waited for the slow answer");
+		assertEquals("Unable to reach PayOS", timedOut.getMessage());
+		assertThrows(PayOSUnavailableException.class, () -> client.createPaymentRequest(request(1006)));
+		stub.setLatencyMs(0);
+		assertEquals("PayOS circuit is open", assertThrows(PayOSUnavailableException.class,
+				() -> client.createPaymentRequest(request(1006))).getMessage());
+	}
+
+	@Test
+	void clientErrorDoesNotOpenBreaker() throws IOException {
+		try (PayOSStubServer other = new PayOSStubServer()) {
+			PayOSConfig config = config(other.baseUrl() + "/missing");
+			PayOSClient misconfigured = new PayOSClient(config, new PayOSSigner(config), objectMapper(),
+					300, 300, FAILURE_THRESHOLD, OPEN_MILLIS / 1_000);
+			for (int i = 0; i < FAILURE_THRESHOLD + 1; i++) {
+				PaymentException error = assertThrows(PaymentException.class,
+						() -> misconfigured.createPaymentRequest(request(1007)));
+				assertTrue(error.getMessage().startsWith("PayOS API error"), error.getMessage());
+			}
+		}
+	}
+
+	private static PayOSClient newClient(PayOSStubServer stub, long requestTimeoutMs) {
+		PayOSConfig config = config(stub.baseUrl());
+		return new PayOSClient(config, new PayOSSigner(config), objectMapper(), 300, requestTimeoutMs,
+				FAILURE_THRESHOLD, OPEN_MILLIS / 1_000);
+	}
+
+	private static PayOSConfig config(String baseUrl) {
+		PayOSConfig config = new PayOSConfig();
+		config.setClientId("client");
+		config.setApiKey("key");
+		config.setChecksumKey("checksum");
+		config.setApiBaseUrl(baseUrl);
+		return config;
+	}
+
+	private static ObjectMapper objectMapper() {
+		return new ObjectMapper().findAndRegisterModules();
+	}
+
+	private static PayOSPaymentRequest request(long orderCode) {
+		return PayOSPaymentRequest.builder()
+				.orderCode(orderCode)
+				.amount(90_000)
+				.description("HUB [VE-" + orderCode + "]")
+				.returnUrl("http://localhost/return")
+				.cancelUrl("http://localhost/cancel")
+				.build();
+	}
+}
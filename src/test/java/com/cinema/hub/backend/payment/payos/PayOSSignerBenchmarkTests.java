@@ -0,0 +1,110 @@
+package com.cinema.hub.backend.payment.payos;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cinema.hub.backend.support.Microbenchmark;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cost of signing a checkout request and verifying a webhook signature: the shared signer with a per-thread
+ * initialized {@link Mac} against the previous per-call {@code Mac.getInstance}, {@code init} and
+ * {@code String.format} hex encoding:
+ * <pre>
+ * mvn test -Dtest=PayOSSignerBenchmarkTests -Dcinema.benchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = Microbenchmark.ENABLED_PROPERTY, matches = "true")
+class PayOSSignerBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(PayOSSignerBenchmarkTests.class);
+	private static final String CHECKSUM_KEY = "checksum";
+	private static final int WARMUP = 50_000;
+	private static final int ITERATIONS = 200_000;
+	private static final String CHECKOUT_DATA = "amount=270000&cancelUrl=https://cinemahub.vn/checkout/42"
+			+ "&description=HUB [VE-1760774400123]&orderCode=1760774400123"
+			+ "&returnUrl=https://cinemahub.vn/movies/confirmation/BK3F9Q2X7M";
+
+	private final PayOSSigner signer = new PayOSSigner(config());
+	private boolean sink;
+
+	@Test
+	void compareSignAndVerify() throws Exception {
+		Map<String, Object> webhookData = webhookData();
+		String signature = signer.sign(signer.canonicalize(webhookData));
+		assertTrue(legacyVerify(webhookData, signature));
+
+		Microbenchmark.Result legacySign = Microbenchmark.run("legacy sign", WARMUP, ITERATIONS,
+				() -> sink ^= legacyHmac(CHECKOUT_DATA).isEmpty());
+		Microbenchmark.Result sign = Microbenchmark.run("shared signer sign", WARMUP, ITERATIONS,
+				() -> sink ^= signer.sign(CHECKOUT_DATA).isEmpty());
+		Microbenchmark.Result legacyVerify = Microbenchmark.run("legacy verify", WARMUP, ITERATIONS,
+				() -> sink ^= legacyVerify(webhookData, signature));
+		Microbenchmark.Result verify = Microbenchmark.run("shared signer verify", WARMUP, ITERATIONS,
+				() -> sink ^= signer.matches(signer.canonicalize(webhookData), signature));
+
+		log.info("PayOS signatures, {} operations per path:\n  {}\n  {}\n  {}\n  {}",
+				ITERATIONS, legacySign, sign, legacyVerify, verify);
+	}
+
+	private static boolean legacyVerify(Map<String, Object> data, String signature) throws Exception {
+		String canonical = data.entrySet().stream()
+				.filter(entry -> entry.getValue() != null && !entry.getValue().toString().isBlank())
+				.sorted(Map.Entry.comparingByKey())
+				.map(entry -> entry.getKey() + "=" + legacyNormalize(entry.getValue()))
+				.collect(Collectors.joining("&"));
+		return legacyHmac(canonical).equalsIgnoreCase(signature);
+	}
+
+	private static String legacyNormalize(Object value) {
+		if (value instanceof Number number) {
+			return new BigDecimal(number.toString()).stripTrailingZeros().toPlainString();
+		}
+		return value.toString();
+	}
+
+	private static String legacyHmac(String payload) throws Exception {
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(CHECKSUM_KEY.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+		byte[] hash = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+		StringBuilder builder = new StringBuilder(hash.length * 2);
+		for (byte b : hash) {
+			builder.append(String.format("%02x", b));
+		}
+		return builder.toString();
+	}
+
+	private static Map<String, Object> webhookData() {
+		Map<String, Object> data = new LinkedHashMap<>();
+		data.put("orderCode", 1760774400123L);
+		data.put("amount", 270000);
+		data.put("description", "HUB [VE-1760774400123]");
+		data.put("accountNumber", "0931630902");
+		data.put("reference", "FT25291123456789");
+		data.put("transactionDateTime", "2026-10-18 18:05:11");
+		data.put("currency", "VND");
+		data.put("paymentLinkId", "124c33293c43417ab7879e14c8d9eb18");
+		data.put("code", "00");
+		data.put("desc", "success");
+		data.put("counterAccountBankId", "");
+		data.put("counterAccountName", null);
+		return data;
+	}
+
+	private static PayOSConfig config() {
+		PayOSConfig config = new PayOSConfig();
+		config.setClientId("client");
+		config.setApiKey("key");
+		config.setChecksumKey(CHECKSUM_KEY);
+		return config;
+	}
+}
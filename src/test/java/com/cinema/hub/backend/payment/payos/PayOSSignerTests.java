@@ -0,0 +1,102 @@
+package com.cinema.hub.backend.payment.payos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PayOSSignerTests {
+
+	private static final String CREATE_DATA = "amount=90000&cancelUrl=http://localhost/cancel"
+			+ "&description=HUB [VE-1001]&orderCode=1001&returnUrl=http://localhost/return";
+	private static final String CREATE_SIGNATURE = "7ab3736fe68f37e41f3e74d816f315345cb3947326e938a9c57b7fa513f4699b";
+	private static final String WEBHOOK_DATA = "amount=2000&code=00&desc=success&fee=0.5&orderCode=123&rate=1.25";
+	private static final String WEBHOOK_SIGNATURE = "761f0f2e032e938dd9a6d9fac73c5c29e6fa285a021bd589ded2ceaa0f70eafb";
+
+	private final PayOSSigner signer = new PayOSSigner(config());
+
+	@Test
+	void signMatchesReferenceVectors() {
+		assertEquals(CREATE_SIGNATURE, signer.sign(CREATE_DATA));
+		assertEquals(WEBHOOK_SIGNATURE, signer.sign(WEBHOOK_DATA));
+		assertEquals("4807c13a2a8e2abe475c7bba5150114a67542b07ecab395dd617b9bcb5c805ea", signer.sign(""));
+	}
+
+	@Test
+	void canonicalizeSortsKeysAndFormatsNumbers() {
+		Map<String, Object> data = new LinkedHashMap<>();
+		data.put("rate", new BigDecimal("1.250"));
+		data.put("orderCode", 123L);
+		data.put("fee", 0.50d);
+		data.put("desc", "success");
+		data.put("code", "00");
+		data.put("amount", 2000);
+
+		assertEquals(WEBHOOK_DATA, signer.canonicalize(data));
+		assertEquals(WEBHOOK_SIGNATURE, signer.sign(signer.canonicalize(data)));
+	}
+
+	@Test
+	void canonicalizeWritesNumbersWithoutExponentOrTrailingZeros() {
+		Map<String, Object> data = new LinkedHashMap<>();
+		data.put("a", 1.0d);
+		data.put("b", new BigDecimal("1E+3"));
+		data.put("c", 1e-7d);
+		data.put("d", Long.MAX_VALUE);
+		data.put("e", new BigDecimal("-0.000"));
+
+		assertEquals("a=1&b=1000&c=0.0000001&d=9223372036854775807&e=0", signer.canonicalize(data));
+	}
+
+	@Test
+	void canonicalizeDropsNullAndBlankValuesWithoutStraySeparators() {
+		Map<String, Object> data = new LinkedHashMap<>();
+		data.put("a", "");
+		data.put("b", "x");
+		data.put("c", null);
+		data.put("d", "  ");
+		data.put("e", "y");
+		data.put("f", "\t");
+
+		assertEquals("b=x&e=y", signer.canonicalize(data));
+	}
+
+	@Test
+	void canonicalizeOfOnlyBlankValuesIsEmpty() {
+		Map<String, Object> data = new LinkedHashMap<>();
+		data.put("a", " ");
+		data.put("b", null);
+
+		assertEquals("", signer.canonicalize(data));
+		assertEquals("", signer.canonicalize(Map.of()));
+	}
+
+	@Test
+	void matchesAcceptsEitherHexCase() {
+		assertTrue(signer.matches(CREATE_DATA, CREATE_SIGNATURE));
+		assertTrue(signer.matches(CREATE_DATA, CREATE_SIGNATURE.toUpperCase()));
+		assertTrue(signer.matches(CREATE_DATA, " " + CREATE_SIGNATURE + "\n"));
+	}
+
+	@Test
+	void matchesRejectsWrongOrMalformedSignatures() {
+		assertFalse(signer.matches(CREATE_DATA, WEBHOOK_SIGNATURE));
+		assertFalse(signer.matches(CREATE_DATA, CREATE_SIGNATURE.substring(1)));
+		assertFalse(signer.matches(CREATE_DATA, CREATE_SIGNATURE.substring(2)));
+		assertFalse(signer.matches(CREATE_DATA, "zz" + CREATE_SIGNATURE.substring(2)));
+		assertFalse(signer.matches(CREATE_DATA, ""));
+		assertFalse(signer.matches(CREATE_DATA, null));
+	}
+
+	private static PayOSConfig config() {
+		PayOSConfig config = new PayOSConfig();
+		config.setClientId("client");
+		config.setApiKey("key");
+		config.setChecksumKey("checksum");
+		return config;
+	}
+}
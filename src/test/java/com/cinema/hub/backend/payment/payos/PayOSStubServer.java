@@ -0,0 +1,136 @@
+package com.cinema.hub.backend.payment.payos;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the PayOS merchant API, for tests of {@link PayOSClient}. It binds an ephemeral port; point
+ * {@code app.payos.api-base-url} at {@link #baseUrl()}. Latency and failure rate can be changed while it runs, and
+ * failed calls answer HTTP 503.
+ */
+public final class PayOSStubServer implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, Long> amounts = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final HttpServer server;
+    private volatile long latencyMs;
+    private volatile double failureRate;
+    private volatile Runnable onRequest = () -> { };
+
+    public PayOSStubServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/v2/payment-requests", this::handle);
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+
+    /**
+     * Runs on the stub's thread for every request before it is answered, while the caller is waiting.
+     */
+    public void setOnRequest(Runnable onRequest) {
+        this.onRequest = onRequest;
+    }
+
+    /**
+     * Requests that reached the stub, answered or not.
+     */
+    public int requestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            onRequest.run();
+            long latencyMs = this.latencyMs;
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            if ("POST".equals(exchange.getRequestMethod())) {
+                create(exchange);
+            } else {
+                status(exchange);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        long orderCode = request.path("orderCode").asLong();
+        long amount = request.path("amount").asLong();
+        amounts.put(orderCode, amount);
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("bin", "970422");
+        data.put("accountNumber", "0931630902");
+        data.put("accountName", "DAO NAM HAI");
+        data.put("amount", amount);
+        data.put("description", request.path("description").asText());
+        data.put("orderCode", orderCode);
+        data.put("currency", "VND");
+        data.put("paymentLinkId", "stub-" + orderCode);
+        data.put("status", "PENDING");
+        data.put("expiredAt", OffsetDateTime.now().plusMinutes(10).toString());
+        data.put("checkoutUrl", "http://localhost/stub/checkout/" + orderCode);
+        data.put("qrCode", "00020101021238570010A000000727012700069704220113STUB" + orderCode + "6304ABCD");
+        respond(exchange, data);
+    }
+
+    private void status(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        long orderCode = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("orderCode", orderCode);
+        data.put("amount", amounts.getOrDefault(orderCode, 0L));
+        data.put("status", amounts.containsKey(orderCode) ? "PAID" : "PENDING");
+        respond(exchange, data);
+    }
+
+    private void respond(HttpExchange exchange, Map<String, Object> data) throws IOException {
+        byte[] body = objectMapper.writeValueAsString(Map.of("code", "00", "desc", "success", "data", data))
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
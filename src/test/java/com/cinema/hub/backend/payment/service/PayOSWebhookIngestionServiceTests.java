@@ -0,0 +1,204 @@
+package com.cinema.hub.backend.payment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cinema.hub.backend.entity.PayOSWebhookEvent;
+import com.cinema.hub.backend.entity.enums.WebhookEventStatus;
+import com.cinema.hub.backend.payment.payos.PayOSWebhookPayload;
+import com.cinema.hub.backend.payment.payos.PayOSWebhookValidator;
+import com.cinema.hub.backend.payment.util.PayOSUnavailableException;
+import com.cinema.hub.backend.payment.util.PaymentException;
+import com.cinema.hub.backend.repository.PayOSWebhookEventRepository;
+import com.cinema.hub.backend.repository.PaymentLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class PayOSWebhookIngestionServiceTests {
+
+	private static final int MAX_ATTEMPTS = 3;
+	private static final String CHECKSUM = "ABC123";
+
+	private final Map<Long, PayOSWebhookEvent> events = new ConcurrentHashMap<>();
+	private final AtomicLong ids = new AtomicLong();
+	private PayOSWebhookEventRepository eventRepository;
+	private PaymentService paymentService;
+	private PayOSWebhookIngestionService service;
+
+	@BeforeEach
+	void setUp() {
+		eventRepository = mock(PayOSWebhookEventRepository.class);
+		when(eventRepository.existsByOrderCodeAndChecksum(anyString(), anyString())).thenAnswer(invocation ->
+				events.values().stream().anyMatch(event -> event.getOrderCode().equals(invocation.getArgument(0))
+						&& event.getChecksum().equals(invocation.getArgument(1))));
+		when(eventRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+			PayOSWebhookEvent event = invocation.getArgument(0);
+			event.setId(ids.incrementAndGet());
+			events.put(event.getId(), event);
+			return event;
+		});
+		when(eventRepository.save(any())).thenAnswer(invocation -> {
+			PayOSWebhookEvent event = invocation.getArgument(0);
+			events.put(event.getId(), event);
+			return event;
+		});
+		when(eventRepository.findById(any())).thenAnswer(invocation ->
+				Optional.ofNullable(events.get(invocation.<Long>getArgument(0))));
+		when(eventRepository.claim(anyLong(), anyCollection(), any(), any())).thenAnswer(invocation ->
+				claim(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2),
+						invocation.getArgument(3)));
+		when(eventRepository.findDue(anyCollection(), any(), any())).thenAnswer(invocation -> {
+			Collection<WebhookEventStatus> statuses = invocation.getArgument(0);
+			OffsetDateTime now = invocation.getArgument(1);
+			return events.values().stream()
+					.filter(event -> statuses.contains(event.getStatus()) && !event.getNextAttemptAt().isAfter(now))
+					.toList();
+		});
+
+		PaymentLogRepository paymentLogRepository = mock(PaymentLogRepository.class);
+		when(paymentLogRepository.findTopByProviderTransactionIdOrderByCreatedAtDesc(anyString()))
+				.thenReturn(Optional.empty());
+		paymentService = mock(PaymentService.class);
+		when(paymentService.verifyWebhookPayload(anyString())).thenAnswer(invocation -> new PayOSWebhookPayload());
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+		service = new PayOSWebhookIngestionService(eventRepository, paymentLogRepository,
+				mock(PayOSWebhookValidator.class), paymentService, new ObjectMapper(), transactionManager,
+				2, 10, 16, MAX_ATTEMPTS, 0, 2, 30);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void duplicateDeliveryIsAcknowledgedWithoutSecondCompletion() throws InterruptedException {
+		assertTrue(service.ingest(payload(1001), "client", "key", CHECKSUM));
+		awaitStatus(1L, WebhookEventStatus.Processed);
+
+		assertFalse(service.ingest(payload(1001), "client", "key", CHECKSUM));
+		assertFalse(service.ingest(payload(1001), "client", "key", CHECKSUM.toLowerCase()));
+
+		verify(paymentService, times(1)).completeBooking(any(), anyString());
+		verify(eventRepository, times(1)).saveAndFlush(any());
+	}
+
+	@Test
+	void duplicateStoredByAnotherNodeIsAcknowledgedFromEventStore() {
+		events.put(50L, PayOSWebhookEvent.builder().id(50L).orderCode("1002").checksum("abc123")
+				.status(WebhookEventStatus.Processed).nextAttemptAt(OffsetDateTime.now()).build());
+
+		assertFalse(service.ingest(payload(1002), "client", "key", CHECKSUM));
+
+		verify(eventRepository, never()).saveAndFlush(any());
+		verify(paymentService, never()).completeBooking(any(), anyString());
+	}
+
+	@Test
+	void concurrentDuplicateInsertIsAcknowledgedAsDuplicate() {
+		doThrow(new DataIntegrityViolationException("UQ_PayOSWebhookEvents_OrderCode_Checksum"))
+				.when(eventRepository).saveAndFlush(any());
+
+		assertFalse(service.ingest(payload(1003), "client", "key", CHECKSUM));
+		assertFalse(service.ingest(payload(1003), "client", "key", CHECKSUM));
+
+		// the second delivery is answered from memory
+		verify(eventRepository, times(1)).existsByOrderCodeAndChecksum("1003", "abc123");
+		verify(paymentService, never()).completeBooking(any(), anyString());
+	}
+
+	@Test
+	void unavailablePayOSIsRetriedUntilMaxAttemptsThenFails() throws InterruptedException {
+		when(paymentService.verifyWebhookPayload(anyString()))
+				.thenThrow(new PayOSUnavailableException("PayOS circuit is open"));
+
+		assertTrue(service.ingest(payload(1004), "client", "key", CHECKSUM));
+		for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+			awaitAttempt(1L, attempt, WebhookEventStatus.Received);
+			service.dispatchDueEvents();
+		}
+		awaitStatus(1L, WebhookEventStatus.Failed);
+
+		PayOSWebhookEvent event = events.get(1L);
+		assertEquals(MAX_ATTEMPTS, event.getAttempts());
+		assertEquals("PayOS circuit is open", event.getLastError());
+		verify(paymentService, times(MAX_ATTEMPTS)).verifyWebhookPayload(anyString());
+		verify(paymentService, never()).completeBooking(any(), anyString());
+	}
+
+	@Test
+	void rejectedPaymentIsNotRetried() throws InterruptedException {
+		doAnswer(invocation -> {
+			throw new PaymentException("Webhook amount mismatch");
+		}).when(paymentService).completeBooking(any(), anyString());
+
+		assertTrue(service.ingest(payload(1005), "client", "key", CHECKSUM));
+		awaitStatus(1L, WebhookEventStatus.Rejected);
+		service.dispatchDueEvents();
+
+		assertEquals("Webhook amount mismatch", events.get(1L).getLastError());
+		assertEquals(1, events.get(1L).getAttempts());
+		verify(paymentService, times(1)).completeBooking(any(), anyString());
+	}
+
+	private int claim(Long id, Collection<WebhookEventStatus> statuses, OffsetDateTime now,
+					  OffsetDateTime leaseUntil) {
+		PayOSWebhookEvent event = events.get(id);
+		synchronized (events) {
+			if (event == null || !statuses.contains(event.getStatus()) || event.getNextAttemptAt().isAfter(now)) {
+				return 0;
+			}
+			event.setStatus(WebhookEventStatus.Processing);
+			event.setAttempts(event.getAttempts() + 1);
+			event.setNextAttemptAt(leaseUntil);
+			return 1;
+		}
+	}
+
+	private void awaitStatus(Long id, WebhookEventStatus status) throws InterruptedException {
+		awaitAttempt(id, -1, status);
+	}
+
+	private void awaitAttempt(Long id, int attempts, WebhookEventStatus status) throws InterruptedException {
+		long deadline = System.nanoTime() + 5_000_000_000L;
+		while (System.nanoTime() < deadline) {
+			PayOSWebhookEvent event = events.get(id);
+			if (event != null && event.getStatus() == status && (attempts < 0 || event.getAttempts() == attempts)) {
+				return;
+			}
+			Thread.sleep(5);
+		}
+		fail("event " + id + " did not reach " + status);
+	}
+
+	private static String payload(long orderCode) {
+		return "{\"code\":\"00\",\"desc\":\"success\",\"data\":{\"orderCode\":" + orderCode
+				+ ",\"amount\":90000,\"description\":\"HUB [VE-" + orderCode + "]\"},\"signature\":\"sig\"}";
+	}
+}
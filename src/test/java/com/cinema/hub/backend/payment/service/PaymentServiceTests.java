@@ -0,0 +1,168 @@
+package com.cinema.hub.backend.payment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cinema.hub.backend.entity.Booking;
+import com.cinema.hub.backend.entity.BookingSeat;
+import com.cinema.hub.backend.entity.PaymentLog;
+import com.cinema.hub.backend.entity.Showtime;
+import com.cinema.hub.backend.entity.enums.BookingStatus;
+import com.cinema.hub.backend.entity.enums.PaymentStatus;
+import com.cinema.hub.backend.payment.model.PaymentCheckoutResponse;
+import com.cinema.hub.backend.payment.model.PaymentCreateRequest;
+import com.cinema.hub.backend.payment.payos.PayOSClient;
+import com.cinema.hub.backend.payment.payos.PayOSConfig;
+import com.cinema.hub.backend.payment.payos.PayOSSigner;
+import com.cinema.hub.backend.payment.payos.PayOSStubServer;
+import com.cinema.hub.backend.payment.payos.PayOSWebhookValidator;
+import com.cinema.hub.backend.payment.util.PaymentException;
+import com.cinema.hub.backend.payment.vietqr.PaymentQrService;
+import com.cinema.hub.backend.payment.vietqr.QrCodeRenderer;
+import com.cinema.hub.backend.repository.BookingRepository;
+import com.cinema.hub.backend.repository.BookingSeatRepository;
+import com.cinema.hub.backend.repository.PaymentLogRepository;
+import com.cinema.hub.backend.service.BookingService;
+import com.cinema.hub.backend.service.UniqueCodeGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class PaymentServiceTests {
+
+	private static final int BOOKING_ID = 42;
+
+	private PayOSStubServer stub;
+	private Booking booking;
+	private PaymentLogRepository paymentLogRepository;
+	private PaymentQrService paymentQrService;
+	private PaymentService service;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		stub = new PayOSStubServer();
+		PayOSConfig config = new PayOSConfig();
+		config.setClientId("client");
+		config.setApiKey("key");
+		config.setChecksumKey("checksum");
+		config.setApiBaseUrl(stub.baseUrl());
+		ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+		PayOSClient payOSClient = new PayOSClient(config, new PayOSSigner(config), objectMapper, 300, 300, 5, 30);
+
+		booking = Booking.builder()
+				.id(BOOKING_ID)
+				.bookingCode("BK42")
+				.bookingStatus(BookingStatus.Pending)
+				.paymentStatus(PaymentStatus.Unpaid)
+				.showtime(Showtime.builder().id(3).build())
+				.build();
+		BookingRepository bookingRepository = mock(BookingRepository.class);
+		when(bookingRepository.findByIdForUpdate(BOOKING_ID)).thenReturn(Optional.of(booking));
+		BookingSeatRepository bookingSeatRepository = mock(BookingSeatRepository.class);
+		when(bookingSeatRepository.findDetailedByBooking(BOOKING_ID)).thenReturn(List.of(
+				BookingSeat.builder().finalPrice(BigDecimal.valueOf(90_000)).build(),
+				BookingSeat.builder().finalPrice(BigDecimal.valueOf(60_000)).build()));
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		paymentLogRepository = mock(PaymentLogRepository.class);
+		paymentQrService = new PaymentQrService(new QrCodeRenderer(16, 2));
+
+		service = new PaymentService(bookingRepository, bookingSeatRepository, paymentLogRepository,
+				paymentQrService, mock(TicketEmailService.class), mock(TicketFulfilmentService.class),
+				mock(BookingService.class), objectMapper, mock(PayOSWebhookValidator.class), payOSClient,
+				new UniqueCodeGenerator(0), transactionManager);
+		ReflectionTestUtils.setField(service, "publicBaseUrl", "http://localhost:8080");
+	}
+
+	@AfterEach
+	void tearDown() {
+		stub.close();
+	}
+
+	@Test
+	void payOSCheckoutIsLoggedAsPayOS() {
+		PaymentCheckoutResponse response = service.createVietQR(request());
+
+		PaymentLog log = savedLog();
+		assertEquals("PayOS", log.getProvider());
+		assertEquals(0, response.getAmount().compareTo(BigDecimal.valueOf(150_000)));
+		assertEquals("http://localhost/stub/checkout/" + response.getOrderCode(), response.getCheckoutUrl());
+		assertEquals("stub-" + response.getOrderCode(), log.getPaymentLinkId());
+	}
+
+	@Test
+	void unreachablePayOSFallsBackToLocalVietQR() {
+		stub.setFailureRate(1);
+
+		PaymentCheckoutResponse response = service.createVietQR(request());
+
+		PaymentLog log = savedLog();
+		assertEquals("VietQR", log.getProvider());
+		assertEquals("PENDING", log.getStatus());
+		assertEquals(response.getOrderCode(), String.valueOf(log.getOrderCode()));
+		assertEquals("HUB [VE-" + response.getOrderCode() + "]", response.getTransferContent());
+		assertEquals(paymentQrService.buildPayload(BigDecimal.valueOf(150_000), response.getTransferContent()),
+				log.getQrPayload());
+		assertEquals(paymentQrService.renderPayload(log.getQrPayload()), response.getQrBase64());
+		assertNull(response.getCheckoutUrl());
+		assertEquals("0931630902", response.getBankInfo().getAccount());
+		assertNotNull(response.getExpiresAt());
+	}
+
+	@Test
+	void timedOutPayOSFallsBackToLocalVietQR() {
+		stub.setLatencyMs(1_000);
+
+		service.createVietQR(request());
+
+		assertEquals("VietQR", savedLog().getProvider());
+	}
+
+	@Test
+	void bookingCancelledDuringPayOSCallGetsNoPaymentLog() {
+		stub.setOnRequest(() -> booking.setBookingStatus(BookingStatus.Cancelled));
+
+		PaymentException refused = assertThrows(PaymentException.class, () -> service.createVietQR(request()));
+
+		assertEquals("Booking has been cancelled", refused.getMessage());
+		verify(paymentLogRepository, never()).save(any());
+	}
+
+	@Test
+	void bookingRepricedDuringPayOSCallGetsNoPaymentLog() {
+		stub.setOnRequest(() -> booking.setFinalAmount(BigDecimal.valueOf(90_000)));
+
+		assertThrows(PaymentException.class, () -> service.createVietQR(request()));
+
+		verify(paymentLogRepository, never()).save(any());
+	}
+
+	private PaymentLog savedLog() {
+		ArgumentCaptor<PaymentLog> captor = ArgumentCaptor.forClass(PaymentLog.class);
+		verify(paymentLogRepository).save(captor.capture());
+		return captor.getValue();
+	}
+
+	private static PaymentCreateRequest request() {
+		PaymentCreateRequest request = new PaymentCreateRequest();
+		request.setBookingId(BOOKING_ID);
+		request.setEmail("guest@cinema.vn");
+		return request;
+	}
+}
@@ -0,0 +1,147 @@
+package com.cinema.hub.backend.payment.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cinema.hub.backend.entity.Auditorium;
+import com.cinema.hub.backend.entity.Booking;
+import com.cinema.hub.backend.entity.BookingSeat;
+import com.cinema.hub.backend.entity.Movie;
+import com.cinema.hub.backend.entity.Seat;
+import com.cinema.hub.backend.entity.SeatType;
+import com.cinema.hub.backend.entity.Showtime;
+import com.cinema.hub.backend.entity.ShowtimeSeat;
+import com.cinema.hub.backend.payment.vietqr.QrCodeRenderer;
+import com.cinema.hub.backend.support.Microbenchmark;
+import com.openhtmltopdf.outputdevice.helper.BaseRendererBuilder;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Ticket PDF throughput and allocation: fonts parsed once per render slot against the previous render, which read
+ * and parsed both font files for every PDF. Both paths render the same HTML on one thread:
+ * <pre>
+ * mvn test -Dtest=PdfTicketGeneratorBenchmarkTests -Dcinema.benchmark=true
+ * </pre>
+ * {@code -Dcinema.benchmark.font-regular=...} and {@code -Dcinema.benchmark.font-bold=...} point at other TrueType
+ * files than the bundled Roboto faces.
+ */
+@EnabledIfSystemProperty(named = Microbenchmark.ENABLED_PROPERTY, matches = "true")
+class PdfTicketGeneratorBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(PdfTicketGeneratorBenchmarkTests.class);
+	private static final int WARMUP = 50;
+	private static final int ITERATIONS = 200;
+
+	private final FontResourceLoader resourceLoader = new FontResourceLoader();
+
+	@Test
+	void comparePdfRendering() throws Exception {
+		PdfTicketGenerator generator = new PdfTicketGenerator(templateEngine(), new QrCodeRenderer(256, 4),
+				resourceLoader, 1);
+		String html = generator.renderHtml(booking(), seats());
+		byte[] regular = resourceLoader.read("classpath:fonts/Roboto-Regular.ttf");
+		byte[] bold = resourceLoader.read("classpath:fonts/Roboto-Bold.ttf");
+		assertTrue(generator.renderPdf(html).length > 0);
+
+		Microbenchmark.Result legacy = Microbenchmark.run("legacy per-render font parsing", WARMUP, ITERATIONS,
+				() -> renderLegacy(html, regular, bold));
+		Microbenchmark.Result pooled = Microbenchmark.run("pooled render slots", WARMUP, ITERATIONS,
+				() -> generator.renderPdf(html));
+
+		log.info("Ticket PDF rendering, {} PDFs per path:\n  {}\n  {}", ITERATIONS, legacy, pooled);
+	}
+
+	private static byte[] renderLegacy(String html, byte[] regular, byte[] bold) throws IOException {
+		try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+			PdfRendererBuilder builder = new PdfRendererBuilder();
+			builder.useFastMode();
+			builder.withHtmlContent(html, null);
+			builder.useFont(() -> new ByteArrayInputStream(regular), "Roboto", 400,
+					BaseRendererBuilder.FontStyle.NORMAL, true);
+			builder.useFont(() -> new ByteArrayInputStream(bold), "Roboto", 700,
+					BaseRendererBuilder.FontStyle.NORMAL, true);
+			builder.toStream(output);
+			builder.run();
+			return output.toByteArray();
+		}
+	}
+
+	private static SpringTemplateEngine templateEngine() {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setTemplateMode(TemplateMode.HTML);
+		SpringTemplateEngine engine = new SpringTemplateEngine();
+		engine.setTemplateResolver(resolver);
+		return engine;
+	}
+
+	private static Booking booking() {
+		Showtime showtime = Showtime.builder()
+				.id(1)
+				.movie(Movie.builder().title("Dune: Part Two").originalTitle("Dune: Part Two").build())
+				.auditorium(Auditorium.builder().name("Hall 01").build())
+				.startTime(LocalDateTime.of(2026, 10, 18, 19, 30))
+				.build();
+		return Booking.builder()
+				.id(1)
+				.bookingCode("BK3F9Q2X7M")
+				.showtime(showtime)
+				.finalAmount(BigDecimal.valueOf(270_000))
+				.totalAmount(BigDecimal.valueOf(270_000))
+				.paidAt(OffsetDateTime.parse("2026-10-18T18:05:00+07:00"))
+				.build();
+	}
+
+	private static List<BookingSeat> seats() {
+		SeatType standard = SeatType.builder().name("Standard").build();
+		return List.of("E5", "E6", "E7").stream()
+				.map(label -> BookingSeat.builder()
+						.showtimeSeat(ShowtimeSeat.builder()
+								.seat(Seat.builder()
+										.rowLabel(label.substring(0, 1))
+										.seatNumber(Integer.parseInt(label.substring(1)))
+										.seatType(standard)
+										.build())
+								.build())
+						.finalPrice(BigDecimal.valueOf(90_000))
+						.build())
+				.toList();
+	}
+
+	private static final class FontResourceLoader extends DefaultResourceLoader {
+
+		@Override
+		public Resource getResource(String location) {
+			String override = switch (location) {
+				case "classpath:fonts/Roboto-Regular.ttf" -> System.getProperty("cinema.benchmark.font-regular");
+				case "classpath:fonts/Roboto-Bold.ttf" -> System.getProperty("cinema.benchmark.font-bold");
+				default -> null;
+			};
+			return override != null ? new FileSystemResource(override) : super.getResource(location);
+		}
+
+		byte[] read(String location) throws IOException {
+			try (InputStream input = getResource(location).getInputStream()) {
+				return input.readAllBytes();
+			}
+		}
+	}
+}
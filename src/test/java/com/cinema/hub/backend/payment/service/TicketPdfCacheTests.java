@@ -0,0 +1,127 @@
+package com.cinema.hub.backend.payment.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TicketPdfCacheTests {
+
+	@TempDir
+	Path uploadDir;
+
+	private TicketPdfCache cache;
+	private AtomicInteger renders;
+
+	@BeforeEach
+	void setUp() {
+		cache = new TicketPdfCache(uploadDir.toString(), 1, 1, 30);
+		renders = new AtomicInteger();
+	}
+
+	@Test
+	void missRendersAndWritesFile() {
+		byte[] bytes = cache.getBytes(1, "a", renderer("one"));
+
+		assertArrayEquals("one".getBytes(), bytes);
+		assertEquals(1, renders.get());
+		assertTrue(Files.isRegularFile(ticket(1, "a")));
+	}
+
+	@Test
+	void hitIsServedWithoutRendering() {
+		cache.getBytes(1, "a", renderer("one"));
+
+		assertArrayEquals("one".getBytes(), cache.getBytes(1, "a", renderer("two")));
+		assertEquals(ticket(1, "a"), cache.getFile(1, "a", renderer("two")));
+		assertEquals(1, renders.get());
+	}
+
+	@Test
+	void diskHitSurvivesRestart() {
+		cache.getBytes(1, "a", renderer("one"));
+		TicketPdfCache restarted = new TicketPdfCache(uploadDir.toString(), 1, 1, 30);
+
+		assertArrayEquals("one".getBytes(), restarted.getBytes(1, "a", renderer("two")));
+		assertEquals(1, renders.get());
+	}
+
+	@Test
+	void newHashReplacesStaleEntry() {
+		cache.getBytes(1, "a", renderer("one"));
+
+		assertArrayEquals("two".getBytes(), cache.getBytes(1, "b", renderer("two")));
+		assertFalse(Files.exists(ticket(1, "a")));
+		assertTrue(Files.isRegularFile(ticket(1, "b")));
+		assertArrayEquals("three".getBytes(), cache.getBytes(1, "a", renderer("three")));
+		assertEquals(3, renders.get());
+	}
+
+	@Test
+	void invalidateDropsOnlyThatBooking() {
+		cache.getBytes(1, "a", renderer("one"));
+		cache.getBytes(2, "a", renderer("two"));
+
+		cache.invalidate(1);
+
+		assertFalse(Files.exists(ticket(1, "a")));
+		assertTrue(Files.isRegularFile(ticket(2, "a")));
+		cache.getBytes(1, "a", renderer("one"));
+		cache.getBytes(2, "a", renderer("two"));
+		assertEquals(3, renders.get());
+	}
+
+	@Test
+	void trimRemovesFilesPastMaxAge() throws IOException {
+		cache.getBytes(1, "a", renderer("one"));
+		cache.getBytes(2, "a", renderer("two"));
+		age(ticket(1, "a"), Duration.ofDays(31));
+
+		assertEquals(1, cache.trimDisk());
+		assertFalse(Files.exists(ticket(1, "a")));
+		assertTrue(Files.isRegularFile(ticket(2, "a")));
+	}
+
+	@Test
+	void trimRemovesLeastRecentlyUsedUntilUnderSizeLimit() throws IOException {
+		byte[] large = new byte[400 * 1024];
+		cache.getBytes(1, "a", () -> large);
+		cache.getBytes(2, "a", () -> large);
+		cache.getBytes(3, "a", () -> large);
+		age(ticket(1, "a"), Duration.ofHours(3));
+		age(ticket(2, "a"), Duration.ofHours(2));
+		age(ticket(3, "a"), Duration.ofHours(1));
+		cache.getFile(1, "a", () -> large);
+
+		assertEquals(1, cache.trimDisk());
+		assertTrue(Files.isRegularFile(ticket(1, "a")));
+		assertFalse(Files.exists(ticket(2, "a")));
+		assertTrue(Files.isRegularFile(ticket(3, "a")));
+	}
+
+	private Supplier<byte[]> renderer(String content) {
+		return () -> {
+			renders.incrementAndGet();
+			return content.getBytes();
+		};
+	}
+
+	private Path ticket(int bookingId, String hash) {
+		return uploadDir.resolve("tickets").resolve(bookingId + "-" + hash + ".pdf").toAbsolutePath().normalize();
+	}
+
+	private static void age(Path file, Duration age) throws IOException {
+		Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - age.toMillis()));
+	}
+}
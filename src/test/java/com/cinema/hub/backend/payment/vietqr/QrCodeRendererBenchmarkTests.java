@@ -0,0 +1,71 @@
+package com.cinema.hub.backend.payment.vietqr;
+
+import com.cinema.hub.backend.support.Microbenchmark;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * QR render latency, allocation and PNG size: the 1-bit PNG writer against the previous
+ * QRCodeWriter, BufferedImage and ImageIO path, at the VietQR (600 px) and ticket (340 px) sizes. Every render
+ * uses a fresh order code, so the data URI cache is not involved:
+ * <pre>
+ * mvn test -Dtest=QrCodeRendererBenchmarkTests -Dcinema.benchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = Microbenchmark.ENABLED_PROPERTY, matches = "true")
+class QrCodeRendererBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(QrCodeRendererBenchmarkTests.class);
+	private static final int WARMUP = 500;
+	private static final int ITERATIONS = 2_000;
+
+	private final QrCodeRenderer renderer = new QrCodeRenderer(256, 4);
+	private final PaymentQrService paymentQrService = new PaymentQrService(renderer);
+	private long orderCode = 1_000_000L;
+	private long pngBytes;
+
+	@AfterEach
+	void tearDown() {
+		renderer.close();
+	}
+
+	@Test
+	void compareQrRendering() throws Exception {
+		for (int size : new int[] {600, 340}) {
+			report(Microbenchmark.run("legacy ImageIO " + size + "px", WARMUP, ITERATIONS,
+					() -> pngBytes += legacyPng(nextPayload(), size).length));
+			report(Microbenchmark.run("1-bit writer " + size + "px", WARMUP, ITERATIONS,
+					() -> pngBytes += renderer.toPng(nextPayload(), size).length));
+		}
+	}
+
+	private void report(Microbenchmark.Result result) {
+		// the sum also covers the warm-up renders
+		log.info("QR rendering, {}, {} PNG bytes per QR", result, pngBytes / (WARMUP + ITERATIONS));
+		pngBytes = 0;
+	}
+
+	private String nextPayload() {
+		orderCode++;
+		return paymentQrService.buildPayload(BigDecimal.valueOf(270_000), "HUB [VE-" + orderCode + "]");
+	}
+
+	private static byte[] legacyPng(String payload, int size) throws Exception {
+		BitMatrix matrix = new QRCodeWriter().encode(payload, BarcodeFormat.QR_CODE, size, size);
+		BufferedImage image = MatrixToImageWriter.toBufferedImage(matrix);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", output);
+		return output.toByteArray();
+	}
+}
@@ -0,0 +1,103 @@
+package com.cinema.hub.backend.payment.vietqr;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class QrCodeRendererTests {
+
+	private static final String PAYLOAD = "00020101021238570010A000000727012700069704220113VQRQ0001234560208QRIBFTTA"
+			+ "5303704540612000058025VN62150811CINEMA12346304ABCD";
+	private static final int QUIET_ZONE = 4;
+
+	private final QrCodeRenderer renderer = new QrCodeRenderer(16, 2);
+
+	@AfterEach
+	void tearDown() {
+		renderer.close();
+	}
+
+	@Test
+	void pngPixelsMatchModuleMatrix() throws Exception {
+		ByteMatrix modules = Encoder.encode(PAYLOAD, ErrorCorrectionLevel.L).getMatrix();
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(renderer.toPng(PAYLOAD, 300)));
+
+		int dimension = modules.getWidth() + 2 * QUIET_ZONE;
+		int scale = 300 / dimension;
+		assertEquals(dimension * scale, image.getWidth());
+		assertEquals(dimension * scale, image.getHeight());
+		for (int y = 0; y < dimension; y++) {
+			for (int x = 0; x < dimension; x++) {
+				int moduleX = x - QUIET_ZONE;
+				int moduleY = y - QUIET_ZONE;
+				boolean expected = moduleX >= 0 && moduleX < modules.getWidth()
+						&& moduleY >= 0 && moduleY < modules.getHeight()
+						&& modules.get(moduleX, moduleY) == 1;
+				for (int dy = 0; dy < scale; dy++) {
+					for (int dx = 0; dx < scale; dx++) {
+						boolean dark = (image.getRGB(x * scale + dx, y * scale + dy) & 0xFFFFFF) == 0;
+						assertEquals(expected, dark, "module " + x + "," + y);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void pngDecodesBackToPayload() throws Exception {
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(renderer.toPng(PAYLOAD, 250)));
+		BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(new BufferedImageLuminanceSource(image)));
+
+		assertEquals(PAYLOAD, new QRCodeReader().decode(bitmap).getText());
+	}
+
+	@Test
+	void tinySizeStillUsesOnePixelPerModule() throws Exception {
+		ByteMatrix modules = Encoder.encode(PAYLOAD, ErrorCorrectionLevel.L).getMatrix();
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(renderer.toPng(PAYLOAD, 10)));
+
+		assertEquals(modules.getWidth() + 2 * QUIET_ZONE, image.getWidth());
+	}
+
+	@Test
+	void dataUriWrapsSamePng() throws Exception {
+		String dataUri = renderer.toPngDataUri(PAYLOAD, 200);
+
+		assertTrue(dataUri.startsWith("data:image/png;base64,"));
+		assertArrayEquals(renderer.toPng(PAYLOAD, 200),
+				Base64.getDecoder().decode(dataUri.substring("data:image/png;base64,".length())));
+	}
+
+	@Test
+	void concurrentRendersBeyondPoolSizeProduceIdenticalImages() throws Exception {
+		byte[] expected = renderer.toPng(PAYLOAD, 200);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<byte[]>> futures = new ArrayList<>();
+			for (int i = 0; i < 64; i++) {
+				futures.add(executor.submit(() -> renderer.toPng(PAYLOAD, 200)));
+			}
+			for (Future<byte[]> future : futures) {
+				assertArrayEquals(expected, future.get());
+			}
+		}
+	}
+}
@@ -0,0 +1,263 @@
+package com.cinema.hub.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.cinema.hub.backend.dto.showtime.ShowtimeSeatDraft;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Round trips for the seat and ticket writes of a booking and for the seats of a generated showtime: the bulk
+ * statements of {@link BulkWriteRepository} against the previous one INSERT per row, as Hibernate issued for these
+ * IDENTITY-keyed tables. Every statement execution sent to the driver is counted; a JDBC batch counts once. Needs the
+ * same SQL Server as {@link HoldPlacementBenchmarkTests}:
+ * <pre>
+ * mvn test -Dtest=BookingWriteRoundTripBenchmarkTests -Dcinema.benchmark.jdbc-url=jdbc:sqlserver://... \
+ *     -Dcinema.benchmark.username=sa -Dcinema.benchmark.password=...
+ * </pre>
+ * Every write runs in a transaction that is rolled back.
+ */
+@EnabledIfSystemProperty(named = "cinema.benchmark.jdbc-url", matches = ".+")
+class BookingWriteRoundTripBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(BookingWriteRoundTripBenchmarkTests.class);
+	private static final int[] BOOKING_SIZES = {1, 2, 4, 8};
+	private static final int ROUNDS = 20;
+
+	private final CountingDataSource dataSource;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final BulkWriteRepository repository;
+
+	BookingWriteRoundTripBenchmarkTests() {
+		this.dataSource = new CountingDataSource(new DriverManagerDataSource(
+				System.getProperty("cinema.benchmark.jdbc-url"),
+				System.getProperty("cinema.benchmark.username", "sa"),
+				System.getProperty("cinema.benchmark.password", "")));
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		this.repository = new BulkWriteRepository(jdbcTemplate);
+	}
+
+	@Test
+	void measureBookingWriteRoundTrips() {
+		List<Map<String, Object>> seats = jdbcTemplate.queryForList("""
+				SELECT TOP (%d) ss.ShowtimeSeatId, ss.ShowtimeId, ss.EffectivePrice, s.SeatId, s.RowLabel, s.SeatNumber
+				FROM ShowtimeSeats ss
+				JOIN Seats s ON s.SeatId = ss.SeatId
+				WHERE ss.ShowtimeId = (SELECT TOP 1 ShowtimeId FROM ShowtimeSeats
+				                       GROUP BY ShowtimeId ORDER BY COUNT(*) DESC)
+				  AND NOT EXISTS (SELECT 1 FROM BookingSeats bs WHERE bs.ShowtimeSeatId = ss.ShowtimeSeatId)
+				ORDER BY ss.ShowtimeSeatId
+				""".formatted(BOOKING_SIZES[BOOKING_SIZES.length - 1]));
+		assertFalse(seats.size() < BOOKING_SIZES[BOOKING_SIZES.length - 1], "no showtime with enough free seats");
+
+		for (int size : BOOKING_SIZES) {
+			List<Map<String, Object>> booked = seats.subList(0, size);
+			Measurement legacy = measure(booking -> writeBookingLegacy(booking, booked), booked);
+			Measurement bulk = measure(booking -> writeBookingBulk(booking, booked), booked);
+			assertEquals(2 * size, legacy.roundTrips());
+			log.info("Booking of {} seats, seat and ticket writes: per-row {} round trips avg {}us, bulk {} round trips avg {}us",
+					size, legacy.roundTrips(), legacy.averageMicros(), bulk.roundTrips(), bulk.averageMicros());
+		}
+	}
+
+	@Test
+	void measureShowtimeSeatRoundTrips() {
+		Integer auditoriumId = jdbcTemplate.queryForObject(
+				"SELECT TOP 1 AuditoriumId FROM Seats GROUP BY AuditoriumId ORDER BY COUNT(*) DESC", Integer.class);
+		List<Integer> seatIds = jdbcTemplate.queryForList("SELECT SeatId FROM Seats WHERE AuditoriumId = ?",
+				Integer.class, auditoriumId);
+		Integer movieId = jdbcTemplate.queryForObject("SELECT TOP 1 MovieId FROM Movies", Integer.class);
+
+		Measurement legacy = measureShowtime(auditoriumId, movieId, showtimeId -> {
+			for (Integer seatId : seatIds) {
+				insertReturningKey("INSERT INTO ShowtimeSeats (ShowtimeId, SeatId, EffectivePrice, Status)"
+						+ " VALUES (?, ?, ?, N'Available')", showtimeId, seatId, BigDecimal.valueOf(90_000));
+			}
+		});
+		Measurement bulk = measureShowtime(auditoriumId, movieId, showtimeId -> repository.insertShowtimeSeats(
+				seatIds.stream().map(seatId -> new ShowtimeSeatDraft(showtimeId, seatId, BigDecimal.valueOf(90_000)))
+						.toList(), "Available"));
+		log.info("Showtime of {} seats, seat snapshot writes: per-row {} round trips avg {}us, batched {} round trips avg {}us",
+				seatIds.size(), legacy.roundTrips(), legacy.averageMicros(), bulk.roundTrips(), bulk.averageMicros());
+	}
+
+	private Measurement measure(Consumer<TemporaryBooking> writes, List<Map<String, Object>> seats) {
+		int showtimeId = ((Number) seats.get(0).get("ShowtimeId")).intValue();
+		return measureRounds(() -> {
+			TemporaryBooking booking = insertBooking(showtimeId);
+			return () -> writes.accept(booking);
+		});
+	}
+
+	private Measurement measureShowtime(int auditoriumId, Integer movieId, Consumer<Integer> writes) {
+		return measureRounds(() -> {
+			Integer showtimeId = insertShowtime(auditoriumId, movieId);
+			return () -> writes.accept(showtimeId);
+		});
+	}
+
+	/**
+	 * Runs the setup and then the measured writes in one transaction per round, rolled back afterwards. Only the
+	 * writes are counted and timed.
+	 */
+	private Measurement measureRounds(Supplier<Runnable> setup) {
+		int roundTrips = -1;
+		long totalNanos = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			int[] counted = new int[1];
+			long[] elapsed = new long[1];
+			transactionTemplate.executeWithoutResult(status -> {
+				Runnable writes = setup.get();
+				int before = dataSource.executions.get();
+				long started = System.nanoTime();
+				writes.run();
+				elapsed[0] = System.nanoTime() - started;
+				counted[0] = dataSource.executions.get() - before;
+				status.setRollbackOnly();
+			});
+			roundTrips = counted[0];
+			totalNanos += elapsed[0];
+		}
+		return new Measurement(roundTrips, totalNanos / ROUNDS / 1_000);
+	}
+
+	/**
+	 * The previous persist: one IDENTITY insert per booking seat, then one per ticket, with the seat entities already
+	 * loaded.
+	 */
+	private void writeBookingLegacy(TemporaryBooking booking, List<Map<String, Object>> seats) {
+		List<Number> bookingSeatIds = new ArrayList<>();
+		for (Map<String, Object> seat : seats) {
+			BigDecimal price = (BigDecimal) seat.get("EffectivePrice");
+			bookingSeatIds.add(insertReturningKey("INSERT INTO BookingSeats (BookingId, ShowtimeSeatId, UnitPrice,"
+					+ " DiscountAmount, FinalPrice) VALUES (?, ?, ?, 0, ?)",
+					booking.id(), seat.get("ShowtimeSeatId"), price, price));
+		}
+		Timestamp issuedAt = Timestamp.from(OffsetDateTime.now().toInstant());
+		for (int i = 0; i < seats.size(); i++) {
+			Map<String, Object> seat = seats.get(i);
+			insertReturningKey("INSERT INTO Tickets (BookingSeatId, TicketCode, QRCodeData, IssuedAt)"
+					+ " VALUES (?, ?, ?, ?)",
+					bookingSeatIds.get(i).intValue(),
+					"TKT-" + booking.code() + "-" + seat.get("SeatId"),
+					"BOOKING:" + booking.code() + ";SEAT:" + seat.get("RowLabel") + seat.get("SeatNumber"),
+					issuedAt);
+		}
+	}
+
+	private void writeBookingBulk(TemporaryBooking booking, List<Map<String, Object>> seats) {
+		List<Integer> showtimeSeatIds = seats.stream()
+				.map(seat -> ((Number) seat.get("ShowtimeSeatId")).intValue())
+				.toList();
+		repository.insertBookingSeats(booking.id(), showtimeSeatIds);
+		repository.insertTickets(booking.id(), booking.code(), OffsetDateTime.now());
+	}
+
+	private TemporaryBooking insertBooking(int showtimeId) {
+		String bookingCode = "RT" + UUID.randomUUID().toString().replace("-", "").substring(0, 12).toUpperCase();
+		Number id = insertReturningKey("INSERT INTO Bookings (BookingCode, ShowtimeId, TotalAmount, FinalAmount)"
+				+ " VALUES (?, ?, 0, 0)", bookingCode, showtimeId);
+		return new TemporaryBooking(id.intValue(), bookingCode);
+	}
+
+	private Integer insertShowtime(int auditoriumId, Integer movieId) {
+		// a far-future start minute keeps clear of UQ(AuditoriumId, StartTime)
+		LocalDateTime start = LocalDateTime.of(2099, 1, 1, 0, 0)
+				.plusMinutes(Math.floorMod(UUID.randomUUID().getLeastSignificantBits(), 5_000_000L));
+		return insertReturningKey("INSERT INTO Showtimes (MovieId, AuditoriumId, StartTime, EndTime, BasePrice)"
+				+ " VALUES (?, ?, ?, ?, 90000)", movieId, auditoriumId, Timestamp.valueOf(start),
+				Timestamp.valueOf(start.plusHours(2))).intValue();
+	}
+
+	private Number insertReturningKey(String sql, Object... args) {
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.update(connection -> {
+			PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+			for (int i = 0; i < args.length; i++) {
+				ps.setObject(i + 1, args[i]);
+			}
+			return ps;
+		}, keyHolder);
+		return keyHolder.getKey();
+	}
+
+	private record TemporaryBooking(int id, String code) {
+	}
+
+	private record Measurement(int roundTrips, long averageMicros) {
+	}
+
+	/**
+	 * Counts statement executions on every connection it hands out.
+	 */
+	private static final class CountingDataSource extends DelegatingDataSource {
+
+		private final AtomicInteger executions = new AtomicInteger();
+
+		CountingDataSource(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			Connection connection = super.getConnection();
+			return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+					(proxy, method, args) -> {
+						Object result = invoke(connection, method, args);
+						return result instanceof Statement statement ? countExecutions(statement) : result;
+					});
+		}
+
+		private Statement countExecutions(Statement statement) {
+			Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+					: statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+			return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type},
+					(proxy, method, args) -> {
+						if (method.getName().startsWith("execute")) {
+							executions.incrementAndGet();
+						}
+						return invoke(statement, method, args);
+					});
+		}
+
+		private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+}
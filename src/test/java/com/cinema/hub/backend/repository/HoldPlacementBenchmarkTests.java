@@ -0,0 +1,165 @@
+package com.cinema.hub.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hold placement latency with 50 users competing for the same seats of one showtime: the single guarded statement
+ * against the previous multi-round-trip sequence (lock seats, read holds, read bookings, read user, one insert per
+ * seat). Needs a SQL Server with the schema from docs/sql.txt and a showtime with seats:
+ * <pre>
+ * mvn test -Dtest=HoldPlacementBenchmarkTests -Dcinema.benchmark.jdbc-url=jdbc:sqlserver://... \
+ *     -Dcinema.benchmark.username=sa -Dcinema.benchmark.password=...
+ * </pre>
+ * Every hold it places is deleted again after its round.
+ */
+@EnabledIfSystemProperty(named = "cinema.benchmark.jdbc-url", matches = ".+")
+class HoldPlacementBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(HoldPlacementBenchmarkTests.class);
+	private static final int USERS = 50;
+	private static final int ROUNDS = 20;
+	private static final int CONTESTED_SEATS = 20;
+	private static final int SEATS_PER_HOLD = 2;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final SeatHoldJdbcRepository repository;
+
+	HoldPlacementBenchmarkTests() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				System.getProperty("cinema.benchmark.jdbc-url"),
+				System.getProperty("cinema.benchmark.username", "sa"),
+				System.getProperty("cinema.benchmark.password", ""));
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		this.repository = new SeatHoldJdbcRepository(jdbcTemplate);
+	}
+
+	@Test
+	void compareHoldPlacementLatency() throws Exception {
+		List<Integer> seats = jdbcTemplate.queryForList("""
+				SELECT TOP (%d) ss.ShowtimeSeatId
+				FROM ShowtimeSeats ss
+				WHERE ss.ShowtimeId = (SELECT TOP 1 ShowtimeId FROM ShowtimeSeats
+				                       GROUP BY ShowtimeId ORDER BY COUNT(*) DESC)
+				  AND NOT EXISTS (SELECT 1 FROM SeatHolds sh
+				                  WHERE sh.ShowtimeSeatId = ss.ShowtimeSeatId AND sh.Status = N'Held')
+				  AND NOT EXISTS (SELECT 1 FROM BookingSeats bs JOIN Bookings b ON b.BookingId = bs.BookingId
+				                  WHERE bs.ShowtimeSeatId = ss.ShowtimeSeatId AND b.BookingStatus <> N'Cancelled')
+				ORDER BY ss.ShowtimeSeatId
+				""".formatted(CONTESTED_SEATS), Integer.class);
+		assertFalse(seats.size() < SEATS_PER_HOLD, "no showtime with free seats to benchmark");
+
+		long[] legacy = run(seats, this::placeLegacy);
+		long[] guarded = run(seats, this::placeGuarded);
+
+		log.info("Hold placement, {} users x {} rounds on {} seats: legacy p50={}us p99={}us, guarded p50={}us p99={}us",
+				USERS, ROUNDS, seats.size(),
+				percentile(legacy, 0.50), percentile(legacy, 0.99),
+				percentile(guarded, 0.50), percentile(guarded, 0.99));
+	}
+
+	private long[] run(List<Integer> seats, Placement placement) throws Exception {
+		List<Long> samples = Collections.synchronizedList(new ArrayList<>());
+		ExecutorService executor = Executors.newFixedThreadPool(USERS);
+		try {
+			for (int round = 0; round < ROUNDS; round++) {
+				Set<UUID> tokens = ConcurrentHashMap.newKeySet();
+				CountDownLatch start = new CountDownLatch(1);
+				List<Future<?>> futures = new ArrayList<>();
+				for (int user = 0; user < USERS; user++) {
+					Random random = new Random(round * 1_000L + user);
+					futures.add(executor.submit(() -> {
+						List<Integer> wanted = new ArrayList<>(seats);
+						Collections.shuffle(wanted, random);
+						UUID token = UUID.randomUUID();
+						tokens.add(token);
+						start.await();
+						long started = System.nanoTime();
+						transactionTemplate.executeWithoutResult(status ->
+								placement.place(token, wanted.subList(0, SEATS_PER_HOLD)));
+						samples.add((System.nanoTime() - started) / 1_000);
+						return null;
+					}));
+				}
+				start.countDown();
+				for (Future<?> future : futures) {
+					future.get();
+				}
+				deleteHolds(tokens);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return samples.stream().mapToLong(Long::longValue).sorted().toArray();
+	}
+
+	private void placeGuarded(UUID token, List<Integer> seats) {
+		OffsetDateTime now = OffsetDateTime.now();
+		repository.placeHolds(token, null, now, now.plusMinutes(10), seats, Set.of(), Set.of());
+	}
+
+	private void placeLegacy(UUID token, List<Integer> seats) {
+		String in = String.join(",", Collections.nCopies(seats.size(), "?"));
+		Object[] ids = seats.toArray();
+		jdbcTemplate.queryForList("SELECT ShowtimeSeatId FROM ShowtimeSeats WITH (UPDLOCK) WHERE ShowtimeSeatId IN ("
+				+ in + ")", Integer.class, ids);
+		List<Integer> held = jdbcTemplate.queryForList("SELECT ShowtimeSeatId FROM SeatHolds WHERE Status = N'Held'"
+				+ " AND ExpiresAt > SYSUTCDATETIME() AND ShowtimeSeatId IN (" + in + ")", Integer.class, ids);
+		List<Integer> booked = jdbcTemplate.queryForList("SELECT bs.ShowtimeSeatId FROM BookingSeats bs"
+				+ " JOIN Bookings b ON b.BookingId = bs.BookingId WHERE b.BookingStatus <> N'Cancelled'"
+				+ " AND bs.ShowtimeSeatId IN (" + in + ")", Integer.class, ids);
+		jdbcTemplate.queryForList("SELECT TOP 1 UserId FROM Users", Integer.class);
+		if (!held.isEmpty() || !booked.isEmpty()) {
+			return;
+		}
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		Timestamp expiresAt = new Timestamp(now.getTime() + 600_000);
+		try {
+			for (Integer seat : seats) {
+				jdbcTemplate.update("INSERT INTO SeatHolds (ShowtimeSeatId, HoldToken, UserId, CreatedAt, ExpiresAt,"
+						+ " Status) VALUES (?, ?, NULL, ?, ?, N'Held')", seat, token.toString(), now, expiresAt);
+			}
+		} catch (DataIntegrityViolationException ex) {
+			// lost the race on the filtered unique index, like the old path did
+		}
+	}
+
+	private void deleteHolds(Set<UUID> tokens) {
+		List<Object[]> batch = tokens.stream().map(token -> new Object[] {token.toString()}).toList();
+		jdbcTemplate.batchUpdate("DELETE FROM SeatHolds WHERE HoldToken = ?", batch);
+	}
+
+	private static long percentile(long[] sorted, double quantile) {
+		int index = (int) Math.ceil(quantile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+	}
+
+	@FunctionalInterface
+	private interface Placement {
+		void place(UUID token, List<Integer> seats);
+	}
+}
@@ -0,0 +1,117 @@
+package com.cinema.hub.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class BookingChangeCollectorTests {
+
+	private static final LocalDate DAY = LocalDate.of(2026, 10, 18);
+
+	private final RecordingConsumer first = new RecordingConsumer();
+	private final RecordingConsumer second = new RecordingConsumer();
+	private StaticListableBeanFactory consumers;
+	private BookingChangeCollector collector;
+
+	@BeforeEach
+	void setUp() {
+		consumers = new StaticListableBeanFactory();
+		consumers.addBean("first", first);
+		consumers.addBean("second", second);
+		collector = new BookingChangeCollector(consumers.getBeanProvider(BookingChangeConsumer.class), 100);
+	}
+
+	@AfterEach
+	void tearDown() {
+		collector.shutdown();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void committedTransactionReachesEveryConsumerOnceOffTheCallingThread() throws Exception {
+		TransactionSynchronizationManager.initSynchronization();
+		collector.record(changes -> changes.bookingWritten(1, null, null, Set.of(DAY)));
+		collector.record(changes -> changes.paymentWritten(2));
+		collector.awaitIdle();
+		assertEquals(List.of(), first.batches);
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+		collector.awaitIdle();
+
+		for (RecordingConsumer consumer : List.of(first, second)) {
+			assertEquals(1, consumer.batches.size());
+			BookingChanges changes = consumer.batches.get(0);
+			assertEquals(Set.of(1), changes.bookingIds());
+			assertEquals(Set.of(1, 2), changes.touchedBookingIds());
+			assertEquals(Set.of(DAY), changes.dashboardDays());
+			assertNotEquals(Thread.currentThread().getName(), consumer.threads.get(0));
+		}
+	}
+
+	@Test
+	void rolledBackTransactionReachesNoConsumer() throws Exception {
+		TransactionSynchronizationManager.initSynchronization();
+		collector.record(changes -> changes.bookingWritten(1, null, null, Set.of(DAY)));
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+		collector.awaitIdle();
+
+		assertEquals(List.of(), first.batches);
+		assertEquals(List.of(), second.batches);
+	}
+
+	@Test
+	void failingConsumerDoesNotStopTheOthers() throws Exception {
+		consumers.addBean("failing", (BookingChangeConsumer) changes -> {
+			throw new IllegalStateException("deadlock victim");
+		});
+		collector = new BookingChangeCollector(consumers.getBeanProvider(BookingChangeConsumer.class), 100);
+
+		collector.record(changes -> changes.bookingWritten(1, null, null, Set.of()));
+		collector.record(changes -> changes.bookingWritten(2, null, null, Set.of()));
+		collector.awaitIdle();
+
+		assertEquals(Set.of(1, 2), bookingIds(first));
+		assertEquals(Set.of(1, 2), bookingIds(second));
+	}
+
+	private static void complete(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		if (status == TransactionSynchronization.STATUS_COMMITTED) {
+			synchronizations.forEach(TransactionSynchronization::afterCommit);
+		}
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	private static Set<Integer> bookingIds(RecordingConsumer consumer) {
+		return consumer.batches.stream()
+				.flatMap(changes -> changes.bookingIds().stream())
+				.collect(Collectors.toSet());
+	}
+
+	private static final class RecordingConsumer implements BookingChangeConsumer {
+
+		private final List<BookingChanges> batches = new CopyOnWriteArrayList<>();
+		private final List<String> threads = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void onBookingsChanged(BookingChanges changes) {
+			batches.add(changes);
+			threads.add(Thread.currentThread().getName());
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.cinema.hub.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cinema.hub.backend.dto.admin.analytics.BookingFact;
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactDimension;
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactFilter;
+import com.cinema.hub.backend.dto.admin.analytics.BookingFactGroupDto;
+import com.cinema.hub.backend.repository.BookingFactRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BookingFactServiceTests {
+
+	private static final BookingFactFilter ALL = new BookingFactFilter(null, null, null, null, null, null, null, null);
+
+	private BookingFactRepository repository;
+	private BookingFactService service;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(BookingFactRepository.class);
+		service = new BookingFactService(repository);
+	}
+
+	@Test
+	void refreshWhileRebuildStreamsIsKeptInNewStore() {
+		when(repository.findByBookingIds(anyCollection())).thenReturn(List.of(fact(2, "Confirmed")));
+		doAnswer(invocation -> {
+			Consumer<BookingFact> consumer = invocation.getArgument(0);
+			consumer.accept(fact(1, "Pending"));
+			// booking 2 commits after the stream read past it
+			service.onBookingsChanged(written(2));
+			return null;
+		}).when(repository).streamAll(any());
+
+		service.rebuild();
+
+		assertEquals(Map.of("Pending", 1L, "Confirmed", 1L), ordersByStatus());
+	}
+
+	@Test
+	void failedRebuildKeepsCurrentStore() {
+		doAnswer(invocation -> {
+			Consumer<BookingFact> consumer = invocation.getArgument(0);
+			consumer.accept(fact(1, "Pending"));
+			return null;
+		}).when(repository).streamAll(any());
+		service.rebuild();
+		doThrow(new IllegalStateException("connection reset")).when(repository).streamAll(any());
+
+		assertThrows(IllegalStateException.class, service::rebuild);
+
+		when(repository.findByBookingIds(anyCollection())).thenReturn(List.of(fact(3, "Confirmed")));
+		service.onBookingsChanged(written(3));
+		assertEquals(Map.of("Pending", 1L, "Confirmed", 1L), ordersByStatus());
+	}
+
+	private Map<String, Long> ordersByStatus() {
+		return service.aggregate(ALL, BookingFactDimension.BOOKING_STATUS).stream()
+				.collect(Collectors.toMap(BookingFactGroupDto::getKey, BookingFactGroupDto::getOrders));
+	}
+
+	private static BookingChanges written(int bookingId) {
+		BookingChanges changes = new BookingChanges();
+		changes.bookingWritten(bookingId, null, null, Set.of());
+		return changes;
+	}
+
+	private static BookingFact fact(int bookingId, String status) {
+		return new BookingFact(bookingId, LocalDate.of(2026, 10, 18), 1, 1, 1, "VietQR", status, "Unpaid",
+				BigDecimal.valueOf(90_000), 1);
+	}
+}
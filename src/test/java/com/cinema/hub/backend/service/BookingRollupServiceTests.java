@@ -0,0 +1,112 @@
+package com.cinema.hub.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cinema.hub.backend.dto.admin.analytics.BookingRollupDelta;
+import com.cinema.hub.backend.entity.Booking;
+import com.cinema.hub.backend.entity.enums.BookingStatus;
+import com.cinema.hub.backend.entity.enums.PaymentStatus;
+import com.cinema.hub.backend.repository.BookingRollupRepository;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class BookingRollupServiceTests {
+
+	private static final OffsetDateTime LATE_EVENING = OffsetDateTime.parse("2026-10-18T23:30:00+07:00");
+
+	private final List<BookingRollupDelta> applied = new ArrayList<>();
+	private BookingChangeCollector collector;
+	private BookingChangeListener listener;
+
+	@BeforeEach
+	void setUp() {
+		BookingRollupRepository repository = mock(BookingRollupRepository.class);
+		doAnswer(invocation -> applied.addAll(invocation.getArgument(0))).when(repository).applyDeltas(any());
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		StaticListableBeanFactory consumers = new StaticListableBeanFactory();
+		consumers.addBean("rollupService", new BookingRollupService(repository, transactionManager));
+		collector = new BookingChangeCollector(consumers.getBeanProvider(BookingChangeConsumer.class), 100);
+		listener = new BookingChangeListener(collector);
+	}
+
+	@AfterEach
+	void tearDown() {
+		collector.shutdown();
+	}
+
+	@Test
+	void lateEveningBookingPersistedReloadedAndUpdatedNetsOutPerBooking() throws Exception {
+		Booking created = booking(LATE_EVENING);
+		listener.onWrite(created);
+
+		// DATETIME2 keeps the wall time only, so the reloaded value no longer carries +07:00
+		Booking reloaded = booking(LATE_EVENING.withOffsetSameLocal(ZoneOffset.UTC));
+		listener.onLoad(reloaded);
+		reloaded.setBookingStatus(BookingStatus.Confirmed);
+		reloaded.setPaymentStatus(PaymentStatus.Paid);
+		reloaded.setPaymentMethod("VietQR");
+		listener.onWrite(reloaded);
+		collector.awaitIdle();
+
+		Map<String, Long> net = new HashMap<>();
+		for (BookingRollupDelta delta : applied) {
+			assertEquals(7, delta.bookingId());
+			net.merge(delta.paymentMethod() + "/" + delta.bookingStatus() + "/" + delta.paymentStatus(),
+					delta.orderCount(), Long::sum);
+		}
+		// the insert and update may be applied in one batch, in which case the pending row nets out before the write
+		assertEquals(0L, net.getOrDefault("/Pending/Unpaid", 0L));
+		assertEquals(1L, net.get("VietQR/Confirmed/Paid"));
+	}
+
+	@Test
+	void unchangedUpdateWritesNothing() throws Exception {
+		Booking reloaded = booking(LATE_EVENING.withOffsetSameLocal(ZoneOffset.UTC));
+		listener.onLoad(reloaded);
+		reloaded.setCustomerEmail("guest@cinema.vn");
+		listener.onWrite(reloaded);
+		collector.awaitIdle();
+
+		assertEquals(List.of(), applied);
+	}
+
+	@Test
+	void amountChangeMovesAmountOnly() throws Exception {
+		Booking reloaded = booking(LATE_EVENING);
+		listener.onLoad(reloaded);
+		reloaded.setFinalAmount(BigDecimal.valueOf(120_000));
+		listener.onWrite(reloaded);
+		collector.awaitIdle();
+
+		assertEquals(1, applied.size());
+		assertEquals(0, applied.get(0).orderCount());
+		assertEquals(0, applied.get(0).amount().compareTo(BigDecimal.valueOf(-30_000)));
+	}
+
+	private static Booking booking(OffsetDateTime createdAt) {
+		return Booking.builder()
+				.id(7)
+				.bookingCode("BK7")
+				.bookingStatus(BookingStatus.Pending)
+				.paymentStatus(PaymentStatus.Unpaid)
+				.finalAmount(BigDecimal.valueOf(150_000))
+				.createdAt(createdAt)
+				.build();
+	}
+}
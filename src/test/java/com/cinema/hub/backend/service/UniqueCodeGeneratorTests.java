@@ -0,0 +1,72 @@
+package com.cinema.hub.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class UniqueCodeGeneratorTests {
+
+	private static final int NODES = 4;
+	private static final int THREADS_PER_NODE = 8;
+	private static final int CODES_PER_THREAD = 20_000;
+
+	@Test
+	void codesAreUniqueAcrossThreadsAndNodes() throws Exception {
+		// a frozen clock forces every id onto the sequence/borrowing path
+		AtomicLong clock = new AtomicLong(UniqueCodeGenerator.EPOCH_MILLIS + 1_000);
+		List<UniqueCodeGenerator> generators = new ArrayList<>();
+		for (int node = 0; node < NODES; node++) {
+			generators.add(new UniqueCodeGenerator(node, clock::get));
+		}
+		Set<String> bookingCodes = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(NODES * THREADS_PER_NODE);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (UniqueCodeGenerator generator : generators) {
+				for (int t = 0; t < THREADS_PER_NODE; t++) {
+					futures.add(executor.submit(() -> {
+						start.await();
+						for (int i = 0; i < CODES_PER_THREAD; i++) {
+							bookingCodes.add(generator.nextBookingCode());
+							if (i % 1_000 == 0) {
+								clock.incrementAndGet();
+							}
+						}
+						return null;
+					}));
+				}
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(NODES * THREADS_PER_NODE * CODES_PER_THREAD, bookingCodes.size());
+	}
+
+	@Test
+	void orderCodesStayWithinPayOsRange() {
+		UniqueCodeGenerator generator = new UniqueCodeGenerator(UniqueCodeGenerator.MAX_NODE_ID,
+				() -> UniqueCodeGenerator.EPOCH_MILLIS + (1L << 40));
+		long previous = 0;
+		for (int i = 0; i < 1_000; i++) {
+			long code = generator.nextOrderCode();
+			assertTrue(code > previous);
+			assertTrue(code <= 9_007_199_254_740_991L);
+			previous = code;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.cinema.hub.backend.service.seat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.cinema.hub.backend.repository.SeatHoldRepository;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class HoldExpiryWheelTests {
+
+	private static final OffsetDateTime BASE = OffsetDateTime.parse("2026-10-18T12:00:00Z");
+
+	private HoldExpiryWheel wheel;
+
+	@BeforeEach
+	void setUp() {
+		wheel = new HoldExpiryWheel(mock(SeatHoldRepository.class));
+		ReflectionTestUtils.setField(wheel, "tickMillis", 500L);
+	}
+
+	@Test
+	void tokenIsDueAtFirstTickBoundaryAfterItsDeadline() {
+		UUID token = UUID.randomUUID();
+		OffsetDateTime deadline = BASE.plusNanos(200_000_000);
+		wheel.schedule(token, deadline);
+
+		assertTrue(wheel.pollDue(deadline).isEmpty());
+		assertTrue(wheel.pollDue(BASE.plusNanos(499_000_000)).isEmpty());
+		assertEquals(Map.of(token, deadline), wheel.pollDue(BASE.plusNanos(500_000_000)));
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void deadlineOnBoundaryIsDueOnThatTick() {
+		UUID token = UUID.randomUUID();
+		OffsetDateTime deadline = BASE.plusSeconds(1);
+		wheel.schedule(token, deadline);
+
+		assertTrue(wheel.pollDue(deadline.minusNanos(1_000_000)).isEmpty());
+		assertEquals(Set.of(token), wheel.pollDue(deadline).keySet());
+	}
+
+	@Test
+	void pollReturnsEveryOverdueBucketOnce() {
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		UUID later = UUID.randomUUID();
+		wheel.schedule(first, BASE.plusSeconds(1));
+		wheel.schedule(second, BASE.plusSeconds(2));
+		wheel.schedule(later, BASE.plusSeconds(60));
+
+		assertEquals(Set.of(first, second), wheel.pollDue(BASE.plusSeconds(5)).keySet());
+		assertTrue(wheel.pollDue(BASE.plusSeconds(5)).isEmpty());
+		assertEquals(1, wheel.size());
+	}
+
+	@Test
+	void cancelledTokenNeverFires() {
+		UUID token = UUID.randomUUID();
+		wheel.schedule(token, BASE.plusSeconds(1));
+		wheel.cancel(token);
+
+		assertTrue(wheel.pollDue(BASE.plusSeconds(10)).isEmpty());
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void reschedulingMovesTheDeadline() {
+		UUID token = UUID.randomUUID();
+		wheel.schedule(token, BASE.plusSeconds(1));
+		wheel.schedule(token, BASE.plusSeconds(30));
+
+		assertTrue(wheel.pollDue(BASE.plusSeconds(10)).isEmpty());
+		assertEquals(Map.of(token, BASE.plusSeconds(30)), wheel.pollDue(BASE.plusSeconds(30)));
+	}
+
+	@Test
+	void failedExpiryIsRescheduledAndPolledAgain() {
+		UUID token = UUID.randomUUID();
+		wheel.schedule(token, BASE.plusSeconds(1));
+		Map<UUID, OffsetDateTime> due = wheel.pollDue(BASE.plusSeconds(2));
+
+		wheel.scheduleAll(due);
+
+		assertEquals(1, wheel.size());
+		assertEquals(due, wheel.pollDue(BASE.plusSeconds(3)));
+	}
+
+	@Test
+	void nullTokensAndDeadlinesAreIgnored() {
+		wheel.schedule(null, BASE);
+		wheel.schedule(UUID.randomUUID(), null);
+
+		assertEquals(0, wheel.size());
+	}
+}
@@ -0,0 +1,199 @@
+package com.cinema.hub.backend.service.seat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cinema.hub.backend.dto.SeatStateRow;
+import com.cinema.hub.backend.entity.enums.PaymentStatus;
+import com.cinema.hub.backend.repository.ShowtimeRepository;
+import com.cinema.hub.backend.repository.ShowtimeSeatRepository;
+import com.cinema.hub.backend.service.exception.SeatConflictException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class SeatStateEngineTests {
+
+	private static final int SHOWTIME = 7;
+	private static final OffsetDateTime NOW = OffsetDateTime.now();
+
+	private ShowtimeSeatRepository showtimeSeatRepository;
+	private SeatStateEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		showtimeSeatRepository = mock(ShowtimeSeatRepository.class);
+		when(showtimeSeatRepository.fetchSeatStateRows(SHOWTIME))
+				.thenReturn(List.of(row(1, null, null), row(2, null, null), row(3, null, null), row(4, null, null)));
+		engine = new SeatStateEngine(showtimeSeatRepository, mock(ShowtimeRepository.class),
+				mock(ApplicationEventPublisher.class));
+	}
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void conflictingClaimTakesNoSeats() {
+		engine.claim(SHOWTIME, List.of(1), 5, NOW, NOW.plusMinutes(10));
+
+		SeatConflictException conflict = assertThrows(SeatConflictException.class,
+				() -> engine.claim(SHOWTIME, List.of(2, 1), 6, NOW, NOW.plusMinutes(10)));
+
+		assertEquals(List.of(1), conflict.getSeatIds());
+		assertEquals(1, engine.occupancy(SHOWTIME).heldSeats());
+		assertEquals("AVAILABLE", statuses().get(2));
+	}
+
+	@Test
+	void reclaimBySameUserSupersedesPreviousToken() {
+		SeatClaim first = engine.claim(SHOWTIME, List.of(1), 5, NOW, NOW.plusMinutes(10));
+		SeatClaim second = engine.claim(SHOWTIME, List.of(1, 2), 5, NOW, NOW.plusMinutes(10));
+
+		assertEquals(Set.of(first.token()), second.supersededTokens());
+		assertEquals(2, engine.occupancy(SHOWTIME).heldSeats());
+	}
+
+	@Test
+	void expiredHoldIsTakenOverByAnotherUser() {
+		SeatClaim stale = engine.claim(SHOWTIME, List.of(1), 5, NOW.minusMinutes(20), NOW.minusMinutes(10));
+		SeatClaim fresh = engine.claim(SHOWTIME, List.of(1), 6, NOW, NOW.plusMinutes(10));
+
+		assertEquals(Set.of(stale.token()), fresh.expiredTokens());
+		assertEquals(1, engine.occupancy(SHOWTIME).heldSeats());
+	}
+
+	@Test
+	void releasedHoldFreesItsSeats() {
+		SeatClaim claim = engine.claim(SHOWTIME, List.of(1, 2), 5, NOW, NOW.plusMinutes(10));
+		engine.onHoldReleased(claim.token());
+
+		assertEquals(0, engine.occupancy(SHOWTIME).heldSeats());
+		assertEquals("AVAILABLE", statuses().get(1));
+	}
+
+	@Test
+	void holdBecomesBookingThenPaidThenCancelled() {
+		SeatClaim claim = engine.claim(SHOWTIME, List.of(1, 2), 5, NOW, NOW.plusMinutes(10));
+
+		engine.onBookingCreated(SHOWTIME, claim.token(), 99, 5, false);
+		assertEquals(new SeatOccupancy(4, 4, 2, 0), engine.occupancy(SHOWTIME));
+		assertEquals("HELD", statuses().get(1));
+
+		engine.onBookingPaid(SHOWTIME, 99);
+		assertEquals("SOLD", statuses().get(1));
+
+		engine.onBookingCancelled(SHOWTIME, 99);
+		assertEquals(new SeatOccupancy(4, 4, 0, 0), engine.occupancy(SHOWTIME));
+		assertEquals("AVAILABLE", statuses().get(2));
+	}
+
+	@Test
+	void rolledBackClaimEvictsShowtime() {
+		engine.occupancy(SHOWTIME);
+		TransactionSynchronizationManager.initSynchronization();
+		engine.claim(SHOWTIME, List.of(1), 5, NOW, NOW.plusMinutes(10));
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		assertFalse(engine.loadedShowtimeIds().contains(SHOWTIME));
+		assertEquals(0, engine.occupancy(SHOWTIME).heldSeats());
+		verify(showtimeSeatRepository, times(2)).fetchSeatStateRows(SHOWTIME);
+	}
+
+	@Test
+	void loadRestoresHoldsAndBookings() {
+		UUID token = UUID.randomUUID();
+		when(showtimeSeatRepository.fetchSeatStateRows(SHOWTIME))
+				.thenReturn(List.of(row(1, token, null), row(2, token, null), row(3, null, 99), row(4, null, null)));
+
+		assertEquals(new SeatOccupancy(4, 4, 1, 2), engine.occupancy(SHOWTIME));
+		engine.onHoldReleased(token);
+		assertEquals(new SeatOccupancy(4, 4, 1, 0), engine.occupancy(SHOWTIME));
+	}
+
+	@Test
+	void concurrentFirstUseLoadsOnce() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		List<SeatStateRow> rows = List.of(row(1, null, null));
+		when(showtimeSeatRepository.fetchSeatStateRows(SHOWTIME)).thenAnswer(invocation -> {
+			release.await();
+			return rows;
+		});
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<SeatOccupancy>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> engine.occupancy(SHOWTIME)));
+			}
+			Thread.sleep(100);
+			release.countDown();
+			for (Future<SeatOccupancy> future : futures) {
+				assertEquals(1, future.get().totalSeats());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		verify(showtimeSeatRepository, times(1)).fetchSeatStateRows(SHOWTIME);
+	}
+
+	@Test
+	void reconciliationReloadsOnlyAfterRepeatedDrift() {
+		engine.claim(SHOWTIME, List.of(1), 5, NOW, NOW.plusMinutes(10));
+		Map<Integer, SeatOccupancy> stored = Map.of(SHOWTIME, new SeatOccupancy(4, 4, 0, 0));
+
+		assertEquals(0, engine.reconcileOccupancy(List.of(SHOWTIME), stored));
+		assertTrue(engine.loadedShowtimeIds().contains(SHOWTIME));
+		assertEquals(1, engine.reconcileOccupancy(List.of(SHOWTIME), stored));
+		assertFalse(engine.loadedShowtimeIds().contains(SHOWTIME));
+	}
+
+	@Test
+	void matchingReconciliationClearsSuspicion() {
+		engine.claim(SHOWTIME, List.of(1), 5, NOW, NOW.plusMinutes(10));
+		Map<Integer, SeatOccupancy> drifted = Map.of(SHOWTIME, new SeatOccupancy(4, 4, 0, 0));
+		Map<Integer, SeatOccupancy> matching = Map.of(SHOWTIME, new SeatOccupancy(4, 4, 0, 1));
+
+		engine.reconcileOccupancy(List.of(SHOWTIME), drifted);
+		engine.reconcileOccupancy(List.of(SHOWTIME), matching);
+		assertEquals(0, engine.reconcileOccupancy(List.of(SHOWTIME), drifted));
+		assertTrue(engine.loadedShowtimeIds().contains(SHOWTIME));
+	}
+
+	private Map<Integer, String> statuses() {
+		return engine.snapshot(SHOWTIME, 0).seats().stream()
+				.collect(Collectors.toMap(SeatSnapshot::seatId, SeatSnapshot::status));
+	}
+
+	private static SeatStateRow row(int seatId, UUID holdToken, Integer bookingId) {
+		return new SeatStateRow(100 + seatId, seatId, "A", seatId, "Standard", BigDecimal.valueOf(90_000),
+				"Available", holdToken, holdToken != null ? 5 : null,
+				holdToken != null ? NOW.plusMinutes(10) : null,
+				bookingId, bookingId != null ? 8 : null, bookingId != null ? PaymentStatus.Paid : null);
+	}
+}
@@ -0,0 +1,131 @@
+package com.cinema.hub.backend.service.seat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShowtimeSeatStateTests {
+
+	private static final OffsetDateTime NOW = OffsetDateTime.parse("2026-10-18T19:00:00+07:00");
+
+	private ShowtimeSeatState state;
+
+	@BeforeEach
+	void setUp() {
+		ShowtimeSeatState.SeatDescriptor[] descriptors = {
+				seat(10, 110, "A", 1, true),
+				seat(11, 111, "A", 2, true),
+				seat(12, 112, "A", 3, true),
+				seat(13, 113, "A", 4, false)
+		};
+		state = new ShowtimeSeatState(7, descriptors, new int[] {0, 1, 2, 3}, new AtomicLong(1_000));
+	}
+
+	@Test
+	void countersStartEmptyAndSkipUnsellableSeats() {
+		assertEquals(new SeatOccupancy(4, 3, 0, 0), state.occupancy());
+	}
+
+	@Test
+	void countersFollowHoldBookingAndRelease() {
+		HoldClaim claim = hold(1, 5, NOW.plusMinutes(10), 0, 1);
+		assertTrue(state.compareAndSet(0, ShowtimeSeatState.FREE, claim.id()));
+		assertTrue(state.compareAndSet(1, ShowtimeSeatState.FREE, claim.id()));
+		assertEquals(new SeatOccupancy(4, 3, 0, 2), state.occupancy());
+
+		state.putBooking(99, new ShowtimeSeatState.BookingOwner(5, false));
+		assertTrue(state.compareAndSet(0, claim.id(), -99));
+		assertTrue(state.compareAndSet(1, claim.id(), -99));
+		state.removeHold(claim.id());
+		assertEquals(new SeatOccupancy(4, 3, 2, 0), state.occupancy());
+
+		state.removeBooking(99);
+		assertEquals(new SeatOccupancy(4, 3, 0, 0), state.occupancy());
+	}
+
+	@Test
+	void initialAssignmentsAreCounted() {
+		state.set(0, -42);
+		state.set(1, 3);
+		state.set(1, -42);
+		assertEquals(new SeatOccupancy(4, 3, 2, 0), state.occupancy());
+	}
+
+	@Test
+	void failedCompareAndSetChangesNothing() {
+		long before = state.snapshot(0, NOW).version();
+		assertFalse(state.compareAndSet(0, 5, 6));
+		assertEquals(new SeatOccupancy(4, 3, 0, 0), state.occupancy());
+		assertTrue(state.snapshot(before, NOW).isUnchangedSince(before));
+	}
+
+	@Test
+	void snapshotSinceVersionReturnsOnlyChangedSeats() {
+		long before = state.snapshot(0, NOW).version();
+		HoldClaim claim = hold(1, 5, NOW.plusMinutes(10), 2);
+		state.compareAndSet(2, ShowtimeSeatState.FREE, claim.id());
+
+		SeatMapSnapshot delta = state.snapshot(before, NOW);
+		assertTrue(delta.version() > before);
+		assertEquals(List.of(12), delta.seats().stream().map(SeatSnapshot::seatId).toList());
+		assertEquals("HELD", delta.seats().get(0).status());
+	}
+
+	@Test
+	void snapshotDescribesEverySeatStatus() {
+		HoldClaim live = hold(1, 5, NOW.plusMinutes(10), 0);
+		HoldClaim expired = hold(2, 6, NOW.minusMinutes(1), 1);
+		state.compareAndSet(0, ShowtimeSeatState.FREE, live.id());
+		state.compareAndSet(1, ShowtimeSeatState.FREE, expired.id());
+		state.putBooking(99, new ShowtimeSeatState.BookingOwner(7, true));
+		state.compareAndSet(2, ShowtimeSeatState.FREE, -99);
+
+		Map<Integer, String> statuses = statuses(state.snapshot(0, NOW));
+		assertEquals("HELD", statuses.get(10));
+		assertEquals("AVAILABLE", statuses.get(11));
+		assertEquals("SOLD", statuses.get(12));
+		assertEquals("DISABLED", statuses.get(13));
+	}
+
+	@Test
+	void paidBookingIsReportedAsChanged() {
+		state.putBooking(99, new ShowtimeSeatState.BookingOwner(7, false));
+		state.compareAndSet(0, ShowtimeSeatState.FREE, -99);
+		long before = state.snapshot(0, NOW).version();
+		assertEquals("HELD", statuses(state.snapshot(0, NOW)).get(10));
+
+		state.markBookingPaid(99);
+		SeatMapSnapshot delta = state.snapshot(before, NOW);
+		assertEquals(1, delta.seats().size());
+		assertEquals("SOLD", delta.seats().get(0).status());
+	}
+
+	private HoldClaim hold(int id, Integer userId, OffsetDateTime expiresAt, int... slots) {
+		HoldClaim claim = new HoldClaim(id, UUID.randomUUID(), 7, userId, expiresAt, slots);
+		state.putHold(claim);
+		return claim;
+	}
+
+	private static Map<Integer, String> statuses(SeatMapSnapshot snapshot) {
+		return snapshot.seats().stream().collect(Collectors.toMap(SeatSnapshot::seatId, SeatSnapshot::status));
+	}
+
+	private static ShowtimeSeatState.SeatDescriptor seat(int seatId,
+														 int showtimeSeatId,
+														 String row,
+														 int number,
+														 boolean sellable) {
+		return new ShowtimeSeatState.SeatDescriptor(seatId, showtimeSeatId, row, number, "Standard",
+				BigDecimal.valueOf(90_000), sellable);
+	}
+}
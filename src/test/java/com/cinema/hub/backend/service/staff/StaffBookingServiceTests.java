@@ -0,0 +1,102 @@
+package com.cinema.hub.backend.service.staff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cinema.hub.backend.entity.PaymentLog;
+import com.cinema.hub.backend.payment.service.TicketEmailService;
+import com.cinema.hub.backend.payment.service.TicketFulfilmentService;
+import com.cinema.hub.backend.payment.vietqr.PaymentQrService;
+import com.cinema.hub.backend.repository.BookingRepository;
+import com.cinema.hub.backend.repository.BookingSeatRepository;
+import com.cinema.hub.backend.repository.PaymentLogRepository;
+import com.cinema.hub.backend.repository.TicketRepository;
+import com.cinema.hub.backend.repository.staff.StaffTicketRepository;
+import com.cinema.hub.backend.service.BookingService;
+import com.cinema.hub.backend.service.seat.SeatStateEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StaffBookingServiceTests {
+
+	private PaymentLogRepository paymentLogRepository;
+	private PaymentQrService paymentQrService;
+	private StaffBookingService service;
+
+	@BeforeEach
+	void setUp() {
+		paymentLogRepository = mock(PaymentLogRepository.class);
+		paymentQrService = mock(PaymentQrService.class);
+		service = new StaffBookingService(mock(BookingService.class), mock(BookingRepository.class),
+				mock(BookingSeatRepository.class), mock(TicketRepository.class), mock(StaffTicketRepository.class),
+				mock(TicketEmailService.class), mock(TicketFulfilmentService.class), paymentLogRepository,
+				paymentQrService, mock(SeatStateEngine.class), new ObjectMapper());
+	}
+
+	@Test
+	void typedColumnsAreUsed() {
+		OffsetDateTime expiresAt = OffsetDateTime.parse("2026-10-18T21:10:00+07:00");
+		when(paymentQrService.renderPayload("000201")).thenReturn("data:image/png;base64,AAA");
+		when(paymentLogRepository.findTopByBooking_IdOrderByCreatedAtDesc(5)).thenReturn(Optional.of(PaymentLog.builder()
+				.amount(BigDecimal.TEN)
+				.status("PENDING")
+				.providerTransactionId("123")
+				.orderCode(123L)
+				.email("a@b.vn")
+				.transferContent("CINEMA 123")
+				.expiresAt(expiresAt)
+				.qrPayload("000201")
+				.build()));
+
+		Map<String, Object> info = service.getPaymentInfoForBooking(5).orElseThrow();
+
+		assertEquals(123L, info.get("orderCode"));
+		assertEquals("a@b.vn", info.get("email"));
+		assertEquals("CINEMA 123", info.get("transferContent"));
+		assertEquals(expiresAt, info.get("expiresAt"));
+		assertEquals("data:image/png;base64,AAA", info.get("qr"));
+	}
+
+	@Test
+	void legacyLogFallsBackToRawMessage() {
+		when(paymentLogRepository.findTopByBooking_IdOrderByCreatedAtDesc(5)).thenReturn(Optional.of(PaymentLog.builder()
+				.amount(BigDecimal.TEN)
+				.status("PENDING")
+				.providerTransactionId("456")
+				.rawMessage("""
+						{"email":"old@b.vn","expiresAt":"2026-10-01T21:10+07:00","qr":"data:image/png;base64,OLD",
+						 "transferContent":"CINEMA 456","orderCode":456}
+						""")
+				.build()));
+
+		Map<String, Object> info = service.getPaymentInfoForBooking(5).orElseThrow();
+
+		assertEquals("456", info.get("orderCode"));
+		assertEquals("old@b.vn", info.get("email"));
+		assertEquals("CINEMA 456", info.get("transferContent"));
+		assertEquals(OffsetDateTime.parse("2026-10-01T21:10+07:00"), info.get("expiresAt"));
+		assertEquals("data:image/png;base64,OLD", info.get("qr"));
+	}
+
+	@Test
+	void legacyQrWithoutPrefixBecomesDataUri() {
+		when(paymentLogRepository.findTopByBooking_IdOrderByCreatedAtDesc(5)).thenReturn(Optional.of(PaymentLog.builder()
+				.amount(BigDecimal.TEN)
+				.status("PENDING")
+				.providerTransactionId("456")
+				.rawMessage("{\"qr\":\"OLD\",\"expiresAt\":\"not a date\"}")
+				.build()));
+
+		Map<String, Object> info = service.getPaymentInfoForBooking(5).orElseThrow();
+
+		assertEquals("data:image/png;base64,OLD", info.get("qr"));
+		assertNull(info.get("expiresAt"));
+	}
+}
@@ -0,0 +1,58 @@
+package com.cinema.hub.backend.support;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Single-threaded timing loop for the gated benchmark tests. It measures the latency of each operation and the bytes
+ * the calling thread allocated over the measured run. Benchmarks are enabled with {@code -Dcinema.benchmark=true}.
+ */
+public final class Microbenchmark {
+
+	public static final String ENABLED_PROPERTY = "cinema.benchmark";
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private Microbenchmark() {
+	}
+
+	public static Result run(String name, int warmup, int iterations, Operation operation) throws Exception {
+		for (int i = 0; i < warmup; i++) {
+			operation.run();
+		}
+		long[] latencies = new long[iterations];
+		long threadId = Thread.currentThread().threadId();
+		long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+		long started = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			long opStarted = System.nanoTime();
+			operation.run();
+			latencies[i] = System.nanoTime() - opStarted;
+		}
+		long elapsed = System.nanoTime() - started;
+		long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+		Arrays.sort(latencies);
+		return new Result(name, iterations * 1_000_000_000d / elapsed, percentile(latencies, 0.50),
+				percentile(latencies, 0.99), allocated / iterations);
+	}
+
+	private static long percentile(long[] sorted, double quantile) {
+		int index = (int) Math.ceil(quantile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+	}
+
+	@FunctionalInterface
+	public interface Operation {
+		void run() throws Exception;
+	}
+
+	public record Result(String name, double opsPerSecond, long p50Nanos, long p99Nanos, long bytesPerOp) {
+
+		@Override
+		public String toString() {
+			return "%s: %.1f ops/s, p50=%.1fus p99=%.1fus, %d bytes allocated per op".formatted(name,
+					opsPerSecond, p50Nanos / 1_000d, p99Nanos / 1_000d, bytesPerOp);
+		}
+	}
+}